@@ -0,0 +1,344 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A thread-safe {@link RangeIndex} that can be used by many writer and reader threads without locking.
+ *
+ * The ranges are stored in an immutable, height balanced interval tree (see {@link IntervalTree}). Modifications copy
+ * the <code>O(log n)</code> nodes on the path to the modified node and publish the new root with a compare-and-set
+ * operation, retrying if an other thread has modified the index in the meantime. Queries work on the root they read
+ * at their start, so they never block and never see a partially applied modification.
+ *
+ * All operations are linearizable, including {@link #addIfNotOverlapping(Range, Object)} which can be used to
+ * reserve ranges without conflicts. The bounds of the stored ranges must not be modified after they are added (which
+ * matters for mutable bound types like {@link java.util.Date}).
+ *
+ * @param <T>
+ *            The type of the bounding values.
+ * @param <V>
+ *            The type of the values stored with the ranges.
+ */
+public class ConcurrentRangeIndex<T extends Comparable<? super T>, V> implements RangeIndex<T, V> {
+
+    /**
+     * An immutable node of the tree.
+     */
+    private static final class Node<T extends Comparable<? super T>, V> {
+
+        private final Range<T> range;
+
+        private final Object[] values;
+
+        private final Node<T, V> left;
+
+        private final Node<T, V> right;
+
+        private final int height;
+
+        /**
+         * The range with the greatest higher bound in the subtree of this node.
+         */
+        private final Range<T> maxHigherBoundRange;
+
+        private Node(final Range<T> range, final Object[] values, final Node<T, V> left, final Node<T, V> right) {
+            this.range = range;
+            this.values = values;
+            this.left = left;
+            this.right = right;
+            height = Math.max(ConcurrentRangeIndex.height(left), ConcurrentRangeIndex.height(right)) + 1;
+            Range<T> maxHigherBoundRange = range;
+            if ((left != null) && (RangeUtil.compareHigherBounds(left.maxHigherBoundRange, maxHigherBoundRange) > 0)) {
+                maxHigherBoundRange = left.maxHigherBoundRange;
+            }
+            if ((right != null)
+                    && (RangeUtil.compareHigherBounds(right.maxHigherBoundRange, maxHigherBoundRange) > 0)) {
+                maxHigherBoundRange = right.maxHigherBoundRange;
+            }
+            this.maxHigherBoundRange = maxHigherBoundRange;
+        }
+
+    }
+
+    /**
+     * The state of the index that is replaced atomically.
+     */
+    private static final class Snapshot<T extends Comparable<? super T>, V> {
+
+        private final Node<T, V> root;
+
+        private final int size;
+
+        private Snapshot(final Node<T, V> root, final int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+    }
+
+    /**
+     * Creates a balanced node from two subtrees whose heights differ by at most two.
+     */
+    private static <T extends Comparable<? super T>, V> Node<T, V> balance(final Range<T> range,
+            final Object[] values, final Node<T, V> left, final Node<T, V> right) {
+        int leftHeight = ConcurrentRangeIndex.height(left);
+        int rightHeight = ConcurrentRangeIndex.height(right);
+        if (leftHeight > (rightHeight + 1)) {
+            if (ConcurrentRangeIndex.height(left.left) >= ConcurrentRangeIndex.height(left.right)) {
+                return new Node<T, V>(left.range, left.values, left.left, new Node<T, V>(range, values, left.right,
+                        right));
+            }
+            Node<T, V> leftRight = left.right;
+            return new Node<T, V>(leftRight.range, leftRight.values, new Node<T, V>(left.range, left.values,
+                    left.left, leftRight.left), new Node<T, V>(range, values, leftRight.right, right));
+        }
+        if (rightHeight > (leftHeight + 1)) {
+            if (ConcurrentRangeIndex.height(right.right) >= ConcurrentRangeIndex.height(right.left)) {
+                return new Node<T, V>(right.range, right.values, new Node<T, V>(range, values, left, right.left),
+                        right.right);
+            }
+            Node<T, V> rightLeft = right.left;
+            return new Node<T, V>(rightLeft.range, rightLeft.values, new Node<T, V>(range, values, left,
+                    rightLeft.left), new Node<T, V>(right.range, right.values, rightLeft.right, right.right));
+        }
+        return new Node<T, V>(range, values, left, right);
+    }
+
+    private static <T extends Comparable<? super T>, V> int height(final Node<T, V> node) {
+        return (node == null) ? 0 : node.height;
+    }
+
+    private static <T extends Comparable<? super T>, V> Node<T, V> removeMin(final Node<T, V> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return ConcurrentRangeIndex.balance(node.range, node.values, ConcurrentRangeIndex.removeMin(node.left),
+                node.right);
+    }
+
+    private static <T extends Comparable<? super T>> void requireBounds(final Range<T> range) {
+        if (range == null) {
+            throw new NullPointerException("range cannot be null");
+        }
+        if ((range.getLowerBound() == null) || (range.getHigherBound() == null)) {
+            throw new NullPointerException("the bounds of range [" + range + "] cannot be null");
+        }
+    }
+
+    private final AtomicReference<Snapshot<T, V>> snapshot = new AtomicReference<Snapshot<T, V>>(
+            new Snapshot<T, V>(null, 0));
+
+    @Override
+    public void add(final Range<T> range, final V value) {
+        ConcurrentRangeIndex.requireBounds(range);
+        Snapshot<T, V> current;
+        Snapshot<T, V> updated;
+        do {
+            current = snapshot.get();
+            updated = new Snapshot<T, V>(add(current.root, range, value), current.size + 1);
+        } while (!snapshot.compareAndSet(current, updated));
+    }
+
+    private Node<T, V> add(final Node<T, V> node, final Range<T> range, final V value) {
+        if (node == null) {
+            return new Node<T, V>(range, new Object[] { value }, null, null);
+        }
+        int comp = RangeUtil.<T> lowerBoundComparator().compare(range, node.range);
+        if (comp == 0) {
+            Object[] values = new Object[node.values.length + 1];
+            System.arraycopy(node.values, 0, values, 0, node.values.length);
+            values[node.values.length] = value;
+            return new Node<T, V>(node.range, values, node.left, node.right);
+        }
+        if (comp < 0) {
+            return ConcurrentRangeIndex.balance(node.range, node.values, add(node.left, range, value), node.right);
+        }
+        return ConcurrentRangeIndex.balance(node.range, node.values, node.left, add(node.right, range, value));
+    }
+
+    /**
+     * Adds a range with a value to the index if none of the stored ranges overlaps the range. The check and the
+     * addition are performed atomically.
+     *
+     * @param range
+     *            the range, cannot be null and cannot have <code>null</code> bounds
+     * @param value
+     *            the value stored with the range
+     * @return <code>true</code> if the range was added, <code>false</code> if it overlaps a stored range
+     */
+    public boolean addIfNotOverlapping(final Range<T> range, final V value) {
+        ConcurrentRangeIndex.requireBounds(range);
+        boolean empty = RangeUtil.isEmpty(range);
+        Snapshot<T, V> current;
+        Snapshot<T, V> updated;
+        do {
+            current = snapshot.get();
+            if (!empty && overlaps(current.root, range)) {
+                return false;
+            }
+            updated = new Snapshot<T, V>(add(current.root, range, value), current.size + 1);
+        } while (!snapshot.compareAndSet(current, updated));
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        snapshot.set(new Snapshot<T, V>(null, 0));
+    }
+
+    @Override
+    public List<RangeMatch<T, V>> findContaining(final T point) {
+        if (point == null) {
+            throw new NullPointerException("point cannot be null");
+        }
+        return findOverlapping(new Range<T>(point, point));
+    }
+
+    @Override
+    public List<RangeMatch<T, V>> findOverlapping(final Range<T> query) {
+        ConcurrentRangeIndex.requireBounds(query);
+        List<RangeMatch<T, V>> result = new ArrayList<RangeMatch<T, V>>();
+        if (!RangeUtil.isEmpty(query)) {
+            findOverlapping(snapshot.get().root, query, result);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void findOverlapping(final Node<T, V> node, final Range<T> query, final List<RangeMatch<T, V>> result) {
+        if ((node == null)
+                || RangeUtil.endsBefore(node.maxHigherBoundRange, query.getLowerBound(), query.isLowerInclusive())) {
+            return;
+        }
+        findOverlapping(node.left, query, result);
+        if (RangeUtil.startsAfter(node.range, query.getHigherBound(), query.isHigherInclusive())) {
+            return;
+        }
+        if (!RangeUtil.isEmpty(node.range)) {
+            RangeRelation relation = node.range.getRelationTo(query);
+            if (!relation.isDistinct()) {
+                for (Object value : node.values) {
+                    result.add(new RangeMatch<T, V>(node.range, (V) value, relation));
+                }
+            }
+        }
+        findOverlapping(node.right, query, result);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return snapshot.get().size == 0;
+    }
+
+    @Override
+    public boolean overlaps(final Range<T> query) {
+        ConcurrentRangeIndex.requireBounds(query);
+        return !RangeUtil.isEmpty(query) && overlaps(snapshot.get().root, query);
+    }
+
+    private boolean overlaps(final Node<T, V> node, final Range<T> query) {
+        if ((node == null)
+                || RangeUtil.endsBefore(node.maxHigherBoundRange, query.getLowerBound(), query.isLowerInclusive())) {
+            return false;
+        }
+        if (overlaps(node.left, query)) {
+            return true;
+        }
+        if (RangeUtil.startsAfter(node.range, query.getHigherBound(), query.isHigherInclusive())) {
+            return false;
+        }
+        if (!RangeUtil.isEmpty(node.range) && !node.range.getRelationTo(query).isDistinct()) {
+            return true;
+        }
+        return overlaps(node.right, query);
+    }
+
+    @Override
+    public boolean remove(final Range<T> range, final V value) {
+        if ((range == null) || (range.getLowerBound() == null) || (range.getHigherBound() == null)) {
+            return false;
+        }
+        Snapshot<T, V> current;
+        Snapshot<T, V> updated;
+        do {
+            current = snapshot.get();
+            Node<T, V> root = remove(current.root, range, value);
+            if (root == current.root) {
+                return false;
+            }
+            updated = new Snapshot<T, V>(root, current.size - 1);
+        } while (!snapshot.compareAndSet(current, updated));
+        return true;
+    }
+
+    /**
+     * Returns the subtree without the given range-value pair or the same node if the subtree does not contain the
+     * pair.
+     */
+    private Node<T, V> remove(final Node<T, V> node, final Range<T> range, final V value) {
+        if (node == null) {
+            return null;
+        }
+        int comp = RangeUtil.<T> lowerBoundComparator().compare(range, node.range);
+        if (comp < 0) {
+            Node<T, V> left = remove(node.left, range, value);
+            return (left == node.left) ? node : ConcurrentRangeIndex.balance(node.range, node.values, left,
+                    node.right);
+        }
+        if (comp > 0) {
+            Node<T, V> right = remove(node.right, range, value);
+            return (right == node.right) ? node : ConcurrentRangeIndex.balance(node.range, node.values, node.left,
+                    right);
+        }
+        int index = 0;
+        while ((index < node.values.length)
+                && !((value == null) ? (node.values[index] == null) : value.equals(node.values[index]))) {
+            index++;
+        }
+        if (index == node.values.length) {
+            return node;
+        }
+        if (node.values.length > 1) {
+            Object[] values = new Object[node.values.length - 1];
+            System.arraycopy(node.values, 0, values, 0, index);
+            System.arraycopy(node.values, index + 1, values, index, values.length - index);
+            return new Node<T, V>(node.range, values, node.left, node.right);
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        Node<T, V> successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return ConcurrentRangeIndex.balance(successor.range, successor.values, node.left,
+                ConcurrentRangeIndex.removeMin(node.right));
+    }
+
+    @Override
+    public int size() {
+        return snapshot.get().size;
+    }
+
+}
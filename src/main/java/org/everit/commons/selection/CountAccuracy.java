@@ -0,0 +1,39 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+/**
+ * The accuracy of an {@link ElementCount}.
+ */
+public enum CountAccuracy {
+
+    /**
+     * The value is the exact number of all elements.
+     */
+    EXACT,
+
+    /**
+     * The value is an estimation, the number of all elements is within the error bound of the value.
+     */
+    ESTIMATED,
+
+    /**
+     * The value is a lower bound, there are at least as many elements.
+     */
+    AT_LEAST;
+
+}
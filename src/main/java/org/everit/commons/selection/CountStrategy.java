@@ -0,0 +1,130 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.util.function.LongSupplier;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Determines the {@link ElementCount} of a limited result after its page query ran. The page query should fetch
+ * {@link Limit#getMaxResults()} + 1 rows (see {@link #getFetchSize(Limit)}), so every strategy can recognize the last
+ * page and return its exact count without running a count query. The returned count is never lower than the number
+ * of the elements the page query has proven to exist.
+ */
+@FunctionalInterface
+public interface CountStrategy {
+
+    /**
+     * Runs a capped count query, e.g. <code>SELECT COUNT(*) FROM (SELECT 1 FROM ... LIMIT cap)</code>, that stops
+     * after <code>cap</code> rows. The count is exact if it is less than <code>cap</code> and
+     * {@link CountAccuracy#AT_LEAST at least} <code>cap</code> otherwise.
+     *
+     * @param cappedCountQuery
+     *            returns the number of all elements, but at most its argument
+     * @param cap
+     *            the maximum number of the rows the count query visits, must be positive
+     */
+    static CountStrategy capped(final LongUnaryOperator cappedCountQuery, final long cap) {
+        if (cappedCountQuery == null) {
+            throw new NullPointerException("cappedCountQuery cannot be null");
+        }
+        if (cap < 1) {
+            throw new IllegalArgumentException("cap [" + cap + "] is less than one");
+        }
+        return (limit, fetchedSize) -> {
+            ElementCount fetched = ElementCount.ofFetched(limit, fetchedSize);
+            if (fetched.isExact()) {
+                return fetched;
+            }
+            long count = cappedCountQuery.applyAsLong(cap);
+            ElementCount result = (count < cap) ? ElementCount.exact(count) : ElementCount.atLeast(cap);
+            return result.withMinimum(fetched.getValue());
+        };
+    }
+
+    /**
+     * Uses an estimation of the number of all elements, e.g. from the statistics of the database or a
+     * <code>Histogram</code>.
+     *
+     * @param estimation
+     *            returns the estimated number of all elements
+     * @param errorBound
+     *            the maximum absolute error of the estimation
+     */
+    static CountStrategy estimated(final LongSupplier estimation, final long errorBound) {
+        if (estimation == null) {
+            throw new NullPointerException("estimation cannot be null");
+        }
+        if (errorBound < 0) {
+            throw new IllegalArgumentException("errorBound [" + errorBound + "] is less than zero");
+        }
+        return (limit, fetchedSize) -> {
+            ElementCount fetched = ElementCount.ofFetched(limit, fetchedSize);
+            if (fetched.isExact()) {
+                return fetched;
+            }
+            return ElementCount.estimated(Math.max(0, estimation.getAsLong()), errorBound)
+                    .withMinimum(fetched.getValue());
+        };
+    }
+
+    /**
+     * Runs an exact count query unless the page query proved that the page is the last one.
+     *
+     * @param countQuery
+     *            returns the exact number of all elements
+     */
+    static CountStrategy exact(final LongSupplier countQuery) {
+        if (countQuery == null) {
+            throw new NullPointerException("countQuery cannot be null");
+        }
+        return (limit, fetchedSize) -> {
+            ElementCount fetched = ElementCount.ofFetched(limit, fetchedSize);
+            if (fetched.isExact()) {
+                return fetched;
+            }
+            return ElementCount.exact(countQuery.getAsLong()).withMinimum(fetched.getValue());
+        };
+    }
+
+    /**
+     * Returns the number of the rows the page query should fetch.
+     */
+    static long getFetchSize(final Limit limit) {
+        return limit.getMaxResults() + 1;
+    }
+
+    /**
+     * Does not count at all, the count is derived from the rows of the page query: it is exact on the last page and
+     * {@link CountAccuracy#AT_LEAST at least} one more than the elements up to the end of the page otherwise.
+     */
+    static CountStrategy hasMore() {
+        return ElementCount::ofFetched;
+    }
+
+    /**
+     * Determines the count.
+     *
+     * @param limit
+     *            the limit of the page query
+     * @param fetchedSize
+     *            the number of the rows returned by the page query
+     * @return the count, never null
+     */
+    ElementCount count(Limit limit, long fetchedSize);
+
+}
@@ -0,0 +1,208 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.io.Serializable;
+
+/**
+ * The number of all elements of a {@link LimitedResult} together with its {@link CountAccuracy accuracy}, so a result
+ * can be returned without an exact count that would need an expensive count query.
+ *
+ * Instances are immutable.
+ */
+public final class ElementCount implements Serializable {
+
+    private static final long serialVersionUID = 7407356693138436085L;
+
+    /**
+     * Creates a count that is a lower bound of the number of all elements.
+     */
+    public static ElementCount atLeast(final long value) {
+        return new ElementCount(value, CountAccuracy.AT_LEAST, 0, value);
+    }
+
+    /**
+     * Creates an estimated count.
+     *
+     * @param value
+     *            the estimated number of all elements
+     * @param errorBound
+     *            the maximum absolute difference of the estimation and the exact number, cannot be negative
+     */
+    public static ElementCount estimated(final long value, final long errorBound) {
+        return new ElementCount(value, CountAccuracy.ESTIMATED, errorBound, Math.max(0, value - errorBound));
+    }
+
+    public static ElementCount exact(final long value) {
+        return new ElementCount(value, CountAccuracy.EXACT, 0, value);
+    }
+
+    /**
+     * Determines what the rows returned by a page query tell about the number of all elements. The query must fetch
+     * {@link Limit#getMaxResults()} + 1 rows: if it returns more than max results rows there are more elements after
+     * the page, if it returns at most max results rows the page is the last one and the exact count is known.
+     *
+     * @param limit
+     *            the limit of the page query
+     * @param fetchedSize
+     *            the number of the rows returned by the page query
+     * @return an exact count if the page is the last one, otherwise the number of the elements up to the end of the
+     *         page (plus one if there are more rows) as a lower bound. An empty page after the first one proves
+     *         nothing, its count is at least zero.
+     */
+    public static ElementCount ofFetched(final Limit limit, final long fetchedSize) {
+        if (fetchedSize < 0) {
+            throw new IllegalArgumentException("fetchedSize [" + fetchedSize + "] is less than zero");
+        }
+        long maxResults = limit.getMaxResults();
+        if ((fetchedSize == 0) && (limit.getFirstResult() > 0)) {
+            return ElementCount.atLeast(0);
+        }
+        if (fetchedSize <= maxResults) {
+            return ElementCount.exact(limit.getFirstResult() + fetchedSize);
+        }
+        return ElementCount.atLeast(limit.getFirstResult() + maxResults + 1);
+    }
+
+    private final long value;
+
+    private final CountAccuracy accuracy;
+
+    private final long errorBound;
+
+    /**
+     * The lowest possible number of all elements, it can be higher than <code>value - errorBound</code> if some of the
+     * elements are known to exist (see {@link #withMinimum(long)}).
+     */
+    private final long lowerBound;
+
+    private ElementCount(final long value, final CountAccuracy accuracy, final long errorBound,
+            final long lowerBound) {
+        if (value < LimitedResult.NUMBER_OF_ALL_ELEMENTS_MIN_VALUE) {
+            throw new IllegalArgumentException("value [" + value + "] is less than NUMBER_OF_ALL_ELEMENTS_MIN_VALUE ["
+                    + LimitedResult.NUMBER_OF_ALL_ELEMENTS_MIN_VALUE + "]");
+        }
+        if (errorBound < 0) {
+            throw new IllegalArgumentException("errorBound [" + errorBound + "] is less than zero");
+        }
+        this.value = value;
+        this.accuracy = accuracy;
+        this.errorBound = errorBound;
+        this.lowerBound = lowerBound;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        ElementCount other = (ElementCount) obj;
+        if (accuracy != other.accuracy) {
+            return false;
+        }
+        if (errorBound != other.errorBound) {
+            return false;
+        }
+        if (lowerBound != other.lowerBound) {
+            return false;
+        }
+        if (value != other.value) {
+            return false;
+        }
+        return true;
+    }
+
+    public CountAccuracy getAccuracy() {
+        return accuracy;
+    }
+
+    /**
+     * Returns the maximum absolute difference of an {@link CountAccuracy#ESTIMATED estimated} value and the exact
+     * number, zero for the other accuracies.
+     */
+    public long getErrorBound() {
+        return errorBound;
+    }
+
+    /**
+     * Returns the highest possible number of all elements, {@link Long#MAX_VALUE} if it is unknown.
+     */
+    public long getHigherBound() {
+        if (accuracy == CountAccuracy.AT_LEAST) {
+            return Long.MAX_VALUE;
+        }
+        long result = value + errorBound;
+        return (result < 0) ? Long.MAX_VALUE : result;
+    }
+
+    /**
+     * Returns the lowest possible number of all elements.
+     */
+    public long getLowerBound() {
+        return lowerBound;
+    }
+
+    /**
+     * Returns the exact, the estimated or the minimum number of all elements depending on the accuracy.
+     */
+    public long getValue() {
+        return value;
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = (prime * result) + accuracy.hashCode();
+        result = (prime * result) + (int) (errorBound ^ (errorBound >>> 32));
+        result = (prime * result) + (int) (lowerBound ^ (lowerBound >>> 32));
+        result = (prime * result) + (int) (value ^ (value >>> 32));
+        return result;
+    }
+
+    public boolean isExact() {
+        return accuracy == CountAccuracy.EXACT;
+    }
+
+    @Override
+    public String toString() {
+        return "ElementCount [value=" + value + ", accuracy=" + accuracy + ", errorBound=" + errorBound
+                + ", lowerBound=" + lowerBound + "]";
+    }
+
+    /**
+     * Returns a count that is consistent with a number of elements that are known to exist, e.g. because they were
+     * returned by the page query. The value and the lower bound are raised to the minimum if they are lower, the
+     * accuracy and the error bound are kept.
+     *
+     * @param minimum
+     *            the number of the elements that are known to exist
+     */
+    public ElementCount withMinimum(final long minimum) {
+        if (lowerBound >= minimum) {
+            return this;
+        }
+        return new ElementCount(Math.max(value, minimum), accuracy, errorBound, minimum);
+    }
+
+}
@@ -0,0 +1,175 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of canonical instances of immutable values such as {@link Range}s and {@link Limit}s. Interning
+ * recurring values (e.g. the range of the current day or the first page of a listing) lets them share one instance,
+ * so {@link Object#equals(Object)} returns on the identity check and maps keyed by them find equal keys faster.
+ *
+ * The values are distributed into segments by their hash code, every segment keeps its values in least recently used
+ * order and evicts the least recently used one when it is full. Segments are locked separately, so threads interning
+ * values of different segments do not block each other.
+ *
+ * Values must not be modified after they are interned. Ranges with mutable bounds (e.g. {@link java.util.Date}) are
+ * safe only if their bounds are not modified.
+ *
+ * @param <T>
+ *            the type of the values
+ */
+public class Interner<T> {
+
+    /**
+     * A part of the cache guarded by its own lock.
+     */
+    private static final class Segment<T> extends LinkedHashMap<T, T> {
+
+        private static final long serialVersionUID = 6217938346452617352L;
+
+        private final int capacity;
+
+        private long hitCount;
+
+        private long missCount;
+
+        private Segment(final int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<T, T> eldest) {
+            return size() > capacity;
+        }
+
+    }
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Segment<T>[] segments;
+
+    private final int maximumSize;
+
+    /**
+     * Constructor.
+     *
+     * @param maximumSize
+     *            the maximum number of the interned values, must be positive
+     */
+    @SuppressWarnings("unchecked")
+    public Interner(final int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize [" + maximumSize + "] is less than 1");
+        }
+        this.maximumSize = maximumSize;
+        int segmentCount = Integer.highestOneBit(Math.min(MAX_SEGMENTS, maximumSize));
+        segments = (Segment<T>[]) new Segment<?>[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            int capacity = (maximumSize / segmentCount) + ((i < (maximumSize % segmentCount)) ? 1 : 0);
+            segments[i] = new Segment<T>(capacity);
+        }
+    }
+
+    /**
+     * Removes all interned values.
+     */
+    public void clear() {
+        for (Segment<T> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of {@link #intern(Object)} calls that found an equal value.
+     */
+    public long getHitCount() {
+        long hitCount = 0;
+        for (Segment<T> segment : segments) {
+            synchronized (segment) {
+                hitCount += segment.hitCount;
+            }
+        }
+        return hitCount;
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Returns the number of {@link #intern(Object)} calls that did not find an equal value.
+     */
+    public long getMissCount() {
+        long missCount = 0;
+        for (Segment<T> segment : segments) {
+            synchronized (segment) {
+                missCount += segment.missCount;
+            }
+        }
+        return missCount;
+    }
+
+    /**
+     * Returns the canonical instance of a value. If an equal value is interned, that is returned, otherwise the given
+     * value is interned and returned.
+     *
+     * @param value
+     *            the value, cannot be null
+     * @return the canonical instance equal to the value
+     */
+    public T intern(final T value) {
+        if (value == null) {
+            throw new NullPointerException("value cannot be null");
+        }
+        int hash = value.hashCode();
+        Segment<T> segment = segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+        synchronized (segment) {
+            T canonical = segment.get(value);
+            if (canonical != null) {
+                segment.hitCount++;
+                return canonical;
+            }
+            segment.missCount++;
+            segment.put(value, value);
+            return value;
+        }
+    }
+
+    /**
+     * Returns the number of the interned values.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<T> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "Interner [maximumSize=" + maximumSize + ", size=" + size() + "]";
+    }
+
+}
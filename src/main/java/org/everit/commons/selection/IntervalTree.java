@@ -0,0 +1,298 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An index of ranges and their values that finds the ranges overlapping a range or containing a value in
+ * <code>O(log n + k)</code> time where <code>k</code> is the number of matches.
+ *
+ * The ranges are stored in a height balanced (AVL) binary search tree ordered by the lower and then the higher bounds.
+ * Each node stores the greatest higher bound of its subtree, so the subtrees that end before the queried range are
+ * skipped. Values stored with the same range are kept in the same node.
+ *
+ * Every match is classified with the {@link RangeRelation} of the queried range to the stored range. Empty ranges
+ * (e.g. <code>[5, 5)</code>) have no elements, so they never match.
+ *
+ * The class does not ensure thread safety.
+ *
+ * @param <T>
+ *            The type of the bounding values.
+ * @param <V>
+ *            The type of the values stored with the ranges.
+ */
+public class IntervalTree<T extends Comparable<? super T>, V> implements RangeIndex<T, V> {
+
+    /**
+     * A node of the tree.
+     */
+    private static final class Node<T extends Comparable<? super T>, V> {
+
+        private final Range<T> range;
+
+        private final List<V> values = new ArrayList<V>(1);
+
+        private Node<T, V> left;
+
+        private Node<T, V> right;
+
+        private int height = 1;
+
+        /**
+         * The range with the greatest higher bound in the subtree of this node.
+         */
+        private Range<T> maxHigherBoundRange;
+
+        private Node(final Range<T> range) {
+            this.range = range;
+            maxHigherBoundRange = range;
+        }
+
+    }
+
+    private static <T extends Comparable<? super T>, V> int balanceFactor(final Node<T, V> node) {
+        return IntervalTree.height(node.left) - IntervalTree.height(node.right);
+    }
+
+    private static <T extends Comparable<? super T>, V> int height(final Node<T, V> node) {
+        return (node == null) ? 0 : node.height;
+    }
+
+    private static <T extends Comparable<? super T>, V> Node<T, V> rebalance(final Node<T, V> node) {
+        IntervalTree.update(node);
+        int balanceFactor = IntervalTree.balanceFactor(node);
+        if (balanceFactor > 1) {
+            if (IntervalTree.balanceFactor(node.left) < 0) {
+                node.left = IntervalTree.rotateLeft(node.left);
+            }
+            return IntervalTree.rotateRight(node);
+        }
+        if (balanceFactor < -1) {
+            if (IntervalTree.balanceFactor(node.right) > 0) {
+                node.right = IntervalTree.rotateRight(node.right);
+            }
+            return IntervalTree.rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static <T extends Comparable<? super T>, V> Node<T, V> rotateLeft(final Node<T, V> node) {
+        Node<T, V> newRoot = node.right;
+        node.right = newRoot.left;
+        newRoot.left = node;
+        IntervalTree.update(node);
+        IntervalTree.update(newRoot);
+        return newRoot;
+    }
+
+    private static <T extends Comparable<? super T>, V> Node<T, V> rotateRight(final Node<T, V> node) {
+        Node<T, V> newRoot = node.left;
+        node.left = newRoot.right;
+        newRoot.right = node;
+        IntervalTree.update(node);
+        IntervalTree.update(newRoot);
+        return newRoot;
+    }
+
+    /**
+     * Recalculates the height and the greatest higher bound of a node from its children.
+     */
+    private static <T extends Comparable<? super T>, V> void update(final Node<T, V> node) {
+        node.height = Math.max(IntervalTree.height(node.left), IntervalTree.height(node.right)) + 1;
+        Range<T> maxHigherBoundRange = node.range;
+        if ((node.left != null)
+                && (RangeUtil.compareHigherBounds(node.left.maxHigherBoundRange, maxHigherBoundRange) > 0)) {
+            maxHigherBoundRange = node.left.maxHigherBoundRange;
+        }
+        if ((node.right != null)
+                && (RangeUtil.compareHigherBounds(node.right.maxHigherBoundRange, maxHigherBoundRange) > 0)) {
+            maxHigherBoundRange = node.right.maxHigherBoundRange;
+        }
+        node.maxHigherBoundRange = maxHigherBoundRange;
+    }
+
+    private Node<T, V> root;
+
+    private int size;
+
+    @Override
+    public void add(final Range<T> range, final V value) {
+        if (range == null) {
+            throw new NullPointerException("range cannot be null");
+        }
+        if ((range.getLowerBound() == null) || (range.getHigherBound() == null)) {
+            throw new NullPointerException("the bounds of range [" + range + "] cannot be null");
+        }
+        root = add(root, range, value);
+        size++;
+    }
+
+    private Node<T, V> add(final Node<T, V> node, final Range<T> range, final V value) {
+        if (node == null) {
+            Node<T, V> newNode = new Node<T, V>(range);
+            newNode.values.add(value);
+            return newNode;
+        }
+        int comp = RangeUtil.<T> lowerBoundComparator().compare(range, node.range);
+        if (comp == 0) {
+            node.values.add(value);
+            return node;
+        }
+        if (comp < 0) {
+            node.left = add(node.left, range, value);
+        } else {
+            node.right = add(node.right, range, value);
+        }
+        return IntervalTree.rebalance(node);
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    @Override
+    public List<RangeMatch<T, V>> findContaining(final T point) {
+        if (point == null) {
+            throw new NullPointerException("point cannot be null");
+        }
+        return findOverlapping(new Range<T>(point, point));
+    }
+
+    @Override
+    public List<RangeMatch<T, V>> findOverlapping(final Range<T> query) {
+        if (query == null) {
+            throw new NullPointerException("query cannot be null");
+        }
+        List<RangeMatch<T, V>> result = new ArrayList<RangeMatch<T, V>>();
+        if (!RangeUtil.isEmpty(query)) {
+            findOverlapping(root, query, result);
+        }
+        return result;
+    }
+
+    private void findOverlapping(final Node<T, V> node, final Range<T> query, final List<RangeMatch<T, V>> result) {
+        if ((node == null)
+                || RangeUtil.endsBefore(node.maxHigherBoundRange, query.getLowerBound(), query.isLowerInclusive())) {
+            return;
+        }
+        findOverlapping(node.left, query, result);
+        if (RangeUtil.startsAfter(node.range, query.getHigherBound(), query.isHigherInclusive())) {
+            return;
+        }
+        if (!RangeUtil.isEmpty(node.range)) {
+            RangeRelation relation = node.range.getRelationTo(query);
+            if (!relation.isDistinct()) {
+                for (V value : node.values) {
+                    result.add(new RangeMatch<T, V>(node.range, value, relation));
+                }
+            }
+        }
+        findOverlapping(node.right, query, result);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean overlaps(final Range<T> query) {
+        if (query == null) {
+            throw new NullPointerException("query cannot be null");
+        }
+        return !RangeUtil.isEmpty(query) && overlaps(root, query);
+    }
+
+    private boolean overlaps(final Node<T, V> node, final Range<T> query) {
+        if ((node == null)
+                || RangeUtil.endsBefore(node.maxHigherBoundRange, query.getLowerBound(), query.isLowerInclusive())) {
+            return false;
+        }
+        if (overlaps(node.left, query)) {
+            return true;
+        }
+        if (RangeUtil.startsAfter(node.range, query.getHigherBound(), query.isHigherInclusive())) {
+            return false;
+        }
+        if (!RangeUtil.isEmpty(node.range) && !node.range.getRelationTo(query).isDistinct()) {
+            return true;
+        }
+        return overlaps(node.right, query);
+    }
+
+    @Override
+    public boolean remove(final Range<T> range, final V value) {
+        if ((range == null) || (range.getLowerBound() == null) || (range.getHigherBound() == null)) {
+            return false;
+        }
+        int sizeBefore = size;
+        root = remove(root, range, value);
+        return size < sizeBefore;
+    }
+
+    private Node<T, V> remove(final Node<T, V> node, final Range<T> range, final V value) {
+        if (node == null) {
+            return null;
+        }
+        int comp = RangeUtil.<T> lowerBoundComparator().compare(range, node.range);
+        if (comp < 0) {
+            node.left = remove(node.left, range, value);
+        } else if (comp > 0) {
+            node.right = remove(node.right, range, value);
+        } else {
+            if (!node.values.remove(value)) {
+                return node;
+            }
+            size--;
+            if (!node.values.isEmpty()) {
+                return node;
+            }
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node<T, V> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = removeMin(node.right);
+            successor.left = node.left;
+            return IntervalTree.rebalance(successor);
+        }
+        return IntervalTree.rebalance(node);
+    }
+
+    private Node<T, V> removeMin(final Node<T, V> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return IntervalTree.rebalance(node);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+}
@@ -0,0 +1,239 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The result of a query limited by a {@link SeekLimit}. Unlike {@link LimitedResult} it does not contain the number of
+ * all elements, because counting would require the scan that keyset pagination avoids. Instead it exposes the limits
+ * of the next and the previous page.
+ *
+ * @param <T>
+ *            the type of the elements
+ */
+public class KeysetResult<T extends Serializable> implements Serializable {
+
+    /**
+     * Serial version UID.
+     */
+    private static final long serialVersionUID = 1640930470155727473L;
+
+    /**
+     * Creates a result from the rows fetched by a query for {@link SeekLimit#getMaxResults()} + 1 rows in the order
+     * of the direction of the limit (ascending for {@link SeekDirection#AFTER}, descending for
+     * {@link SeekDirection#BEFORE}). The extra row is only used to detect whether there are more rows, it is not part
+     * of the result. The elements of the result are always in ascending order.
+     *
+     * @param fetched
+     *            the fetched rows
+     * @param limit
+     *            the limit of the query
+     * @param keyFunction
+     *            the function that returns the sort key of a row
+     */
+    public static <T extends Serializable> KeysetResult<T> of(final List<T> fetched, final SeekLimit limit,
+            final Function<? super T, SortKey> keyFunction) {
+        if (fetched == null) {
+            throw new NullPointerException("fetched cannot be null");
+        }
+        if (limit == null) {
+            throw new NullPointerException("limit cannot be null");
+        }
+        boolean more = fetched.size() > limit.getMaxResults();
+        List<T> elements = new ArrayList<T>(more ? fetched.subList(0, (int) limit.getMaxResults()) : fetched);
+        if (limit.getDirection() == SeekDirection.BEFORE) {
+            Collections.reverse(elements);
+        }
+        return new KeysetResult<T>(elements, limit, keyFunction, more);
+    }
+
+    /**
+     * The elements of the result in ascending order.
+     */
+    private final List<T> elements;
+
+    /**
+     * The limit of the {@link #elements}.
+     */
+    private final SeekLimit limit;
+
+    /**
+     * The sort key of the first element or <code>null</code> if there are no elements.
+     */
+    private final SortKey firstKey;
+
+    /**
+     * The sort key of the last element or <code>null</code> if there are no elements.
+     */
+    private final SortKey lastKey;
+
+    /**
+     * Whether there are more rows after the elements in the direction of the limit.
+     */
+    private final boolean more;
+
+    /**
+     * Constructor.
+     *
+     * @param elements
+     *            The elements in ascending order.
+     * @param limit
+     *            The limit of the elements.
+     * @param keyFunction
+     *            The function that returns the sort key of an element.
+     * @param more
+     *            Whether there are more rows after the elements in the direction of the limit.
+     */
+    public KeysetResult(final List<T> elements, final SeekLimit limit, final Function<? super T, SortKey> keyFunction,
+            final boolean more) {
+        if (elements == null) {
+            throw new NullPointerException("elements cannot be null");
+        }
+        if (limit == null) {
+            throw new NullPointerException("limit cannot be null");
+        }
+        if (keyFunction == null) {
+            throw new NullPointerException("keyFunction cannot be null");
+        }
+        if (elements.size() > limit.getMaxResults()) {
+            throw new IllegalArgumentException(
+                    "the size of the elements is greather than the max results of the limit");
+        }
+        this.elements = Collections.unmodifiableList(elements);
+        this.limit = limit;
+        this.more = more;
+        if (elements.isEmpty()) {
+            firstKey = null;
+            lastKey = null;
+        } else {
+            firstKey = keyFunction.apply(elements.get(0));
+            lastKey = keyFunction.apply(elements.get(elements.size() - 1));
+        }
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        KeysetResult<?> other = (KeysetResult<?>) obj;
+        if (!elements.equals(other.elements)) {
+            return false;
+        }
+        if (!limit.equals(other.limit)) {
+            return false;
+        }
+        if (more != other.more) {
+            return false;
+        }
+        return true;
+    }
+
+    public List<T> getElements() {
+        return elements;
+    }
+
+    /**
+     * Returns the sort key of the first element or <code>null</code> if there are no elements.
+     */
+    public SortKey getFirstKey() {
+        return firstKey;
+    }
+
+    /**
+     * Returns the sort key of the last element or <code>null</code> if there are no elements.
+     */
+    public SortKey getLastKey() {
+        return lastKey;
+    }
+
+    public SeekLimit getLimit() {
+        return limit;
+    }
+
+    /**
+     * Returns the limit of the page after this one or <code>null</code> if there is no such page. If this result is
+     * empty the returned limit selects the first page.
+     */
+    public SeekLimit getNextLimit() {
+        if (!hasNext()) {
+            return null;
+        }
+        return new SeekLimit(lastKey, SeekDirection.AFTER, limit.getMaxResults());
+    }
+
+    /**
+     * Returns the limit of the page before this one or <code>null</code> if there is no such page. If this result is
+     * empty the returned limit selects the last page.
+     */
+    public SeekLimit getPreviousLimit() {
+        if (!hasPrevious()) {
+            return null;
+        }
+        return new SeekLimit(firstKey, SeekDirection.BEFORE, limit.getMaxResults());
+    }
+
+    /**
+     * Whether there is a page after this one. In the {@link SeekDirection#BEFORE} direction it is assumed that the
+     * boundary row still exists.
+     */
+    public boolean hasNext() {
+        if (limit.getDirection() == SeekDirection.AFTER) {
+            return more;
+        }
+        return limit.getKey() != null;
+    }
+
+    /**
+     * Whether there is a page before this one. In the {@link SeekDirection#AFTER} direction it is assumed that the
+     * boundary row still exists.
+     */
+    public boolean hasPrevious() {
+        if (limit.getDirection() == SeekDirection.BEFORE) {
+            return more;
+        }
+        return limit.getKey() != null;
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = (prime * result) + elements.hashCode();
+        result = (prime * result) + limit.hashCode();
+        result = (prime * result) + (more ? 1231 : 1237);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetResult [elements=" + elements + ", limit=" + limit + ", firstKey=" + firstKey + ", lastKey="
+                + lastKey + ", more=" + more + "]";
+    }
+
+}
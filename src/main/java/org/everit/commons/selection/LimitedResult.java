@@ -17,6 +17,7 @@
 package org.everit.commons.selection;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -29,6 +30,36 @@ public class LimitedResult<T extends Serializable> implements Serializable {
 
     public static final long NUMBER_OF_ALL_ELEMENTS_MIN_VALUE = 0;
 
+    /**
+     * Returns the first max results rows of the rows fetched by a page query.
+     */
+    static <T> List<T> limitFetched(final List<T> fetched, final Limit limit) {
+        if (fetched == null) {
+            throw new NullPointerException("fetched cannot be null");
+        }
+        if (fetched.size() <= limit.getMaxResults()) {
+            return fetched;
+        }
+        return new ArrayList<T>(fetched.subList(0, (int) limit.getMaxResults()));
+    }
+
+    /**
+     * Creates a result from the rows of a page query that fetched {@link CountStrategy#getFetchSize(Limit)} rows. The
+     * rows after the max results of the limit are only used to determine the count.
+     *
+     * @param fetched
+     *            the rows returned by the page query
+     * @param limit
+     *            the limit of the page query
+     * @param countStrategy
+     *            determines the number of all elements
+     */
+    public static <T extends Serializable> LimitedResult<T> of(final List<T> fetched, final Limit limit,
+            final CountStrategy countStrategy) {
+        List<T> elements = LimitedResult.limitFetched(fetched, limit);
+        return new LimitedResult<T>(elements, countStrategy.count(limit, fetched.size()), limit);
+    }
+
     /**
      * The elements of the result.
      */
@@ -44,13 +75,28 @@ public class LimitedResult<T extends Serializable> implements Serializable {
      */
     private final Limit limit;
 
-    public LimitedResult(final List<T> elements, final long numberOfAllElements, final Limit limit) {
+    /**
+     * The number of all elements with its accuracy. <code>null</code> in instances serialized before the field was
+     * added, those counts are exact.
+     */
+    private final ElementCount elementCount;
+
+    /**
+     * Constructor.
+     *
+     * @param elements
+     *            The elements of the result.
+     * @param elementCount
+     *            The exact, estimated or minimum number of all elements.
+     * @param limit
+     *            The limit of the elements.
+     */
+    public LimitedResult(final List<T> elements, final ElementCount elementCount, final Limit limit) {
         if (elements == null) {
             throw new NullPointerException("elements cannot be null");
         }
-        if (numberOfAllElements < NUMBER_OF_ALL_ELEMENTS_MIN_VALUE) {
-            throw new IllegalArgumentException("numberOfAllElements [" + numberOfAllElements
-                    + "] is less than NUMBER_OF_ALL_ELEMENTS_MIN_VALUE [" + NUMBER_OF_ALL_ELEMENTS_MIN_VALUE + "]");
+        if (elementCount == null) {
+            throw new NullPointerException("elementCount cannot be null");
         }
         if (limit == null) {
             throw new NullPointerException("limit cannot be null");
@@ -59,13 +105,18 @@ public class LimitedResult<T extends Serializable> implements Serializable {
             throw new IllegalArgumentException(
                     "the size of the elements is greather than the max results of the limit");
         }
-        if (elements.size() > numberOfAllElements) {
+        if (elementCount.isExact() && (elements.size() > elementCount.getValue())) {
             throw new IllegalArgumentException(
                     "the size of the elements is greather than the number of all elements");
         }
         this.elements = Collections.unmodifiableList(elements);
-        this.numberOfAllElements = numberOfAllElements;
+        this.numberOfAllElements = elementCount.getValue();
         this.limit = limit;
+        this.elementCount = elementCount;
+    }
+
+    public LimitedResult(final List<T> elements, final long numberOfAllElements, final Limit limit) {
+        this(elements, ElementCount.exact(numberOfAllElements), limit);
     }
 
     @Override
@@ -97,9 +148,22 @@ public class LimitedResult<T extends Serializable> implements Serializable {
         if (numberOfAllElements != other.numberOfAllElements) {
             return false;
         }
+        if (!getElementCount().equals(other.getElementCount())) {
+            return false;
+        }
         return true;
     }
 
+    /**
+     * Returns the number of all elements with its accuracy.
+     */
+    public ElementCount getElementCount() {
+        if (elementCount == null) {
+            return ElementCount.exact(numberOfAllElements);
+        }
+        return elementCount;
+    }
+
     public List<T> getElements() {
         return elements;
     }
@@ -108,6 +172,10 @@ public class LimitedResult<T extends Serializable> implements Serializable {
         return limit;
     }
 
+    /**
+     * Returns the number of all elements. If the count is not {@link ElementCount#isExact() exact}, it is the
+     * estimated or the minimum number of all elements, see {@link #getElementCount()}.
+     */
     public long getNumberOfAllElements() {
         return numberOfAllElements;
     }
@@ -27,6 +27,23 @@ public class Page<T extends Serializable> extends LimitedResult<T> {
      */
     private static final long serialVersionUID = -7857550936374542552L;
 
+    /**
+     * Creates a page from the rows of a page query that fetched {@link CountStrategy#getFetchSize(Limit)} rows. The
+     * rows after the max results of the limit are only used to determine the count.
+     *
+     * @param fetched
+     *            the rows returned by the page query
+     * @param limit
+     *            the limit of the page query
+     * @param countStrategy
+     *            determines the number of all elements
+     */
+    public static <T extends Serializable> Page<T> of(final List<T> fetched, final Limit limit,
+            final CountStrategy countStrategy) {
+        List<T> elements = LimitedResult.limitFetched(fetched, limit);
+        return new Page<T>(elements, countStrategy.count(limit, fetched.size()), limit);
+    }
+
     /**
      * The index of this page calculated from the {@link Range} parameter.
      */
@@ -38,8 +55,12 @@ public class Page<T extends Serializable> extends LimitedResult<T> {
      */
     private final long lastAvailablePageIndex;
 
-    public Page(final List<T> elements, final long numberOfAllElements, final Limit limit) {
-        super(elements, numberOfAllElements, limit);
+    /**
+     * Constructor. If the count is not exact, the last available page index is calculated from the estimated or the
+     * minimum number of all elements, but it is never less than the index of this page.
+     */
+    public Page(final List<T> elements, final ElementCount elementCount, final Limit limit) {
+        super(elements, elementCount, limit);
         long firstResult = limit.getFirstResult();
         long pageSize = limit.getMaxResults();
         if ((firstResult != 1) && (pageSize != 1) && (((firstResult + (1 % pageSize))) == 0)) {
@@ -47,11 +68,21 @@ public class Page<T extends Serializable> extends LimitedResult<T> {
         } else {
             pageIndex = (firstResult / pageSize) + 1;
         }
+        long numberOfAllElements = elementCount.getValue();
+        long lastPageIndex;
         if ((numberOfAllElements % pageSize) == 0) {
-            lastAvailablePageIndex = numberOfAllElements / pageSize;
+            lastPageIndex = numberOfAllElements / pageSize;
         } else {
-            lastAvailablePageIndex = (numberOfAllElements / pageSize) + 1;
+            lastPageIndex = (numberOfAllElements / pageSize) + 1;
+        }
+        if (!elementCount.isExact()) {
+            lastPageIndex = Math.max(lastPageIndex, pageIndex);
         }
+        lastAvailablePageIndex = lastPageIndex;
+    }
+
+    public Page(final List<T> elements, final long numberOfAllElements, final Limit limit) {
+        this(elements, ElementCount.exact(numberOfAllElements), limit);
     }
 
     @Override
@@ -76,7 +107,8 @@ public class Page<T extends Serializable> extends LimitedResult<T> {
     }
 
     /**
-     * Returns the list of page indexes close to the current page index.
+     * Returns the list of page indexes close to the current page index. If the count is not exact, the list does not
+     * go beyond the {@link #getLastAvailablePageIndex() last available page index} known from the count.
      * 
      * @param maxNumberOfClickablePageIndexes
      *            The maximum number of the returned list.
@@ -116,6 +148,10 @@ public class Page<T extends Serializable> extends LimitedResult<T> {
         return getLimit().getFirstResult();
     }
 
+    /**
+     * Returns the index of the last page. If the count is not exact, it is the last page according to the estimated
+     * or the minimum number of all elements, see {@link #isLastAvailablePageIndexExact()}.
+     */
     public long getLastAvailablePageIndex() {
         return lastAvailablePageIndex;
     }
@@ -128,6 +164,13 @@ public class Page<T extends Serializable> extends LimitedResult<T> {
         return getLimit().getMaxResults();
     }
 
+    /**
+     * Whether there is a page after this one. If the count is an estimation, the answer is an estimation as well.
+     */
+    public boolean hasNextPage() {
+        return pageIndex < lastAvailablePageIndex;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -137,6 +180,13 @@ public class Page<T extends Serializable> extends LimitedResult<T> {
         return result;
     }
 
+    /**
+     * Whether the {@link #getLastAvailablePageIndex() last available page index} is calculated from an exact count.
+     */
+    public boolean isLastAvailablePageIndexExact() {
+        return getElementCount().isExact();
+    }
+
     @Override
     public String toString() {
         return "Page [pageIndex=" + pageIndex + ", lastAvailablePageIndex=" + lastAvailablePageIndex + "]";
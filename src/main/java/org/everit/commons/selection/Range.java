@@ -223,7 +223,7 @@ public class Range<T extends Comparable<? super T>> implements Serializable {
             lowerInclusive = other.lowerInclusive;
         } else {
             lowerBound = this.lowerBound;
-            lowerInclusive = this.lowerInclusive || other.lowerInclusive;
+            lowerInclusive = this.lowerInclusive && other.lowerInclusive;
         }
         int higherComp = this.higherBound.compareTo(other.higherBound);
         if (higherComp < 0) {
@@ -234,7 +234,7 @@ public class Range<T extends Comparable<? super T>> implements Serializable {
             higherInclusive = other.higherInclusive;
         } else {
             higherBound = this.higherBound;
-            higherInclusive = this.higherInclusive || other.higherInclusive;
+            higherInclusive = this.higherInclusive && other.higherInclusive;
         }
         return new Range<T>(lowerBound, higherBound, lowerInclusive, higherInclusive);
     }
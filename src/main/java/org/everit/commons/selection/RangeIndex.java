@@ -0,0 +1,93 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.util.List;
+
+/**
+ * An index of ranges and the values stored with them that can find the ranges overlapping a range or containing a
+ * value. Empty ranges (e.g. <code>[5, 5)</code>) have no elements, so they never match a query.
+ *
+ * @param <T>
+ *            The type of the bounding values.
+ * @param <V>
+ *            The type of the values stored with the ranges.
+ */
+public interface RangeIndex<T extends Comparable<? super T>, V> {
+
+    /**
+     * Adds a range with a value to the index. The same range can be added several times with different (or even the
+     * same) values.
+     *
+     * @param range
+     *            the range, cannot be null and cannot have <code>null</code> bounds
+     * @param value
+     *            the value stored with the range
+     */
+    void add(Range<T> range, V value);
+
+    /**
+     * Removes all ranges from the index.
+     */
+    void clear();
+
+    /**
+     * Returns the stored ranges that contain the given value.
+     *
+     * @param point
+     *            the value to look for, cannot be null
+     * @return the matches in the order of the lower bounds of the stored ranges
+     */
+    List<RangeMatch<T, V>> findContaining(T point);
+
+    /**
+     * Returns the stored ranges that have common elements with the given range.
+     *
+     * @param query
+     *            the range to look for, cannot be null and cannot have <code>null</code> bounds
+     * @return the matches in the order of the lower bounds of the stored ranges
+     */
+    List<RangeMatch<T, V>> findOverlapping(Range<T> query);
+
+    boolean isEmpty();
+
+    /**
+     * Determines if there is a stored range that has common elements with the given range.
+     *
+     * @param query
+     *            the range to look for, cannot be null and cannot have <code>null</code> bounds
+     * @return <code>true</code> if at least one stored range overlaps <code>query</code>
+     */
+    boolean overlaps(Range<T> query);
+
+    /**
+     * Removes one occurrence of a range stored with the given value.
+     *
+     * @param range
+     *            the range to remove
+     * @param value
+     *            the value stored with the range
+     * @return <code>true</code> if the index contained the range with the value
+     */
+    boolean remove(Range<T> range, V value);
+
+    /**
+     * @return the number of the stored range-value pairs
+     */
+    int size();
+
+}
@@ -0,0 +1,229 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * A cache of values that depend on the elements of a range, typically {@link LimitedResult}s or {@link Page}s of a
+ * range query. The ranges of the cached values are stored in a {@link ConcurrentRangeIndex}, so when a key is
+ * written only the values whose range contains the key are invalidated, found in <code>O(log n + k)</code> time,
+ * instead of flushing the whole cache.
+ *
+ * Registration and invalidation are thread safe and do not block each other. A value is registered with its range
+ * before it is loaded by {@link #get(Object, Range, Supplier)}, so a write that happens while the value is being
+ * loaded invalidates it and a stale value is never returned from the cache.
+ *
+ * @param <T>
+ *            The type of the bounding values.
+ * @param <K>
+ *            The type of the cache keys, e.g. the query with its {@link Limit}.
+ * @param <V>
+ *            The type of the cached values.
+ */
+public class RangeInvalidationRegistry<T extends Comparable<? super T>, K, V> {
+
+    /**
+     * A registered cache key with its range and value. Entries are compared by identity.
+     */
+    private static final class Entry<T extends Comparable<? super T>, K, V> {
+
+        private final K key;
+
+        private final Range<T> range;
+
+        private volatile V value;
+
+        private volatile boolean invalidated;
+
+        private Entry(final K key, final Range<T> range) {
+            this.key = key;
+            this.range = range;
+        }
+
+    }
+
+    private final ConcurrentMap<K, Entry<T, K, V>> entries = new ConcurrentHashMap<K, Entry<T, K, V>>();
+
+    private final ConcurrentRangeIndex<T, Entry<T, K, V>> index = new ConcurrentRangeIndex<T, Entry<T, K, V>>();
+
+    /**
+     * Removes all values.
+     */
+    public void clear() {
+        for (K key : entries.keySet()) {
+            remove(key);
+        }
+    }
+
+    /**
+     * Returns the cached value of a key.
+     *
+     * @param key
+     *            the cache key, cannot be null
+     * @return the value or <code>null</code> if no valid value is cached
+     */
+    public V get(final K key) {
+        if (key == null) {
+            throw new NullPointerException("key cannot be null");
+        }
+        Entry<T, K, V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        V value = entry.value;
+        if (entry.invalidated) {
+            // invalidated between registering the range and putting the entry into the map
+            entries.remove(key, entry);
+            return null;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the cached value of a key or loads and caches it. If the range is invalidated while the value is being
+     * loaded, the loaded value is returned but not cached.
+     *
+     * @param key
+     *            the cache key, cannot be null
+     * @param range
+     *            the range the value depends on, cannot be null and cannot have <code>null</code> bounds
+     * @param loader
+     *            loads the value, called without holding any lock
+     * @return the cached or the loaded value
+     */
+    public V get(final K key, final Range<T> range, final Supplier<? extends V> loader) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        Entry<T, K, V> entry = register(key, range);
+        value = loader.get();
+        if (value == null) {
+            throw new NullPointerException("loader returned null for key [" + key + "]");
+        }
+        entry.value = value;
+        return value;
+    }
+
+    private int invalidate(final List<RangeMatch<T, Entry<T, K, V>>> matches) {
+        int count = 0;
+        for (RangeMatch<T, Entry<T, K, V>> match : matches) {
+            Entry<T, K, V> entry = match.getValue();
+            entry.invalidated = true;
+            if (index.remove(entry.range, entry)) {
+                count++;
+            }
+            entries.remove(entry.key, entry);
+        }
+        return count;
+    }
+
+    /**
+     * Invalidates the values whose range has common elements with a range, e.g. after the elements of the range were
+     * modified.
+     *
+     * @param range
+     *            the modified range, cannot be null and cannot have <code>null</code> bounds
+     * @return the number of the invalidated values
+     */
+    public int invalidate(final Range<T> range) {
+        return invalidate(index.findOverlapping(range));
+    }
+
+    /**
+     * Invalidates the values whose range contains a key, e.g. after the row with the key was written.
+     *
+     * @param point
+     *            the written key, cannot be null
+     * @return the number of the invalidated values
+     */
+    public int invalidate(final T point) {
+        return invalidate(index.findContaining(point));
+    }
+
+    /**
+     * Caches a value that depends on a range. The value must have been loaded after the range was last modified,
+     * otherwise use {@link #get(Object, Range, Supplier)}, which registers the range before loading the value.
+     *
+     * @param key
+     *            the cache key, cannot be null
+     * @param range
+     *            the range the value depends on, cannot be null and cannot have <code>null</code> bounds
+     * @param value
+     *            the value, cannot be null
+     */
+    public void put(final K key, final Range<T> range, final V value) {
+        if (value == null) {
+            throw new NullPointerException("value cannot be null");
+        }
+        register(key, range).value = value;
+    }
+
+    private Entry<T, K, V> register(final K key, final Range<T> range) {
+        if (key == null) {
+            throw new NullPointerException("key cannot be null");
+        }
+        if (range == null) {
+            throw new NullPointerException("range cannot be null");
+        }
+        Entry<T, K, V> entry = new Entry<T, K, V>(key, range);
+        index.add(range, entry);
+        Entry<T, K, V> previous = entries.put(key, entry);
+        if (previous != null) {
+            previous.invalidated = true;
+            index.remove(previous.range, previous);
+        }
+        return entry;
+    }
+
+    /**
+     * Removes the value of a key, e.g. when the cache holding the values evicts it.
+     *
+     * @param key
+     *            the cache key, cannot be null
+     * @return <code>true</code> if a value or a value being loaded was registered with the key
+     */
+    public boolean remove(final K key) {
+        if (key == null) {
+            throw new NullPointerException("key cannot be null");
+        }
+        Entry<T, K, V> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        entry.invalidated = true;
+        index.remove(entry.range, entry);
+        return true;
+    }
+
+    /**
+     * Returns the number of the registered keys, including the ones whose values are being loaded.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public String toString() {
+        return "RangeInvalidationRegistry [size=" + size() + "]";
+    }
+
+}
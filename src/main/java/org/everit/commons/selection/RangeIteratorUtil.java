@@ -0,0 +1,382 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Set operations on iterators of ranges sorted by {@link RangeUtil#lowerBoundComparator()}, with the same semantics
+ * as the operations of {@link RangeSet}. The results are produced lazily while they are iterated and the operations
+ * keep only a constant number of ranges per input in the memory, so they work on inputs that do not fit into the
+ * memory.
+ *
+ * The results are sorted, disjoint, coalesced, non-empty {@link Range} instances (not instances of the subclasses of
+ * the inputs). The inputs cannot contain <code>null</code> or ranges with <code>null</code> bounds, and an
+ * {@link IllegalArgumentException} is thrown during iteration if an input turns out not to be sorted.
+ */
+public final class RangeIteratorUtil {
+
+    /**
+     * Base class of the iterators that calculate their next element in advance.
+     */
+    private abstract static class AbstractRangeIterator<T extends Comparable<? super T>> implements
+            Iterator<Range<T>> {
+
+        private Range<T> next;
+
+        /**
+         * Calculates the next element.
+         *
+         * @return the next element or <code>null</code> if there are no more elements
+         */
+        protected abstract Range<T> findNext();
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = findNext();
+            }
+            return next != null;
+        }
+
+        @Override
+        public Range<T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Range<T> result = next;
+            next = null;
+            return result;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
+    /**
+     * Merges the connected ranges of a sorted input.
+     */
+    private static final class CoalescingIterator<T extends Comparable<? super T>> extends
+            AbstractRangeIterator<T> {
+
+        private final Iterator<? extends Range<T>> input;
+
+        private Range<T> previousInput;
+
+        private Range<T> pending;
+
+        private CoalescingIterator(final Iterator<? extends Range<T>> input) {
+            this.input = input;
+        }
+
+        @Override
+        protected Range<T> findNext() {
+            while (input.hasNext()) {
+                Range<T> range = input.next();
+                RangeIteratorUtil.requireBounds(range);
+                if ((previousInput != null) && (RangeUtil.compareLowerBounds(previousInput, range) > 0)) {
+                    throw new IllegalArgumentException("range [" + range + "] follows [" + previousInput
+                            + "], the ranges are not sorted by their lower bounds");
+                }
+                previousInput = range;
+                if (RangeUtil.isEmpty(range)) {
+                    continue;
+                }
+                if (pending == null) {
+                    pending = RangeSet.toPlainRange(range);
+                } else if (RangeUtil.isConnected(pending, range)) {
+                    if (RangeUtil.compareHigherBounds(range, pending) > 0) {
+                        pending = new Range<T>(pending.getLowerBound(), range.getHigherBound(),
+                                pending.isLowerInclusive(), range.isHigherInclusive());
+                    }
+                } else {
+                    Range<T> result = pending;
+                    pending = RangeSet.toPlainRange(range);
+                    return result;
+                }
+            }
+            Range<T> result = pending;
+            pending = null;
+            return result;
+        }
+
+    }
+
+    /**
+     * Subtracts a coalesced input from an other coalesced input.
+     */
+    private static final class DifferenceIterator<T extends Comparable<? super T>> extends
+            AbstractRangeIterator<T> {
+
+        private final Iterator<Range<T>> input;
+
+        private final Iterator<Range<T>> subtrahend;
+
+        private Range<T> current;
+
+        private T lowerBound;
+
+        private boolean lowerInclusive;
+
+        private Range<T> subtrahendRange;
+
+        private DifferenceIterator(final Iterator<Range<T>> input, final Iterator<Range<T>> subtrahend) {
+            this.input = input;
+            this.subtrahend = subtrahend;
+            subtrahendRange = subtrahend.hasNext() ? subtrahend.next() : null;
+        }
+
+        @Override
+        protected Range<T> findNext() {
+            while (true) {
+                if (current == null) {
+                    if (!input.hasNext()) {
+                        return null;
+                    }
+                    current = input.next();
+                    lowerBound = current.getLowerBound();
+                    lowerInclusive = current.isLowerInclusive();
+                }
+                while ((subtrahendRange != null) && RangeUtil.endsBefore(subtrahendRange, lowerBound, lowerInclusive)) {
+                    subtrahendRange = subtrahend.hasNext() ? subtrahend.next() : null;
+                }
+                Range<T> piece;
+                if ((subtrahendRange == null) || RangeUtil.endsBefore(current, subtrahendRange.getLowerBound(),
+                        subtrahendRange.isLowerInclusive())) {
+                    piece = RangeIteratorUtil.nonEmptyRange(lowerBound, current.getHigherBound(), lowerInclusive,
+                            current.isHigherInclusive());
+                    current = null;
+                } else {
+                    piece = RangeIteratorUtil.nonEmptyRange(lowerBound, subtrahendRange.getLowerBound(),
+                            lowerInclusive, !subtrahendRange.isLowerInclusive());
+                    if (RangeUtil.compareHigherBounds(current, subtrahendRange) <= 0) {
+                        current = null;
+                    } else {
+                        lowerBound = subtrahendRange.getHigherBound();
+                        lowerInclusive = !subtrahendRange.isHigherInclusive();
+                        subtrahendRange = subtrahend.hasNext() ? subtrahend.next() : null;
+                    }
+                }
+                if (piece != null) {
+                    return piece;
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Intersects two coalesced inputs.
+     */
+    private static final class IntersectionIterator<T extends Comparable<? super T>> extends
+            AbstractRangeIterator<T> {
+
+        private final Iterator<Range<T>> input;
+
+        private final Iterator<Range<T>> other;
+
+        private Range<T> range;
+
+        private Range<T> otherRange;
+
+        private IntersectionIterator(final Iterator<Range<T>> input, final Iterator<Range<T>> other) {
+            this.input = input;
+            this.other = other;
+            range = input.hasNext() ? input.next() : null;
+            otherRange = other.hasNext() ? other.next() : null;
+        }
+
+        @Override
+        protected Range<T> findNext() {
+            while ((range != null) && (otherRange != null)) {
+                Range<T> intersection = range.intersect(otherRange);
+                int higherComp = RangeUtil.compareHigherBounds(range, otherRange);
+                if (higherComp <= 0) {
+                    range = input.hasNext() ? input.next() : null;
+                }
+                if (higherComp >= 0) {
+                    otherRange = other.hasNext() ? other.next() : null;
+                }
+                if ((intersection != null) && !RangeUtil.isEmpty(intersection)) {
+                    return intersection;
+                }
+            }
+            return null;
+        }
+
+    }
+
+    /**
+     * Merges sorted inputs into one sorted sequence. Keeps the next range of every input in a priority queue.
+     */
+    private static final class MergingIterator<T extends Comparable<? super T>> implements Iterator<Range<T>> {
+
+        /**
+         * An input with its next range.
+         */
+        private static final class Head<T extends Comparable<? super T>> {
+
+            private final Iterator<? extends Range<T>> input;
+
+            private Range<T> range;
+
+            private Head(final Iterator<? extends Range<T>> input) {
+                this.input = input;
+                range = input.next();
+            }
+
+        }
+
+        private final PriorityQueue<Head<T>> heads;
+
+        private MergingIterator(final List<? extends Iterator<? extends Range<T>>> inputs) {
+            heads = new PriorityQueue<Head<T>>(Math.max(1, inputs.size()), new Comparator<Head<T>>() {
+
+                @Override
+                public int compare(final Head<T> o1, final Head<T> o2) {
+                    return RangeUtil.compareLowerBounds(o1.range, o2.range);
+                }
+
+            });
+            for (Iterator<? extends Range<T>> input : inputs) {
+                if (input.hasNext()) {
+                    Head<T> head = new Head<T>(input);
+                    RangeIteratorUtil.requireBounds(head.range);
+                    heads.add(head);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public Range<T> next() {
+            Head<T> head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            Range<T> result = head.range;
+            if (head.input.hasNext()) {
+                head.range = head.input.next();
+                RangeIteratorUtil.requireBounds(head.range);
+                heads.add(head);
+            }
+            return result;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
+    /**
+     * Merges the overlapping and adjacent ranges of a sorted input, e.g. <code>[1, 3], (2, 5), [5, 6), (6, 7]</code>
+     * becomes <code>[1, 6), (6, 7]</code>. Empty ranges are dropped.
+     *
+     * @param sortedRanges
+     *            the input sorted by {@link RangeUtil#lowerBoundComparator()}, cannot be null
+     * @return the coalesced ranges
+     */
+    public static <T extends Comparable<? super T>> Iterator<Range<T>> coalesce(
+            final Iterator<? extends Range<T>> sortedRanges) {
+        if (sortedRanges == null) {
+            throw new NullPointerException("sortedRanges cannot be null");
+        }
+        return new CoalescingIterator<T>(sortedRanges);
+    }
+
+    /**
+     * Returns the elements of the first input that are not the elements of the second input.
+     *
+     * @param sortedRanges
+     *            the input to subtract from, sorted by {@link RangeUtil#lowerBoundComparator()}, cannot be null
+     * @param sortedSubtrahend
+     *            the input to subtract, sorted by {@link RangeUtil#lowerBoundComparator()}, cannot be null
+     * @return the coalesced difference
+     */
+    public static <T extends Comparable<? super T>> Iterator<Range<T>> difference(
+            final Iterator<? extends Range<T>> sortedRanges, final Iterator<? extends Range<T>> sortedSubtrahend) {
+        return new DifferenceIterator<T>(RangeIteratorUtil.coalesce(sortedRanges),
+                RangeIteratorUtil.coalesce(sortedSubtrahend));
+    }
+
+    /**
+     * Returns the elements that are the elements of all inputs.
+     *
+     * @param sortedInputs
+     *            the inputs sorted by {@link RangeUtil#lowerBoundComparator()}, cannot be null or empty
+     * @return the coalesced intersection
+     */
+    public static <T extends Comparable<? super T>> Iterator<Range<T>> intersection(
+            final List<? extends Iterator<? extends Range<T>>> sortedInputs) {
+        if (sortedInputs.isEmpty()) {
+            throw new IllegalArgumentException("sortedInputs cannot be empty");
+        }
+        Iterator<Range<T>> result = RangeIteratorUtil.coalesce(sortedInputs.get(0));
+        for (int i = 1; i < sortedInputs.size(); i++) {
+            result = new IntersectionIterator<T>(result, RangeIteratorUtil.coalesce(sortedInputs.get(i)));
+        }
+        return result;
+    }
+
+    private static <T extends Comparable<? super T>> Range<T> nonEmptyRange(final T lowerBound,
+            final T higherBound, final boolean lowerInclusive, final boolean higherInclusive) {
+        int lowerToHigher = lowerBound.compareTo(higherBound);
+        if ((lowerToHigher < 0) || ((lowerToHigher == 0) && lowerInclusive && higherInclusive)) {
+            return new Range<T>(lowerBound, higherBound, lowerInclusive, higherInclusive);
+        }
+        return null;
+    }
+
+    private static <T extends Comparable<? super T>> void requireBounds(final Range<T> range) {
+        if (range == null) {
+            throw new NullPointerException("range cannot be null");
+        }
+        if ((range.getLowerBound() == null) || (range.getHigherBound() == null)) {
+            throw new NullPointerException("the bounds of range [" + range + "] cannot be null");
+        }
+    }
+
+    /**
+     * Returns the elements that are the elements of any of the inputs. The inputs are merged with a priority queue,
+     * so the union of <code>k</code> inputs with <code>n</code> ranges takes <code>O(n log k)</code> time.
+     *
+     * @param sortedInputs
+     *            the inputs sorted by {@link RangeUtil#lowerBoundComparator()}, cannot be null
+     * @return the coalesced union
+     */
+    public static <T extends Comparable<? super T>> Iterator<Range<T>> union(
+            final List<? extends Iterator<? extends Range<T>>> sortedInputs) {
+        return new CoalescingIterator<T>(new MergingIterator<T>(sortedInputs));
+    }
+
+    private RangeIteratorUtil() {
+    }
+
+}
@@ -0,0 +1,359 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Joins two collections of ranges on overlap: finds every pair of a left and a right range that have common elements
+ * (their relation is not {@link RangeRelation#isDistinct() distinct}).
+ */
+public final class RangeJoin {
+
+    /**
+     * Joins the ranges of one band of the key space. A pair is kept only if the greater one of the lower bounds of
+     * the two ranges falls into the band. That value is an element of both ranges, so both of them are assigned to
+     * the band and every pair is kept by exactly one band.
+     */
+    private static final class BandTask<T extends Comparable<? super T>> extends
+            RecursiveTask<List<RangeJoinPair<T>>> {
+
+        private static final long serialVersionUID = 4101268731359530118L;
+
+        private final List<T> boundaries;
+
+        private final int band;
+
+        private final List<Range<T>> leftRanges;
+
+        private final List<Range<T>> rightRanges;
+
+        private final boolean intersect;
+
+        private BandTask(final List<T> boundaries, final int band, final List<Range<T>> leftRanges,
+                final List<Range<T>> rightRanges, final boolean intersect) {
+            this.boundaries = boundaries;
+            this.band = band;
+            this.leftRanges = leftRanges;
+            this.rightRanges = rightRanges;
+            this.intersect = intersect;
+        }
+
+        @Override
+        protected List<RangeJoinPair<T>> compute() {
+            List<RangeJoinPair<T>> pairs = new ArrayList<RangeJoinPair<T>>();
+            SweepIterator<T> iterator = new SweepIterator<T>(leftRanges, rightRanges, intersect);
+            while (iterator.hasNext()) {
+                RangeJoinPair<T> pair = iterator.next();
+                T leftLowerBound = pair.getLeft().getLowerBound();
+                T rightLowerBound = pair.getRight().getLowerBound();
+                T start = (leftLowerBound.compareTo(rightLowerBound) >= 0) ? leftLowerBound : rightLowerBound;
+                if (RangeJoin.bandOf(boundaries, start) == band) {
+                    pairs.add(pair);
+                }
+            }
+            return pairs;
+        }
+
+    }
+
+    /**
+     * Sweeps through the left and right ranges in the order of their lower bounds. Every range is paired with the
+     * active ranges of the other side when it is reached, then it becomes active itself. Active ranges that end
+     * before the lower bound of the current range are dropped, so the work done is proportional to the number of the
+     * pairs found.
+     */
+    private static final class SweepIterator<T extends Comparable<? super T>> implements Iterator<RangeJoinPair<T>> {
+
+        private final List<Range<T>> leftRanges;
+
+        private final List<Range<T>> rightRanges;
+
+        private final boolean intersect;
+
+        private final List<Range<T>> leftActive = new ArrayList<Range<T>>();
+
+        private final List<Range<T>> rightActive = new ArrayList<Range<T>>();
+
+        private int leftIndex;
+
+        private int rightIndex;
+
+        private Range<T> current;
+
+        private boolean currentIsLeft;
+
+        private List<Range<T>> candidates;
+
+        private int candidateIndex;
+
+        private RangeJoinPair<T> next;
+
+        private SweepIterator(final List<Range<T>> leftRanges, final List<Range<T>> rightRanges,
+                final boolean intersect) {
+            this.leftRanges = leftRanges;
+            this.rightRanges = rightRanges;
+            this.intersect = intersect;
+        }
+
+        private RangeJoinPair<T> findNext() {
+            while (true) {
+                if (current != null) {
+                    RangeJoinPair<T> pair = nextPairOfCurrent();
+                    if (pair != null) {
+                        return pair;
+                    }
+                    (currentIsLeft ? leftActive : rightActive).add(current);
+                    current = null;
+                }
+                boolean leftRemaining = leftIndex < leftRanges.size();
+                boolean rightRemaining = rightIndex < rightRanges.size();
+                boolean finished = leftRemaining ? (!rightRemaining && rightActive.isEmpty())
+                        : (!rightRemaining || leftActive.isEmpty());
+                if (finished) {
+                    return null;
+                }
+                currentIsLeft = leftRemaining && (!rightRemaining || (RangeUtil.compareLowerBounds(
+                        leftRanges.get(leftIndex), rightRanges.get(rightIndex)) <= 0));
+                if (currentIsLeft) {
+                    current = leftRanges.get(leftIndex++);
+                    candidates = rightActive;
+                } else {
+                    current = rightRanges.get(rightIndex++);
+                    candidates = leftActive;
+                }
+                candidateIndex = 0;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = findNext();
+            }
+            return next != null;
+        }
+
+        @Override
+        public RangeJoinPair<T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            RangeJoinPair<T> result = next;
+            next = null;
+            return result;
+        }
+
+        private RangeJoinPair<T> nextPairOfCurrent() {
+            T lowerBound = current.getLowerBound();
+            while (candidateIndex < candidates.size()) {
+                Range<T> candidate = candidates.get(candidateIndex);
+                if (candidate.getHigherBound().compareTo(lowerBound) < 0) {
+                    int last = candidates.size() - 1;
+                    candidates.set(candidateIndex, candidates.get(last));
+                    candidates.remove(last);
+                } else {
+                    candidateIndex++;
+                    RangeJoinPair<T> pair = currentIsLeft ? RangeJoin.pair(current, candidate, intersect)
+                            : RangeJoin.pair(candidate, current, intersect);
+                    if (pair != null) {
+                        return pair;
+                    }
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
+    /**
+     * Assigns sorted ranges to bands: a range belongs to every band that contains a value between its bounds
+     * (inclusive, regardless of the inclusive flags).
+     */
+    private static <T extends Comparable<? super T>> List<List<Range<T>>> assignToBands(final List<T> boundaries,
+            final List<Range<T>> ranges) {
+        int bandCount = boundaries.size() + 1;
+        List<List<Range<T>>> bands = new ArrayList<List<Range<T>>>(bandCount);
+        for (int i = 0; i < bandCount; i++) {
+            bands.add(new ArrayList<Range<T>>());
+        }
+        for (Range<T> range : ranges) {
+            int lastBand = RangeJoin.bandOf(boundaries, range.getHigherBound());
+            for (int band = RangeJoin.bandOf(boundaries, range.getLowerBound()); band <= lastBand; band++) {
+                bands.get(band).add(range);
+            }
+        }
+        return bands;
+    }
+
+    /**
+     * Returns the index of the band a value falls into: the number of the boundaries that are not greater than the
+     * value.
+     */
+    private static <T extends Comparable<? super T>> int bandOf(final List<T> boundaries, final T value) {
+        int low = 0;
+        int high = boundaries.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (boundaries.get(mid).compareTo(value) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Chooses band boundaries at the quantiles of the lower bounds of sorted ranges.
+     */
+    private static <T extends Comparable<? super T>> List<T> chooseBoundaries(final List<Range<T>> ranges,
+            final int bandCount) {
+        List<T> boundaries = new ArrayList<T>(bandCount);
+        int size = ranges.size();
+        for (int i = 1; i < bandCount; i++) {
+            T boundary = ranges.get((int) (((long) i * size) / bandCount)).getLowerBound();
+            if (boundaries.isEmpty() || (boundaries.get(boundaries.size() - 1).compareTo(boundary) < 0)) {
+                boundaries.add(boundary);
+            }
+        }
+        return boundaries;
+    }
+
+    /**
+     * Joins two collections of ranges on overlap with a sweep over the ranges sorted by their lower bounds. The
+     * ranges are sorted when this method is called, the pairs are produced lazily while the returned iterable is
+     * iterated, so they do not have to fit into the memory at the same time. The running time is
+     * <code>O((n + m) log(n + m) + k)</code> where <code>k</code> is the number of the pairs.
+     *
+     * @param left
+     *            the left ranges, cannot be null and cannot contain ranges with <code>null</code> bounds
+     * @param right
+     *            the right ranges, cannot be null and cannot contain ranges with <code>null</code> bounds
+     * @param intersect
+     *            whether the {@link RangeJoinPair#getIntersection() intersection} of the pairs should be calculated
+     * @return the overlapping pairs in an unspecified order. The iterable can be iterated several times, the
+     *         collections are not read again.
+     */
+    public static <T extends Comparable<? super T>> Iterable<RangeJoinPair<T>> overlapJoin(
+            final Collection<? extends Range<T>> left, final Collection<? extends Range<T>> right,
+            final boolean intersect) {
+        final List<Range<T>> leftRanges = RangeJoin.sortedCopy(left);
+        final List<Range<T>> rightRanges = RangeJoin.sortedCopy(right);
+        return new Iterable<RangeJoinPair<T>>() {
+
+            @Override
+            public Iterator<RangeJoinPair<T>> iterator() {
+                return new SweepIterator<T>(leftRanges, rightRanges, intersect);
+            }
+
+        };
+    }
+
+    /**
+     * Creates the pair of two ranges if they overlap.
+     *
+     * @return the pair or <code>null</code> if the ranges are distinct
+     */
+    static <T extends Comparable<? super T>> RangeJoinPair<T> pair(final Range<T> left, final Range<T> right,
+            final boolean intersect) {
+        RangeRelation relation = left.getRelationTo(right);
+        if (relation.isDistinct()) {
+            return null;
+        }
+        return new RangeJoinPair<T>(left, right, relation, intersect ? left.intersect(right) : null);
+    }
+
+    /**
+     * Joins two collections of ranges on overlap using the threads of a fork-join pool. The key space is split into
+     * bands at the quantiles of the lower bounds, every band is joined by a separate task with the same sweep as
+     * {@link #overlapJoin(Collection, Collection, boolean)}. Ranges crossing band boundaries are joined in every band
+     * they reach, but each pair is returned only once, by the band that contains the start of their intersection.
+     *
+     * @param left
+     *            the left ranges, cannot be null and cannot contain ranges with <code>null</code> bounds
+     * @param right
+     *            the right ranges, cannot be null and cannot contain ranges with <code>null</code> bounds
+     * @param intersect
+     *            whether the {@link RangeJoinPair#getIntersection() intersection} of the pairs should be calculated
+     * @param pool
+     *            the pool that runs the tasks, cannot be null. The number of the bands is four times its
+     *            parallelism.
+     * @return the same pairs as {@link #overlapJoin(Collection, Collection, boolean)} in an unspecified order
+     */
+    public static <T extends Comparable<? super T>> List<RangeJoinPair<T>> parallelOverlapJoin(
+            final Collection<? extends Range<T>> left, final Collection<? extends Range<T>> right,
+            final boolean intersect, final ForkJoinPool pool) {
+        if (pool == null) {
+            throw new NullPointerException("pool cannot be null");
+        }
+        List<Range<T>> leftRanges = RangeJoin.sortedCopy(left);
+        List<Range<T>> rightRanges = RangeJoin.sortedCopy(right);
+        final List<T> boundaries = RangeJoin.chooseBoundaries((leftRanges.size() >= rightRanges.size()) ? leftRanges
+                : rightRanges, pool.getParallelism() * 4);
+        final List<List<Range<T>>> leftBands = RangeJoin.assignToBands(boundaries, leftRanges);
+        final List<List<Range<T>>> rightBands = RangeJoin.assignToBands(boundaries, rightRanges);
+        return pool.invoke(new RecursiveTask<List<RangeJoinPair<T>>>() {
+
+            private static final long serialVersionUID = -2594712425829046318L;
+
+            @Override
+            protected List<RangeJoinPair<T>> compute() {
+                List<BandTask<T>> tasks = new ArrayList<BandTask<T>>(leftBands.size());
+                for (int band = 0; band < leftBands.size(); band++) {
+                    tasks.add(new BandTask<T>(boundaries, band, leftBands.get(band), rightBands.get(band),
+                            intersect));
+                }
+                ForkJoinTask.invokeAll(tasks);
+                List<RangeJoinPair<T>> pairs = new ArrayList<RangeJoinPair<T>>();
+                for (BandTask<T> task : tasks) {
+                    pairs.addAll(task.join());
+                }
+                return pairs;
+            }
+
+        });
+    }
+
+    static <T extends Comparable<? super T>> List<Range<T>> sortedCopy(final Collection<? extends Range<T>> ranges) {
+        List<Range<T>> result = new ArrayList<Range<T>>(ranges);
+        for (Range<T> range : result) {
+            if ((range.getLowerBound() == null) || (range.getHigherBound() == null)) {
+                throw new NullPointerException("the bounds of range [" + range + "] cannot be null");
+            }
+        }
+        Collections.sort(result, RangeUtil.<T> lowerBoundComparator());
+        return result;
+    }
+
+    private RangeJoin() {
+    }
+
+}
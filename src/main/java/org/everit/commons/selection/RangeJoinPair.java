@@ -0,0 +1,122 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+/**
+ * A pair of overlapping ranges produced by a join of two range collections (see {@link RangeJoin}).
+ *
+ * @param <T>
+ *            The type of the bounding values.
+ */
+public class RangeJoinPair<T extends Comparable<? super T>> {
+
+    private final Range<T> left;
+
+    private final Range<T> right;
+
+    /**
+     * The relation of {@link #right} to {@link #left}, as returned by <code>left.getRelationTo(right)</code>.
+     */
+    private final RangeRelation relation;
+
+    private final Range<T> intersection;
+
+    public RangeJoinPair(final Range<T> left, final Range<T> right, final RangeRelation relation,
+            final Range<T> intersection) {
+        if (left == null) {
+            throw new NullPointerException("left cannot be null");
+        }
+        if (right == null) {
+            throw new NullPointerException("right cannot be null");
+        }
+        if (relation == null) {
+            throw new NullPointerException("relation cannot be null");
+        }
+        this.left = left;
+        this.right = right;
+        this.relation = relation;
+        this.intersection = intersection;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        RangeJoinPair<?> other = (RangeJoinPair<?>) obj;
+        if (!left.equals(other.left)) {
+            return false;
+        }
+        if (!right.equals(other.right)) {
+            return false;
+        }
+        if (relation != other.relation) {
+            return false;
+        }
+        if (intersection == null) {
+            return other.intersection == null;
+        }
+        return intersection.equals(other.intersection);
+    }
+
+    /**
+     * Returns the common part of the ranges, or <code>null</code> if the join was not asked to calculate it.
+     */
+    public Range<T> getIntersection() {
+        return intersection;
+    }
+
+    public Range<T> getLeft() {
+        return left;
+    }
+
+    /**
+     * Returns the relation of the right range to the left range, as returned by
+     * <code>getLeft().getRelationTo(getRight())</code>. Never {@link RangeRelation#isDistinct() distinct}.
+     */
+    public RangeRelation getRelation() {
+        return relation;
+    }
+
+    public Range<T> getRight() {
+        return right;
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = (prime * result) + ((intersection == null) ? 0 : intersection.hashCode());
+        result = (prime * result) + left.hashCode();
+        result = (prime * result) + relation.hashCode();
+        result = (prime * result) + right.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "RangeJoinPair [left=" + left + ", right=" + right + ", relation=" + relation + ", intersection="
+                + intersection + "]";
+    }
+
+}
@@ -0,0 +1,109 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+/**
+ * A stored range and its value found by a range query, together with the relation of the queried range to the stored
+ * range.
+ *
+ * @param <T>
+ *            The type of the bounding values.
+ * @param <V>
+ *            The type of the value stored with the range.
+ */
+public class RangeMatch<T extends Comparable<? super T>, V> {
+
+    private final Range<T> range;
+
+    private final V value;
+
+    /**
+     * The relation of the queried range to {@link #range}, as returned by <code>range.getRelationTo(query)</code>.
+     */
+    private final RangeRelation relation;
+
+    public RangeMatch(final Range<T> range, final V value, final RangeRelation relation) {
+        if (range == null) {
+            throw new NullPointerException("range cannot be null");
+        }
+        if (relation == null) {
+            throw new NullPointerException("relation cannot be null");
+        }
+        this.range = range;
+        this.value = value;
+        this.relation = relation;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        RangeMatch<?, ?> other = (RangeMatch<?, ?>) obj;
+        if (!range.equals(other.range)) {
+            return false;
+        }
+        if (relation != other.relation) {
+            return false;
+        }
+        if (value == null) {
+            return other.value == null;
+        }
+        return value.equals(other.value);
+    }
+
+    public Range<T> getRange() {
+        return range;
+    }
+
+    /**
+     * Returns the relation of the queried range to the stored range. E.g. {@link RangeRelation#CONTAINED} means that
+     * the stored range contains the queried range, {@link RangeRelation#CONTAINING} means that the queried range
+     * contains the stored range.
+     *
+     * @return the relation, never <code>null</code>
+     */
+    public RangeRelation getRelation() {
+        return relation;
+    }
+
+    public V getValue() {
+        return value;
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = (prime * result) + range.hashCode();
+        result = (prime * result) + relation.hashCode();
+        result = (prime * result) + ((value == null) ? 0 : value.hashCode());
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "RangeMatch [range=" + range + ", value=" + value + ", relation=" + relation + "]";
+    }
+
+}
@@ -0,0 +1,295 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.util.List;
+
+/**
+ * Batch versions of {@link Range#getRelationTo(Range)}. The relations are written into a <code>byte[]</code> as
+ * {@link RangeRelation#ordinal() ordinals}, they can be converted back with {@link #toRangeRelation(byte)}.
+ *
+ * Ranges with <code>long</code> bounds are given as columns: an array of lower bounds, an array of higher bounds and
+ * an array of flags where the inclusive flags of a range are packed into one byte (see {@link #LOWER_INCLUSIVE} and
+ * {@link #HIGHER_INCLUSIVE}). The <code>long</code> variants classify the ranges with arithmetic instead of
+ * branches, so the loops can be compiled into conditional moves.
+ */
+public final class RangeRelationUtil {
+
+    /**
+     * Flag bit set if the lower bound of a range is inclusive.
+     */
+    public static final byte LOWER_INCLUSIVE = 1;
+
+    /**
+     * Flag bit set if the higher bound of a range is inclusive.
+     */
+    public static final byte HIGHER_INCLUSIVE = 2;
+
+    private static final RangeRelation[] RELATIONS = RangeRelation.values();
+
+    private static final int BEFORE_ORDINAL = RangeRelation.BEFORE.ordinal();
+
+    private static final int AFTER_ORDINAL = RangeRelation.AFTER.ordinal();
+
+    /**
+     * The relation ordinals indexed by <code>(lowerToOtherLower + 1) * 3 + (higherToOtherHigher + 1)</code>. Index 0
+     * stores {@link RangeRelation#AFTER_OVERLAPPING} which becomes {@link RangeRelation#AFTER} if the ranges are
+     * distinct, index 8 stores {@link RangeRelation#BEFORE_OVERLAPPING} which becomes {@link RangeRelation#BEFORE}.
+     */
+    private static final byte[] RELATION_TABLE = new byte[] {
+            (byte) RangeRelation.AFTER_OVERLAPPING.ordinal(), (byte) RangeRelation.CONTAINED.ordinal(),
+            (byte) RangeRelation.CONTAINED.ordinal(), (byte) RangeRelation.CONTAINING.ordinal(),
+            (byte) RangeRelation.IDENTICAL.ordinal(), (byte) RangeRelation.CONTAINED.ordinal(),
+            (byte) RangeRelation.CONTAINING.ordinal(), (byte) RangeRelation.CONTAINING.ordinal(),
+            (byte) RangeRelation.BEFORE_OVERLAPPING.ordinal() };
+
+    private static void checkBounds(final int arrayLength, final int offset, final int length) {
+        if ((offset < 0) || (length < 0) || (offset > (arrayLength - length))) {
+            throw new IndexOutOfBoundsException("offset [" + offset + "] and length [" + length
+                    + "] are out of the bounds of the arrays [" + arrayLength + "]");
+        }
+    }
+
+    /**
+     * Determines the relation of two ranges with <code>long</code> bounds. The result is the same as the ordinal of
+     * the relation returned by {@link Range#getRelationTo(Range)} for the equivalent ranges.
+     *
+     * @return the ordinal of the relation of the other range to the range
+     */
+    public static byte classify(final long lowerBound, final long higherBound, final int flags,
+            final long otherLowerBound, final long otherHigherBound, final int otherFlags) {
+        int lowerInclusive = flags & LOWER_INCLUSIVE;
+        int higherInclusive = (flags & HIGHER_INCLUSIVE) >> 1;
+        int otherLowerInclusive = otherFlags & LOWER_INCLUSIVE;
+        int otherHigherInclusive = (otherFlags & HIGHER_INCLUSIVE) >> 1;
+
+        int lowerComp = (lowerBound > otherLowerBound ? 1 : 0) - (lowerBound < otherLowerBound ? 1 : 0);
+        lowerComp = (lowerComp != 0) ? lowerComp : (otherLowerInclusive - lowerInclusive);
+        int higherComp = (higherBound > otherHigherBound ? 1 : 0) - (higherBound < otherHigherBound ? 1 : 0);
+        higherComp = (higherComp != 0) ? higherComp : (higherInclusive - otherHigherInclusive);
+        int index = ((lowerComp + 1) * 3) + higherComp + 1;
+
+        int distinctBefore = (lowerBound > otherHigherBound ? 1 : 0)
+                | ((lowerBound == otherHigherBound ? 1 : 0) & (1 - (lowerInclusive & otherHigherInclusive)));
+        int distinctAfter = (higherBound < otherLowerBound ? 1 : 0)
+                | ((higherBound == otherLowerBound ? 1 : 0) & (1 - (higherInclusive & otherLowerInclusive)));
+        return (byte) ((RELATION_TABLE[index] - (distinctBefore & (index == 8 ? 1 : 0)))
+                + (distinctAfter & (index == 0 ? 1 : 0)));
+    }
+
+    /**
+     * Determines the relation of a range to each of the given ranges.
+     *
+     * @param range
+     *            the range to compare
+     * @param others
+     *            the ranges to compare to
+     * @param result
+     *            the array the ordinal of <code>range.getRelationTo(others.get(i))</code> is written to at index
+     *            <code>i</code>
+     */
+    public static <T extends Comparable<? super T>> void classify(final Range<T> range,
+            final List<? extends Range<T>> others, final byte[] result) {
+        int size = others.size();
+        RangeRelationUtil.checkBounds(result.length, 0, size);
+        for (int i = 0; i < size; i++) {
+            result[i] = (byte) range.getRelationTo(others.get(i)).ordinal();
+        }
+    }
+
+    /**
+     * Determines the relation of a range with <code>long</code> bounds to each of the given ranges.
+     *
+     * @param result
+     *            the array the ordinal of the relation of the other range at index <code>i</code> to the range is
+     *            written to at index <code>i</code>
+     * @param offset
+     *            the index of the first other range to classify
+     * @param length
+     *            the number of the other ranges to classify
+     */
+    public static void classify(final long lowerBound, final long higherBound, final int flags,
+            final long[] otherLowerBounds, final long[] otherHigherBounds, final byte[] otherFlags,
+            final byte[] result, final int offset, final int length) {
+        RangeRelationUtil.checkBounds(Math.min(Math.min(otherLowerBounds.length, otherHigherBounds.length),
+                Math.min(otherFlags.length, result.length)), offset, length);
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            result[i] = RangeRelationUtil.classify(lowerBound, higherBound, flags, otherLowerBounds[i],
+                    otherHigherBounds[i], otherFlags[i]);
+        }
+    }
+
+    /**
+     * Determines the relations of the ranges at the same index of two lists.
+     *
+     * @param ranges
+     *            the ranges to compare
+     * @param others
+     *            the ranges to compare to, must have the same size as <code>ranges</code>
+     * @param result
+     *            the array the ordinal of <code>ranges.get(i).getRelationTo(others.get(i))</code> is written to at
+     *            index <code>i</code>
+     */
+    public static <T extends Comparable<? super T>> void classifyPairwise(final List<? extends Range<T>> ranges,
+            final List<? extends Range<T>> others, final byte[] result) {
+        int size = ranges.size();
+        if (others.size() != size) {
+            throw new IllegalArgumentException("the size of ranges [" + size + "] and the size of others ["
+                    + others.size() + "] are different");
+        }
+        RangeRelationUtil.checkBounds(result.length, 0, size);
+        for (int i = 0; i < size; i++) {
+            result[i] = (byte) ranges.get(i).getRelationTo(others.get(i)).ordinal();
+        }
+    }
+
+    /**
+     * Determines the relations of the ranges with <code>long</code> bounds at the same index of two columns.
+     *
+     * @param result
+     *            the array the ordinal of the relation of the other range at index <code>i</code> to the range at
+     *            index <code>i</code> is written to at index <code>i</code>
+     * @param offset
+     *            the index of the first pair to classify
+     * @param length
+     *            the number of the pairs to classify
+     */
+    public static void classifyPairwise(final long[] lowerBounds, final long[] higherBounds, final byte[] flags,
+            final long[] otherLowerBounds, final long[] otherHigherBounds, final byte[] otherFlags,
+            final byte[] result, final int offset, final int length) {
+        RangeRelationUtil.checkBounds(Math.min(Math.min(Math.min(lowerBounds.length, higherBounds.length),
+                Math.min(flags.length, otherLowerBounds.length)), Math.min(Math.min(otherHigherBounds.length,
+                otherFlags.length), result.length)), offset, length);
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            result[i] = RangeRelationUtil.classify(lowerBounds[i], higherBounds[i], flags[i], otherLowerBounds[i],
+                    otherHigherBounds[i], otherFlags[i]);
+        }
+    }
+
+    /**
+     * Determines the relation of two ranges from the comparisons of their bounds, so range types that compare their
+     * bounds without boxing them share the semantics of {@link Range#getRelationTo(Range)}. The comparison results
+     * follow the contract of {@link Comparable#compareTo(Object)} and do not consider the inclusive flags.
+     *
+     * @param lowerToOtherLower
+     *            the result of comparing the lower bound to the lower bound of the other range
+     * @param higherToOtherHigher
+     *            the result of comparing the higher bound to the higher bound of the other range
+     * @param lowerToOtherHigher
+     *            the result of comparing the lower bound to the higher bound of the other range
+     * @param higherToOtherLower
+     *            the result of comparing the higher bound to the lower bound of the other range
+     * @return the relation of the other range to the range
+     */
+    public static RangeRelation getRelation(final int lowerToOtherLower, final int higherToOtherHigher,
+            final int lowerToOtherHigher, final int higherToOtherLower, final boolean lowerInclusive,
+            final boolean higherInclusive, final boolean otherLowerInclusive, final boolean otherHigherInclusive) {
+        int lowerComp = Range.alignComparisionResultBasedOnInclusive(lowerToOtherLower, true, lowerInclusive,
+                otherLowerInclusive);
+        int higherComp = Range.alignComparisionResultBasedOnInclusive(higherToOtherHigher, false, higherInclusive,
+                otherHigherInclusive);
+
+        if ((lowerComp == 0) && (higherComp == 0)) {
+            return RangeRelation.IDENTICAL;
+        }
+        if ((lowerComp >= 0) && (higherComp <= 0)) {
+            return RangeRelation.CONTAINING;
+        }
+        if ((lowerComp <= 0) && (higherComp >= 0)) {
+            return RangeRelation.CONTAINED;
+        }
+        if (lowerComp > 0) {
+            if ((lowerToOtherHigher > 0) || ((lowerToOtherHigher == 0) && !(otherHigherInclusive && lowerInclusive))) {
+                return RangeRelation.BEFORE;
+            }
+            return RangeRelation.BEFORE_OVERLAPPING;
+        }
+        if ((higherToOtherLower < 0) || ((higherToOtherLower == 0) && !(otherLowerInclusive && higherInclusive))) {
+            return RangeRelation.AFTER;
+        }
+        return RangeRelation.AFTER_OVERLAPPING;
+    }
+
+    /**
+     * Determines which of the given ranges have common elements with a range with <code>long</code> bounds and
+     * stores the result as a bit mask: bit <code>j % 64</code> of <code>mask[j / 64]</code> is set if the other
+     * range at index <code>offset + j</code> is not {@link RangeRelation#isDistinct() distinct} from the range.
+     *
+     * The ranges are classified with {@link #classify(long, long, int, long, long, int)} and 64 results are packed
+     * into a word before it is stored, so the whole words of <code>mask</code> covering <code>length</code> ranges
+     * are overwritten.
+     *
+     * @param mask
+     *            the array the bits are written to, must have at least <code>(length + 63) / 64</code> elements
+     * @param offset
+     *            the index of the first other range to check
+     * @param length
+     *            the number of the other ranges to check
+     * @return the number of the overlapping ranges
+     */
+    public static int overlapMask(final long lowerBound, final long higherBound, final int flags,
+            final long[] otherLowerBounds, final long[] otherHigherBounds, final byte[] otherFlags,
+            final long[] mask, final int offset, final int length) {
+        RangeRelationUtil.checkBounds(Math.min(Math.min(otherLowerBounds.length, otherHigherBounds.length),
+                otherFlags.length), offset, length);
+        int words = (length + 63) >>> 6;
+        if (mask.length < words) {
+            throw new IndexOutOfBoundsException("mask length [" + mask.length + "] is less than [" + words + "]");
+        }
+        int count = 0;
+        for (int word = 0; word < words; word++) {
+            int start = offset + (word << 6);
+            int end = Math.min(start + 64, offset + length);
+            long bits = 0;
+            for (int i = start; i < end; i++) {
+                int relation = RangeRelationUtil.classify(lowerBound, higherBound, flags, otherLowerBounds[i],
+                        otherHigherBounds[i], otherFlags[i]);
+                long overlapping = 1 - ((relation == BEFORE_ORDINAL ? 1 : 0) | (relation == AFTER_ORDINAL ? 1 : 0));
+                bits |= overlapping << (i - start);
+            }
+            mask[word] = bits;
+            count += Long.bitCount(bits);
+        }
+        return count;
+    }
+
+    /**
+     * Packs the inclusive flags of a range into one byte.
+     *
+     * @return the combination of {@link #LOWER_INCLUSIVE} and {@link #HIGHER_INCLUSIVE}
+     */
+    public static byte toFlags(final boolean lowerInclusive, final boolean higherInclusive) {
+        return (byte) ((lowerInclusive ? LOWER_INCLUSIVE : 0) | (higherInclusive ? HIGHER_INCLUSIVE : 0));
+    }
+
+    /**
+     * Converts an ordinal written by the methods of this class back to a {@link RangeRelation}.
+     *
+     * @param ordinal
+     *            the ordinal of the relation
+     * @return the relation
+     */
+    public static RangeRelation toRangeRelation(final byte ordinal) {
+        return RELATIONS[ordinal];
+    }
+
+    private RangeRelationUtil() {
+    }
+
+}
@@ -0,0 +1,361 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A cache of query results keyed by the {@link Range} of the query. Every row has a key (e.g. a timestamp) and the
+ * result of a range is the list of rows whose key is an element of the range.
+ * <ul>
+ * <li>If a cached range contains the queried range the result is cut out of the cached rows by binary search (hit).
+ * </li>
+ * <li>If cached ranges overlap the queried range only the remainder ranges are loaded and the result is assembled from
+ * the cached and the loaded rows (partial hit).</li>
+ * <li>Otherwise the whole range is loaded (miss).</li>
+ * </ul>
+ * The result of a partial hit or a miss is cached under the queried range, replacing the cached ranges it contains.
+ * The least recently used ranges are evicted when the number of the cached rows exceeds the maximum.
+ *
+ * The cache is thread safe. The loader is called without holding the lock, so slow loads do not block hits. A result
+ * loaded while an overlapping range was {@link #invalidate(Range) invalidated} is returned but not cached.
+ *
+ * @param <T>
+ *            The type of the bounding values.
+ * @param <R>
+ *            The type of the rows.
+ */
+public class RangeResultCache<T extends Comparable<? super T>, R> {
+
+    /**
+     * The rows of a cached range sorted by their keys.
+     */
+    private static final class Entry<T extends Comparable<? super T>, R> {
+
+        private final Range<T> range;
+
+        private final List<T> keys;
+
+        private final List<R> rows;
+
+        private Entry(final Range<T> range, final List<T> keys, final List<R> rows) {
+            this.range = range;
+            this.keys = keys;
+            this.rows = rows;
+        }
+
+        /**
+         * Returns the index of the first key that is after the range.
+         */
+        private int higherIndex(final Range<T> query) {
+            int low = 0;
+            int high = keys.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                int comp = keys.get(mid).compareTo(query.getHigherBound());
+                if ((comp < 0) || ((comp == 0) && query.isHigherInclusive())) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Returns the index of the first key that is not before the range.
+         */
+        private int lowerIndex(final Range<T> query) {
+            int low = 0;
+            int high = keys.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                int comp = keys.get(mid).compareTo(query.getLowerBound());
+                if ((comp < 0) || ((comp == 0) && !query.isLowerInclusive())) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    private final RangeResultLoader<T, R> loader;
+
+    private final Function<? super R, ? extends T> keyFunction;
+
+    private final long maximumRows;
+
+    private final IntervalTree<T, Entry<T, R>> index = new IntervalTree<T, Entry<T, R>>();
+
+    /**
+     * The entries in least recently used order.
+     */
+    private final LinkedHashMap<Range<T>, Entry<T, R>> entries = new LinkedHashMap<Range<T>, Entry<T, R>>(16,
+            0.75f, true);
+
+    private final Comparator<Entry<T, R>> entryComparator = (entry, other) -> RangeUtil.compareLowerBounds(
+            entry.range, other.range);
+
+    private long rowCount;
+
+    private long invalidationCount;
+
+    private long hitCount;
+
+    private long partialHitCount;
+
+    private long missCount;
+
+    private long evictionCount;
+
+    /**
+     * Constructor.
+     *
+     * @param loader
+     *            the loader of the ranges that are not cached
+     * @param keyFunction
+     *            returns the key of a row, which is the value the queried ranges are compared to
+     * @param maximumRows
+     *            the maximum number of the cached rows, must be positive
+     */
+    public RangeResultCache(final RangeResultLoader<T, R> loader, final Function<? super R, ? extends T> keyFunction,
+            final long maximumRows) {
+        if (loader == null) {
+            throw new NullPointerException("loader cannot be null");
+        }
+        if (keyFunction == null) {
+            throw new NullPointerException("keyFunction cannot be null");
+        }
+        if (maximumRows < 1) {
+            throw new IllegalArgumentException("maximumRows [" + maximumRows + "] is less than 1");
+        }
+        this.loader = loader;
+        this.keyFunction = keyFunction;
+        this.maximumRows = maximumRows;
+    }
+
+    /**
+     * Removes all cached ranges.
+     */
+    public synchronized void clear() {
+        index.clear();
+        entries.clear();
+        rowCount = 0;
+        invalidationCount++;
+    }
+
+    private Entry<T, R> createEntry(final Range<T> range, final List<R> rows) {
+        List<R> sortedRows = new ArrayList<R>(rows);
+        Collections.sort(sortedRows, (row, other) -> keyFunction.apply(row).compareTo(keyFunction.apply(other)));
+        List<T> keys = new ArrayList<T>(sortedRows.size());
+        for (R row : sortedRows) {
+            keys.add(keyFunction.apply(row));
+        }
+        return new Entry<T, R>(range, keys, sortedRows);
+    }
+
+    private void evict() {
+        Iterator<Entry<T, R>> iterator = entries.values().iterator();
+        while ((rowCount > maximumRows) && iterator.hasNext()) {
+            Entry<T, R> entry = iterator.next();
+            iterator.remove();
+            removeFromIndex(entry);
+            evictionCount++;
+        }
+    }
+
+    /**
+     * Returns the rows whose key is an element of a range, from the cache if possible.
+     *
+     * @param query
+     *            the range, cannot be null and cannot have <code>null</code> bounds
+     * @return the rows in the order of their keys
+     */
+    public List<R> get(final Range<T> query) {
+        if (query == null) {
+            throw new NullPointerException("query cannot be null");
+        }
+        if ((query.getLowerBound() == null) || (query.getHigherBound() == null)) {
+            throw new NullPointerException("the bounds of query [" + query + "] cannot be null");
+        }
+        if (RangeUtil.isEmpty(query)) {
+            return Collections.emptyList();
+        }
+        List<Entry<T, R>> overlapping = new ArrayList<Entry<T, R>>();
+        long expectedInvalidationCount;
+        synchronized (this) {
+            expectedInvalidationCount = invalidationCount;
+            for (RangeMatch<T, Entry<T, R>> match : index.findOverlapping(query)) {
+                RangeRelation relation = match.getRelation();
+                if ((relation == RangeRelation.CONTAINED) || (relation == RangeRelation.IDENTICAL)) {
+                    Entry<T, R> entry = match.getValue();
+                    // touches the entry in the least recently used order
+                    entries.get(entry.range);
+                    hitCount++;
+                    return Collections.unmodifiableList(new ArrayList<R>(entry.rows.subList(entry.lowerIndex(query),
+                            entry.higherIndex(query))));
+                }
+                overlapping.add(match.getValue());
+            }
+            if (overlapping.isEmpty()) {
+                missCount++;
+            } else {
+                partialHitCount++;
+            }
+        }
+        // the cached entries can overlap each other, every part of the query is taken from the first entry covering it
+        Collections.sort(overlapping, entryComparator);
+        List<R> rows = new ArrayList<R>();
+        RangeSet<T> covered = new RangeSet<T>();
+        RangeSet<T> remainder = new RangeSet<T>(Collections.singletonList(query));
+        for (Entry<T, R> entry : overlapping) {
+            RangeSet<T> part = new RangeSet<T>(Collections.singletonList(entry.range)).intersection(remainder);
+            RangeSet<T> newPart = part.difference(covered);
+            for (Range<T> range : newPart.getRanges()) {
+                rows.addAll(entry.rows.subList(entry.lowerIndex(range), entry.higherIndex(range)));
+            }
+            covered = covered.union(newPart);
+        }
+        remainder = remainder.difference(covered);
+        for (Range<T> range : remainder.getRanges()) {
+            for (R row : loader.load(range)) {
+                if (RangeUtil.contains(range, keyFunction.apply(row))) {
+                    rows.add(row);
+                }
+            }
+        }
+        Entry<T, R> result = createEntry(query, rows);
+        synchronized (this) {
+            if (invalidationCount == expectedInvalidationCount) {
+                put(result);
+            }
+        }
+        return Collections.unmodifiableList(result.rows);
+    }
+
+    /**
+     * Returns the number of the cached ranges evicted because the cache was full.
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the number of {@link #get(Range)} calls answered from one cached range.
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMaximumRows() {
+        return maximumRows;
+    }
+
+    /**
+     * Returns the number of {@link #get(Range)} calls whose range was not overlapped by any cached range.
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of {@link #get(Range)} calls answered partly from cached ranges and partly by loading the
+     * remainder ranges.
+     */
+    public synchronized long getPartialHitCount() {
+        return partialHitCount;
+    }
+
+    /**
+     * Returns the number of the cached rows.
+     */
+    public synchronized long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Removes the cached ranges that have common elements with a range, e.g. after the rows of the range were
+     * modified.
+     *
+     * @param range
+     *            the modified range, cannot be null and cannot have <code>null</code> bounds
+     * @return the number of the removed ranges
+     */
+    public synchronized int invalidate(final Range<T> range) {
+        invalidationCount++;
+        List<RangeMatch<T, Entry<T, R>>> matches = index.findOverlapping(range);
+        for (RangeMatch<T, Entry<T, R>> match : matches) {
+            remove(match.getValue());
+        }
+        return matches.size();
+    }
+
+    private void put(final Entry<T, R> entry) {
+        if (entry.rows.size() > maximumRows) {
+            return;
+        }
+        for (RangeMatch<T, Entry<T, R>> match : index.findOverlapping(entry.range)) {
+            // the stored range is contained by the new one (or has the same bounds, maybe as an other range class), so
+            // it is not needed any more
+            RangeRelation relation = match.getRelation();
+            if ((relation == RangeRelation.CONTAINING) || (relation == RangeRelation.IDENTICAL)) {
+                remove(match.getValue());
+            }
+        }
+        entries.put(entry.range, entry);
+        index.add(entry.range, entry);
+        rowCount += entry.rows.size();
+        evict();
+    }
+
+    /**
+     * Removes an entry from the map and from the index. The map is keyed by the range of the entry, the range of an
+     * index match is not used as the key because ranges with the same bounds but of different classes share one node
+     * of the index.
+     */
+    private void remove(final Entry<T, R> entry) {
+        entries.remove(entry.range, entry);
+        removeFromIndex(entry);
+    }
+
+    private void removeFromIndex(final Entry<T, R> entry) {
+        index.remove(entry.range, entry);
+        rowCount -= entry.rows.size();
+    }
+
+    /**
+     * Returns the number of the cached ranges.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public String toString() {
+        return "RangeResultCache [maximumRows=" + maximumRows + ", size=" + size() + ", rowCount=" + getRowCount()
+                + "]";
+    }
+
+}
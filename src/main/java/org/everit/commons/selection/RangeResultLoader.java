@@ -0,0 +1,41 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.util.List;
+
+/**
+ * Loads the rows whose key falls into a range, e.g. by running a query against a database.
+ *
+ * @param <T>
+ *            The type of the bounding values.
+ * @param <R>
+ *            The type of the rows.
+ */
+@FunctionalInterface
+public interface RangeResultLoader<T extends Comparable<? super T>, R> {
+
+    /**
+     * Loads the rows of a range.
+     *
+     * @param range
+     *            the range to load, never <code>null</code> and never has <code>null</code> bounds
+     * @return the rows whose key is an element of the range in any order, cannot be null
+     */
+    List<R> load(Range<T> range);
+
+}
@@ -0,0 +1,345 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable set of values represented by sorted, disjoint and coalesced {@link Range}s. Ranges that overlap or
+ * touch each other (e.g. <code>[1, 5)</code> and <code>[5, 10]</code>) are merged into one range, empty ranges are
+ * dropped. The inclusive flags of the bounds are handled the same way as in {@link Range#getRelationTo(Range)}.
+ *
+ * Lookups ({@link #contains(Comparable)}, {@link #encloses(Range)}, {@link #intersects(Range)}) are done by binary
+ * search, the set operations ({@link #union(RangeSet)}, {@link #intersection(RangeSet)},
+ * {@link #difference(RangeSet)}, {@link #complement(Range)}) merge the two sorted range lists in linear time.
+ *
+ * @param <T>
+ *            The type of the bounding values.
+ */
+public class RangeSet<T extends Comparable<? super T>> implements Serializable {
+
+    private static final long serialVersionUID = 3201795465361081284L;
+
+    private static <T extends Comparable<? super T>> void addIfNotEmpty(final List<Range<T>> ranges,
+            final T lowerBound, final T higherBound, final boolean lowerInclusive, final boolean higherInclusive) {
+        int lowerToHigher = lowerBound.compareTo(higherBound);
+        if ((lowerToHigher < 0) || ((lowerToHigher == 0) && lowerInclusive && higherInclusive)) {
+            ranges.add(new Range<T>(lowerBound, higherBound, lowerInclusive, higherInclusive));
+        }
+    }
+
+    /**
+     * Merges the connected ranges of a list which is sorted by {@link RangeUtil#lowerBoundComparator()}.
+     */
+    private static <T extends Comparable<? super T>> List<Range<T>> coalesce(final List<Range<T>> sortedRanges) {
+        List<Range<T>> result = new ArrayList<Range<T>>(sortedRanges.size());
+        Range<T> current = null;
+        for (Range<T> range : sortedRanges) {
+            if (RangeUtil.isEmpty(range)) {
+                continue;
+            }
+            if (current == null) {
+                current = RangeSet.toPlainRange(range);
+            } else if (RangeUtil.isConnected(current, range)) {
+                if (RangeUtil.compareHigherBounds(range, current) > 0) {
+                    current = new Range<T>(current.getLowerBound(), range.getHigherBound(),
+                            current.isLowerInclusive(), range.isHigherInclusive());
+                }
+            } else {
+                result.add(current);
+                current = RangeSet.toPlainRange(range);
+            }
+        }
+        if (current != null) {
+            result.add(current);
+        }
+        return result;
+    }
+
+    private static <T extends Comparable<? super T>> void requireBounds(final Range<T> range) {
+        if (range == null) {
+            throw new NullPointerException("range cannot be null");
+        }
+        if ((range.getLowerBound() == null) || (range.getHigherBound() == null)) {
+            throw new NullPointerException("the bounds of range [" + range + "] cannot be null");
+        }
+    }
+
+    /**
+     * Returns a {@link Range} instance (and not an instance of a subclass) with the bounds of the given range so the
+     * ranges of equal sets are equal regardless of the classes of the ranges the sets were created from.
+     */
+    static <T extends Comparable<? super T>> Range<T> toPlainRange(final Range<T> range) {
+        if (range.getClass() == Range.class) {
+            return range;
+        }
+        return new Range<T>(range.getLowerBound(), range.getHigherBound(), range.isLowerInclusive(),
+                range.isHigherInclusive());
+    }
+
+    /**
+     * The sorted, disjoint, non-empty ranges of the set.
+     */
+    private final List<Range<T>> ranges;
+
+    /**
+     * Creates an empty set.
+     */
+    public RangeSet() {
+        ranges = Collections.emptyList();
+    }
+
+    /**
+     * Creates a set containing the elements of the given ranges. The ranges can be in any order and can overlap each
+     * other.
+     *
+     * @param ranges
+     *            the ranges of the set, cannot be null and cannot contain <code>null</code> or ranges with
+     *            <code>null</code> bounds
+     */
+    public RangeSet(final Collection<? extends Range<T>> ranges) {
+        if (ranges == null) {
+            throw new NullPointerException("ranges cannot be null");
+        }
+        List<Range<T>> sortedRanges = new ArrayList<Range<T>>(ranges);
+        for (Range<T> range : sortedRanges) {
+            RangeSet.requireBounds(range);
+        }
+        Collections.sort(sortedRanges, RangeUtil.<T> lowerBoundComparator());
+        this.ranges = Collections.unmodifiableList(RangeSet.coalesce(sortedRanges));
+    }
+
+    /**
+     * Creates a set from ranges that are already sorted, disjoint, coalesced and non-empty. The second parameter only
+     * distinguishes this constructor from {@link #RangeSet(Collection)}.
+     */
+    private RangeSet(final List<Range<T>> normalizedRanges, final boolean normalized) {
+        ranges = Collections.unmodifiableList(normalizedRanges);
+    }
+
+    /**
+     * Returns the elements of <code>universe</code> that are not the elements of this set.
+     *
+     * @param universe
+     *            the range to complement within, cannot be null
+     * @return the complement of this set within <code>universe</code>
+     */
+    public RangeSet<T> complement(final Range<T> universe) {
+        return new RangeSet<T>(Collections.singletonList(universe)).difference(this);
+    }
+
+    /**
+     * Determines if the given value is an element of this set.
+     *
+     * @param value
+     *            the value to check
+     * @return <code>true</code> if one of the ranges contains <code>value</code>
+     */
+    public boolean contains(final T value) {
+        int index = indexOfFirstNotEndingBefore(value, true);
+        return (index < ranges.size()) && RangeUtil.contains(ranges.get(index), value);
+    }
+
+    /**
+     * Returns the elements of this set that are not the elements of <code>other</code>.
+     *
+     * @param other
+     *            the set to subtract
+     * @return the difference
+     */
+    public RangeSet<T> difference(final RangeSet<T> other) {
+        List<Range<T>> result = new ArrayList<Range<T>>(ranges.size());
+        List<Range<T>> otherRanges = other.ranges;
+        int j = 0;
+        for (Range<T> range : ranges) {
+            T lowerBound = range.getLowerBound();
+            boolean lowerInclusive = range.isLowerInclusive();
+            boolean covered = false;
+            while ((j < otherRanges.size()) && RangeUtil.endsBefore(otherRanges.get(j), lowerBound, lowerInclusive)) {
+                j++;
+            }
+            while (!covered && (j < otherRanges.size())) {
+                Range<T> otherRange = otherRanges.get(j);
+                if (RangeUtil.endsBefore(range, otherRange.getLowerBound(), otherRange.isLowerInclusive())) {
+                    break;
+                }
+                RangeSet.addIfNotEmpty(result, lowerBound, otherRange.getLowerBound(), lowerInclusive,
+                        !otherRange.isLowerInclusive());
+                if (RangeUtil.compareHigherBounds(range, otherRange) <= 0) {
+                    covered = true;
+                } else {
+                    lowerBound = otherRange.getHigherBound();
+                    lowerInclusive = !otherRange.isHigherInclusive();
+                    j++;
+                }
+            }
+            if (!covered) {
+                RangeSet.addIfNotEmpty(result, lowerBound, range.getHigherBound(), lowerInclusive,
+                        range.isHigherInclusive());
+            }
+        }
+        return new RangeSet<T>(result, true);
+    }
+
+    /**
+     * Determines if all elements of the given range are elements of this set.
+     *
+     * @param range
+     *            the range to check, cannot be null
+     * @return <code>true</code> if one of the ranges of this set contains <code>range</code>
+     */
+    public boolean encloses(final Range<T> range) {
+        RangeSet.requireBounds(range);
+        if (RangeUtil.isEmpty(range)) {
+            return true;
+        }
+        int index = indexOfFirstNotEndingBefore(range.getLowerBound(), range.isLowerInclusive());
+        if (index == ranges.size()) {
+            return false;
+        }
+        RangeRelation relation = ranges.get(index).getRelationTo(range);
+        return (relation == RangeRelation.CONTAINED) || (relation == RangeRelation.IDENTICAL);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        RangeSet<?> other = (RangeSet<?>) obj;
+        return ranges.equals(other.ranges);
+    }
+
+    /**
+     * @return the sorted, disjoint and non-empty ranges of this set as an unmodifiable list
+     */
+    public List<Range<T>> getRanges() {
+        return ranges;
+    }
+
+    @Override
+    public int hashCode() {
+        return ranges.hashCode();
+    }
+
+    /**
+     * Returns the index of the first range that has elements greater than (or equal to if <code>inclusive</code>)
+     * <code>bound</code>, or the number of ranges if there is no such range.
+     */
+    private int indexOfFirstNotEndingBefore(final T bound, final boolean inclusive) {
+        int low = 0;
+        int high = ranges.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (RangeUtil.endsBefore(ranges.get(mid), bound, inclusive)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the elements that are the elements of both this set and <code>other</code>.
+     *
+     * @param other
+     *            the other set
+     * @return the intersection
+     */
+    public RangeSet<T> intersection(final RangeSet<T> other) {
+        List<Range<T>> result = new ArrayList<Range<T>>();
+        List<Range<T>> otherRanges = other.ranges;
+        int i = 0;
+        int j = 0;
+        while ((i < ranges.size()) && (j < otherRanges.size())) {
+            Range<T> range = ranges.get(i);
+            Range<T> otherRange = otherRanges.get(j);
+            Range<T> intersection = range.intersect(otherRange);
+            if ((intersection != null) && !RangeUtil.isEmpty(intersection)) {
+                result.add(intersection);
+            }
+            int higherComp = RangeUtil.compareHigherBounds(range, otherRange);
+            if (higherComp <= 0) {
+                i++;
+            }
+            if (higherComp >= 0) {
+                j++;
+            }
+        }
+        return new RangeSet<T>(result, true);
+    }
+
+    /**
+     * Determines if the given range and this set have common elements.
+     *
+     * @param range
+     *            the range to check, cannot be null
+     * @return <code>true</code> if <code>range</code> overlaps with one of the ranges of this set
+     */
+    public boolean intersects(final Range<T> range) {
+        RangeSet.requireBounds(range);
+        if (RangeUtil.isEmpty(range)) {
+            return false;
+        }
+        int index = indexOfFirstNotEndingBefore(range.getLowerBound(), range.isLowerInclusive());
+        return (index < ranges.size()) && !ranges.get(index).getRelationTo(range).isDistinct();
+    }
+
+    public boolean isEmpty() {
+        return ranges.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "RangeSet [ranges=" + ranges + "]";
+    }
+
+    /**
+     * Returns the elements that are the elements of this set or <code>other</code>.
+     *
+     * @param other
+     *            the other set
+     * @return the union
+     */
+    public RangeSet<T> union(final RangeSet<T> other) {
+        List<Range<T>> merged = new ArrayList<Range<T>>(ranges.size() + other.ranges.size());
+        int i = 0;
+        int j = 0;
+        while ((i < ranges.size()) && (j < other.ranges.size())) {
+            if (RangeUtil.compareLowerBounds(ranges.get(i), other.ranges.get(j)) <= 0) {
+                merged.add(ranges.get(i++));
+            } else {
+                merged.add(other.ranges.get(j++));
+            }
+        }
+        merged.addAll(ranges.subList(i, ranges.size()));
+        merged.addAll(other.ranges.subList(j, other.ranges.size()));
+        return new RangeSet<T>(RangeSet.coalesce(merged), true);
+    }
+
+}
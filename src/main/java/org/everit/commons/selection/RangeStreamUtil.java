@@ -0,0 +1,175 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The operations of {@link RangeIteratorUtil} on sorted {@link Stream}s, and a {@link Collector} that merges ranges
+ * into a {@link RangeSet}. The returned streams are sequential and lazy, closing them closes the input streams.
+ */
+public final class RangeStreamUtil {
+
+    /**
+     * The sorted, disjoint, coalesced, non-empty ranges collected so far.
+     */
+    private static final class RangeSetBuilder<T extends Comparable<? super T>> {
+
+        private final NavigableSet<Range<T>> ranges = new TreeSet<Range<T>>(RangeUtil.<T> lowerBoundComparator());
+
+        private void add(final Range<T> range) {
+            if ((range.getLowerBound() == null) || (range.getHigherBound() == null)) {
+                throw new NullPointerException("the bounds of range [" + range + "] cannot be null");
+            }
+            if (RangeUtil.isEmpty(range)) {
+                return;
+            }
+            Range<T> merged = RangeSet.toPlainRange(range);
+            Range<T> floor = ranges.floor(merged);
+            if ((floor != null) && RangeUtil.isConnected(floor, merged)) {
+                ranges.remove(floor);
+                merged = floor.union(merged);
+            }
+            Range<T> higher = ranges.higher(merged);
+            while ((higher != null) && RangeUtil.isConnected(merged, higher)) {
+                ranges.remove(higher);
+                merged = merged.union(higher);
+                higher = ranges.higher(merged);
+            }
+            ranges.add(merged);
+        }
+
+        private RangeSetBuilder<T> addAll(final RangeSetBuilder<T> other) {
+            if (other.ranges.size() > ranges.size()) {
+                return other.addAll(this);
+            }
+            for (Range<T> range : other.ranges) {
+                add(range);
+            }
+            return this;
+        }
+
+        private RangeSet<T> build() {
+            return new RangeSet<T>(ranges);
+        }
+
+    }
+
+    private static void closeAll(final List<? extends Stream<?>> streams) {
+        RuntimeException exception = null;
+        for (Stream<?> stream : streams) {
+            try {
+                stream.close();
+            } catch (RuntimeException e) {
+                if (exception == null) {
+                    exception = e;
+                } else {
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    /**
+     * Merges the overlapping and adjacent ranges of a sorted stream. See
+     * {@link RangeIteratorUtil#coalesce(Iterator)}.
+     */
+    public static <T extends Comparable<? super T>> Stream<Range<T>> coalesce(
+            final Stream<? extends Range<T>> sortedRanges) {
+        return RangeStreamUtil.toStream(RangeIteratorUtil.coalesce(sortedRanges.iterator()), sortedRanges);
+    }
+
+    /**
+     * Returns the elements of the first stream that are not the elements of the second stream. See
+     * {@link RangeIteratorUtil#difference(Iterator, Iterator)}.
+     */
+    public static <T extends Comparable<? super T>> Stream<Range<T>> difference(
+            final Stream<? extends Range<T>> sortedRanges, final Stream<? extends Range<T>> sortedSubtrahend) {
+        List<Stream<? extends Range<T>>> inputs = new ArrayList<Stream<? extends Range<T>>>(2);
+        inputs.add(sortedRanges);
+        inputs.add(sortedSubtrahend);
+        return RangeStreamUtil.toStream(RangeIteratorUtil.difference(sortedRanges.iterator(),
+                sortedSubtrahend.iterator()), inputs);
+    }
+
+    /**
+     * Returns the elements that are the elements of all streams. See {@link RangeIteratorUtil#intersection(List)}.
+     */
+    public static <T extends Comparable<? super T>> Stream<Range<T>> intersection(
+            final List<? extends Stream<? extends Range<T>>> sortedInputs) {
+        return RangeStreamUtil.toStream(RangeIteratorUtil.intersection(RangeStreamUtil.iterators(sortedInputs)),
+                sortedInputs);
+    }
+
+    private static <T extends Comparable<? super T>> List<Iterator<? extends Range<T>>> iterators(
+            final List<? extends Stream<? extends Range<T>>> streams) {
+        List<Iterator<? extends Range<T>>> iterators = new ArrayList<Iterator<? extends Range<T>>>(streams.size());
+        for (Stream<? extends Range<T>> stream : streams) {
+            iterators.add(stream.iterator());
+        }
+        return iterators;
+    }
+
+    /**
+     * Returns a collector that merges the ranges into a {@link RangeSet} as they arrive. The ranges can arrive in any
+     * order, every range is merged in <code>O(log n)</code> time where <code>n</code> is the number of the disjoint
+     * ranges collected so far.
+     */
+    public static <T extends Comparable<? super T>> Collector<Range<T>, ?, RangeSet<T>> toRangeSet() {
+        return Collector.of(RangeSetBuilder<T>::new, RangeSetBuilder<T>::add, RangeSetBuilder<T>::addAll,
+                RangeSetBuilder<T>::build, Collector.Characteristics.UNORDERED);
+    }
+
+    private static <T extends Comparable<? super T>> Stream<Range<T>> toStream(final Iterator<Range<T>> iterator,
+            final List<? extends Stream<?>> inputs) {
+        Stream<Range<T>> stream = StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+        return stream.onClose(() -> RangeStreamUtil.closeAll(inputs));
+    }
+
+    private static <T extends Comparable<? super T>> Stream<Range<T>> toStream(final Iterator<Range<T>> iterator,
+            final Stream<?> input) {
+        List<Stream<?>> inputs = new ArrayList<Stream<?>>(1);
+        inputs.add(input);
+        return RangeStreamUtil.toStream(iterator, inputs);
+    }
+
+    /**
+     * Returns the elements that are the elements of any of the streams. See {@link RangeIteratorUtil#union(List)}.
+     */
+    public static <T extends Comparable<? super T>> Stream<Range<T>> union(
+            final List<? extends Stream<? extends Range<T>>> sortedInputs) {
+        return RangeStreamUtil.toStream(RangeIteratorUtil.union(RangeStreamUtil.iterators(sortedInputs)),
+                sortedInputs);
+    }
+
+    private RangeStreamUtil() {
+    }
+
+}
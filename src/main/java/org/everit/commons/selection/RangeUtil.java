@@ -0,0 +1,176 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.util.Comparator;
+
+/**
+ * Utility methods for comparing the bounds of {@link Range}s. All methods take the inclusive flags of the bounds into
+ * account the same way as {@link Range#getRelationTo(Range)} does. None of the methods accept ranges with
+ * <code>null</code> bounds.
+ */
+public final class RangeUtil {
+
+    /**
+     * Orders ranges by their lower bounds and then by their higher bounds.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final Comparator LOWER_BOUND_COMPARATOR = new Comparator<Range>() {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public int compare(final Range o1, final Range o2) {
+            int result = RangeUtil.compareLowerBounds(o1, o2);
+            if (result == 0) {
+                result = RangeUtil.compareHigherBounds(o1, o2);
+            }
+            return result;
+        }
+
+    };
+
+    /**
+     * Compares the higher bounds of two ranges. A closed higher bound is greater than an open higher bound with the
+     * same value.
+     *
+     * @return a negative integer, zero, or a positive integer as the higher bound of <code>range</code> is less than,
+     *         equal to, or greater than the higher bound of <code>other</code>
+     */
+    public static <T extends Comparable<? super T>> int compareHigherBounds(final Range<T> range,
+            final Range<T> other) {
+        return Range.alignComparisionResultBasedOnInclusive(range.getHigherBound().compareTo(other.getHigherBound()),
+                false, range.isHigherInclusive(), other.isHigherInclusive());
+    }
+
+    /**
+     * Compares the lower bounds of two ranges. A closed lower bound is less than an open lower bound with the same
+     * value.
+     *
+     * @return a negative integer, zero, or a positive integer as the lower bound of <code>range</code> is less than,
+     *         equal to, or greater than the lower bound of <code>other</code>
+     */
+    public static <T extends Comparable<? super T>> int compareLowerBounds(final Range<T> range,
+            final Range<T> other) {
+        return Range.alignComparisionResultBasedOnInclusive(range.getLowerBound().compareTo(other.getLowerBound()),
+                true, range.isLowerInclusive(), other.isLowerInclusive());
+    }
+
+    /**
+     * Determines if the given value is an element of the range. A <code>null</code> bound is treated as unbounded.
+     *
+     * @param range
+     *            the range
+     * @param value
+     *            the value to check
+     * @return <code>true</code> if <code>range</code> contains <code>value</code>
+     */
+    public static <T extends Comparable<? super T>> boolean contains(final Range<T> range, final T value) {
+        if (range.getLowerBound() != null) {
+            int valueToLower = value.compareTo(range.getLowerBound());
+            if ((valueToLower < 0) || ((valueToLower == 0) && !range.isLowerInclusive())) {
+                return false;
+            }
+        }
+        if (range.getHigherBound() == null) {
+            return true;
+        }
+        int valueToHigher = value.compareTo(range.getHigherBound());
+        return (valueToHigher < 0) || ((valueToHigher == 0) && range.isHigherInclusive());
+    }
+
+    /**
+     * Determines if the range ends before the given bound, meaning that no element of the range is greater than or
+     * equal to <code>bound</code> (or greater than <code>bound</code> if <code>inclusive</code> is
+     * <code>false</code>).
+     *
+     * @param range
+     *            the range
+     * @param bound
+     *            the bound to check against
+     * @param inclusive
+     *            whether the bound itself is considered
+     * @return <code>true</code> if <code>range</code> ends before the bound
+     */
+    public static <T extends Comparable<? super T>> boolean endsBefore(final Range<T> range, final T bound,
+            final boolean inclusive) {
+        int higherToBound = range.getHigherBound().compareTo(bound);
+        return (higherToBound < 0) || ((higherToBound == 0) && !(range.isHigherInclusive() && inclusive));
+    }
+
+    /**
+     * Determines if the union of two ranges is a contiguous range, meaning that the two ranges overlap or one of them
+     * starts exactly where the other ends (e.g. <code>[1, 5)</code> and <code>[5, 10]</code>).
+     *
+     * @return <code>true</code> if the two ranges are connected
+     */
+    public static <T extends Comparable<? super T>> boolean isConnected(final Range<T> range, final Range<T> other) {
+        return !RangeUtil.isSeparatedBefore(range, other) && !RangeUtil.isSeparatedBefore(other, range);
+    }
+
+    /**
+     * Determines if the range contains no element. A range is empty if its bounds are equal and at least one of them
+     * is open.
+     *
+     * @param range
+     *            the range to check
+     * @return <code>true</code> if the range is empty
+     */
+    public static <T extends Comparable<? super T>> boolean isEmpty(final Range<T> range) {
+        return !(range.isLowerInclusive() && range.isHigherInclusive())
+                && (range.getLowerBound().compareTo(range.getHigherBound()) == 0);
+    }
+
+    private static <T extends Comparable<? super T>> boolean isSeparatedBefore(final Range<T> range,
+            final Range<T> other) {
+        int higherToOtherLower = range.getHigherBound().compareTo(other.getLowerBound());
+        return (higherToOtherLower < 0)
+                || ((higherToOtherLower == 0) && !range.isHigherInclusive() && !other.isLowerInclusive());
+    }
+
+    /**
+     * Returns a comparator that orders ranges by their lower bounds and then by their higher bounds using
+     * {@link #compareLowerBounds(Range, Range)} and {@link #compareHigherBounds(Range, Range)}.
+     *
+     * @return the comparator
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Comparable<? super T>> Comparator<Range<T>> lowerBoundComparator() {
+        return LOWER_BOUND_COMPARATOR;
+    }
+
+    /**
+     * Determines if the range starts after the given bound, meaning that no element of the range is less than or
+     * equal to <code>bound</code> (or less than <code>bound</code> if <code>inclusive</code> is <code>false</code>).
+     *
+     * @param range
+     *            the range
+     * @param bound
+     *            the bound to check against
+     * @param inclusive
+     *            whether the bound itself is considered
+     * @return <code>true</code> if <code>range</code> starts after the bound
+     */
+    public static <T extends Comparable<? super T>> boolean startsAfter(final Range<T> range, final T bound,
+            final boolean inclusive) {
+        int lowerToBound = range.getLowerBound().compareTo(bound);
+        return (lowerToBound > 0) || ((lowerToBound == 0) && !(range.isLowerInclusive() && inclusive));
+    }
+
+    private RangeUtil() {
+    }
+
+}
@@ -0,0 +1,149 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+/**
+ * A {@link Limit} for keyset (seek) pagination. Instead of skipping {@link #getFirstResult()} rows the query seeks to
+ * the rows after or before the sort key of the last seen row, so the cost of getting a page does not depend on its
+ * position in the result set. The rows must be ordered by the columns of the {@link SortKey} in ascending order and
+ * the key must be unique (see {@link SortKey#withTieBreaker(Comparable)}).
+ *
+ * The first result is always {@link #FIRST_RESULT_MIN_VALUE}. The query should fetch {@link #getMaxResults()} + 1
+ * rows, ordered ascending for {@link SeekDirection#AFTER} and descending for {@link SeekDirection#BEFORE}, so
+ * {@link KeysetResult#of(java.util.List, SeekLimit, java.util.function.Function)} can tell whether there are more
+ * rows.
+ */
+public class SeekLimit extends Limit {
+
+    /**
+     * Serial version UID.
+     */
+    private static final long serialVersionUID = -2650841431216547466L;
+
+    /**
+     * The sort key of the boundary row or <code>null</code> for the first or the last page.
+     */
+    private final SortKey key;
+
+    private final SeekDirection direction;
+
+    /**
+     * Constructor.
+     *
+     * @param key
+     *            The sort key of the boundary row that is not included in the page. If <code>null</code>, the limit
+     *            selects the first page in case of {@link SeekDirection#AFTER} and the last page in case of
+     *            {@link SeekDirection#BEFORE}.
+     * @param direction
+     *            The direction of the rows from the boundary row.
+     * @param maxResults
+     *            The size of the page.
+     */
+    public SeekLimit(final SortKey key, final SeekDirection direction, final long maxResults) {
+        super(FIRST_RESULT_MIN_VALUE, maxResults);
+        if (direction == null) {
+            throw new NullPointerException("direction cannot be null");
+        }
+        this.key = key;
+        this.direction = direction;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!super.equals(obj)) {
+            return false;
+        }
+        SeekLimit other = (SeekLimit) obj;
+        if (direction != other.direction) {
+            return false;
+        }
+        if (key == null) {
+            if (other.key != null) {
+                return false;
+            }
+        } else if (!key.equals(other.key)) {
+            return false;
+        }
+        return true;
+    }
+
+    public SeekDirection getDirection() {
+        return direction;
+    }
+
+    public SortKey getKey() {
+        return key;
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = super.hashCode();
+        result = (prime * result) + direction.hashCode();
+        result = (prime * result) + ((key == null) ? 0 : key.hashCode());
+        return result;
+    }
+
+    /**
+     * Converts the boundary to a range of the first sort column that can be used as an index friendly predicate. In
+     * case of a single column key the range selects exactly the rows of the page. In case of a composite key the
+     * range includes the value of the boundary, because the rows with the same first column can be after the
+     * boundary row, so the query has to filter them further, e.g. with {@link #toRange()} or a row value comparison.
+     *
+     * @return the range or <code>null</code> if there is no boundary key
+     */
+    @SuppressWarnings("unchecked")
+    public <C extends Comparable<? super C>> Range<C> toLeadingRange() {
+        if (key == null) {
+            return null;
+        }
+        C value = (C) key.get(0);
+        boolean inclusive = key.size() > 1;
+        if (direction == SeekDirection.AFTER) {
+            return new Range<C>(value, null, inclusive, true);
+        } else {
+            return new Range<C>(null, value, true, inclusive);
+        }
+    }
+
+    /**
+     * Converts the boundary to a range of sort keys that contains exactly the keys of the rows of the page and the
+     * rows after the page in the direction of the limit. The boundary key is excluded and the other bound is
+     * <code>null</code>, meaning unbounded (see {@link RangeUtil#contains(Range, Comparable)}).
+     *
+     * @return the range or <code>null</code> if there is no boundary key
+     */
+    public Range<SortKey> toRange() {
+        if (key == null) {
+            return null;
+        }
+        if (direction == SeekDirection.AFTER) {
+            return new Range<SortKey>(key, null, false, true);
+        } else {
+            return new Range<SortKey>(null, key, true, false);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SeekLimit [key=" + key + ", direction=" + direction + ", maxResults=" + getMaxResults() + "]";
+    }
+
+}
@@ -0,0 +1,136 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The values of the sort columns of a row, compared column by column in ascending order. Keyset pagination requires
+ * the sort key of every row to be unique, so if the sort columns can have equal values (ties) the key should end with
+ * a unique column, e.g. the identifier of the row (see {@link #withTieBreaker(Comparable)}).
+ *
+ * The values cannot be <code>null</code>, the values in the same column of the compared keys must be comparable with
+ * each other and they must be {@link Serializable} for the key to be serializable.
+ *
+ * Instances are immutable if the values are.
+ */
+public final class SortKey implements Comparable<SortKey>, Serializable {
+
+    private static final long serialVersionUID = -4702306367312405880L;
+
+    /**
+     * Creates a sort key.
+     *
+     * @param values
+     *            the values of the sort columns in the order of their precedence, cannot be empty
+     */
+    public static SortKey of(final Comparable<?>... values) {
+        return new SortKey(values.clone());
+    }
+
+    private final Comparable<?>[] values;
+
+    private SortKey(final Comparable<?>[] values) {
+        if (values.length == 0) {
+            throw new IllegalArgumentException("values cannot be empty");
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == null) {
+                throw new NullPointerException("the value at index [" + i + "] cannot be null");
+            }
+        }
+        this.values = values;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public int compareTo(final SortKey other) {
+        if (values.length != other.values.length) {
+            throw new IllegalArgumentException("the number of the columns of [" + this + "] and [" + other
+                    + "] are different");
+        }
+        for (int i = 0; i < values.length; i++) {
+            int result = ((Comparable<Object>) values[i]).compareTo(other.values[i]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        SortKey other = (SortKey) obj;
+        return Arrays.equals(values, other.values);
+    }
+
+    /**
+     * Returns the value of a column.
+     *
+     * @param index
+     *            the index of the column
+     */
+    public Comparable<?> get(final int index) {
+        return values[index];
+    }
+
+    /**
+     * Returns the values of the columns.
+     */
+    public List<Comparable<?>> getValues() {
+        return Collections.unmodifiableList(Arrays.asList(values));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public String toString() {
+        return "SortKey " + Arrays.toString(values);
+    }
+
+    /**
+     * Returns a key with an additional last column that makes the key unique, e.g. the identifier of the row.
+     *
+     * @param tieBreaker
+     *            the value of the unique column, cannot be null
+     */
+    public SortKey withTieBreaker(final Comparable<?> tieBreaker) {
+        Comparable<?>[] newValues = Arrays.copyOf(values, values.length + 1);
+        newValues[values.length] = tieBreaker;
+        return new SortKey(newValues);
+    }
+
+}
@@ -0,0 +1,442 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The streaming counterpart of {@link LimitedResult}: it has the same metadata, but its elements are not materialized,
+ * they are read one by one from an {@link Iterator}, a {@link Stream} or a cursor while they are consumed. It can be
+ * used to write the rows of a large page to the response while the database is still producing them.
+ *
+ * The elements can be consumed once, with {@link #iterator()} or {@link #stream()}. The max results of the limit is
+ * enforced while streaming: the iteration ends after max results elements, even if the source has more. So a source
+ * that fetches max results + 1 rows to detect whether there are more (see {@link CountStrategy}) can be used directly,
+ * {@link #hasMore()} tells whether it had more rows.
+ *
+ * The number of all elements is either known before the streaming as an {@link ElementCount}, or it is determined by
+ * a {@link CountStrategy} when the iteration ends, from the number of the rows the source produced. If the count is
+ * {@link ElementCount#isExact() exact}, the iteration throws an {@link IllegalStateException} if the source produces
+ * more elements than the number of all elements. The source is closed when the iteration ends, when it fails or when
+ * {@link #close()} is called, whichever happens first. The result should be used in a try-with-resources statement
+ * so the source is closed if the consumer stops early.
+ *
+ * Instances are not thread safe and not serializable, {@link #toLimitedResult()} can be used to materialize them.
+ *
+ * @param <T>
+ *            the type of the elements
+ */
+public class StreamingLimitedResult<T extends Serializable> implements Iterable<T>, AutoCloseable {
+
+    /**
+     * Adapts a cursor that returns <code>null</code> after the last element to an {@link Iterator}.
+     */
+    private static final class CursorIterator<T> implements Iterator<T> {
+
+        private final Supplier<? extends T> cursor;
+
+        private T next;
+
+        private boolean end;
+
+        private CursorIterator(final Supplier<? extends T> cursor) {
+            this.cursor = cursor;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if ((next == null) && !end) {
+                next = cursor.get();
+                end = next == null;
+            }
+            return !end;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T result = next;
+            next = null;
+            return result;
+        }
+
+    }
+
+    /**
+     * The iterator that validates the elements of the source and closes it at the end.
+     */
+    private final class LimitingIterator implements Iterator<T> {
+
+        @Override
+        public boolean hasNext() {
+            if (closed) {
+                return false;
+            }
+            boolean hasNext;
+            try {
+                hasNext = source.hasNext();
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+            if (!hasNext) {
+                end();
+                return false;
+            }
+            if (streamedCount >= limit.getMaxResults()) {
+                more = true;
+                end();
+                return false;
+            }
+            if ((elementCount != null) && elementCount.isExact() && (streamedCount >= elementCount.getValue())) {
+                close();
+                throw new IllegalStateException(
+                        "the number of the elements is greather than the number of all elements");
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T element;
+            try {
+                element = source.next();
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+            streamedCount++;
+            return element;
+        }
+
+    }
+
+    /**
+     * Creates a result that reads the elements from a cursor.
+     *
+     * @param cursor
+     *            returns the next element on every call and <code>null</code> after the last one, cannot be null
+     * @param closeHandler
+     *            releases the resources of the cursor (e.g. closes the result set), can be null
+     * @param numberOfAllElements
+     *            the number of all elements
+     * @param limit
+     *            the limit of the elements
+     */
+    public static <T extends Serializable> StreamingLimitedResult<T> fromCursor(final Supplier<? extends T> cursor,
+            final Runnable closeHandler, final long numberOfAllElements, final Limit limit) {
+        if (cursor == null) {
+            throw new NullPointerException("cursor cannot be null");
+        }
+        return new StreamingLimitedResult<T>(new CursorIterator<T>(cursor), closeHandler, numberOfAllElements, limit);
+    }
+
+    /**
+     * Creates a result that reads the elements from a cursor and determines the number of all elements when the
+     * iteration ends.
+     *
+     * @param cursor
+     *            returns the next element on every call and <code>null</code> after the last one, cannot be null
+     * @param closeHandler
+     *            releases the resources of the cursor (e.g. closes the result set), can be null
+     * @param countStrategy
+     *            determines the number of all elements, cannot be null
+     * @param limit
+     *            the limit of the elements
+     */
+    public static <T extends Serializable> StreamingLimitedResult<T> fromCursor(final Supplier<? extends T> cursor,
+            final Runnable closeHandler, final CountStrategy countStrategy, final Limit limit) {
+        if (cursor == null) {
+            throw new NullPointerException("cursor cannot be null");
+        }
+        return new StreamingLimitedResult<T>(new CursorIterator<T>(cursor), closeHandler, countStrategy, limit);
+    }
+
+    /**
+     * Creates a result that reads the elements from a stream. The stream is closed together with the result.
+     *
+     * @param stream
+     *            the stream of the elements, cannot be null
+     * @param numberOfAllElements
+     *            the number of all elements
+     * @param limit
+     *            the limit of the elements
+     */
+    public static <T extends Serializable> StreamingLimitedResult<T> fromStream(final Stream<? extends T> stream,
+            final long numberOfAllElements, final Limit limit) {
+        if (stream == null) {
+            throw new NullPointerException("stream cannot be null");
+        }
+        return new StreamingLimitedResult<T>(stream.iterator(), stream::close, numberOfAllElements, limit);
+    }
+
+    /**
+     * Creates a result that reads the elements from a stream and determines the number of all elements when the
+     * iteration ends. The stream is closed together with the result.
+     *
+     * @param stream
+     *            the stream of the elements, cannot be null
+     * @param countStrategy
+     *            determines the number of all elements, cannot be null
+     * @param limit
+     *            the limit of the elements
+     */
+    public static <T extends Serializable> StreamingLimitedResult<T> fromStream(final Stream<? extends T> stream,
+            final CountStrategy countStrategy, final Limit limit) {
+        if (stream == null) {
+            throw new NullPointerException("stream cannot be null");
+        }
+        return new StreamingLimitedResult<T>(stream.iterator(), stream::close, countStrategy, limit);
+    }
+
+    private final Iterator<? extends T> source;
+
+    private final Runnable closeHandler;
+
+    /**
+     * Determines {@link #elementCount} when the iteration ends, <code>null</code> if the count is known in advance.
+     */
+    private final CountStrategy countStrategy;
+
+    /**
+     * The limit of the elements.
+     */
+    private final Limit limit;
+
+    private long streamedCount;
+
+    private boolean consumed;
+
+    private boolean closed;
+
+    private boolean more;
+
+    /**
+     * The number of all elements, <code>null</code> until the {@link #countStrategy} determined it.
+     */
+    private ElementCount elementCount;
+
+    /**
+     * Constructor.
+     *
+     * @param source
+     *            the iterator of the elements, cannot be null
+     * @param closeHandler
+     *            releases the resources of the source, can be null
+     * @param countStrategy
+     *            determines the number of all elements when the iteration ends, cannot be null. The fetched size
+     *            passed to it is the number of the streamed elements, plus one if the source has more.
+     * @param limit
+     *            the limit of the elements
+     */
+    public StreamingLimitedResult(final Iterator<? extends T> source, final Runnable closeHandler,
+            final CountStrategy countStrategy, final Limit limit) {
+        this(source, closeHandler, null, countStrategy, limit);
+        if (countStrategy == null) {
+            throw new NullPointerException("countStrategy cannot be null");
+        }
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param source
+     *            the iterator of the elements, cannot be null
+     * @param closeHandler
+     *            releases the resources of the source, can be null
+     * @param elementCount
+     *            the exact, estimated or minimum number of all elements, cannot be null
+     * @param limit
+     *            the limit of the elements
+     */
+    public StreamingLimitedResult(final Iterator<? extends T> source, final Runnable closeHandler,
+            final ElementCount elementCount, final Limit limit) {
+        this(source, closeHandler, elementCount, null, limit);
+        if (elementCount == null) {
+            throw new NullPointerException("elementCount cannot be null");
+        }
+    }
+
+    private StreamingLimitedResult(final Iterator<? extends T> source, final Runnable closeHandler,
+            final ElementCount elementCount, final CountStrategy countStrategy, final Limit limit) {
+        if (source == null) {
+            throw new NullPointerException("source cannot be null");
+        }
+        if (limit == null) {
+            throw new NullPointerException("limit cannot be null");
+        }
+        this.source = source;
+        this.closeHandler = closeHandler;
+        this.elementCount = elementCount;
+        this.countStrategy = countStrategy;
+        this.limit = limit;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param source
+     *            the iterator of the elements, cannot be null
+     * @param closeHandler
+     *            releases the resources of the source, can be null
+     * @param numberOfAllElements
+     *            the exact number of all elements
+     * @param limit
+     *            the limit of the elements
+     */
+    public StreamingLimitedResult(final Iterator<? extends T> source, final Runnable closeHandler,
+            final long numberOfAllElements, final Limit limit) {
+        this(source, closeHandler, ElementCount.exact(numberOfAllElements), limit);
+    }
+
+    /**
+     * Closes the source. Calling it more than once has no effect.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (closeHandler != null) {
+            closeHandler.run();
+        }
+    }
+
+    /**
+     * Determines the count if it is not known yet and closes the source.
+     */
+    private void end() {
+        if (countStrategy != null) {
+            elementCount = countStrategy.count(limit, more ? (streamedCount + 1) : streamedCount);
+        }
+        close();
+    }
+
+    /**
+     * Returns the number of all elements with its accuracy.
+     *
+     * @throws IllegalStateException
+     *             if the count is determined by a {@link CountStrategy} and the iteration has not ended yet (it ends
+     *             when the source is exhausted or the max results of the limit is reached)
+     */
+    public ElementCount getElementCount() {
+        if (elementCount == null) {
+            throw new IllegalStateException("the number of all elements is determined when the iteration ends");
+        }
+        return elementCount;
+    }
+
+    public Limit getLimit() {
+        return limit;
+    }
+
+    /**
+     * Returns the number of all elements. If the count is not {@link ElementCount#isExact() exact}, it is the
+     * estimated or the minimum number of all elements, see {@link #getElementCount()}.
+     *
+     * @throws IllegalStateException
+     *             if the count is not determined yet
+     */
+    public long getNumberOfAllElements() {
+        return getElementCount().getValue();
+    }
+
+    /**
+     * Returns the number of the elements returned by the iteration so far.
+     */
+    public long getStreamedCount() {
+        return streamedCount;
+    }
+
+    /**
+     * Whether the source had more elements than the max results of the limit. It is known only after the iteration
+     * reached the max results, before that it returns <code>false</code>.
+     */
+    public boolean hasMore() {
+        return more;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Returns the iterator of the elements.
+     *
+     * @throws IllegalStateException
+     *             if the elements are already consumed
+     */
+    @Override
+    public Iterator<T> iterator() {
+        if (consumed) {
+            throw new IllegalStateException("the elements can be consumed only once");
+        }
+        consumed = true;
+        return new LimitingIterator();
+    }
+
+    /**
+     * Returns a sequential stream of the elements. Closing the stream closes this result.
+     *
+     * @throws IllegalStateException
+     *             if the elements are already consumed
+     */
+    public Stream<T> stream() {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED);
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+    /**
+     * Reads all elements and returns them as a {@link LimitedResult}. The source is closed.
+     *
+     * @throws IllegalStateException
+     *             if the elements are already consumed
+     */
+    public LimitedResult<T> toLimitedResult() {
+        List<T> elements = new ArrayList<T>();
+        try {
+            for (T element : this) {
+                elements.add(element);
+            }
+        } finally {
+            close();
+        }
+        return new LimitedResult<T>(elements, getElementCount(), limit);
+    }
+
+    @Override
+    public String toString() {
+        return "StreamingLimitedResult [elementCount=" + elementCount + ", limit=" + limit
+                + ", streamedCount=" + streamedCount + ", more=" + more + ", closed=" + closed + "]";
+    }
+
+}
@@ -0,0 +1,262 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.count;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.stream.DoubleStream;
+
+/**
+ * A histogram whose buckets hold (nearly) the same number of values. Every bucket stores its smallest and greatest
+ * value and the number of its values, the values are assumed to be distributed uniformly inside the bucket.
+ *
+ * Only the buckets a bound of the range falls into are estimated, the others are counted exactly. If the histogram
+ * was built from all the values by {@link #fromSorted(double[], int)}, the error of
+ * {@link #estimateCount(double, double, boolean, boolean)} is therefore at most two times
+ * {@link #getMaximumBucketCount()}, and a bucket whose smallest and greatest value are equal is always counted
+ * exactly. Histograms built from a sample or by {@link #merge(EquiDepthHistogram, int)} are approximations of that.
+ *
+ * Instances are immutable.
+ */
+public final class EquiDepthHistogram implements Histogram, Serializable {
+
+    private static final long serialVersionUID = -6123208587325457310L;
+
+    /**
+     * Creates a histogram from all the values.
+     *
+     * @param sortedValues
+     *            the values in ascending order
+     * @param bucketCount
+     *            the maximum number of the buckets, must be positive
+     */
+    public static EquiDepthHistogram fromSorted(final double[] sortedValues, final int bucketCount) {
+        return EquiDepthHistogram.fromSortedSample(sortedValues, sortedValues.length, bucketCount);
+    }
+
+    /**
+     * Creates a histogram from all the values.
+     *
+     * @param sortedValues
+     *            the values in ascending order
+     * @param bucketCount
+     *            the maximum number of the buckets, must be positive
+     */
+    public static EquiDepthHistogram fromSorted(final long[] sortedValues, final int bucketCount) {
+        double[] values = new double[sortedValues.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = sortedValues[i];
+        }
+        return EquiDepthHistogram.fromSorted(values, bucketCount);
+    }
+
+    /**
+     * Creates a histogram from a uniform random sample of the values. The counts of the buckets are scaled up to the
+     * total number of the values.
+     *
+     * @param sortedSample
+     *            the sampled values in ascending order
+     * @param totalCount
+     *            the number of all the values the sample was taken from, cannot be less than the size of the sample
+     * @param bucketCount
+     *            the maximum number of the buckets, must be positive
+     */
+    public static EquiDepthHistogram fromSortedSample(final double[] sortedSample, final long totalCount,
+            final int bucketCount) {
+        if (bucketCount < 1) {
+            throw new IllegalArgumentException("bucketCount [" + bucketCount + "] is less than 1");
+        }
+        int size = sortedSample.length;
+        if (totalCount < size) {
+            throw new IllegalArgumentException("totalCount [" + totalCount + "] is less than the size of the sample ["
+                    + size + "]");
+        }
+        for (int i = 0; i < size; i++) {
+            HistogramUtil.checkValue(sortedSample[i]);
+            if ((i > 0) && (sortedSample[i - 1] > sortedSample[i])) {
+                throw new IllegalArgumentException("the values are not sorted at index [" + i + "]");
+            }
+        }
+        int buckets = Math.min(bucketCount, size);
+        double[] mins = new double[buckets];
+        double[] maxes = new double[buckets];
+        long[] counts = new long[buckets];
+        long previousCount = 0;
+        for (int i = 0; i < buckets; i++) {
+            int from = (int) (((long) i * size) / buckets);
+            int to = (int) (((long) (i + 1) * size) / buckets);
+            mins[i] = sortedSample[from];
+            maxes[i] = sortedSample[to - 1];
+            // cumulative rounding, so the counts add up to totalCount
+            long count = Math.round(((double) to * totalCount) / size);
+            counts[i] = count - previousCount;
+            previousCount = count;
+        }
+        return new EquiDepthHistogram(mins, maxes, counts);
+    }
+
+    /**
+     * Creates a histogram from the values of a stream. The values are buffered and sorted, use an
+     * {@link EquiWidthHistogram} to summarize streams that do not fit into the memory.
+     *
+     * @param bucketCount
+     *            the maximum number of the buckets, must be positive
+     */
+    public static EquiDepthHistogram of(final DoubleStream values, final int bucketCount) {
+        return EquiDepthHistogram.fromSorted(values.sorted().toArray(), bucketCount);
+    }
+
+    private final double[] mins;
+
+    private final double[] maxes;
+
+    private final long[] counts;
+
+    private final long totalCount;
+
+    /**
+     * Constructor of histograms whose buckets are not necessarily equi-depth and can overlap. The arrays are not
+     * copied.
+     */
+    EquiDepthHistogram(final double[] mins, final double[] maxes, final long[] counts) {
+        this.mins = mins;
+        this.maxes = maxes;
+        this.counts = counts;
+        long totalCount = 0;
+        for (long count : counts) {
+            totalCount += count;
+        }
+        this.totalCount = totalCount;
+    }
+
+    private double estimate(final double lowerBound, final double higherBound, final boolean lowerInclusive,
+            final boolean higherInclusive) {
+        double result = 0;
+        for (int i = 0; i < counts.length; i++) {
+            result += HistogramUtil.estimate(mins[i], maxes[i], counts[i], lowerBound, higherBound, lowerInclusive,
+                    higherInclusive);
+        }
+        return result;
+    }
+
+    @Override
+    public long estimateCount(final double lowerBound, final double higherBound, final boolean lowerInclusive,
+            final boolean higherInclusive) {
+        return Math.round(estimate(lowerBound, higherBound, lowerInclusive, higherInclusive));
+    }
+
+    public int getBucketCount() {
+        return counts.length;
+    }
+
+    /**
+     * Returns the number of the values in the largest bucket, which bounds the error of the estimations.
+     */
+    public long getMaximumBucketCount() {
+        long result = 0;
+        for (long count : counts) {
+            result = Math.max(result, count);
+        }
+        return result;
+    }
+
+    @Override
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Merges two histograms, e.g. the histograms of two shards. The result summarizes the values of both histograms
+     * in equi-depth buckets. The error of the result can be greater than the error of the merged histograms.
+     *
+     * @param other
+     *            the histogram to merge with
+     * @param bucketCount
+     *            the maximum number of the buckets of the result, must be positive
+     */
+    public EquiDepthHistogram merge(final EquiDepthHistogram other, final int bucketCount) {
+        int size = counts.length + other.counts.length;
+        double[] mergedMins = Arrays.copyOf(mins, size);
+        double[] mergedMaxes = Arrays.copyOf(maxes, size);
+        long[] mergedCounts = Arrays.copyOf(counts, size);
+        System.arraycopy(other.mins, 0, mergedMins, counts.length, other.counts.length);
+        System.arraycopy(other.maxes, 0, mergedMaxes, counts.length, other.counts.length);
+        System.arraycopy(other.counts, 0, mergedCounts, counts.length, other.counts.length);
+        return new EquiDepthHistogram(mergedMins, mergedMaxes, mergedCounts).rebucket(bucketCount);
+    }
+
+    /**
+     * Cuts the estimated distribution of the values into equi-depth buckets. The cumulative distribution is
+     * evaluated at the bounds of the buckets, it is linear between them and jumps at the buckets holding one value.
+     */
+    EquiDepthHistogram rebucket(final int bucketCount) {
+        if (bucketCount < 1) {
+            throw new IllegalArgumentException("bucketCount [" + bucketCount + "] is less than 1");
+        }
+        if (totalCount == 0) {
+            return new EquiDepthHistogram(new double[0], new double[0], new long[0]);
+        }
+        double[] points = new double[counts.length * 2];
+        System.arraycopy(mins, 0, points, 0, counts.length);
+        System.arraycopy(maxes, 0, points, counts.length, counts.length);
+        Arrays.sort(points);
+        int pointCount = 0;
+        for (int i = 0; i < points.length; i++) {
+            if ((i == 0) || (points[i] != points[i - 1])) {
+                points[pointCount++] = points[i];
+            }
+        }
+        // the number of the values before and up to each point
+        double[] before = new double[pointCount];
+        double[] upTo = new double[pointCount];
+        for (int i = 0; i < pointCount; i++) {
+            before[i] = estimate(Double.NEGATIVE_INFINITY, points[i], true, false);
+            upTo[i] = estimate(Double.NEGATIVE_INFINITY, points[i], true, true);
+        }
+
+        int buckets = (int) Math.min(bucketCount, totalCount);
+        double[] newMins = new double[buckets];
+        double[] newMaxes = new double[buckets];
+        long[] newCounts = new long[buckets];
+        double lower = points[0];
+        long previousCount = 0;
+        int point = 0;
+        for (int i = 0; i < buckets; i++) {
+            long count = Math.round(((double) (i + 1) * totalCount) / buckets);
+            while ((point < (pointCount - 1)) && (upTo[point] < count)) {
+                point++;
+            }
+            double higher = points[point];
+            if ((point > 0) && (count < before[point]) && (before[point] > upTo[point - 1])) {
+                higher = points[point - 1] + (((count - upTo[point - 1]) / (before[point] - upTo[point - 1]))
+                        * (points[point] - points[point - 1]));
+            }
+            newMins[i] = lower;
+            newMaxes[i] = higher;
+            newCounts[i] = count - previousCount;
+            lower = higher;
+            previousCount = count;
+        }
+        return new EquiDepthHistogram(newMins, newMaxes, newCounts);
+    }
+
+    @Override
+    public String toString() {
+        return "EquiDepthHistogram [bucketCount=" + counts.length + ", totalCount=" + totalCount + "]";
+    }
+
+}
@@ -0,0 +1,203 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.count;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A streaming histogram of buckets with the same width. Values are added one by one in constant time and
+ * histograms with the same layout can be merged, so partial histograms can be built in parallel or on different
+ * nodes and combined. Values outside of the bounds given to the constructor are counted in an underflow and an
+ * overflow bucket that reach to the smallest and the greatest added value.
+ *
+ * The error of an estimation is at most the number of the values in the buckets the bounds of the range fall into.
+ * {@link #toEquiDepthHistogram(int)} converts the summary to an {@link EquiDepthHistogram}, which is more accurate
+ * for skewed values with the same memory.
+ *
+ * The class does not ensure thread safety.
+ */
+public final class EquiWidthHistogram implements Histogram, Serializable {
+
+    private static final long serialVersionUID = 8937025627021180335L;
+
+    private final double lowerBound;
+
+    private final double higherBound;
+
+    private final double bucketWidth;
+
+    private final long[] counts;
+
+    private long underflowCount;
+
+    private long overflowCount;
+
+    private long totalCount;
+
+    private double minValue = Double.POSITIVE_INFINITY;
+
+    private double maxValue = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Constructor.
+     *
+     * @param lowerBound
+     *            the lower bound of the first bucket
+     * @param higherBound
+     *            the higher bound of the last bucket, must be greater than <code>lowerBound</code>
+     * @param bucketCount
+     *            the number of the buckets, must be positive
+     */
+    public EquiWidthHistogram(final double lowerBound, final double higherBound, final int bucketCount) {
+        if (!(lowerBound < higherBound) || Double.isInfinite(lowerBound) || Double.isInfinite(higherBound)) {
+            throw new IllegalArgumentException("lowerBound [" + lowerBound + "] is not lower than higherBound ["
+                    + higherBound + "] or they are not finite");
+        }
+        if (bucketCount < 1) {
+            throw new IllegalArgumentException("bucketCount [" + bucketCount + "] is less than 1");
+        }
+        this.lowerBound = lowerBound;
+        this.higherBound = higherBound;
+        bucketWidth = (higherBound - lowerBound) / bucketCount;
+        counts = new long[bucketCount];
+    }
+
+    /**
+     * Adds a value to the histogram.
+     *
+     * @param value
+     *            the value, cannot be NaN
+     */
+    public void add(final double value) {
+        HistogramUtil.checkValue(value);
+        if (value < lowerBound) {
+            underflowCount++;
+        } else if (value >= higherBound) {
+            overflowCount++;
+        } else {
+            counts[Math.min((int) ((value - lowerBound) / bucketWidth), counts.length - 1)]++;
+        }
+        totalCount++;
+        minValue = Math.min(minValue, value);
+        maxValue = Math.max(maxValue, value);
+    }
+
+    private double bucketLowerBound(final int index) {
+        return (index == counts.length) ? higherBound : (lowerBound + (index * bucketWidth));
+    }
+
+    private double estimate(final double lowerBound, final double higherBound, final boolean lowerInclusive,
+            final boolean higherInclusive) {
+        double result = 0;
+        if (underflowCount > 0) {
+            result += HistogramUtil.estimate(minValue, this.lowerBound, underflowCount, lowerBound, higherBound,
+                    lowerInclusive, higherInclusive);
+        }
+        if (overflowCount > 0) {
+            result += HistogramUtil.estimate(this.higherBound, maxValue, overflowCount, lowerBound, higherBound,
+                    lowerInclusive, higherInclusive);
+        }
+        int first = Math.max(0, (int) Math.floor((lowerBound - this.lowerBound) / bucketWidth));
+        int last = Math.min(counts.length - 1, (int) Math.floor((higherBound - this.lowerBound) / bucketWidth));
+        for (int i = first; i <= last; i++) {
+            if (counts[i] > 0) {
+                result += HistogramUtil.estimate(Math.max(minValue, bucketLowerBound(i)), Math.min(maxValue,
+                        bucketLowerBound(i + 1)), counts[i], lowerBound, higherBound, lowerInclusive,
+                        higherInclusive);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public long estimateCount(final double lowerBound, final double higherBound, final boolean lowerInclusive,
+            final boolean higherInclusive) {
+        return Math.round(estimate(lowerBound, higherBound, lowerInclusive, higherInclusive));
+    }
+
+    public int getBucketCount() {
+        return counts.length;
+    }
+
+    @Override
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Adds the values of an other histogram to this one.
+     *
+     * @param other
+     *            a histogram with the same bounds and number of buckets
+     */
+    public void merge(final EquiWidthHistogram other) {
+        if ((lowerBound != other.lowerBound) || (higherBound != other.higherBound)
+                || (counts.length != other.counts.length)) {
+            throw new IllegalArgumentException("the buckets of [" + other + "] are different from the buckets of ["
+                    + this + "]");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        underflowCount += other.underflowCount;
+        overflowCount += other.overflowCount;
+        totalCount += other.totalCount;
+        minValue = Math.min(minValue, other.minValue);
+        maxValue = Math.max(maxValue, other.maxValue);
+    }
+
+    /**
+     * Converts this histogram to an equi-depth histogram.
+     *
+     * @param bucketCount
+     *            the maximum number of the buckets of the result, must be positive
+     */
+    public EquiDepthHistogram toEquiDepthHistogram(final int bucketCount) {
+        int size = counts.length + 2;
+        double[] mins = new double[size];
+        double[] maxes = new double[size];
+        long[] bucketCounts = new long[size];
+        int bucket = 0;
+        if (underflowCount > 0) {
+            mins[bucket] = minValue;
+            maxes[bucket] = lowerBound;
+            bucketCounts[bucket++] = underflowCount;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                mins[bucket] = Math.max(minValue, bucketLowerBound(i));
+                maxes[bucket] = Math.min(maxValue, bucketLowerBound(i + 1));
+                bucketCounts[bucket++] = counts[i];
+            }
+        }
+        if (overflowCount > 0) {
+            mins[bucket] = higherBound;
+            maxes[bucket] = maxValue;
+            bucketCounts[bucket++] = overflowCount;
+        }
+        return new EquiDepthHistogram(Arrays.copyOf(mins, bucket), Arrays.copyOf(maxes, bucket),
+                Arrays.copyOf(bucketCounts, bucket)).rebucket(bucketCount);
+    }
+
+    @Override
+    public String toString() {
+        return "EquiWidthHistogram [lowerBound=" + lowerBound + ", higherBound=" + higherBound + ", bucketCount="
+                + counts.length + ", totalCount=" + totalCount + "]";
+    }
+
+}
@@ -0,0 +1,81 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.count;
+
+import java.sql.Timestamp;
+
+import org.everit.commons.selection.lang.NumberRange;
+import org.everit.commons.selection.sql.TimestampRange;
+
+/**
+ * Estimates the number of values that fall into a range without counting them, e.g. to fill
+ * {@link org.everit.commons.selection.LimitedResult#getNumberOfAllElements()} or to estimate the selectivity of a
+ * filter. The values are summarized as <code>double</code>s, {@link Timestamp}s as their epoch milliseconds.
+ *
+ * <code>null</code> bounds of the ranges mean unbounded.
+ */
+public interface Histogram {
+
+    /**
+     * Estimates the number of the values in a range.
+     *
+     * @param lowerBound
+     *            the lower bound, can be {@link Double#NEGATIVE_INFINITY}
+     * @param higherBound
+     *            the higher bound, can be {@link Double#POSITIVE_INFINITY}
+     * @return the estimated number of the values
+     */
+    long estimateCount(double lowerBound, double higherBound, boolean lowerInclusive, boolean higherInclusive);
+
+    /**
+     * Estimates the number of the values in a range.
+     */
+    default long estimateCount(final NumberRange<?> range) {
+        Number lowerBound = range.getLowerBound();
+        Number higherBound = range.getHigherBound();
+        return estimateCount((lowerBound == null) ? Double.NEGATIVE_INFINITY : lowerBound.doubleValue(),
+                (higherBound == null) ? Double.POSITIVE_INFINITY : higherBound.doubleValue(),
+                range.isLowerInclusive(), range.isHigherInclusive());
+    }
+
+    /**
+     * Estimates the number of the timestamps in a range. The histogram must have been built from epoch milliseconds.
+     */
+    default long estimateCount(final TimestampRange range) {
+        Timestamp lowerBound = range.getLowerBound();
+        Timestamp higherBound = range.getHigherBound();
+        return estimateCount((lowerBound == null) ? Double.NEGATIVE_INFINITY : lowerBound.getTime(),
+                (higherBound == null) ? Double.POSITIVE_INFINITY : higherBound.getTime(), range.isLowerInclusive(),
+                range.isHigherInclusive());
+    }
+
+    /**
+     * Estimates the fraction of the values in a range.
+     *
+     * @return a number between 0 and 1, 0 if the histogram is empty
+     */
+    default double estimateSelectivity(final NumberRange<?> range) {
+        long totalCount = getTotalCount();
+        return (totalCount == 0) ? 0 : ((double) estimateCount(range) / totalCount);
+    }
+
+    /**
+     * Returns the number of all values summarized by the histogram.
+     */
+    long getTotalCount();
+
+}
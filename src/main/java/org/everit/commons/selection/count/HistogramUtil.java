@@ -0,0 +1,62 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.count;
+
+/**
+ * Estimation of the values of a bucket that fall into a range, assuming the values are distributed uniformly between
+ * the smallest and the greatest value of the bucket.
+ */
+final class HistogramUtil {
+
+    static void checkValue(final double value) {
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("value cannot be NaN");
+        }
+    }
+
+    /**
+     * Estimates the number of the values of a bucket in a range.
+     *
+     * @param min
+     *            the smallest value of the bucket
+     * @param max
+     *            the greatest value of the bucket
+     * @param count
+     *            the number of the values in the bucket
+     */
+    static double estimate(final double min, final double max, final double count, final double lowerBound,
+            final double higherBound, final boolean lowerInclusive, final boolean higherInclusive) {
+        if (min == max) {
+            boolean contains = ((min > lowerBound) || (lowerInclusive && (min == lowerBound)))
+                    && ((min < higherBound) || (higherInclusive && (min == higherBound)));
+            return contains ? count : 0;
+        }
+        if ((max <= lowerBound) || (min >= higherBound)) {
+            return 0;
+        }
+        if ((lowerBound <= min) && (higherBound >= max)) {
+            return count;
+        }
+        double from = Math.max(lowerBound, min);
+        double to = Math.min(higherBound, max);
+        return (count * (to - from)) / (max - min);
+    }
+
+    private HistogramUtil() {
+    }
+
+}
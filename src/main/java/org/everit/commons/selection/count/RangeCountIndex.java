@@ -0,0 +1,245 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.count;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Maintains the number of keys in each slot of a discretized <code>long</code> key space (e.g. epoch milliseconds,
+ * epoch days or identifiers) and counts the keys of any range in <code>O(log n)</code> time. Keys are added and
+ * removed incrementally as the counted elements are inserted and deleted, so
+ * {@link org.everit.commons.selection.LimitedResult#getNumberOfAllElements()} does not need a full count.
+ *
+ * The key space <code>[lowerBound, higherBound]</code> is divided into slots of <code>slotWidth</code> keys. A range
+ * is counted by the slots its bounds fall into, so the counts are exact if the slot width is 1 or the bounds of the
+ * ranges are aligned to the slots (e.g. day-aligned ranges with slots of one day).
+ *
+ * The slots are split into stripes of consecutive slots. Every stripe is a Fenwick tree in its own padded
+ * {@link AtomicLongArray} that also holds the total of the stripe, so updates are lock-free and an update writes only
+ * the array of its stripe: updates of different stripes do not contend. A count reads the Fenwick trees of the stripes
+ * of its bounds and the totals of the stripes between them, so it takes <code>O(log n + s)</code> time where
+ * <code>s</code> is the number of the stripes (one per processor by default). A count includes all updates completed
+ * before it started, concurrent updates may or may not be included.
+ */
+public final class RangeCountIndex implements Histogram {
+
+    /**
+     * The index of the total of the stripe in the array of a stripe. The Fenwick tree of the slots starts at index 1.
+     */
+    private static final int TOTAL_INDEX = 0;
+
+    /**
+     * The number of the unused elements at the end of the array of a stripe, so the counters of neighbouring stripes
+     * do not share a cache line.
+     */
+    private static final int PADDING = 8;
+
+    private final long lowerBound;
+
+    private final long higherBound;
+
+    private final long slotWidth;
+
+    private final int slotsPerStripe;
+
+    private final AtomicLongArray[] stripes;
+
+    /**
+     * Creates an index with one stripe per available processor.
+     *
+     * @see #RangeCountIndex(long, long, long, int)
+     */
+    public RangeCountIndex(final long lowerBound, final long higherBound, final long slotWidth) {
+        this(lowerBound, higherBound, slotWidth, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param lowerBound
+     *            the smallest key that can be added
+     * @param higherBound
+     *            the greatest key that can be added
+     * @param slotWidth
+     *            the number of the consecutive keys counted together, must be positive
+     * @param stripeCount
+     *            the number of the stripes, must be positive
+     */
+    public RangeCountIndex(final long lowerBound, final long higherBound, final long slotWidth,
+            final int stripeCount) {
+        if (lowerBound > higherBound) {
+            throw new IllegalArgumentException("lowerBound [" + lowerBound + "] is not lower than higherBound ["
+                    + higherBound + "]");
+        }
+        if (slotWidth < 1) {
+            throw new IllegalArgumentException("slotWidth [" + slotWidth + "] is less than 1");
+        }
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("stripeCount [" + stripeCount + "] is less than 1");
+        }
+        long slotCount = (Math.subtractExact(higherBound, lowerBound) / slotWidth) + 1;
+        if (slotCount > ((Integer.MAX_VALUE - stripeCount) - PADDING)) {
+            throw new IllegalArgumentException("the number of the slots [" + slotCount + "] is too big");
+        }
+        this.lowerBound = lowerBound;
+        this.higherBound = higherBound;
+        this.slotWidth = slotWidth;
+        int stripeNumber = (int) Math.min(stripeCount, slotCount);
+        slotsPerStripe = (int) (((slotCount + stripeNumber) - 1) / stripeNumber);
+        stripes = new AtomicLongArray[(int) (((slotCount + slotsPerStripe) - 1) / slotsPerStripe)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new AtomicLongArray(slotsPerStripe + 1 + PADDING);
+        }
+    }
+
+    /**
+     * Adds a key.
+     *
+     * @param key
+     *            the key, must be between the bounds of the index
+     */
+    public void add(final long key) {
+        add(key, 1);
+    }
+
+    /**
+     * Changes the number of the keys in the slot of a key.
+     *
+     * @param key
+     *            the key, must be between the bounds of the index
+     * @param delta
+     *            the number of the added (if positive) or removed (if negative) keys
+     */
+    public void add(final long key, final long delta) {
+        if ((key < lowerBound) || (key > higherBound)) {
+            throw new IllegalArgumentException("key [" + key + "] is not between lowerBound [" + lowerBound
+                    + "] and higherBound [" + higherBound + "]");
+        }
+        int slot = slotOf(key);
+        int stripe = slot / slotsPerStripe;
+        AtomicLongArray tree = stripes[stripe];
+        for (int i = (slot % slotsPerStripe) + 1; i <= slotsPerStripe; i += i & -i) {
+            tree.getAndAdd(i, delta);
+        }
+        tree.getAndAdd(TOTAL_INDEX, delta);
+    }
+
+    /**
+     * Counts the keys of a range.
+     *
+     * @param lowerKey
+     *            the lower bound of the range (inclusive)
+     * @param higherKey
+     *            the higher bound of the range (inclusive)
+     * @return the number of the keys in the slots from the slot of <code>lowerKey</code> to the slot of
+     *         <code>higherKey</code>
+     */
+    public long count(final long lowerKey, final long higherKey) {
+        long from = Math.max(lowerKey, lowerBound);
+        long to = Math.min(higherKey, higherBound);
+        if (from > to) {
+            return 0;
+        }
+        int fromSlot = slotOf(from);
+        int toSlot = slotOf(to);
+        int fromStripe = fromSlot / slotsPerStripe;
+        int toStripe = toSlot / slotsPerStripe;
+        int fromIndex = fromSlot % slotsPerStripe;
+        int toIndex = (toSlot % slotsPerStripe) + 1;
+        if (fromStripe == toStripe) {
+            return prefixSum(fromStripe, toIndex) - prefixSum(fromStripe, fromIndex);
+        }
+        long result = (prefixSum(fromStripe, slotsPerStripe) - prefixSum(fromStripe, fromIndex))
+                + prefixSum(toStripe, toIndex);
+        for (int stripe = fromStripe + 1; stripe < toStripe; stripe++) {
+            result += stripes[stripe].get(TOTAL_INDEX);
+        }
+        return result;
+    }
+
+    /**
+     * Counts the keys of a range, the same as {@link #count(long, long)} after rounding the bounds to the keys inside
+     * the range.
+     */
+    @Override
+    public long estimateCount(final double lowerBound, final double higherBound, final boolean lowerInclusive,
+            final boolean higherInclusive) {
+        if (Double.isNaN(lowerBound) || Double.isNaN(higherBound)) {
+            throw new IllegalArgumentException("the bounds cannot be NaN");
+        }
+        double lowerKey = lowerInclusive ? Math.ceil(lowerBound) : (Math.floor(lowerBound) + 1);
+        double higherKey = higherInclusive ? Math.floor(higherBound) : (Math.ceil(higherBound) - 1);
+        if ((lowerKey > this.higherBound) || (higherKey < this.lowerBound)) {
+            return 0;
+        }
+        return count((long) Math.max(lowerKey, this.lowerBound), (long) Math.min(higherKey, this.higherBound));
+    }
+
+    public long getHigherBound() {
+        return higherBound;
+    }
+
+    public long getLowerBound() {
+        return lowerBound;
+    }
+
+    public long getSlotWidth() {
+        return slotWidth;
+    }
+
+    @Override
+    public long getTotalCount() {
+        long result = 0;
+        for (AtomicLongArray stripe : stripes) {
+            result += stripe.get(TOTAL_INDEX);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of the keys in the first <code>length</code> slots of a stripe.
+     */
+    private long prefixSum(final int stripe, final int length) {
+        AtomicLongArray tree = stripes[stripe];
+        long result = 0;
+        for (int i = length; i > 0; i -= i & -i) {
+            result += tree.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Removes a key that was added before.
+     *
+     * @param key
+     *            the key, must be between the bounds of the index
+     */
+    public void remove(final long key) {
+        add(key, -1);
+    }
+
+    private int slotOf(final long key) {
+        return (int) ((key - lowerBound) / slotWidth);
+    }
+
+    @Override
+    public String toString() {
+        return "RangeCountIndex [lowerBound=" + lowerBound + ", higherBound=" + higherBound + ", slotWidth="
+                + slotWidth + ", stripeCount=" + stripes.length + "]";
+    }
+
+}
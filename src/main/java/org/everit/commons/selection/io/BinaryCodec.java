@@ -0,0 +1,69 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Writes values of a type into a compact binary form and reads them back, as a replacement of Java serialization.
+ * The values are written directly into the given {@link ByteBuffer} or {@link DataOutput} without building an
+ * intermediate byte array. The format does not contain type information, the same codec has to be used for reading
+ * that was used for writing.
+ *
+ * Implementations are stateless and can be used from several threads at the same time.
+ *
+ * @param <T>
+ *            the type of the values
+ */
+public interface BinaryCodec<T> {
+
+    /**
+     * Reads a value from the position of the buffer and advances the position after it.
+     *
+     * @throws java.nio.BufferUnderflowException
+     *             if the buffer ends before the value
+     */
+    T read(ByteBuffer buffer);
+
+    /**
+     * Reads a value from the input.
+     *
+     * @throws IOException
+     *             if the input cannot be read or ends before the value
+     */
+    T read(DataInput in) throws IOException;
+
+    /**
+     * Writes a value to the position of the buffer and advances the position after it.
+     *
+     * @throws java.nio.BufferOverflowException
+     *             if the value does not fit into the remaining bytes of the buffer
+     */
+    void write(T value, ByteBuffer buffer);
+
+    /**
+     * Writes a value to the output.
+     *
+     * @throws IOException
+     *             if the output cannot be written
+     */
+    void write(T value, DataOutput out) throws IOException;
+
+}
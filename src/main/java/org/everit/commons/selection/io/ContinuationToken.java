@@ -0,0 +1,95 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.io;
+
+import org.everit.commons.selection.Limit;
+import org.everit.commons.selection.Range;
+
+/**
+ * The paging state decoded from a continuation token by {@link ContinuationTokenCodec}: the limit of the next query
+ * (a {@link org.everit.commons.selection.SeekLimit} carries the sort key of the cursor) and an optional filter range.
+ *
+ * @param <R>
+ *            the type of the filter range
+ */
+public final class ContinuationToken<R extends Range<?>> {
+
+    private final Limit limit;
+
+    private final R filter;
+
+    /**
+     * Constructor.
+     *
+     * @param limit
+     *            the limit, cannot be null
+     * @param filter
+     *            the filter range or <code>null</code> if the query is not filtered
+     */
+    public ContinuationToken(final Limit limit, final R filter) {
+        if (limit == null) {
+            throw new NullPointerException("limit cannot be null");
+        }
+        this.limit = limit;
+        this.filter = filter;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        ContinuationToken<?> other = (ContinuationToken<?>) obj;
+        if (filter == null) {
+            if (other.filter != null) {
+                return false;
+            }
+        } else if (!filter.equals(other.filter)) {
+            return false;
+        }
+        return limit.equals(other.limit);
+    }
+
+    public R getFilter() {
+        return filter;
+    }
+
+    public Limit getLimit() {
+        return limit;
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = (prime * result) + ((filter == null) ? 0 : filter.hashCode());
+        result = (prime * result) + limit.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ContinuationToken [limit=" + limit + ", filter=" + filter + "]";
+    }
+
+}
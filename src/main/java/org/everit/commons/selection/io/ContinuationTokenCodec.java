@@ -0,0 +1,195 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.io;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.zip.CRC32;
+
+import org.everit.commons.selection.Limit;
+import org.everit.commons.selection.Range;
+
+/**
+ * Encodes paging state into compact, opaque continuation tokens that can be passed to clients and back. A token is
+ * the URL-safe Base64 form (without padding) of a version byte, the limit written by {@link LimitCodec}, a byte that
+ * tells whether there is a filter, the filter written by the range codec and the CRC-32 checksum of the preceding
+ * bytes. A {@link org.everit.commons.selection.SeekLimit} with a two column key and a short <code>LongRange</code>
+ * filter takes about 35 characters.
+ *
+ * {@link #decode(String)} validates the length, the checksum, the version and the structure of a token before it
+ * returns and reports every problem as an {@link IllegalArgumentException}, so invalid tokens can be rejected before
+ * any query is run. The checksum detects corrupt and truncated tokens, but it does not protect against deliberate
+ * tampering: the decoded values must be authorized like any other user input.
+ *
+ * Instances are stateless and can be used from several threads at the same time.
+ *
+ * @param <T>
+ *            the type of the bounds of the filter range
+ * @param <R>
+ *            the type of the filter range
+ */
+public class ContinuationTokenCodec<T extends Comparable<? super T>, R extends Range<T>> {
+
+    /**
+     * The version of the token format.
+     */
+    public static final byte VERSION = 1;
+
+    /**
+     * The maximum length of a token accepted by {@link #decode(String)}.
+     */
+    public static final int MAX_TOKEN_LENGTH = 2048;
+
+    private static final int CHECKSUM_SIZE = 4;
+
+    private static final int INITIAL_BUFFER_SIZE = 64;
+
+    private static final byte NO_FILTER = 0;
+
+    private static final byte FILTER = 1;
+
+    private static final LimitCodec LIMIT_CODEC = new LimitCodec();
+
+    private static int checksum(final byte[] bytes, final int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, length);
+        return (int) crc.getValue();
+    }
+
+    private static IllegalArgumentException invalid(final String reason) {
+        return new IllegalArgumentException("invalid continuation token: " + reason);
+    }
+
+    private final RangeCodec<T, R> filterCodec;
+
+    /**
+     * Constructor.
+     *
+     * @param filterCodec
+     *            the codec of the filter ranges, cannot be null
+     */
+    public ContinuationTokenCodec(final RangeCodec<T, R> filterCodec) {
+        if (filterCodec == null) {
+            throw new NullPointerException("filterCodec cannot be null");
+        }
+        this.filterCodec = filterCodec;
+    }
+
+    /**
+     * Decodes a token created by {@link #encode(Limit, Range)}.
+     *
+     * @param token
+     *            the token, cannot be null
+     * @throws IllegalArgumentException
+     *             if the token is not valid
+     */
+    public ContinuationToken<R> decode(final String token) {
+        if (token == null) {
+            throw new NullPointerException("token cannot be null");
+        }
+        if (token.length() > MAX_TOKEN_LENGTH) {
+            throw ContinuationTokenCodec.invalid("length [" + token.length() + "] is greater than ["
+                    + MAX_TOKEN_LENGTH + "]");
+        }
+        byte[] bytes = Base64.getUrlDecoder().decode(token);
+        int length = bytes.length - CHECKSUM_SIZE;
+        if (length < 1) {
+            throw ContinuationTokenCodec.invalid("too short");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (buffer.getInt(length) != ContinuationTokenCodec.checksum(bytes, length)) {
+            throw ContinuationTokenCodec.invalid("checksum mismatch");
+        }
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw ContinuationTokenCodec.invalid("unsupported version [" + version + "]");
+        }
+        buffer.limit(length);
+        try {
+            Limit limit = LIMIT_CODEC.read(buffer);
+            byte filterFlag = buffer.get();
+            R filter;
+            if (filterFlag == FILTER) {
+                filter = filterCodec.read(buffer);
+            } else if (filterFlag == NO_FILTER) {
+                filter = null;
+            } else {
+                throw ContinuationTokenCodec.invalid("invalid filter flag [" + filterFlag + "]");
+            }
+            if (buffer.hasRemaining()) {
+                throw ContinuationTokenCodec.invalid("[" + buffer.remaining() + "] trailing bytes");
+            }
+            return new ContinuationToken<R>(limit, filter);
+        } catch (BufferUnderflowException e) {
+            throw ContinuationTokenCodec.invalid("truncated");
+        } catch (DateTimeException e) {
+            throw ContinuationTokenCodec.invalid(e.getMessage());
+        } catch (ArithmeticException e) {
+            throw ContinuationTokenCodec.invalid(e.getMessage());
+        }
+    }
+
+    /**
+     * Encodes the paging state into a token.
+     *
+     * @param limit
+     *            the limit of the next query, cannot be null
+     * @param filter
+     *            the filter range of the query or <code>null</code>
+     * @return the URL-safe token
+     */
+    public String encode(final Limit limit, final R filter) {
+        if (limit == null) {
+            throw new NullPointerException("limit cannot be null");
+        }
+        int capacity = INITIAL_BUFFER_SIZE;
+        while (true) {
+            ByteBuffer buffer = ByteBuffer.allocate(capacity);
+            try {
+                buffer.put(VERSION);
+                LIMIT_CODEC.write(limit, buffer);
+                if (filter == null) {
+                    buffer.put(NO_FILTER);
+                } else {
+                    buffer.put(FILTER);
+                    filterCodec.write(filter, buffer);
+                }
+                int length = buffer.position();
+                buffer.putInt(ContinuationTokenCodec.checksum(buffer.array(), length));
+                return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                        Arrays.copyOf(buffer.array(), buffer.position()));
+            } catch (BufferOverflowException e) {
+                capacity *= 2;
+            }
+        }
+    }
+
+    /**
+     * Encodes the paging state of a decoded token.
+     *
+     * @param token
+     *            the decoded token, cannot be null
+     */
+    public String encode(final ContinuationToken<R> token) {
+        return encode(token.getLimit(), token.getFilter());
+    }
+
+}
@@ -0,0 +1,140 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.everit.commons.selection.Limit;
+import org.everit.commons.selection.PageLimit;
+import org.everit.commons.selection.SeekDirection;
+import org.everit.commons.selection.SeekLimit;
+import org.everit.commons.selection.SortKey;
+
+/**
+ * A {@link BinaryCodec} for {@link Limit}s, {@link PageLimit}s and {@link SeekLimit}s. A limit is written as a type
+ * byte followed by the maximum number of results and the first result (or the page index for a {@link PageLimit}) as
+ * {@link VarIntUtil variable length} values, so <code>new PageLimit(1, 20)</code> takes three bytes. In case of a
+ * {@link SeekLimit} the third value holds the direction and whether there is a key, and the key follows it as
+ * written by {@link SortKeyCodec}.
+ */
+public class LimitCodec implements BinaryCodec<Limit> {
+
+    private static final byte TYPE_LIMIT = 0;
+
+    private static final byte TYPE_PAGE_LIMIT = 1;
+
+    private static final byte TYPE_SEEK_LIMIT = 2;
+
+    private static final int SEEK_BEFORE = 1;
+
+    private static final int SEEK_KEY = 2;
+
+    private static final SortKeyCodec SORT_KEY_CODEC = new SortKeyCodec();
+
+    private static Limit createLimit(final byte type, final long maxResults, final long firstResultOrPageIndex) {
+        if (type == TYPE_LIMIT) {
+            return new Limit(firstResultOrPageIndex, maxResults);
+        }
+        if (type == TYPE_PAGE_LIMIT) {
+            return new PageLimit(firstResultOrPageIndex, maxResults);
+        }
+        throw new IllegalArgumentException("invalid limit type [" + type + "]");
+    }
+
+    private static SeekLimit createSeekLimit(final long maxResults, final long seekFlags, final SortKey key) {
+        if ((seekFlags & ~(SEEK_BEFORE | SEEK_KEY)) != 0) {
+            throw new IllegalArgumentException("invalid seek flags [" + seekFlags + "]");
+        }
+        SeekDirection direction = ((seekFlags & SEEK_BEFORE) != 0) ? SeekDirection.BEFORE : SeekDirection.AFTER;
+        return new SeekLimit(key, direction, maxResults);
+    }
+
+    private static long firstResultOrPageIndex(final Limit limit) {
+        Class<?> limitClass = limit.getClass();
+        if (limitClass == PageLimit.class) {
+            return (limit.getFirstResult() / limit.getMaxResults()) + 1;
+        }
+        if (limitClass == SeekLimit.class) {
+            SeekLimit seekLimit = (SeekLimit) limit;
+            return ((seekLimit.getDirection() == SeekDirection.BEFORE) ? SEEK_BEFORE : 0)
+                    | ((seekLimit.getKey() != null) ? SEEK_KEY : 0);
+        }
+        return limit.getFirstResult();
+    }
+
+    private static byte type(final Limit limit) {
+        Class<?> limitClass = limit.getClass();
+        if (limitClass == Limit.class) {
+            return TYPE_LIMIT;
+        }
+        if (limitClass == PageLimit.class) {
+            return TYPE_PAGE_LIMIT;
+        }
+        if (limitClass == SeekLimit.class) {
+            return TYPE_SEEK_LIMIT;
+        }
+        throw new IllegalArgumentException("unsupported limit type [" + limitClass.getName() + "]");
+    }
+
+    @Override
+    public Limit read(final ByteBuffer buffer) {
+        byte type = buffer.get();
+        long maxResults = VarIntUtil.readVarLong(buffer);
+        long value = VarIntUtil.readVarLong(buffer);
+        if (type == TYPE_SEEK_LIMIT) {
+            SortKey key = ((value & SEEK_KEY) != 0) ? SORT_KEY_CODEC.read(buffer) : null;
+            return LimitCodec.createSeekLimit(maxResults, value, key);
+        }
+        return LimitCodec.createLimit(type, maxResults, value);
+    }
+
+    @Override
+    public Limit read(final DataInput in) throws IOException {
+        byte type = in.readByte();
+        long maxResults = VarIntUtil.readVarLong(in);
+        long value = VarIntUtil.readVarLong(in);
+        if (type == TYPE_SEEK_LIMIT) {
+            SortKey key = ((value & SEEK_KEY) != 0) ? SORT_KEY_CODEC.read(in) : null;
+            return LimitCodec.createSeekLimit(maxResults, value, key);
+        }
+        return LimitCodec.createLimit(type, maxResults, value);
+    }
+
+    @Override
+    public void write(final Limit value, final ByteBuffer buffer) {
+        buffer.put(LimitCodec.type(value));
+        VarIntUtil.writeVarLong(buffer, value.getMaxResults());
+        VarIntUtil.writeVarLong(buffer, LimitCodec.firstResultOrPageIndex(value));
+        if ((value instanceof SeekLimit) && (((SeekLimit) value).getKey() != null)) {
+            SORT_KEY_CODEC.write(((SeekLimit) value).getKey(), buffer);
+        }
+    }
+
+    @Override
+    public void write(final Limit value, final DataOutput out) throws IOException {
+        out.writeByte(LimitCodec.type(value));
+        VarIntUtil.writeVarLong(out, value.getMaxResults());
+        VarIntUtil.writeVarLong(out, LimitCodec.firstResultOrPageIndex(value));
+        if ((value instanceof SeekLimit) && (((SeekLimit) value).getKey() != null)) {
+            SORT_KEY_CODEC.write(((SeekLimit) value).getKey(), out);
+        }
+    }
+
+}
@@ -0,0 +1,195 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.everit.commons.selection.CountAccuracy;
+import org.everit.commons.selection.ElementCount;
+import org.everit.commons.selection.Limit;
+import org.everit.commons.selection.LimitedResult;
+import org.everit.commons.selection.Page;
+
+/**
+ * A {@link BinaryCodec} for {@link LimitedResult}s and {@link Page}s. A result is written as a type byte, the number
+ * of all elements, the limit (see {@link LimitCodec}), the number of the elements and the elements written by the
+ * element codec. The page index and the last available page index of a {@link Page} are calculated from the other
+ * values, so they are not written. If the {@link ElementCount} of the result is not exact, a flag is set in the type
+ * byte and the accuracy, the error bound and the difference of the number of all elements and the lower bound of the
+ * count follow the number of all elements.
+ *
+ * @param <T>
+ *            the type of the elements
+ */
+public class LimitedResultCodec<T extends Serializable> implements BinaryCodec<LimitedResult<T>> {
+
+    private static final byte TYPE_LIMITED_RESULT = 0;
+
+    private static final byte TYPE_PAGE = 1;
+
+    private static final byte COUNT_NOT_EXACT = 2;
+
+    private static final CountAccuracy[] ACCURACIES = CountAccuracy.values();
+
+    private static final LimitCodec LIMIT_CODEC = new LimitCodec();
+
+    private final BinaryCodec<T> elementCodec;
+
+    /**
+     * Constructor.
+     *
+     * @param elementCodec
+     *            the codec of the elements, cannot be null
+     */
+    public LimitedResultCodec(final BinaryCodec<T> elementCodec) {
+        if (elementCodec == null) {
+            throw new NullPointerException("elementCodec cannot be null");
+        }
+        this.elementCodec = elementCodec;
+    }
+
+    private static ElementCount createCount(final long value, final byte accuracy, final long errorBound,
+            final long lowerBoundDifference) {
+        if ((accuracy < 0) || (accuracy >= ACCURACIES.length)) {
+            throw new IllegalArgumentException("invalid count accuracy [" + accuracy + "]");
+        }
+        if ((lowerBoundDifference < 0) || (lowerBoundDifference > value)) {
+            throw new IllegalArgumentException("invalid lower bound difference [" + lowerBoundDifference + "]");
+        }
+        switch (ACCURACIES[accuracy]) {
+        case ESTIMATED:
+            return ElementCount.estimated(value, errorBound).withMinimum(value - lowerBoundDifference);
+        case AT_LEAST:
+            return ElementCount.atLeast(value);
+        default:
+            return ElementCount.exact(value);
+        }
+    }
+
+    private LimitedResult<T> createResult(final byte type, final List<T> elements, final ElementCount elementCount,
+            final Limit limit) {
+        byte resultType = (byte) (type & ~COUNT_NOT_EXACT);
+        if (resultType == TYPE_LIMITED_RESULT) {
+            return new LimitedResult<T>(elements, elementCount, limit);
+        }
+        if (resultType == TYPE_PAGE) {
+            return new Page<T>(elements, elementCount, limit);
+        }
+        throw new IllegalArgumentException("invalid result type [" + type + "]");
+    }
+
+    @Override
+    public LimitedResult<T> read(final ByteBuffer buffer) {
+        byte type = buffer.get();
+        long numberOfAllElements = VarIntUtil.readVarLong(buffer);
+        ElementCount elementCount;
+        if ((type & COUNT_NOT_EXACT) != 0) {
+            byte accuracy = buffer.get();
+            long errorBound = VarIntUtil.readVarLong(buffer);
+            long lowerBoundDifference = VarIntUtil.readVarLong(buffer);
+            elementCount = LimitedResultCodec.createCount(numberOfAllElements, accuracy, errorBound,
+                    lowerBoundDifference);
+        } else {
+            elementCount = ElementCount.exact(numberOfAllElements);
+        }
+        Limit limit = LIMIT_CODEC.read(buffer);
+        int size = VarIntUtil.checkCount(VarIntUtil.readVarLong(buffer));
+        List<T> elements = new ArrayList<T>(Math.min(size, buffer.remaining()));
+        for (int i = 0; i < size; i++) {
+            elements.add(elementCodec.read(buffer));
+        }
+        return createResult(type, elements, elementCount, limit);
+    }
+
+    @Override
+    public LimitedResult<T> read(final DataInput in) throws IOException {
+        byte type = in.readByte();
+        long numberOfAllElements = VarIntUtil.readVarLong(in);
+        ElementCount elementCount;
+        if ((type & COUNT_NOT_EXACT) != 0) {
+            byte accuracy = in.readByte();
+            long errorBound = VarIntUtil.readVarLong(in);
+            long lowerBoundDifference = VarIntUtil.readVarLong(in);
+            elementCount = LimitedResultCodec.createCount(numberOfAllElements, accuracy, errorBound,
+                    lowerBoundDifference);
+        } else {
+            elementCount = ElementCount.exact(numberOfAllElements);
+        }
+        Limit limit = LIMIT_CODEC.read(in);
+        int size = VarIntUtil.checkCount(VarIntUtil.readVarLong(in));
+        List<T> elements = new ArrayList<T>(Math.min(size, 1024));
+        for (int i = 0; i < size; i++) {
+            elements.add(elementCodec.read(in));
+        }
+        return createResult(type, elements, elementCount, limit);
+    }
+
+    private byte type(final LimitedResult<T> result) {
+        Class<?> resultClass = result.getClass();
+        byte countFlag = result.getElementCount().isExact() ? 0 : COUNT_NOT_EXACT;
+        if (resultClass == LimitedResult.class) {
+            return (byte) (TYPE_LIMITED_RESULT | countFlag);
+        }
+        if (resultClass == Page.class) {
+            return (byte) (TYPE_PAGE | countFlag);
+        }
+        throw new IllegalArgumentException("unsupported result type [" + resultClass.getName() + "]");
+    }
+
+    @Override
+    public void write(final LimitedResult<T> value, final ByteBuffer buffer) {
+        buffer.put(type(value));
+        VarIntUtil.writeVarLong(buffer, value.getNumberOfAllElements());
+        ElementCount elementCount = value.getElementCount();
+        if (!elementCount.isExact()) {
+            buffer.put((byte) elementCount.getAccuracy().ordinal());
+            VarIntUtil.writeVarLong(buffer, elementCount.getErrorBound());
+            VarIntUtil.writeVarLong(buffer, elementCount.getValue() - elementCount.getLowerBound());
+        }
+        LIMIT_CODEC.write(value.getLimit(), buffer);
+        List<T> elements = value.getElements();
+        VarIntUtil.writeVarLong(buffer, elements.size());
+        for (T element : elements) {
+            elementCodec.write(element, buffer);
+        }
+    }
+
+    @Override
+    public void write(final LimitedResult<T> value, final DataOutput out) throws IOException {
+        out.writeByte(type(value));
+        VarIntUtil.writeVarLong(out, value.getNumberOfAllElements());
+        ElementCount elementCount = value.getElementCount();
+        if (!elementCount.isExact()) {
+            out.writeByte(elementCount.getAccuracy().ordinal());
+            VarIntUtil.writeVarLong(out, elementCount.getErrorBound());
+            VarIntUtil.writeVarLong(out, elementCount.getValue() - elementCount.getLowerBound());
+        }
+        LIMIT_CODEC.write(value.getLimit(), out);
+        List<T> elements = value.getElements();
+        VarIntUtil.writeVarLong(out, elements.size());
+        for (T element : elements) {
+            elementCodec.write(element, out);
+        }
+    }
+
+}
@@ -0,0 +1,314 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import org.everit.commons.selection.RangeRelation;
+import org.everit.commons.selection.RangeRelationUtil;
+
+/**
+ * A read-only table of ranges with <code>long</code> bounds and binary payloads, read directly from the buffer
+ * written by {@link MappedLongRangeTableWriter}. Usually the buffer is a memory mapped file (see {@link #open(File)}),
+ * so opening a table does not depend on its size and the pages of the file are shared between the processes
+ * reading it.
+ *
+ * The format of the table (all numbers are big endian):
+ * <ul>
+ * <li>header: magic number (<code>int</code>), version (<code>int</code>), number of ranges (<code>int</code>),
+ * reserved (<code>int</code>)</li>
+ * <li>one 32 bytes long entry per range, sorted by lower bound and then by higher bound: lower bound
+ * (<code>long</code>), higher bound (<code>long</code>), the maximum of the higher bounds in the subtree of the entry
+ * (<code>long</code>, see below), the end offset of the payload within the payload section
+ * (<code>int</code>), the inclusive flags as encoded by {@link RangeRelationUtil#toFlags(boolean, boolean)}
+ * (<code>int</code>)</li>
+ * <li>payload section: the payloads of the ranges in the order of the entries. The payload of an entry starts at the
+ * end offset of the previous entry.</li>
+ * </ul>
+ *
+ * The sorted entries form an implicit balanced binary search tree: the root of the entries between the indexes
+ * <code>low</code> (inclusive) and <code>high</code> (exclusive) is the entry at
+ * <code>(low + high) &gt;&gt;&gt; 1</code>, its left subtree is formed by the entries before it and its right
+ * subtree by the entries after it. Storing the maximum higher bound of every subtree makes the table a static interval
+ * tree, queries descend it like {@link org.everit.commons.selection.IntervalTree} does and skip the subtrees that end
+ * before the query or start after it. Finding the next overlapping range takes <code>O(log n)</code> steps, even if
+ * the table contains long ranges that enclose many others, like nested IP address blocks.
+ *
+ * Queries do not create objects, the table can be used from several threads at the same time.
+ */
+public class MappedLongRangeTable {
+
+    static final int MAGIC = 0x45435254;
+
+    static final int VERSION = 2;
+
+    static final int HEADER_SIZE = 16;
+
+    static final int ENTRY_SIZE = 32;
+
+    static final int LOWER_BOUND_OFFSET = 0;
+
+    static final int HIGHER_BOUND_OFFSET = 8;
+
+    static final int MAX_HIGHER_BOUND_OFFSET = 16;
+
+    static final int PAYLOAD_END_OFFSET = 24;
+
+    static final int FLAGS_OFFSET = 28;
+
+    /**
+     * Maps a file written by {@link MappedLongRangeTableWriter} into the memory.
+     *
+     * @param file
+     *            the file, cannot be null
+     * @return the table
+     * @throws IOException
+     *             if the file cannot be mapped
+     * @throws IllegalArgumentException
+     *             if the file is not a range table
+     */
+    public static MappedLongRangeTable open(final File file) throws IOException {
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = randomAccessFile.getChannel();
+            return new MappedLongRangeTable(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } finally {
+            randomAccessFile.close();
+        }
+    }
+
+    private final ByteBuffer buffer;
+
+    private final int size;
+
+    private final int payloadStart;
+
+    /**
+     * Creates a table that reads the given buffer from its position. The buffer is not modified and must not be
+     * modified while the table is used.
+     *
+     * @param buffer
+     *            the buffer, cannot be null
+     * @throws IllegalArgumentException
+     *             if the buffer does not contain a range table
+     */
+    public MappedLongRangeTable(final ByteBuffer buffer) {
+        if (buffer == null) {
+            throw new NullPointerException("buffer cannot be null");
+        }
+        this.buffer = buffer.slice().asReadOnlyBuffer();
+        if (this.buffer.capacity() < HEADER_SIZE) {
+            throw new IllegalArgumentException("buffer is too short for a range table");
+        }
+        int magic = this.buffer.getInt(0);
+        if (magic != MAGIC) {
+            throw new IllegalArgumentException("buffer is not a range table, magic number [" + magic + "]");
+        }
+        int version = this.buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("unsupported range table version [" + version + "]");
+        }
+        size = this.buffer.getInt(8);
+        long entriesEnd = HEADER_SIZE + ((long) size * ENTRY_SIZE);
+        if ((size < 0) || (entriesEnd > this.buffer.capacity())) {
+            throw new IllegalArgumentException("range table with [" + size + "] ranges is truncated");
+        }
+        payloadStart = (int) entriesEnd;
+        if ((size > 0) && ((long) payloadStart + getPayloadEnd(size - 1) > this.buffer.capacity())) {
+            throw new IllegalArgumentException("payload section of the range table is truncated");
+        }
+    }
+
+    private void checkIndex(final int index) {
+        if ((index < 0) || (index >= size)) {
+            throw new IndexOutOfBoundsException("index [" + index + "] is out of the bounds of the table [" + size
+                    + "]");
+        }
+    }
+
+    /**
+     * Checks if any of the ranges contains the given point.
+     */
+    public boolean contains(final long point) {
+        return nextContaining(point, 0) >= 0;
+    }
+
+    private int entryOffset(final int index) {
+        return HEADER_SIZE + (index * ENTRY_SIZE);
+    }
+
+    private byte getFlags(final int index) {
+        return (byte) buffer.getInt(entryOffset(index) + FLAGS_OFFSET);
+    }
+
+    public long getHigherBound(final int index) {
+        checkIndex(index);
+        return buffer.getLong(entryOffset(index) + HIGHER_BOUND_OFFSET);
+    }
+
+    public long getLowerBound(final int index) {
+        checkIndex(index);
+        return buffer.getLong(entryOffset(index) + LOWER_BOUND_OFFSET);
+    }
+
+    /**
+     * Returns the payload of a range without copying it.
+     *
+     * @param index
+     *            the index of the range
+     * @return a new read-only buffer that shares the content of the table, positioned at the start of the payload
+     */
+    public ByteBuffer getPayload(final int index) {
+        checkIndex(index);
+        int start = (index == 0) ? 0 : getPayloadEnd(index - 1);
+        ByteBuffer payload = buffer.duplicate();
+        payload.limit(payloadStart + getPayloadEnd(index));
+        payload.position(payloadStart + start);
+        return payload.slice();
+    }
+
+    private int getPayloadEnd(final int index) {
+        return buffer.getInt(entryOffset(index) + PAYLOAD_END_OFFSET);
+    }
+
+    /**
+     * Returns the index of the first range with a lower bound greater than the given bound, or {@link #size()} if
+     * there is no such range. The inclusive flags are not considered here, the candidates before the returned index
+     * are checked exactly by the caller.
+     */
+    private int indexOfFirstStartingAbove(final long bound) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (buffer.getLong(entryOffset(mid) + LOWER_BOUND_OFFSET) > bound) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    public boolean isHigherInclusive(final int index) {
+        checkIndex(index);
+        return (getFlags(index) & RangeRelationUtil.HIGHER_INCLUSIVE) != 0;
+    }
+
+    public boolean isLowerInclusive(final int index) {
+        checkIndex(index);
+        return (getFlags(index) & RangeRelationUtil.LOWER_INCLUSIVE) != 0;
+    }
+
+    /**
+     * Returns the index of the next range that contains the given point. See
+     * {@link #nextOverlapping(long, long, boolean, boolean, int)} for iterating over all of them.
+     *
+     * @param point
+     *            the point
+     * @param fromIndex
+     *            the index the search starts at
+     * @return the index of the range or <code>-1</code> if there are no more ranges containing the point
+     */
+    public int nextContaining(final long point, final int fromIndex) {
+        return nextOverlapping(point, point, true, true, fromIndex);
+    }
+
+    /**
+     * Returns the index of the next range that has common elements with the given range. All overlapping ranges can
+     * be visited by the following loop:
+     *
+     * <pre>
+     * for (int i = table.nextOverlapping(lower, higher, true, false, 0); i &gt;= 0; i = table.nextOverlapping(lower,
+     *         higher, true, false, i + 1)) {
+     *     ...
+     * }
+     * </pre>
+     *
+     * Empty ranges do not overlap anything, so the method returns <code>-1</code> for them. The search descends the
+     * implicit interval tree described in the class documentation.
+     *
+     * @param fromIndex
+     *            the index the search starts at
+     * @return the index of the range or <code>-1</code> if there are no more overlapping ranges
+     */
+    public int nextOverlapping(final long lowerBound, final long higherBound, final boolean lowerInclusive,
+            final boolean higherInclusive, final int fromIndex) {
+        if (lowerBound > higherBound) {
+            throw new IllegalArgumentException("lowerBound [" + lowerBound + "] is not lower than higherBound ["
+                    + higherBound + "]");
+        }
+        if ((lowerBound == higherBound) && !(lowerInclusive && higherInclusive)) {
+            return -1;
+        }
+        int flags = RangeRelationUtil.toFlags(lowerInclusive, higherInclusive);
+        return nextOverlapping(0, size, lowerBound, higherBound, flags, Math.max(fromIndex, 0),
+                indexOfFirstStartingAbove(higherBound));
+    }
+
+    /**
+     * Searches the subtree of the entries between <code>low</code> (inclusive) and <code>high</code> (exclusive) for
+     * the first overlapping range with an index between <code>fromIndex</code> (inclusive) and <code>end</code>
+     * (exclusive).
+     */
+    private int nextOverlapping(final int low, final int high, final long lowerBound, final long higherBound,
+            final int flags, final int fromIndex, final int end) {
+        if ((low >= high) || (high <= fromIndex) || (low >= end)) {
+            return -1;
+        }
+        int mid = (low + high) >>> 1;
+        int offset = entryOffset(mid);
+        if (buffer.getLong(offset + MAX_HIGHER_BOUND_OFFSET) < lowerBound) {
+            return -1;
+        }
+        int result = nextOverlapping(low, mid, lowerBound, higherBound, flags, fromIndex, end);
+        if (result >= 0) {
+            return result;
+        }
+        if ((mid >= fromIndex) && (mid < end)) {
+            RangeRelation relation = RangeRelationUtil.toRangeRelation(RangeRelationUtil.classify(lowerBound,
+                    higherBound, flags, buffer.getLong(offset + LOWER_BOUND_OFFSET),
+                    buffer.getLong(offset + HIGHER_BOUND_OFFSET), getFlags(mid)));
+            if (!relation.isDistinct()) {
+                return mid;
+            }
+        }
+        return nextOverlapping(mid + 1, high, lowerBound, higherBound, flags, fromIndex, end);
+    }
+
+    /**
+     * Checks if any of the ranges has common elements with the given range.
+     */
+    public boolean overlaps(final long lowerBound, final long higherBound, final boolean lowerInclusive,
+            final boolean higherInclusive) {
+        return nextOverlapping(lowerBound, higherBound, lowerInclusive, higherInclusive, 0) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "MappedLongRangeTable [size=" + size + "]";
+    }
+
+}
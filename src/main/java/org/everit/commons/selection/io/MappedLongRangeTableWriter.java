@@ -0,0 +1,209 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.io;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.everit.commons.selection.RangeRelationUtil;
+import org.everit.commons.selection.lang.LongRange;
+
+/**
+ * Collects ranges with <code>long</code> bounds and their payloads, and writes them sorted in the format read by
+ * {@link MappedLongRangeTable}. The ranges are kept in the memory until they are written.
+ */
+public class MappedLongRangeTableWriter {
+
+    /**
+     * A range with its payload waiting to be written.
+     */
+    private static final class Entry {
+
+        private final long lowerBound;
+
+        private final long higherBound;
+
+        private final byte flags;
+
+        private final byte[] payload;
+
+        private Entry(final long lowerBound, final long higherBound, final byte flags, final byte[] payload) {
+            this.lowerBound = lowerBound;
+            this.higherBound = higherBound;
+            this.flags = flags;
+            this.payload = payload;
+        }
+
+    }
+
+    private static final byte[] EMPTY_PAYLOAD = new byte[0];
+
+    /**
+     * Orders the entries by lower bound (a closed bound before an open one) and then by higher bound (an open bound
+     * before a closed one).
+     */
+    private static final Comparator<Entry> ENTRY_COMPARATOR = new Comparator<Entry>() {
+
+        @Override
+        public int compare(final Entry o1, final Entry o2) {
+            int result = Long.compare(o1.lowerBound, o2.lowerBound);
+            if (result != 0) {
+                return result;
+            }
+            result = (o2.flags & RangeRelationUtil.LOWER_INCLUSIVE) - (o1.flags & RangeRelationUtil.LOWER_INCLUSIVE);
+            if (result != 0) {
+                return result;
+            }
+            result = Long.compare(o1.higherBound, o2.higherBound);
+            if (result != 0) {
+                return result;
+            }
+            return (o1.flags & RangeRelationUtil.HIGHER_INCLUSIVE) - (o2.flags & RangeRelationUtil.HIGHER_INCLUSIVE);
+        }
+
+    };
+
+    /**
+     * Computes the maximum higher bound of the subtree of each entry in the implicit tree described at
+     * {@link MappedLongRangeTable}.
+     *
+     * @return the maximum higher bound of the subtree between <code>low</code> (inclusive) and <code>high</code>
+     *         (exclusive), {@link Long#MIN_VALUE} if the subtree is empty
+     */
+    private static long fillMaxHigherBounds(final List<Entry> sortedEntries, final long[] maxHigherBounds,
+            final int low, final int high) {
+        if (low >= high) {
+            return Long.MIN_VALUE;
+        }
+        int mid = (low + high) >>> 1;
+        long maxHigherBound = Math.max(sortedEntries.get(mid).higherBound,
+                Math.max(MappedLongRangeTableWriter.fillMaxHigherBounds(sortedEntries, maxHigherBounds, low, mid),
+                        MappedLongRangeTableWriter.fillMaxHigherBounds(sortedEntries, maxHigherBounds, mid + 1,
+                                high)));
+        maxHigherBounds[mid] = maxHigherBound;
+        return maxHigherBound;
+    }
+
+    private final List<Entry> entries = new ArrayList<Entry>();
+
+    private long payloadSize;
+
+    /**
+     * Adds a range to the table.
+     *
+     * @param payload
+     *            the payload of the range, <code>null</code> means an empty payload. The array is not copied.
+     */
+    public void add(final long lowerBound, final long higherBound, final boolean lowerInclusive,
+            final boolean higherInclusive, final byte[] payload) {
+        if (lowerBound > higherBound) {
+            throw new IllegalArgumentException("lowerBound [" + lowerBound + "] is not lower than higherBound ["
+                    + higherBound + "]");
+        }
+        byte[] entryPayload = (payload == null) ? EMPTY_PAYLOAD : payload;
+        entries.add(new Entry(lowerBound, higherBound, RangeRelationUtil.toFlags(lowerInclusive, higherInclusive),
+                entryPayload));
+        payloadSize += entryPayload.length;
+    }
+
+    /**
+     * Adds a range to the table.
+     *
+     * @param range
+     *            the range, cannot be null and cannot have <code>null</code> bounds
+     * @param payload
+     *            the payload of the range, <code>null</code> means an empty payload. The array is not copied.
+     */
+    public void add(final LongRange range, final byte[] payload) {
+        if ((range.getLowerBound() == null) || (range.getHigherBound() == null)) {
+            throw new NullPointerException("the bounds of range [" + range + "] cannot be null");
+        }
+        add(range.getLowerBound(), range.getHigherBound(), range.isLowerInclusive(), range.isHigherInclusive(),
+                payload);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Writes the table into a file. An existing file is overwritten.
+     *
+     * @param file
+     *            the file, cannot be null
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public void write(final File file) throws IOException {
+        OutputStream out = new FileOutputStream(file);
+        try {
+            write(out);
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Writes the table into a stream. The stream is not closed.
+     *
+     * @param out
+     *            the stream, cannot be null
+     * @throws IOException
+     *             if the stream cannot be written
+     * @throws IllegalStateException
+     *             if the table does not fit into 2 GB
+     */
+    public void write(final OutputStream out) throws IOException {
+        int size = entries.size();
+        if ((MappedLongRangeTable.HEADER_SIZE + ((long) size * MappedLongRangeTable.ENTRY_SIZE) + payloadSize)
+                > Integer.MAX_VALUE) {
+            throw new IllegalStateException("the table with [" + size + "] ranges and [" + payloadSize
+                    + "] bytes of payload does not fit into 2 GB");
+        }
+        Collections.sort(entries, ENTRY_COMPARATOR);
+        DataOutputStream dataOut = new DataOutputStream(new BufferedOutputStream(out));
+        dataOut.writeInt(MappedLongRangeTable.MAGIC);
+        dataOut.writeInt(MappedLongRangeTable.VERSION);
+        dataOut.writeInt(size);
+        dataOut.writeInt(0);
+        long[] maxHigherBounds = new long[size];
+        MappedLongRangeTableWriter.fillMaxHigherBounds(entries, maxHigherBounds, 0, size);
+        int payloadEnd = 0;
+        for (int i = 0; i < size; i++) {
+            Entry entry = entries.get(i);
+            payloadEnd += entry.payload.length;
+            dataOut.writeLong(entry.lowerBound);
+            dataOut.writeLong(entry.higherBound);
+            dataOut.writeLong(maxHigherBounds[i]);
+            dataOut.writeInt(payloadEnd);
+            dataOut.writeInt(entry.flags);
+        }
+        for (Entry entry : entries) {
+            dataOut.write(entry.payload);
+        }
+        dataOut.flush();
+    }
+
+}
@@ -0,0 +1,366 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.everit.commons.selection.Range;
+import org.everit.commons.selection.RangeRelationUtil;
+import org.everit.commons.selection.lang.ByteRange;
+import org.everit.commons.selection.lang.IntegerRange;
+import org.everit.commons.selection.lang.LongRange;
+import org.everit.commons.selection.lang.ShortRange;
+import org.everit.commons.selection.util.DateRange;
+import org.everit.commons.selection.util.SecondRange;
+
+/**
+ * A {@link BinaryCodec} for ranges whose bounds can be mapped to <code>long</code> values without loss. A range is
+ * written as a flags byte (the inclusive flags as encoded by {@link RangeRelationUtil#toFlags(boolean, boolean)} and
+ * two bits for <code>null</code> bounds) followed by the zigzag encoded lower bound and the zigzag encoded difference
+ * of the higher and the lower bound as {@link VarIntUtil variable length} values, so a short range close to zero takes
+ * three bytes. Lists of ranges are written by {@link #writeAll(List, DataOutput)} with the lower bounds encoded as the
+ * difference to the previous lower bound, which keeps sorted sequences small.
+ *
+ * Codecs for other range types can be created by extending this class.
+ *
+ * @param <T>
+ *            the type of the bounds
+ * @param <R>
+ *            the type of the ranges
+ */
+public abstract class RangeCodec<T extends Comparable<? super T>, R extends Range<T>> implements BinaryCodec<R> {
+
+    public static final RangeCodec<Byte, ByteRange> BYTE = new RangeCodec<Byte, ByteRange>() {
+
+        @Override
+        protected ByteRange createRange(final Byte lowerBound, final Byte higherBound,
+                final boolean lowerInclusive, final boolean higherInclusive) {
+            return new ByteRange(lowerBound, higherBound, lowerInclusive, higherInclusive);
+        }
+
+        @Override
+        protected Byte fromLong(final long value) {
+            return (byte) RangeCodec.checkRange(value, Byte.MIN_VALUE, Byte.MAX_VALUE, "Byte");
+        }
+
+        @Override
+        protected long toLong(final Byte bound) {
+            return bound;
+        }
+
+    };
+
+    public static final RangeCodec<Date, DateRange> DATE = new RangeCodec<Date, DateRange>() {
+
+        @Override
+        protected DateRange createRange(final Date lowerBound, final Date higherBound,
+                final boolean lowerInclusive, final boolean higherInclusive) {
+            return new DateRange(lowerBound, higherBound, lowerInclusive, higherInclusive);
+        }
+
+        @Override
+        protected Date fromLong(final long value) {
+            return new Date(value);
+        }
+
+        @Override
+        protected long toLong(final Date bound) {
+            return bound.getTime();
+        }
+
+    };
+
+    public static final RangeCodec<Integer, IntegerRange> INTEGER = new RangeCodec<Integer, IntegerRange>() {
+
+        @Override
+        protected IntegerRange createRange(final Integer lowerBound, final Integer higherBound,
+                final boolean lowerInclusive, final boolean higherInclusive) {
+            return new IntegerRange(lowerBound, higherBound, lowerInclusive, higherInclusive);
+        }
+
+        @Override
+        protected Integer fromLong(final long value) {
+            return (int) RangeCodec.checkRange(value, Integer.MIN_VALUE, Integer.MAX_VALUE, "Integer");
+        }
+
+        @Override
+        protected long toLong(final Integer bound) {
+            return bound;
+        }
+
+    };
+
+    public static final RangeCodec<Long, LongRange> LONG = new RangeCodec<Long, LongRange>() {
+
+        @Override
+        protected LongRange createRange(final Long lowerBound, final Long higherBound,
+                final boolean lowerInclusive, final boolean higherInclusive) {
+            return new LongRange(lowerBound, higherBound, lowerInclusive, higherInclusive);
+        }
+
+        @Override
+        protected Long fromLong(final long value) {
+            return value;
+        }
+
+        @Override
+        protected long toLong(final Long bound) {
+            return bound;
+        }
+
+    };
+
+    public static final RangeCodec<Long, SecondRange> SECOND = new RangeCodec<Long, SecondRange>() {
+
+        @Override
+        protected SecondRange createRange(final Long lowerBound, final Long higherBound,
+                final boolean lowerInclusive, final boolean higherInclusive) {
+            return new SecondRange(lowerBound, higherBound, lowerInclusive, higherInclusive);
+        }
+
+        @Override
+        protected Long fromLong(final long value) {
+            return value;
+        }
+
+        @Override
+        protected long toLong(final Long bound) {
+            return bound;
+        }
+
+    };
+
+    public static final RangeCodec<Short, ShortRange> SHORT = new RangeCodec<Short, ShortRange>() {
+
+        @Override
+        protected ShortRange createRange(final Short lowerBound, final Short higherBound,
+                final boolean lowerInclusive, final boolean higherInclusive) {
+            return new ShortRange(lowerBound, higherBound, lowerInclusive, higherInclusive);
+        }
+
+        @Override
+        protected Short fromLong(final long value) {
+            return (short) RangeCodec.checkRange(value, Short.MIN_VALUE, Short.MAX_VALUE, "Short");
+        }
+
+        @Override
+        protected long toLong(final Short bound) {
+            return bound;
+        }
+
+    };
+
+    private static final int LOWER_NULL = 4;
+
+    private static final int HIGHER_NULL = 8;
+
+    private static final int FLAGS_MASK = RangeRelationUtil.LOWER_INCLUSIVE | RangeRelationUtil.HIGHER_INCLUSIVE
+            | LOWER_NULL | HIGHER_NULL;
+
+    private static int checkFlags(final int flags) {
+        if ((flags & ~FLAGS_MASK) != 0) {
+            throw new IllegalArgumentException("invalid range flags [" + flags + "]");
+        }
+        return flags;
+    }
+
+    private static long checkRange(final long value, final long min, final long max, final String typeName) {
+        if ((value < min) || (value > max)) {
+            throw new IllegalArgumentException("range bound [" + value + "] is out of the range of " + typeName);
+        }
+        return value;
+    }
+
+    /**
+     * Creates a range with the decoded bounds.
+     */
+    protected abstract R createRange(T lowerBound, T higherBound, boolean lowerInclusive, boolean higherInclusive);
+
+    private int flags(final R range) {
+        int flags = RangeRelationUtil.toFlags(range.isLowerInclusive(), range.isHigherInclusive());
+        if (range.getLowerBound() == null) {
+            flags |= LOWER_NULL;
+        }
+        if (range.getHigherBound() == null) {
+            flags |= HIGHER_NULL;
+        }
+        return flags;
+    }
+
+    /**
+     * Converts a decoded value back to a bound. The inverse of {@link #toLong(Comparable)}. The decoded data may come
+     * from an untrusted source, so implementations must not silently truncate the value.
+     *
+     * @throws IllegalArgumentException
+     *             if the value cannot be represented as a bound
+     */
+    protected abstract T fromLong(long value);
+
+    private long nextBase(final R range, final long base) {
+        return (range.getLowerBound() == null) ? base : toLong(range.getLowerBound());
+    }
+
+    @Override
+    public R read(final ByteBuffer buffer) {
+        return read(buffer, 0);
+    }
+
+    private R read(final ByteBuffer buffer, final long base) {
+        int flags = RangeCodec.checkFlags(buffer.get());
+        T lowerBound = null;
+        long lowerValue = base;
+        if ((flags & LOWER_NULL) == 0) {
+            lowerValue = base + VarIntUtil.zigZagDecode(VarIntUtil.readVarLong(buffer));
+            lowerBound = fromLong(lowerValue);
+        }
+        T higherBound = null;
+        if ((flags & HIGHER_NULL) == 0) {
+            higherBound = fromLong(lowerValue + VarIntUtil.zigZagDecode(VarIntUtil.readVarLong(buffer)));
+        }
+        return createRange(lowerBound, higherBound, (flags & RangeRelationUtil.LOWER_INCLUSIVE) != 0,
+                (flags & RangeRelationUtil.HIGHER_INCLUSIVE) != 0);
+    }
+
+    @Override
+    public R read(final DataInput in) throws IOException {
+        return read(in, 0);
+    }
+
+    private R read(final DataInput in, final long base) throws IOException {
+        int flags = RangeCodec.checkFlags(in.readByte());
+        T lowerBound = null;
+        long lowerValue = base;
+        if ((flags & LOWER_NULL) == 0) {
+            lowerValue = base + VarIntUtil.zigZagDecode(VarIntUtil.readVarLong(in));
+            lowerBound = fromLong(lowerValue);
+        }
+        T higherBound = null;
+        if ((flags & HIGHER_NULL) == 0) {
+            higherBound = fromLong(lowerValue + VarIntUtil.zigZagDecode(VarIntUtil.readVarLong(in)));
+        }
+        return createRange(lowerBound, higherBound, (flags & RangeRelationUtil.LOWER_INCLUSIVE) != 0,
+                (flags & RangeRelationUtil.HIGHER_INCLUSIVE) != 0);
+    }
+
+    /**
+     * Reads a list of ranges written by {@link #writeAll(List, ByteBuffer)}.
+     */
+    public List<R> readAll(final ByteBuffer buffer) {
+        int size = VarIntUtil.checkCount(VarIntUtil.readVarLong(buffer));
+        List<R> ranges = new ArrayList<R>(Math.min(size, buffer.remaining()));
+        long base = 0;
+        for (int i = 0; i < size; i++) {
+            R range = read(buffer, base);
+            base = nextBase(range, base);
+            ranges.add(range);
+        }
+        return ranges;
+    }
+
+    /**
+     * Reads a list of ranges written by {@link #writeAll(List, DataOutput)}.
+     */
+    public List<R> readAll(final DataInput in) throws IOException {
+        int size = VarIntUtil.checkCount(VarIntUtil.readVarLong(in));
+        List<R> ranges = new ArrayList<R>(Math.min(size, 1024));
+        long base = 0;
+        for (int i = 0; i < size; i++) {
+            R range = read(in, base);
+            base = nextBase(range, base);
+            ranges.add(range);
+        }
+        return ranges;
+    }
+
+    /**
+     * Converts a bound to the value that is encoded. Must be the inverse of {@link #fromLong(long)}.
+     */
+    protected abstract long toLong(T bound);
+
+    @Override
+    public void write(final R value, final ByteBuffer buffer) {
+        write(value, 0, buffer);
+    }
+
+    private void write(final R range, final long base, final ByteBuffer buffer) {
+        buffer.put((byte) flags(range));
+        long lowerValue = base;
+        if (range.getLowerBound() != null) {
+            lowerValue = toLong(range.getLowerBound());
+            VarIntUtil.writeVarLong(buffer, VarIntUtil.zigZagEncode(lowerValue - base));
+        }
+        if (range.getHigherBound() != null) {
+            VarIntUtil.writeVarLong(buffer, VarIntUtil.zigZagEncode(toLong(range.getHigherBound()) - lowerValue));
+        }
+    }
+
+    @Override
+    public void write(final R value, final DataOutput out) throws IOException {
+        write(value, 0, out);
+    }
+
+    private void write(final R range, final long base, final DataOutput out) throws IOException {
+        out.writeByte(flags(range));
+        long lowerValue = base;
+        if (range.getLowerBound() != null) {
+            lowerValue = toLong(range.getLowerBound());
+            VarIntUtil.writeVarLong(out, VarIntUtil.zigZagEncode(lowerValue - base));
+        }
+        if (range.getHigherBound() != null) {
+            VarIntUtil.writeVarLong(out, VarIntUtil.zigZagEncode(toLong(range.getHigherBound()) - lowerValue));
+        }
+    }
+
+    /**
+     * Writes a list of ranges with delta encoded lower bounds. The list is most compact if it is sorted by the lower
+     * bounds.
+     *
+     * @param ranges
+     *            the ranges, cannot be null
+     */
+    public void writeAll(final List<? extends R> ranges, final ByteBuffer buffer) {
+        VarIntUtil.writeVarLong(buffer, ranges.size());
+        long base = 0;
+        for (R range : ranges) {
+            write(range, base, buffer);
+            base = nextBase(range, base);
+        }
+    }
+
+    /**
+     * Writes a list of ranges with delta encoded lower bounds. The list is most compact if it is sorted by the lower
+     * bounds.
+     *
+     * @param ranges
+     *            the ranges, cannot be null
+     */
+    public void writeAll(final List<? extends R> ranges, final DataOutput out) throws IOException {
+        VarIntUtil.writeVarLong(out, ranges.size());
+        long base = 0;
+        for (R range : ranges) {
+            write(range, base, out);
+            base = nextBase(range, base);
+        }
+    }
+
+}
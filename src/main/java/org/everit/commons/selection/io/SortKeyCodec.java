@@ -0,0 +1,284 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+import org.everit.commons.selection.SortKey;
+
+/**
+ * A {@link BinaryCodec} for {@link SortKey}s. A key is written as the number of the columns followed by a type byte
+ * and the value of every column. Integral values are written as zigzag encoded {@link VarIntUtil variable length}
+ * values, strings as the length of their UTF-8 form followed by the bytes, so <code>SortKey.of(42L, "a")</code>
+ * takes seven bytes.
+ *
+ * The supported value types are {@link Boolean}, {@link Byte}, {@link Short}, {@link Integer}, {@link Long},
+ * {@link Double}, {@link String}, {@link Date}, {@link Instant} and {@link UUID}.
+ */
+public class SortKeyCodec implements BinaryCodec<SortKey> {
+
+    private static final byte TYPE_BOOLEAN = 0;
+
+    private static final byte TYPE_BYTE = 1;
+
+    private static final byte TYPE_SHORT = 2;
+
+    private static final byte TYPE_INTEGER = 3;
+
+    private static final byte TYPE_LONG = 4;
+
+    private static final byte TYPE_DOUBLE = 5;
+
+    private static final byte TYPE_STRING = 6;
+
+    private static final byte TYPE_DATE = 7;
+
+    private static final byte TYPE_INSTANT = 8;
+
+    private static final byte TYPE_UUID = 9;
+
+    /**
+     * The maximum number of the columns of a decoded key, so a corrupt size cannot cause a huge allocation.
+     */
+    private static final int MAX_SIZE = 255;
+
+    private static final long NANOS_PER_SECOND = 1000000000L;
+
+    private static long checkRange(final long value, final long min, final long max, final String typeName) {
+        if ((value < min) || (value > max)) {
+            throw new IllegalArgumentException("sort key value [" + value + "] is out of the range of " + typeName);
+        }
+        return value;
+    }
+
+    private static int checkSize(final long size) {
+        if ((size < 1) || (size > MAX_SIZE)) {
+            throw new IllegalArgumentException("invalid number of sort key columns [" + size + "]");
+        }
+        return (int) size;
+    }
+
+    private static Instant createInstant(final long seconds, final long nanos) {
+        SortKeyCodec.checkRange(seconds, Instant.MIN.getEpochSecond(), Instant.MAX.getEpochSecond(), "Instant");
+        SortKeyCodec.checkRange(nanos, 0, NANOS_PER_SECOND - 1, "the nanos of an Instant");
+        return Instant.ofEpochSecond(seconds, nanos);
+    }
+
+    private static Comparable<?> createValue(final byte type, final long value) {
+        switch (type) {
+        case TYPE_BOOLEAN:
+            return SortKeyCodec.checkRange(value, 0, 1, "Boolean") != 0;
+        case TYPE_BYTE:
+            return (byte) SortKeyCodec.checkRange(value, Byte.MIN_VALUE, Byte.MAX_VALUE, "Byte");
+        case TYPE_SHORT:
+            return (short) SortKeyCodec.checkRange(value, Short.MIN_VALUE, Short.MAX_VALUE, "Short");
+        case TYPE_INTEGER:
+            return (int) SortKeyCodec.checkRange(value, Integer.MIN_VALUE, Integer.MAX_VALUE, "Integer");
+        case TYPE_LONG:
+            return value;
+        case TYPE_DOUBLE:
+            return Double.longBitsToDouble(value);
+        case TYPE_DATE:
+            return new Date(value);
+        default:
+            throw new IllegalArgumentException("invalid sort key value type [" + type + "]");
+        }
+    }
+
+    private static int readLength(final long length, final int remaining) {
+        int result = VarIntUtil.checkCount(length);
+        if (result > remaining) {
+            throw new IllegalArgumentException("string length [" + result + "] is greater than the remaining bytes ["
+                    + remaining + "]");
+        }
+        return result;
+    }
+
+    private static Comparable<?> readValue(final ByteBuffer buffer) {
+        byte type = buffer.get();
+        if (type == TYPE_STRING) {
+            int length = SortKeyCodec.readLength(VarIntUtil.readVarLong(buffer), buffer.remaining());
+            String value;
+            if (buffer.hasArray()) {
+                value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                        StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + length);
+            } else {
+                byte[] bytes = new byte[length];
+                buffer.get(bytes);
+                value = new String(bytes, StandardCharsets.UTF_8);
+            }
+            return value;
+        }
+        if (type == TYPE_INSTANT) {
+            long seconds = VarIntUtil.zigZagDecode(VarIntUtil.readVarLong(buffer));
+            return SortKeyCodec.createInstant(seconds, VarIntUtil.readVarLong(buffer));
+        }
+        if (type == TYPE_UUID) {
+            return new UUID(buffer.getLong(), buffer.getLong());
+        }
+        return SortKeyCodec.createValue(type, VarIntUtil.zigZagDecode(VarIntUtil.readVarLong(buffer)));
+    }
+
+    private static Comparable<?> readValue(final DataInput in) throws IOException {
+        byte type = in.readByte();
+        if (type == TYPE_STRING) {
+            byte[] bytes = new byte[SortKeyCodec.readLength(VarIntUtil.readVarLong(in), Integer.MAX_VALUE)];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        if (type == TYPE_INSTANT) {
+            long seconds = VarIntUtil.zigZagDecode(VarIntUtil.readVarLong(in));
+            return SortKeyCodec.createInstant(seconds, VarIntUtil.readVarLong(in));
+        }
+        if (type == TYPE_UUID) {
+            return new UUID(in.readLong(), in.readLong());
+        }
+        return SortKeyCodec.createValue(type, VarIntUtil.zigZagDecode(VarIntUtil.readVarLong(in)));
+    }
+
+    private static byte type(final Comparable<?> value) {
+        if (value instanceof Boolean) {
+            return TYPE_BOOLEAN;
+        }
+        if (value instanceof Byte) {
+            return TYPE_BYTE;
+        }
+        if (value instanceof Short) {
+            return TYPE_SHORT;
+        }
+        if (value instanceof Integer) {
+            return TYPE_INTEGER;
+        }
+        if (value instanceof Long) {
+            return TYPE_LONG;
+        }
+        if (value instanceof Double) {
+            return TYPE_DOUBLE;
+        }
+        if (value instanceof String) {
+            return TYPE_STRING;
+        }
+        if (value.getClass() == Date.class) {
+            return TYPE_DATE;
+        }
+        if (value instanceof Instant) {
+            return TYPE_INSTANT;
+        }
+        if (value instanceof UUID) {
+            return TYPE_UUID;
+        }
+        throw new IllegalArgumentException("unsupported sort key value type [" + value.getClass().getName() + "]");
+    }
+
+    private static long toLong(final byte type, final Comparable<?> value) {
+        switch (type) {
+        case TYPE_BOOLEAN:
+            return ((Boolean) value) ? 1 : 0;
+        case TYPE_DOUBLE:
+            return Double.doubleToLongBits((Double) value);
+        case TYPE_DATE:
+            return ((Date) value).getTime();
+        default:
+            return ((Number) value).longValue();
+        }
+    }
+
+    private static void writeValue(final Comparable<?> value, final ByteBuffer buffer) {
+        byte type = SortKeyCodec.type(value);
+        buffer.put(type);
+        if (type == TYPE_STRING) {
+            byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+            VarIntUtil.writeVarLong(buffer, bytes.length);
+            buffer.put(bytes);
+        } else if (type == TYPE_INSTANT) {
+            Instant instant = (Instant) value;
+            VarIntUtil.writeVarLong(buffer, VarIntUtil.zigZagEncode(instant.getEpochSecond()));
+            VarIntUtil.writeVarLong(buffer, instant.getNano());
+        } else if (type == TYPE_UUID) {
+            UUID uuid = (UUID) value;
+            buffer.putLong(uuid.getMostSignificantBits());
+            buffer.putLong(uuid.getLeastSignificantBits());
+        } else {
+            VarIntUtil.writeVarLong(buffer, VarIntUtil.zigZagEncode(SortKeyCodec.toLong(type, value)));
+        }
+    }
+
+    private static void writeValue(final Comparable<?> value, final DataOutput out) throws IOException {
+        byte type = SortKeyCodec.type(value);
+        out.writeByte(type);
+        if (type == TYPE_STRING) {
+            byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+            VarIntUtil.writeVarLong(out, bytes.length);
+            out.write(bytes);
+        } else if (type == TYPE_INSTANT) {
+            Instant instant = (Instant) value;
+            VarIntUtil.writeVarLong(out, VarIntUtil.zigZagEncode(instant.getEpochSecond()));
+            VarIntUtil.writeVarLong(out, instant.getNano());
+        } else if (type == TYPE_UUID) {
+            UUID uuid = (UUID) value;
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        } else {
+            VarIntUtil.writeVarLong(out, VarIntUtil.zigZagEncode(SortKeyCodec.toLong(type, value)));
+        }
+    }
+
+    @Override
+    public SortKey read(final ByteBuffer buffer) {
+        int size = SortKeyCodec.checkSize(VarIntUtil.readVarLong(buffer));
+        Comparable<?>[] values = new Comparable<?>[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = SortKeyCodec.readValue(buffer);
+        }
+        return SortKey.of(values);
+    }
+
+    @Override
+    public SortKey read(final DataInput in) throws IOException {
+        int size = SortKeyCodec.checkSize(VarIntUtil.readVarLong(in));
+        Comparable<?>[] values = new Comparable<?>[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = SortKeyCodec.readValue(in);
+        }
+        return SortKey.of(values);
+    }
+
+    @Override
+    public void write(final SortKey value, final ByteBuffer buffer) {
+        VarIntUtil.writeVarLong(buffer, value.size());
+        for (Comparable<?> columnValue : value.getValues()) {
+            SortKeyCodec.writeValue(columnValue, buffer);
+        }
+    }
+
+    @Override
+    public void write(final SortKey value, final DataOutput out) throws IOException {
+        VarIntUtil.writeVarLong(out, value.size());
+        for (Comparable<?> columnValue : value.getValues()) {
+            SortKeyCodec.writeValue(columnValue, out);
+        }
+    }
+
+}
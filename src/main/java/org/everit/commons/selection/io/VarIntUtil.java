@@ -0,0 +1,130 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Variable length encoding of <code>long</code> values: 7 bits per byte starting with the least significant group,
+ * the highest bit of a byte is set if more bytes follow. Small non-negative values take one byte, signed values
+ * should be {@link #zigZagEncode(long) zigzag encoded} first so that small negative values are small as well.
+ */
+public final class VarIntUtil {
+
+    /**
+     * The maximum number of bytes of an encoded value.
+     */
+    public static final int MAX_VAR_LONG_SIZE = 10;
+
+    /**
+     * Checks a decoded number of elements.
+     */
+    static int checkCount(final long count) {
+        if ((count < 0) || (count > Integer.MAX_VALUE)) {
+            throw new IllegalArgumentException("invalid number of elements [" + count + "]");
+        }
+        return (int) count;
+    }
+
+    private static long malformed() {
+        throw new IllegalArgumentException("malformed variable length value, more than [" + MAX_VAR_LONG_SIZE
+                + "] bytes");
+    }
+
+    /**
+     * Reads a value written by {@link #writeVarLong(ByteBuffer, long)}.
+     *
+     * @throws java.nio.BufferUnderflowException
+     *             if the buffer ends before the value
+     */
+    public static long readVarLong(final ByteBuffer buffer) {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+        return VarIntUtil.malformed();
+    }
+
+    /**
+     * Reads a value written by {@link #writeVarLong(DataOutput, long)}.
+     *
+     * @throws IOException
+     *             if the input cannot be read or ends before the value
+     */
+    public static long readVarLong(final DataInput in) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+        return VarIntUtil.malformed();
+    }
+
+    /**
+     * Returns the number of bytes {@link #writeVarLong(ByteBuffer, long)} writes for the given value.
+     */
+    public static int varLongSize(final long value) {
+        return ((64 - Long.numberOfLeadingZeros(value | 1)) + 6) / 7;
+    }
+
+    public static void writeVarLong(final ByteBuffer buffer, final long value) {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            buffer.put((byte) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        buffer.put((byte) remaining);
+    }
+
+    public static void writeVarLong(final DataOutput out, final long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            out.writeByte((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        out.writeByte((int) remaining);
+    }
+
+    /**
+     * Reverts {@link #zigZagEncode(long)}.
+     */
+    public static long zigZagDecode(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Maps signed values to unsigned ones so that values with a small absolute value are small: 0, -1, 1, -2, 2, ...
+     * become 0, 1, 2, 3, 4, ...
+     */
+    public static long zigZagEncode(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private VarIntUtil() {
+    }
+
+}
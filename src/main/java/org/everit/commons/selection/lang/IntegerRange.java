@@ -16,6 +16,9 @@
  */
 package org.everit.commons.selection.lang;
 
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
 public class IntegerRange extends NumberRange<Integer> {
 
     private static final long serialVersionUID = -8663176845069854427L;
@@ -34,4 +37,27 @@ public class IntegerRange extends NumberRange<Integer> {
         return higherBound.intValue() - lowerBound.intValue();
     }
 
+    /**
+     * Returns a parallel stream of the values of this range, see {@link #spliterator()}.
+     */
+    public IntStream parallelStream() {
+        return StreamSupport.intStream(spliterator(), true);
+    }
+
+    /**
+     * Returns a spliterator over the values of this range in ascending order, honoring the inclusive flags.
+     *
+     * @return a new {@link IntegerRangeSpliterator}
+     */
+    public IntegerRangeSpliterator spliterator() {
+        return new IntegerRangeSpliterator(this);
+    }
+
+    /**
+     * Returns a sequential stream of the values of this range, see {@link #spliterator()}.
+     */
+    public IntStream stream() {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
 }
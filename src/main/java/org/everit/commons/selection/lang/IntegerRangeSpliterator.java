@@ -0,0 +1,109 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.lang;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+/**
+ * A {@link Spliterator.OfInt} over the values of an {@link IntegerRange} in ascending order, honoring the inclusive
+ * flags of the range. {@link #trySplit()} splits off the lower half of the remaining values, so parallel streams get
+ * balanced parts.
+ */
+public final class IntegerRangeSpliterator implements Spliterator.OfInt {
+
+    private static final int CHARACTERISTICS = Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.SORTED
+            | Spliterator.NONNULL | Spliterator.IMMUTABLE | Spliterator.SIZED | Spliterator.SUBSIZED;
+
+    /**
+     * The next value, stored as <code>long</code> so that it can step over {@link Integer#MAX_VALUE}.
+     */
+    private long next;
+
+    private final long last;
+
+    /**
+     * Creates a spliterator over the values of a range.
+     *
+     * @param range
+     *            the range, cannot be null and cannot have <code>null</code> bounds
+     */
+    public IntegerRangeSpliterator(final IntegerRange range) {
+        if ((range.getLowerBound() == null) || (range.getHigherBound() == null)) {
+            throw new NullPointerException("the bounds of range [" + range + "] cannot be null");
+        }
+        long lowerBound = range.getLowerBound();
+        long higherBound = range.getHigherBound();
+        next = range.isLowerInclusive() ? lowerBound : lowerBound + 1;
+        last = range.isHigherInclusive() ? higherBound : higherBound - 1;
+    }
+
+    private IntegerRangeSpliterator(final long next, final long last) {
+        this.next = next;
+        this.last = last;
+    }
+
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Math.max(0, (last - next) + 1);
+    }
+
+    @Override
+    public void forEachRemaining(final IntConsumer action) {
+        long value = next;
+        long end = last;
+        next = end + 1;
+        for (; value <= end; value++) {
+            action.accept((int) value);
+        }
+    }
+
+    /**
+     * Returns <code>null</code> as the values are in their natural order.
+     */
+    @Override
+    public Comparator<? super Integer> getComparator() {
+        return null;
+    }
+
+    @Override
+    public boolean tryAdvance(final IntConsumer action) {
+        if (next > last) {
+            return false;
+        }
+        action.accept((int) next++);
+        return true;
+    }
+
+    @Override
+    public Spliterator.OfInt trySplit() {
+        if (next >= last) {
+            return null;
+        }
+        long middle = next + ((last - next) >>> 1);
+        IntegerRangeSpliterator prefix = new IntegerRangeSpliterator(next, middle);
+        next = middle + 1;
+        return prefix;
+    }
+
+}
@@ -16,6 +16,9 @@
  */
 package org.everit.commons.selection.lang;
 
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
 public class LongRange extends NumberRange<Long> {
 
     private static final long serialVersionUID = 8322895091255166637L;
@@ -34,4 +37,27 @@ public class LongRange extends NumberRange<Long> {
         return higherBound.longValue() - lowerBound.longValue();
     }
 
+    /**
+     * Returns a parallel stream of the values of this range, see {@link #spliterator()}.
+     */
+    public LongStream parallelStream() {
+        return StreamSupport.longStream(spliterator(), true);
+    }
+
+    /**
+     * Returns a spliterator over the values of this range in ascending order, honoring the inclusive flags.
+     *
+     * @return a new {@link LongRangeSpliterator}
+     */
+    public LongRangeSpliterator spliterator() {
+        return new LongRangeSpliterator(this);
+    }
+
+    /**
+     * Returns a sequential stream of the values of this range, see {@link #spliterator()}.
+     */
+    public LongStream stream() {
+        return StreamSupport.longStream(spliterator(), false);
+    }
+
 }
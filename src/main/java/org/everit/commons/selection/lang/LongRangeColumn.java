@@ -0,0 +1,438 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.lang;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.everit.commons.selection.RangeRelation;
+import org.everit.commons.selection.RangeRelationUtil;
+
+/**
+ * A growable list of ranges with <code>long</code> bounds stored as columns: one array for the lower bounds, one for
+ * the higher bounds and one for the inclusive flags packed into a byte per range (see
+ * {@link RangeRelationUtil#toFlags(boolean, boolean)}). A range takes 17 bytes instead of the about 80 bytes of a
+ * {@link LongRange} with its two boxed bounds.
+ *
+ * The ranges can be read through reusable {@link View}s without creating objects, and can be classified directly on
+ * the columns with the methods of {@link RangeRelationUtil}.
+ *
+ * The class does not ensure thread safety.
+ */
+public class LongRangeColumn implements Serializable {
+
+    /**
+     * A reusable view of a range of the column. The view reads the range at its current index, so it reflects the
+     * changes (e.g. {@link LongRangeColumn#sort()}) of the column.
+     */
+    public final class View {
+
+        private int index;
+
+        private View(final int index) {
+            moveTo(index);
+        }
+
+        public long getHigherBound() {
+            return higherBounds[index];
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public long getLength() {
+            return higherBounds[index] - lowerBounds[index];
+        }
+
+        public long getLowerBound() {
+            return lowerBounds[index];
+        }
+
+        /**
+         * Determines the relation of the range of this view to an other range of the column. See
+         * {@link org.everit.commons.selection.Range#getRelationTo(org.everit.commons.selection.Range)} for the
+         * meaning of the returned values.
+         *
+         * @param otherIndex
+         *            the index of the other range
+         * @return the relation
+         */
+        public RangeRelation getRelationTo(final int otherIndex) {
+            checkIndex(otherIndex);
+            return RangeRelationUtil.toRangeRelation(RangeRelationUtil.classify(lowerBounds[index],
+                    higherBounds[index], flags[index], lowerBounds[otherIndex], higherBounds[otherIndex],
+                    flags[otherIndex]));
+        }
+
+        public boolean isHigherInclusive() {
+            return (flags[index] & RangeRelationUtil.HIGHER_INCLUSIVE) != 0;
+        }
+
+        public boolean isLowerInclusive() {
+            return (flags[index] & RangeRelationUtil.LOWER_INCLUSIVE) != 0;
+        }
+
+        /**
+         * Moves this view to an other range of the column.
+         *
+         * @param index
+         *            the index of the range
+         * @return this view
+         */
+        public View moveTo(final int index) {
+            checkIndex(index);
+            this.index = index;
+            return this;
+        }
+
+        /**
+         * @return a new {@link LongRange} with the bounds and inclusive flags of the range of this view
+         */
+        public LongRange toLongRange() {
+            return new LongRange(getLowerBound(), getHigherBound(), isLowerInclusive(), isHigherInclusive());
+        }
+
+        @Override
+        public String toString() {
+            return "View [index=" + index + ", lowerBound=" + getLowerBound() + ", lowerInclusive="
+                    + isLowerInclusive() + ", higherBound=" + getHigherBound() + ", higherInclusive="
+                    + isHigherInclusive() + "]";
+        }
+
+    }
+
+    private static final long serialVersionUID = -6002837262460946474L;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The ranges with smaller merge sort runs are sorted with insertion sort.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private long[] lowerBounds;
+
+    private long[] higherBounds;
+
+    private byte[] flags;
+
+    private int size;
+
+    /**
+     * Creates an empty column.
+     */
+    public LongRangeColumn() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a column that contains the given ranges in the order of the iteration of the collection.
+     *
+     * @param ranges
+     *            the ranges, cannot be null and cannot contain ranges with <code>null</code> bounds
+     */
+    public LongRangeColumn(final Collection<? extends LongRange> ranges) {
+        this(ranges.size());
+        for (LongRange range : ranges) {
+            add(range);
+        }
+    }
+
+    /**
+     * Creates an empty column.
+     *
+     * @param initialCapacity
+     *            the number of ranges the column can store without growing
+     */
+    public LongRangeColumn(final int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity [" + initialCapacity + "] is negative");
+        }
+        lowerBounds = new long[initialCapacity];
+        higherBounds = new long[initialCapacity];
+        flags = new byte[initialCapacity];
+    }
+
+    /**
+     * Appends a range to the end of the column.
+     *
+     * @return the index of the appended range
+     */
+    public int add(final long lowerBound, final long higherBound, final boolean lowerInclusive,
+            final boolean higherInclusive) {
+        if (lowerBound > higherBound) {
+            throw new IllegalArgumentException("lowerBound [" + lowerBound + "] is not lower than higherBound ["
+                    + higherBound + "]");
+        }
+        if (size == lowerBounds.length) {
+            int capacity = Math.max(DEFAULT_CAPACITY, size + (size >> 1));
+            lowerBounds = Arrays.copyOf(lowerBounds, capacity);
+            higherBounds = Arrays.copyOf(higherBounds, capacity);
+            flags = Arrays.copyOf(flags, capacity);
+        }
+        lowerBounds[size] = lowerBound;
+        higherBounds[size] = higherBound;
+        flags[size] = RangeRelationUtil.toFlags(lowerInclusive, higherInclusive);
+        return size++;
+    }
+
+    /**
+     * Appends a range to the end of the column.
+     *
+     * @param range
+     *            the range, cannot be null and cannot have <code>null</code> bounds
+     * @return the index of the appended range
+     */
+    public int add(final LongRange range) {
+        if ((range.getLowerBound() == null) || (range.getHigherBound() == null)) {
+            throw new NullPointerException("the bounds of range [" + range + "] cannot be null");
+        }
+        return add(range.getLowerBound(), range.getHigherBound(), range.isLowerInclusive(),
+                range.isHigherInclusive());
+    }
+
+    /**
+     * Appends a range to the end of the column.
+     *
+     * @param range
+     *            the range, cannot be null
+     * @return the index of the appended range
+     */
+    public int add(final PrimitiveLongRange range) {
+        return add(range.getLowerBound(), range.getHigherBound(), range.isLowerInclusive(),
+                range.isHigherInclusive());
+    }
+
+    private void checkIndex(final int index) {
+        if ((index < 0) || (index >= size)) {
+            throw new IndexOutOfBoundsException("index [" + index + "] is out of the bounds of the column [" + size
+                    + "]");
+        }
+    }
+
+    /**
+     * Determines the relation of the given range to each range of the column.
+     *
+     * @param result
+     *            the array the ordinal of the relation of the range at index <code>i</code> to the given range is
+     *            written to at index <code>i</code>, must have at least {@link #size()} elements
+     */
+    public void classify(final long lowerBound, final long higherBound, final boolean lowerInclusive,
+            final boolean higherInclusive, final byte[] result) {
+        RangeRelationUtil.classify(lowerBound, higherBound, RangeRelationUtil.toFlags(lowerInclusive,
+                higherInclusive), lowerBounds, higherBounds, flags, result, 0, size);
+    }
+
+    private int compare(final long[] lowers, final long[] highers, final byte[] flagBytes, final int i,
+            final int j) {
+        int result = Long.compare(lowers[i], lowers[j]);
+        if (result != 0) {
+            return result;
+        }
+        result = (flagBytes[j] & RangeRelationUtil.LOWER_INCLUSIVE)
+                - (flagBytes[i] & RangeRelationUtil.LOWER_INCLUSIVE);
+        if (result != 0) {
+            return result;
+        }
+        result = Long.compare(highers[i], highers[j]);
+        if (result != 0) {
+            return result;
+        }
+        return (flagBytes[i] & RangeRelationUtil.HIGHER_INCLUSIVE)
+                - (flagBytes[j] & RangeRelationUtil.HIGHER_INCLUSIVE);
+    }
+
+    /**
+     * Returns the range at the given index as a new object.
+     *
+     * @param index
+     *            the index of the range
+     * @return the range
+     */
+    public PrimitiveLongRange get(final int index) {
+        checkIndex(index);
+        return new PrimitiveLongRange(lowerBounds[index], higherBounds[index],
+                (flags[index] & RangeRelationUtil.LOWER_INCLUSIVE) != 0,
+                (flags[index] & RangeRelationUtil.HIGHER_INCLUSIVE) != 0);
+    }
+
+    public long getHigherBound(final int index) {
+        checkIndex(index);
+        return higherBounds[index];
+    }
+
+    public long getLowerBound(final int index) {
+        checkIndex(index);
+        return lowerBounds[index];
+    }
+
+    /**
+     * Returns the index of the first range that starts after the given bound in a {@link #sort() sorted} column, or
+     * {@link #size()} if no range starts after it. A range starts after the bound if its lower bound is greater than
+     * the bound, or equal to it and the lower bound of the range or the bound is exclusive. The ranges at smaller
+     * indexes are the only ones that can overlap a range whose higher bound is <code>bound</code>.
+     *
+     * @param bound
+     *            the bound
+     * @param inclusive
+     *            whether the bound itself is an element, i.e. a range starting inclusively at the bound does not
+     *            start after it
+     * @return the index
+     */
+    public int indexOfFirstStartingAfter(final long bound, final boolean inclusive) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            long lowerBound = lowerBounds[mid];
+            boolean lowerInclusive = (flags[mid] & RangeRelationUtil.LOWER_INCLUSIVE) != 0;
+            boolean startsAfter = (lowerBound > bound) || ((lowerBound == bound) && !(inclusive && lowerInclusive));
+            if (startsAfter) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private void insertionSort(final int start, final int end) {
+        for (int i = start + 1; i < end; i++) {
+            long lowerBound = lowerBounds[i];
+            long higherBound = higherBounds[i];
+            byte flag = flags[i];
+            int j = i - 1;
+            while ((j >= start) && (compare(lowerBounds, higherBounds, flags, j, i) > 0)) {
+                j--;
+            }
+            j++;
+            if (j < i) {
+                System.arraycopy(lowerBounds, j, lowerBounds, j + 1, i - j);
+                System.arraycopy(higherBounds, j, higherBounds, j + 1, i - j);
+                System.arraycopy(flags, j, flags, j + 1, i - j);
+                lowerBounds[j] = lowerBound;
+                higherBounds[j] = higherBound;
+                flags[j] = flag;
+            }
+        }
+    }
+
+    public boolean isHigherInclusive(final int index) {
+        checkIndex(index);
+        return (flags[index] & RangeRelationUtil.HIGHER_INCLUSIVE) != 0;
+    }
+
+    public boolean isLowerInclusive(final int index) {
+        checkIndex(index);
+        return (flags[index] & RangeRelationUtil.LOWER_INCLUSIVE) != 0;
+    }
+
+    /**
+     * Determines which ranges of the column have common elements with the given range. See
+     * {@link RangeRelationUtil#overlapMask(long, long, int, long[], long[], byte[], long[], int, int)} for the format
+     * of the mask.
+     *
+     * @param mask
+     *            the array the bits are written to, must have at least <code>(size() + 63) / 64</code> elements
+     * @return the number of the overlapping ranges
+     */
+    public int overlapMask(final long lowerBound, final long higherBound, final boolean lowerInclusive,
+            final boolean higherInclusive, final long[] mask) {
+        return RangeRelationUtil.overlapMask(lowerBound, higherBound, RangeRelationUtil.toFlags(lowerInclusive,
+                higherInclusive), lowerBounds, higherBounds, flags, mask, 0, size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Sorts the ranges by their lower bounds and then by their higher bounds. A closed lower bound is less than an
+     * open one with the same value, an open higher bound is less than a closed one with the same value. The sort is
+     * stable and runs in <code>O(n log n)</code> time using temporary columns of the same size.
+     */
+    public void sort() {
+        for (int start = 0; start < size; start += INSERTION_SORT_THRESHOLD) {
+            insertionSort(start, Math.min(start + INSERTION_SORT_THRESHOLD, size));
+        }
+        long[] lowers = lowerBounds;
+        long[] highers = higherBounds;
+        byte[] flagBytes = flags;
+        long[] otherLowers = new long[size];
+        long[] otherHighers = new long[size];
+        byte[] otherFlagBytes = new byte[size];
+        for (int width = INSERTION_SORT_THRESHOLD; width < size; width <<= 1) {
+            for (int start = 0; start < size; start += width << 1) {
+                int middle = Math.min(start + width, size);
+                int end = Math.min(start + (width << 1), size);
+                int i = start;
+                int j = middle;
+                for (int k = start; k < end; k++) {
+                    int source = ((i < middle) && ((j >= end) || (compare(lowers, highers, flagBytes, i, j) <= 0)))
+                            ? i++ : j++;
+                    otherLowers[k] = lowers[source];
+                    otherHighers[k] = highers[source];
+                    otherFlagBytes[k] = flagBytes[source];
+                }
+            }
+            long[] swapLongs = lowers;
+            lowers = otherLowers;
+            otherLowers = swapLongs;
+            swapLongs = highers;
+            highers = otherHighers;
+            otherHighers = swapLongs;
+            byte[] swapBytes = flagBytes;
+            flagBytes = otherFlagBytes;
+            otherFlagBytes = swapBytes;
+        }
+        if (lowers != lowerBounds) {
+            System.arraycopy(lowers, 0, lowerBounds, 0, size);
+            System.arraycopy(highers, 0, higherBounds, 0, size);
+            System.arraycopy(flagBytes, 0, flags, 0, size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LongRangeColumn [size=" + size + "]";
+    }
+
+    /**
+     * Shrinks the arrays of the column to its size.
+     */
+    public void trimToSize() {
+        if (lowerBounds.length > size) {
+            lowerBounds = Arrays.copyOf(lowerBounds, size);
+            higherBounds = Arrays.copyOf(higherBounds, size);
+            flags = Arrays.copyOf(flags, size);
+        }
+    }
+
+    /**
+     * Returns a new view of the range at the given index.
+     *
+     * @param index
+     *            the index of the range
+     * @return the view
+     */
+    public View view(final int index) {
+        return new View(index);
+    }
+
+}
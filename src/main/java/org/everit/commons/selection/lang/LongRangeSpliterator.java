@@ -0,0 +1,142 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.lang;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+
+/**
+ * A {@link Spliterator.OfLong} over the values of a {@link LongRange} in ascending order, honoring the inclusive flags
+ * of the range. {@link #trySplit()} splits off the lower half of the remaining values, so parallel streams get
+ * balanced parts. The spliterator is {@link Spliterator#SIZED} unless the range has more than
+ * {@link Long#MAX_VALUE} values.
+ */
+public final class LongRangeSpliterator implements Spliterator.OfLong {
+
+    private static final int BASE_CHARACTERISTICS = Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.SORTED
+            | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+
+    private long next;
+
+    private final long last;
+
+    private boolean empty;
+
+    private int characteristics;
+
+    /**
+     * Creates a spliterator over the values of a range.
+     *
+     * @param range
+     *            the range, cannot be null and cannot have <code>null</code> bounds
+     */
+    public LongRangeSpliterator(final LongRange range) {
+        if ((range.getLowerBound() == null) || (range.getHigherBound() == null)) {
+            throw new NullPointerException("the bounds of range [" + range + "] cannot be null");
+        }
+        long lowerBound = range.getLowerBound();
+        long higherBound = range.getHigherBound();
+        empty = (!range.isLowerInclusive() && (lowerBound == Long.MAX_VALUE))
+                || (!range.isHigherInclusive() && (higherBound == Long.MIN_VALUE));
+        next = range.isLowerInclusive() ? lowerBound : lowerBound + 1;
+        last = range.isHigherInclusive() ? higherBound : higherBound - 1;
+        empty |= next > last;
+        updateCharacteristics();
+    }
+
+    private LongRangeSpliterator(final long next, final long last) {
+        this.next = next;
+        this.last = last;
+        updateCharacteristics();
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+
+    @Override
+    public long estimateSize() {
+        if (empty) {
+            return 0;
+        }
+        long span = last - next;
+        return ((span < 0) || (span == Long.MAX_VALUE)) ? Long.MAX_VALUE : span + 1;
+    }
+
+    @Override
+    public void forEachRemaining(final LongConsumer action) {
+        if (empty) {
+            return;
+        }
+        empty = true;
+        long value = next;
+        long end = last;
+        next = end;
+        while (true) {
+            action.accept(value);
+            if (value == end) {
+                return;
+            }
+            value++;
+        }
+    }
+
+    /**
+     * Returns <code>null</code> as the values are in their natural order.
+     */
+    @Override
+    public Comparator<? super Long> getComparator() {
+        return null;
+    }
+
+    @Override
+    public boolean tryAdvance(final LongConsumer action) {
+        if (empty) {
+            return false;
+        }
+        long value = next;
+        if (value == last) {
+            empty = true;
+        } else {
+            next = value + 1;
+        }
+        action.accept(value);
+        return true;
+    }
+
+    @Override
+    public Spliterator.OfLong trySplit() {
+        if (empty || (next == last)) {
+            return null;
+        }
+        long middle = next + ((last - next) >>> 1);
+        LongRangeSpliterator prefix = new LongRangeSpliterator(next, middle);
+        next = middle + 1;
+        updateCharacteristics();
+        return prefix;
+    }
+
+    private void updateCharacteristics() {
+        long span = last - next;
+        boolean sized = empty || ((span >= 0) && (span < Long.MAX_VALUE));
+        characteristics = sized ? BASE_CHARACTERISTICS | Spliterator.SIZED | Spliterator.SUBSIZED
+                : BASE_CHARACTERISTICS;
+    }
+
+}
@@ -0,0 +1,287 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.lang;
+
+import java.io.Serializable;
+
+import org.everit.commons.selection.Range;
+import org.everit.commons.selection.RangeRelation;
+import org.everit.commons.selection.RangeRelationUtil;
+
+/**
+ * A range bounded by two primitive <code>double</code> values. Provides the same semantics as a {@link DoubleRange}
+ * (including the meaning of the inclusive flags and the {@link RangeRelation} returned by
+ * {@link #getRelationTo(PrimitiveDoubleRange)}) without boxing the bounds, so relation checks do not allocate.
+ *
+ * The bounds are compared with {@link Double#compare(double, double)}, which is consistent with
+ * {@link Double#compareTo(Double)} used by {@link DoubleRange}. Instances are immutable.
+ */
+public final class PrimitiveDoubleRange implements Serializable {
+
+    private static final long serialVersionUID = 1838542203421768594L;
+
+    /**
+     * Determines the relation of a range to an other range where both ranges are given by their bounds and inclusive
+     * flags. The result is the same as the result of {@link Range#getRelationTo(Range)} called on the equivalent
+     * {@link DoubleRange}s.
+     *
+     * @return the relation of the other range to the range
+     */
+    public static RangeRelation getRelation(final double lowerBound, final boolean lowerInclusive,
+            final double higherBound, final boolean higherInclusive, final double otherLowerBound,
+            final boolean otherLowerInclusive, final double otherHigherBound, final boolean otherHigherInclusive) {
+        return RangeRelationUtil.getRelation(Double.compare(lowerBound, otherLowerBound),
+                Double.compare(higherBound, otherHigherBound), Double.compare(lowerBound, otherHigherBound),
+                Double.compare(higherBound, otherLowerBound), lowerInclusive, higherInclusive, otherLowerInclusive,
+                otherHigherInclusive);
+    }
+
+    private static double requireBound(final DoubleRange range, final Double bound) {
+        if (bound == null) {
+            throw new NullPointerException("the bounds of range [" + range + "] cannot be null");
+        }
+        return bound.doubleValue();
+    }
+
+    private final double lowerBound;
+
+    private final double higherBound;
+
+    private final boolean lowerInclusive;
+
+    private final boolean higherInclusive;
+
+    /**
+     * Creates a range with the given bounding values. The created range will be closed at both bounds.
+     *
+     * @param lowerBound
+     *            the lower bound
+     * @param higherBound
+     *            the higher bound
+     */
+    public PrimitiveDoubleRange(final double lowerBound, final double higherBound) {
+        this(lowerBound, higherBound, true, true);
+    }
+
+    public PrimitiveDoubleRange(final double lowerBound, final double higherBound, final boolean lowerInclusive,
+            final boolean higherInclusive) {
+        if (Double.compare(lowerBound, higherBound) > 0) {
+            throw new IllegalArgumentException("lowerBound [" + lowerBound + "] is not lower than higherBound ["
+                    + higherBound + "]");
+        }
+        this.lowerBound = lowerBound;
+        this.higherBound = higherBound;
+        this.lowerInclusive = lowerInclusive;
+        this.higherInclusive = higherInclusive;
+    }
+
+    /**
+     * Creates a primitive range with the bounds and inclusive flags of the given {@link DoubleRange}.
+     *
+     * @param range
+     *            the range to convert, cannot be null and cannot have <code>null</code> bounds
+     */
+    public PrimitiveDoubleRange(final DoubleRange range) {
+        this(PrimitiveDoubleRange.requireBound(range, range.getLowerBound()), PrimitiveDoubleRange.requireBound(range,
+                range.getHigherBound()), range.isLowerInclusive(), range.isHigherInclusive());
+    }
+
+    /**
+     * Determines if the given value is an element of this range.
+     *
+     * @param value
+     *            the value to check
+     * @return <code>true</code> if this range contains <code>value</code>
+     */
+    public boolean contains(final double value) {
+        int valueToLower = Double.compare(value, lowerBound);
+        int valueToHigher = Double.compare(value, higherBound);
+        return ((valueToLower > 0) || (lowerInclusive && (valueToLower == 0)))
+                && ((valueToHigher < 0) || (higherInclusive && (valueToHigher == 0)));
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        PrimitiveDoubleRange other = (PrimitiveDoubleRange) obj;
+        return (Double.compare(lowerBound, other.lowerBound) == 0)
+                && (Double.compare(higherBound, other.higherBound) == 0)
+                && (lowerInclusive == other.lowerInclusive) && (higherInclusive == other.higherInclusive);
+    }
+
+    public double getHigherBound() {
+        return higherBound;
+    }
+
+    /**
+     * @return the difference between the higher bound and the lower bound. The inclusive flags are not considered.
+     */
+    public double getLength() {
+        return higherBound - lowerBound;
+    }
+
+    public double getLowerBound() {
+        return lowerBound;
+    }
+
+    /**
+     * Determines the relation of this range to an other range. See {@link Range#getRelationTo(Range)} for the meaning
+     * of the returned values.
+     *
+     * @param other
+     *            The other range to compare to.
+     * @return the relation
+     */
+    public RangeRelation getRelationTo(final PrimitiveDoubleRange other) {
+        return PrimitiveDoubleRange.getRelation(lowerBound, lowerInclusive, higherBound, higherInclusive,
+                other.lowerBound, other.lowerInclusive, other.higherBound, other.higherInclusive);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        long higherBits = Double.doubleToLongBits(higherBound);
+        long lowerBits = Double.doubleToLongBits(lowerBound);
+        result = (prime * result) + (int) (higherBits ^ (higherBits >>> 32));
+        result = (prime * result) + (higherInclusive ? 1231 : 1237);
+        result = (prime * result) + (int) (lowerBits ^ (lowerBits >>> 32));
+        result = (prime * result) + (lowerInclusive ? 1231 : 1237);
+        return result;
+    }
+
+    /**
+     * Returns the common part of <code>this</code> and <code>other</code> or <code>null</code> if the two ranges are
+     * distinct.
+     *
+     * @param other
+     *            the range to intersect with
+     * @return the intersection
+     */
+    public PrimitiveDoubleRange intersect(final PrimitiveDoubleRange other) {
+        if (getRelationTo(other).isDistinct()) {
+            return null;
+        }
+        double lowerBound;
+        boolean lowerInclusive;
+        int lowerComp = Double.compare(this.lowerBound, other.lowerBound);
+        if (lowerComp > 0) {
+            lowerBound = this.lowerBound;
+            lowerInclusive = this.lowerInclusive;
+        } else if (lowerComp < 0) {
+            lowerBound = other.lowerBound;
+            lowerInclusive = other.lowerInclusive;
+        } else {
+            lowerBound = this.lowerBound;
+            lowerInclusive = this.lowerInclusive && other.lowerInclusive;
+        }
+        double higherBound;
+        boolean higherInclusive;
+        int higherComp = Double.compare(this.higherBound, other.higherBound);
+        if (higherComp < 0) {
+            higherBound = this.higherBound;
+            higherInclusive = this.higherInclusive;
+        } else if (higherComp > 0) {
+            higherBound = other.higherBound;
+            higherInclusive = other.higherInclusive;
+        } else {
+            higherBound = this.higherBound;
+            higherInclusive = this.higherInclusive && other.higherInclusive;
+        }
+        return new PrimitiveDoubleRange(lowerBound, higherBound, lowerInclusive, higherInclusive);
+    }
+
+    public boolean isHigherInclusive() {
+        return higherInclusive;
+    }
+
+    public boolean isLowerInclusive() {
+        return lowerInclusive;
+    }
+
+    /**
+     * Determines if <code>this</code> and <code>other</code> have common elements (i.e. their relation is not
+     * {@link RangeRelation#isDistinct() distinct}).
+     *
+     * @param other
+     *            the other range
+     * @return <code>true</code> if the two ranges overlap
+     */
+    public boolean overlaps(final PrimitiveDoubleRange other) {
+        return !getRelationTo(other).isDistinct();
+    }
+
+    /**
+     * @return a new {@link DoubleRange} with the bounds and inclusive flags of this range
+     */
+    public DoubleRange toDoubleRange() {
+        return new DoubleRange(lowerBound, higherBound, lowerInclusive, higherInclusive);
+    }
+
+    @Override
+    public String toString() {
+        return "PrimitiveDoubleRange [lowerBound=" + lowerBound + ", lowerInclusive=" + lowerInclusive
+                + ", higherBound=" + higherBound + ", higherInclusive=" + higherInclusive + "]";
+    }
+
+    /**
+     * Returns the union of <code>this</code> and <code>other</code> with the same semantics as
+     * {@link Range#union(Range)}.
+     *
+     * @param other
+     *            the range to union
+     * @return the union
+     */
+    public PrimitiveDoubleRange union(final PrimitiveDoubleRange other) {
+        double lowerBound;
+        boolean lowerInclusive;
+        int lowerComp = Double.compare(this.lowerBound, other.lowerBound);
+        if (lowerComp < 0) {
+            lowerBound = this.lowerBound;
+            lowerInclusive = this.lowerInclusive;
+        } else if (lowerComp > 0) {
+            lowerBound = other.lowerBound;
+            lowerInclusive = other.lowerInclusive;
+        } else {
+            lowerBound = this.lowerBound;
+            lowerInclusive = this.lowerInclusive || other.lowerInclusive;
+        }
+        double higherBound;
+        boolean higherInclusive;
+        int higherComp = Double.compare(this.higherBound, other.higherBound);
+        if (higherComp > 0) {
+            higherBound = this.higherBound;
+            higherInclusive = this.higherInclusive;
+        } else if (higherComp < 0) {
+            higherBound = other.higherBound;
+            higherInclusive = other.higherInclusive;
+        } else {
+            higherBound = this.higherBound;
+            higherInclusive = this.higherInclusive || other.higherInclusive;
+        }
+        return new PrimitiveDoubleRange(lowerBound, higherBound, lowerInclusive, higherInclusive);
+    }
+
+}
@@ -0,0 +1,277 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.lang;
+
+import java.io.Serializable;
+
+import org.everit.commons.selection.Range;
+import org.everit.commons.selection.RangeRelation;
+import org.everit.commons.selection.RangeRelationUtil;
+
+/**
+ * A range bounded by two primitive <code>long</code> values. Provides the same semantics as a {@link LongRange}
+ * (including the meaning of the inclusive flags and the {@link RangeRelation} returned by
+ * {@link #getRelationTo(PrimitiveLongRange)}) without boxing the bounds, so relation checks do not allocate.
+ *
+ * Instances are immutable.
+ */
+public final class PrimitiveLongRange implements Serializable {
+
+    private static final long serialVersionUID = -2260683532643749316L;
+
+    /**
+     * Determines the relation of a range to an other range where both ranges are given by their bounds and inclusive
+     * flags. The result is the same as the result of {@link Range#getRelationTo(Range)} called on the equivalent
+     * {@link LongRange}s.
+     *
+     * @return the relation of the other range to the range
+     */
+    public static RangeRelation getRelation(final long lowerBound, final boolean lowerInclusive,
+            final long higherBound, final boolean higherInclusive, final long otherLowerBound,
+            final boolean otherLowerInclusive, final long otherHigherBound, final boolean otherHigherInclusive) {
+        return RangeRelationUtil.getRelation(Long.compare(lowerBound, otherLowerBound),
+                Long.compare(higherBound, otherHigherBound), Long.compare(lowerBound, otherHigherBound),
+                Long.compare(higherBound, otherLowerBound), lowerInclusive, higherInclusive, otherLowerInclusive,
+                otherHigherInclusive);
+    }
+
+    private static long requireBound(final LongRange range, final Long bound) {
+        if (bound == null) {
+            throw new NullPointerException("the bounds of range [" + range + "] cannot be null");
+        }
+        return bound.longValue();
+    }
+
+    private final long lowerBound;
+
+    private final long higherBound;
+
+    private final boolean lowerInclusive;
+
+    private final boolean higherInclusive;
+
+    /**
+     * Creates a range with the given bounding values. The created range will be closed at both bounds.
+     *
+     * @param lowerBound
+     *            the lower bound
+     * @param higherBound
+     *            the higher bound
+     */
+    public PrimitiveLongRange(final long lowerBound, final long higherBound) {
+        this(lowerBound, higherBound, true, true);
+    }
+
+    public PrimitiveLongRange(final long lowerBound, final long higherBound, final boolean lowerInclusive,
+            final boolean higherInclusive) {
+        if (lowerBound > higherBound) {
+            throw new IllegalArgumentException("lowerBound [" + lowerBound + "] is not lower than higherBound ["
+                    + higherBound + "]");
+        }
+        this.lowerBound = lowerBound;
+        this.higherBound = higherBound;
+        this.lowerInclusive = lowerInclusive;
+        this.higherInclusive = higherInclusive;
+    }
+
+    /**
+     * Creates a primitive range with the bounds and inclusive flags of the given {@link LongRange}.
+     *
+     * @param range
+     *            the range to convert, cannot be null and cannot have <code>null</code> bounds
+     */
+    public PrimitiveLongRange(final LongRange range) {
+        this(PrimitiveLongRange.requireBound(range, range.getLowerBound()), PrimitiveLongRange.requireBound(range,
+                range.getHigherBound()), range.isLowerInclusive(), range.isHigherInclusive());
+    }
+
+    /**
+     * Determines if the given value is an element of this range.
+     *
+     * @param value
+     *            the value to check
+     * @return <code>true</code> if this range contains <code>value</code>
+     */
+    public boolean contains(final long value) {
+        return ((value > lowerBound) || (lowerInclusive && (value == lowerBound)))
+                && ((value < higherBound) || (higherInclusive && (value == higherBound)));
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        PrimitiveLongRange other = (PrimitiveLongRange) obj;
+        return (lowerBound == other.lowerBound) && (higherBound == other.higherBound)
+                && (lowerInclusive == other.lowerInclusive) && (higherInclusive == other.higherInclusive);
+    }
+
+    public long getHigherBound() {
+        return higherBound;
+    }
+
+    /**
+     * @return the difference between the higher bound and the lower bound. The inclusive flags are not considered.
+     */
+    public long getLength() {
+        return higherBound - lowerBound;
+    }
+
+    public long getLowerBound() {
+        return lowerBound;
+    }
+
+    /**
+     * Determines the relation of this range to an other range. See {@link Range#getRelationTo(Range)} for the meaning
+     * of the returned values.
+     *
+     * @param other
+     *            The other range to compare to.
+     * @return the relation
+     */
+    public RangeRelation getRelationTo(final PrimitiveLongRange other) {
+        return PrimitiveLongRange.getRelation(lowerBound, lowerInclusive, higherBound, higherInclusive,
+                other.lowerBound, other.lowerInclusive, other.higherBound, other.higherInclusive);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = (prime * result) + (int) (higherBound ^ (higherBound >>> 32));
+        result = (prime * result) + (higherInclusive ? 1231 : 1237);
+        result = (prime * result) + (int) (lowerBound ^ (lowerBound >>> 32));
+        result = (prime * result) + (lowerInclusive ? 1231 : 1237);
+        return result;
+    }
+
+    /**
+     * Returns the common part of <code>this</code> and <code>other</code> or <code>null</code> if the two ranges are
+     * distinct.
+     *
+     * @param other
+     *            the range to intersect with
+     * @return the intersection
+     */
+    public PrimitiveLongRange intersect(final PrimitiveLongRange other) {
+        if (getRelationTo(other).isDistinct()) {
+            return null;
+        }
+        long lowerBound;
+        boolean lowerInclusive;
+        if (this.lowerBound > other.lowerBound) {
+            lowerBound = this.lowerBound;
+            lowerInclusive = this.lowerInclusive;
+        } else if (this.lowerBound < other.lowerBound) {
+            lowerBound = other.lowerBound;
+            lowerInclusive = other.lowerInclusive;
+        } else {
+            lowerBound = this.lowerBound;
+            lowerInclusive = this.lowerInclusive && other.lowerInclusive;
+        }
+        long higherBound;
+        boolean higherInclusive;
+        if (this.higherBound < other.higherBound) {
+            higherBound = this.higherBound;
+            higherInclusive = this.higherInclusive;
+        } else if (this.higherBound > other.higherBound) {
+            higherBound = other.higherBound;
+            higherInclusive = other.higherInclusive;
+        } else {
+            higherBound = this.higherBound;
+            higherInclusive = this.higherInclusive && other.higherInclusive;
+        }
+        return new PrimitiveLongRange(lowerBound, higherBound, lowerInclusive, higherInclusive);
+    }
+
+    public boolean isHigherInclusive() {
+        return higherInclusive;
+    }
+
+    public boolean isLowerInclusive() {
+        return lowerInclusive;
+    }
+
+    /**
+     * Determines if <code>this</code> and <code>other</code> have common elements (i.e. their relation is not
+     * {@link RangeRelation#isDistinct() distinct}).
+     *
+     * @param other
+     *            the other range
+     * @return <code>true</code> if the two ranges overlap
+     */
+    public boolean overlaps(final PrimitiveLongRange other) {
+        return !getRelationTo(other).isDistinct();
+    }
+
+    /**
+     * @return a new {@link LongRange} with the bounds and inclusive flags of this range
+     */
+    public LongRange toLongRange() {
+        return new LongRange(lowerBound, higherBound, lowerInclusive, higherInclusive);
+    }
+
+    @Override
+    public String toString() {
+        return "PrimitiveLongRange [lowerBound=" + lowerBound + ", lowerInclusive=" + lowerInclusive
+                + ", higherBound=" + higherBound + ", higherInclusive=" + higherInclusive + "]";
+    }
+
+    /**
+     * Returns the union of <code>this</code> and <code>other</code> with the same semantics as
+     * {@link Range#union(Range)}.
+     *
+     * @param other
+     *            the range to union
+     * @return the union
+     */
+    public PrimitiveLongRange union(final PrimitiveLongRange other) {
+        long lowerBound;
+        boolean lowerInclusive;
+        if (this.lowerBound < other.lowerBound) {
+            lowerBound = this.lowerBound;
+            lowerInclusive = this.lowerInclusive;
+        } else if (this.lowerBound > other.lowerBound) {
+            lowerBound = other.lowerBound;
+            lowerInclusive = other.lowerInclusive;
+        } else {
+            lowerBound = this.lowerBound;
+            lowerInclusive = this.lowerInclusive || other.lowerInclusive;
+        }
+        long higherBound;
+        boolean higherInclusive;
+        if (this.higherBound > other.higherBound) {
+            higherBound = this.higherBound;
+            higherInclusive = this.higherInclusive;
+        } else if (this.higherBound < other.higherBound) {
+            higherBound = other.higherBound;
+            higherInclusive = other.higherInclusive;
+        } else {
+            higherBound = this.higherBound;
+            higherInclusive = this.higherInclusive || other.higherInclusive;
+        }
+        return new PrimitiveLongRange(lowerBound, higherBound, lowerInclusive, higherInclusive);
+    }
+
+}
@@ -0,0 +1,295 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.time;
+
+import java.io.Serializable;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Date;
+
+import org.everit.commons.selection.Range;
+import org.everit.commons.selection.RangeRelation;
+import org.everit.commons.selection.RangeRelationUtil;
+import org.everit.commons.selection.sql.TimestampRange;
+import org.everit.commons.selection.util.DateRange;
+import org.everit.commons.selection.util.SecondRange;
+
+/**
+ * A range of two {@link Instant}s stored as primitive epoch seconds and nanoseconds of the second. Relations are
+ * determined with <code>long</code> comparisons and have the same semantics as {@link Range#getRelationTo(Range)}.
+ *
+ * The range can be converted from and to {@link DateRange}, {@link TimestampRange} and {@link SecondRange} without
+ * losing precision. Converting to a type that cannot hold the precision of the bounds throws an
+ * {@link ArithmeticException} instead of truncating.
+ *
+ * Instances are immutable.
+ */
+public final class InstantRange implements Serializable {
+
+    private static final long serialVersionUID = 4185406530953768720L;
+
+    private static Date toDate(final long seconds, final int nanos) {
+        if ((nanos % TimeRangeUtil.NANOS_PER_MILLI) != 0) {
+            throw new ArithmeticException("[" + Instant.ofEpochSecond(seconds, nanos)
+                    + "] cannot be represented in milliseconds");
+        }
+        return new Date(Math.addExact(Math.multiplyExact(seconds, 1000), nanos / TimeRangeUtil.NANOS_PER_MILLI));
+    }
+
+    private static long toSeconds(final long seconds, final int nanos) {
+        if (nanos != 0) {
+            throw new ArithmeticException("[" + Instant.ofEpochSecond(seconds, nanos)
+                    + "] cannot be represented in seconds");
+        }
+        return seconds;
+    }
+
+    private final long lowerSeconds;
+
+    private final long higherSeconds;
+
+    private final int lowerNanos;
+
+    private final int higherNanos;
+
+    private final boolean lowerInclusive;
+
+    private final boolean higherInclusive;
+
+    /**
+     * Creates a range with the bounds and inclusive flags of a {@link DateRange}. The bounds are converted by their
+     * milliseconds, so subclasses that do not support {@link Date#toInstant()}, like {@link java.sql.Date}, can be
+     * converted too.
+     *
+     * @param range
+     *            the range to convert, cannot be null and cannot have <code>null</code> bounds
+     */
+    public InstantRange(final DateRange range) {
+        this(Instant.ofEpochMilli(TimeRangeUtil.requireBound(range, range.getLowerBound()).getTime()),
+                Instant.ofEpochMilli(TimeRangeUtil.requireBound(range, range.getHigherBound()).getTime()),
+                range.isLowerInclusive(), range.isHigherInclusive());
+    }
+
+    /**
+     * Creates a range with the given bounds. The created range will be closed at both bounds.
+     */
+    public InstantRange(final Instant lowerBound, final Instant higherBound) {
+        this(lowerBound, higherBound, true, true);
+    }
+
+    public InstantRange(final Instant lowerBound, final Instant higherBound, final boolean lowerInclusive,
+            final boolean higherInclusive) {
+        this(lowerBound.getEpochSecond(), lowerBound.getNano(), higherBound.getEpochSecond(), higherBound.getNano(),
+                lowerInclusive, higherInclusive);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param lowerSeconds
+     *            the seconds of the lower bound since the epoch
+     * @param lowerNanos
+     *            the nanoseconds of the lower bound within the second, from 0 to 999 999 999
+     * @param higherSeconds
+     *            the seconds of the higher bound since the epoch
+     * @param higherNanos
+     *            the nanoseconds of the higher bound within the second, from 0 to 999 999 999
+     */
+    public InstantRange(final long lowerSeconds, final int lowerNanos, final long higherSeconds,
+            final int higherNanos, final boolean lowerInclusive, final boolean higherInclusive) {
+        TimeRangeUtil.checkNanos(lowerNanos);
+        TimeRangeUtil.checkNanos(higherNanos);
+        if (TimeRangeUtil.compare(lowerSeconds, lowerNanos, higherSeconds, higherNanos) > 0) {
+            throw new IllegalArgumentException("lowerBound [" + Instant.ofEpochSecond(lowerSeconds, lowerNanos)
+                    + "] is not lower than higherBound [" + Instant.ofEpochSecond(higherSeconds, higherNanos) + "]");
+        }
+        this.lowerSeconds = lowerSeconds;
+        this.lowerNanos = lowerNanos;
+        this.higherSeconds = higherSeconds;
+        this.higherNanos = higherNanos;
+        this.lowerInclusive = lowerInclusive;
+        this.higherInclusive = higherInclusive;
+    }
+
+    /**
+     * Creates a range with the bounds and inclusive flags of a {@link SecondRange}.
+     *
+     * @param range
+     *            the range to convert, cannot be null and cannot have <code>null</code> bounds
+     */
+    public InstantRange(final SecondRange range) {
+        this(TimeRangeUtil.requireBound(range, range.getLowerBound()).longValue(), 0, TimeRangeUtil.requireBound(
+                range, range.getHigherBound()).longValue(), 0, range.isLowerInclusive(), range.isHigherInclusive());
+    }
+
+    /**
+     * Creates a range with the bounds and inclusive flags of a {@link TimestampRange}, keeping the nanoseconds of
+     * the timestamps.
+     *
+     * @param range
+     *            the range to convert, cannot be null and cannot have <code>null</code> bounds
+     */
+    public InstantRange(final TimestampRange range) {
+        this(TimeRangeUtil.requireBound(range, range.getLowerBound()).toInstant(), TimeRangeUtil.requireBound(range,
+                range.getHigherBound()).toInstant(), range.isLowerInclusive(), range.isHigherInclusive());
+    }
+
+    /**
+     * Determines if the given instant is an element of this range.
+     */
+    public boolean contains(final Instant instant) {
+        return contains(instant.getEpochSecond(), instant.getNano());
+    }
+
+    /**
+     * Determines if the instant given by its epoch seconds and nanoseconds is an element of this range.
+     */
+    public boolean contains(final long seconds, final int nanos) {
+        int toLower = TimeRangeUtil.compare(seconds, nanos, lowerSeconds, lowerNanos);
+        int toHigher = TimeRangeUtil.compare(seconds, nanos, higherSeconds, higherNanos);
+        return ((toLower > 0) || (lowerInclusive && (toLower == 0)))
+                && ((toHigher < 0) || (higherInclusive && (toHigher == 0)));
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        InstantRange other = (InstantRange) obj;
+        return (lowerSeconds == other.lowerSeconds) && (lowerNanos == other.lowerNanos)
+                && (higherSeconds == other.higherSeconds) && (higherNanos == other.higherNanos)
+                && (lowerInclusive == other.lowerInclusive) && (higherInclusive == other.higherInclusive);
+    }
+
+    public Instant getHigherBound() {
+        return Instant.ofEpochSecond(higherSeconds, higherNanos);
+    }
+
+    public int getHigherNanos() {
+        return higherNanos;
+    }
+
+    public long getHigherSeconds() {
+        return higherSeconds;
+    }
+
+    public Instant getLowerBound() {
+        return Instant.ofEpochSecond(lowerSeconds, lowerNanos);
+    }
+
+    public int getLowerNanos() {
+        return lowerNanos;
+    }
+
+    public long getLowerSeconds() {
+        return lowerSeconds;
+    }
+
+    /**
+     * Determines the relation of this range to an other range. See {@link Range#getRelationTo(Range)} for the meaning
+     * of the returned values.
+     *
+     * @param other
+     *            The other range to compare to.
+     * @return the relation
+     */
+    public RangeRelation getRelationTo(final InstantRange other) {
+        return RangeRelationUtil.getRelation(
+                TimeRangeUtil.compare(lowerSeconds, lowerNanos, other.lowerSeconds, other.lowerNanos),
+                TimeRangeUtil.compare(higherSeconds, higherNanos, other.higherSeconds, other.higherNanos),
+                TimeRangeUtil.compare(lowerSeconds, lowerNanos, other.higherSeconds, other.higherNanos),
+                TimeRangeUtil.compare(higherSeconds, higherNanos, other.lowerSeconds, other.lowerNanos),
+                lowerInclusive, higherInclusive, other.lowerInclusive, other.higherInclusive);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = (prime * result) + higherNanos;
+        result = (prime * result) + (int) (higherSeconds ^ (higherSeconds >>> 32));
+        result = (prime * result) + (higherInclusive ? 1231 : 1237);
+        result = (prime * result) + lowerNanos;
+        result = (prime * result) + (int) (lowerSeconds ^ (lowerSeconds >>> 32));
+        result = (prime * result) + (lowerInclusive ? 1231 : 1237);
+        return result;
+    }
+
+    public boolean isHigherInclusive() {
+        return higherInclusive;
+    }
+
+    public boolean isLowerInclusive() {
+        return lowerInclusive;
+    }
+
+    /**
+     * Determines if <code>this</code> and <code>other</code> have common elements (i.e. their relation is not
+     * {@link RangeRelation#isDistinct() distinct}).
+     */
+    public boolean overlaps(final InstantRange other) {
+        return !getRelationTo(other).isDistinct();
+    }
+
+    /**
+     * @return a new {@link DateRange} with the bounds and inclusive flags of this range
+     * @throws ArithmeticException
+     *             if a bound has a fraction of a millisecond or is out of the range of {@link Date}
+     */
+    public DateRange toDateRange() {
+        return new DateRange(InstantRange.toDate(lowerSeconds, lowerNanos), InstantRange.toDate(higherSeconds,
+                higherNanos), lowerInclusive, higherInclusive);
+    }
+
+    /**
+     * @return a new {@link SecondRange} with the bounds and inclusive flags of this range
+     * @throws ArithmeticException
+     *             if a bound has a fraction of a second
+     */
+    public SecondRange toSecondRange() {
+        return new SecondRange(InstantRange.toSeconds(lowerSeconds, lowerNanos), InstantRange.toSeconds(
+                higherSeconds, higherNanos), lowerInclusive, higherInclusive);
+    }
+
+    @Override
+    public String toString() {
+        return "InstantRange [lowerBound=" + getLowerBound() + ", lowerInclusive=" + lowerInclusive
+                + ", higherBound=" + getHigherBound() + ", higherInclusive=" + higherInclusive + "]";
+    }
+
+    /**
+     * @return a new {@link TimestampRange} with the bounds and inclusive flags of this range
+     * @throws ArithmeticException
+     *             if a bound is out of the range of {@link Timestamp}
+     */
+    public TimestampRange toTimestampRange() {
+        try {
+            return new TimestampRange(Timestamp.from(getLowerBound()), Timestamp.from(getHigherBound()),
+                    lowerInclusive, higherInclusive);
+        } catch (IllegalArgumentException e) {
+            throw new ArithmeticException(e.getMessage());
+        }
+    }
+
+}
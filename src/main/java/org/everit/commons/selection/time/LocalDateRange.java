@@ -0,0 +1,200 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.time;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import org.everit.commons.selection.Range;
+import org.everit.commons.selection.RangeRelation;
+import org.everit.commons.selection.lang.PrimitiveLongRange;
+
+/**
+ * A range of two {@link LocalDate}s stored as primitive epoch days. Relations are determined with <code>long</code>
+ * comparisons and have the same semantics as {@link Range#getRelationTo(Range)}.
+ *
+ * Instances are immutable.
+ */
+public final class LocalDateRange implements Serializable {
+
+    private static final long serialVersionUID = -3049862318862421458L;
+
+    private final long lowerEpochDay;
+
+    private final long higherEpochDay;
+
+    private final boolean lowerInclusive;
+
+    private final boolean higherInclusive;
+
+    /**
+     * Creates a range with the given bounds. The created range will be closed at both bounds.
+     */
+    public LocalDateRange(final LocalDate lowerBound, final LocalDate higherBound) {
+        this(lowerBound, higherBound, true, true);
+    }
+
+    public LocalDateRange(final LocalDate lowerBound, final LocalDate higherBound, final boolean lowerInclusive,
+            final boolean higherInclusive) {
+        this(lowerBound.toEpochDay(), higherBound.toEpochDay(), lowerInclusive, higherInclusive);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param lowerEpochDay
+     *            the lower bound as the number of days since 1970-01-01
+     * @param higherEpochDay
+     *            the higher bound as the number of days since 1970-01-01
+     */
+    public LocalDateRange(final long lowerEpochDay, final long higherEpochDay, final boolean lowerInclusive,
+            final boolean higherInclusive) {
+        if (lowerEpochDay > higherEpochDay) {
+            throw new IllegalArgumentException("lowerBound [" + LocalDate.ofEpochDay(lowerEpochDay)
+                    + "] is not lower than higherBound [" + LocalDate.ofEpochDay(higherEpochDay) + "]");
+        }
+        this.lowerEpochDay = lowerEpochDay;
+        this.higherEpochDay = higherEpochDay;
+        this.lowerInclusive = lowerInclusive;
+        this.higherInclusive = higherInclusive;
+    }
+
+    /**
+     * Determines if the given date is an element of this range.
+     */
+    public boolean contains(final LocalDate date) {
+        return contains(date.toEpochDay());
+    }
+
+    /**
+     * Determines if the date given by its epoch day is an element of this range.
+     */
+    public boolean contains(final long epochDay) {
+        return ((epochDay > lowerEpochDay) || (lowerInclusive && (epochDay == lowerEpochDay)))
+                && ((epochDay < higherEpochDay) || (higherInclusive && (epochDay == higherEpochDay)));
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        LocalDateRange other = (LocalDateRange) obj;
+        return (lowerEpochDay == other.lowerEpochDay) && (higherEpochDay == other.higherEpochDay)
+                && (lowerInclusive == other.lowerInclusive) && (higherInclusive == other.higherInclusive);
+    }
+
+    public LocalDate getHigherBound() {
+        return LocalDate.ofEpochDay(higherEpochDay);
+    }
+
+    public long getHigherEpochDay() {
+        return higherEpochDay;
+    }
+
+    /**
+     * @return the number of days between the lower bound and the higher bound. The inclusive flags are not
+     *         considered.
+     */
+    public long getLength() {
+        return higherEpochDay - lowerEpochDay;
+    }
+
+    public LocalDate getLowerBound() {
+        return LocalDate.ofEpochDay(lowerEpochDay);
+    }
+
+    public long getLowerEpochDay() {
+        return lowerEpochDay;
+    }
+
+    /**
+     * Determines the relation of this range to an other range. See {@link Range#getRelationTo(Range)} for the meaning
+     * of the returned values.
+     *
+     * @param other
+     *            The other range to compare to.
+     * @return the relation
+     */
+    public RangeRelation getRelationTo(final LocalDateRange other) {
+        return PrimitiveLongRange.getRelation(lowerEpochDay, lowerInclusive, higherEpochDay, higherInclusive,
+                other.lowerEpochDay, other.lowerInclusive, other.higherEpochDay, other.higherInclusive);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = (prime * result) + (int) (higherEpochDay ^ (higherEpochDay >>> 32));
+        result = (prime * result) + (higherInclusive ? 1231 : 1237);
+        result = (prime * result) + (int) (lowerEpochDay ^ (lowerEpochDay >>> 32));
+        result = (prime * result) + (lowerInclusive ? 1231 : 1237);
+        return result;
+    }
+
+    public boolean isHigherInclusive() {
+        return higherInclusive;
+    }
+
+    public boolean isLowerInclusive() {
+        return lowerInclusive;
+    }
+
+    /**
+     * Determines if <code>this</code> and <code>other</code> have common elements (i.e. their relation is not
+     * {@link RangeRelation#isDistinct() distinct}).
+     */
+    public boolean overlaps(final LocalDateRange other) {
+        return !getRelationTo(other).isDistinct();
+    }
+
+    /**
+     * Converts the days of this range to the instants they cover in a time zone. The result starts at the start of
+     * the first day of the range (inclusive) and ends at the start of the day after the last day (exclusive), e.g.
+     * <code>[2014-03-01, 2014-03-31]</code> becomes <code>[2014-03-01T00:00, 2014-04-01T00:00)</code> in the zone.
+     * A range without days becomes an empty range.
+     *
+     * @param zone
+     *            the time zone of the days
+     * @return the instants of the days
+     */
+    public InstantRange toInstantRange(final ZoneId zone) {
+        long firstDay = lowerInclusive ? lowerEpochDay : (lowerEpochDay + 1);
+        long endDay = higherInclusive ? (higherEpochDay + 1) : higherEpochDay;
+        Instant lowerBound = LocalDate.ofEpochDay(firstDay).atStartOfDay(zone).toInstant();
+        Instant higherBound = lowerBound;
+        if (endDay > firstDay) {
+            higherBound = LocalDate.ofEpochDay(endDay).atStartOfDay(zone).toInstant();
+        }
+        return new InstantRange(lowerBound, higherBound, true, false);
+    }
+
+    @Override
+    public String toString() {
+        return "LocalDateRange [lowerBound=" + getLowerBound() + ", lowerInclusive=" + lowerInclusive
+                + ", higherBound=" + getHigherBound() + ", higherInclusive=" + higherInclusive + "]";
+    }
+
+}
@@ -0,0 +1,222 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.time;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Calendar;
+import java.util.TimeZone;
+
+import org.everit.commons.selection.Range;
+import org.everit.commons.selection.RangeRelation;
+import org.everit.commons.selection.RangeRelationUtil;
+import org.everit.commons.selection.util.CalendarRange;
+import org.everit.commons.selection.util.DateRange;
+
+/**
+ * A range of two {@link OffsetDateTime}s stored as primitive epoch seconds, nanoseconds and offset seconds. The
+ * bounds are ordered by their instants like {@link OffsetDateTime#compareTo(OffsetDateTime)} orders them when the
+ * offsets are different, so relations are determined with <code>long</code> comparisons and have the same semantics
+ * as {@link Range#getRelationTo(Range)}. {@link #equals(Object)} considers the offsets too.
+ *
+ * Instances are immutable.
+ */
+public final class OffsetDateTimeRange implements Serializable {
+
+    private static final long serialVersionUID = -8467395066430693215L;
+
+    private static OffsetDateTime toOffsetDateTime(final Calendar calendar) {
+        long millis = calendar.getTimeInMillis();
+        int offsetSeconds = calendar.getTimeZone().getOffset(millis) / 1000;
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.ofTotalSeconds(offsetSeconds));
+    }
+
+    private final long lowerSeconds;
+
+    private final long higherSeconds;
+
+    private final int lowerNanos;
+
+    private final int higherNanos;
+
+    private final int lowerOffsetSeconds;
+
+    private final int higherOffsetSeconds;
+
+    private final boolean lowerInclusive;
+
+    private final boolean higherInclusive;
+
+    /**
+     * Creates a range with the instants, the offsets and inclusive flags of a {@link CalendarRange}. The offsets are
+     * the ones the time zones of the calendars have at their instants.
+     *
+     * @param range
+     *            the range to convert, cannot be null and cannot have <code>null</code> bounds
+     */
+    public OffsetDateTimeRange(final CalendarRange range) {
+        this(OffsetDateTimeRange.toOffsetDateTime(TimeRangeUtil.requireBound(range, range.getLowerBound())),
+                OffsetDateTimeRange.toOffsetDateTime(TimeRangeUtil.requireBound(range, range.getHigherBound())),
+                range.isLowerInclusive(), range.isHigherInclusive());
+    }
+
+    /**
+     * Creates a range with the given bounds. The created range will be closed at both bounds.
+     */
+    public OffsetDateTimeRange(final OffsetDateTime lowerBound, final OffsetDateTime higherBound) {
+        this(lowerBound, higherBound, true, true);
+    }
+
+    public OffsetDateTimeRange(final OffsetDateTime lowerBound, final OffsetDateTime higherBound,
+            final boolean lowerInclusive, final boolean higherInclusive) {
+        lowerSeconds = lowerBound.toEpochSecond();
+        lowerNanos = lowerBound.getNano();
+        higherSeconds = higherBound.toEpochSecond();
+        higherNanos = higherBound.getNano();
+        if (TimeRangeUtil.compare(lowerSeconds, lowerNanos, higherSeconds, higherNanos) > 0) {
+            throw new IllegalArgumentException("lowerBound [" + lowerBound + "] is not lower than higherBound ["
+                    + higherBound + "]");
+        }
+        lowerOffsetSeconds = lowerBound.getOffset().getTotalSeconds();
+        higherOffsetSeconds = higherBound.getOffset().getTotalSeconds();
+        this.lowerInclusive = lowerInclusive;
+        this.higherInclusive = higherInclusive;
+    }
+
+    /**
+     * Determines if the instant of the given date-time is an element of this range.
+     */
+    public boolean contains(final OffsetDateTime dateTime) {
+        long seconds = dateTime.toEpochSecond();
+        int nanos = dateTime.getNano();
+        int toLower = TimeRangeUtil.compare(seconds, nanos, lowerSeconds, lowerNanos);
+        int toHigher = TimeRangeUtil.compare(seconds, nanos, higherSeconds, higherNanos);
+        return ((toLower > 0) || (lowerInclusive && (toLower == 0)))
+                && ((toHigher < 0) || (higherInclusive && (toHigher == 0)));
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        OffsetDateTimeRange other = (OffsetDateTimeRange) obj;
+        return (lowerSeconds == other.lowerSeconds) && (lowerNanos == other.lowerNanos)
+                && (lowerOffsetSeconds == other.lowerOffsetSeconds) && (higherSeconds == other.higherSeconds)
+                && (higherNanos == other.higherNanos) && (higherOffsetSeconds == other.higherOffsetSeconds)
+                && (lowerInclusive == other.lowerInclusive) && (higherInclusive == other.higherInclusive);
+    }
+
+    public OffsetDateTime getHigherBound() {
+        return OffsetDateTime.ofInstant(Instant.ofEpochSecond(higherSeconds, higherNanos),
+                ZoneOffset.ofTotalSeconds(higherOffsetSeconds));
+    }
+
+    public OffsetDateTime getLowerBound() {
+        return OffsetDateTime.ofInstant(Instant.ofEpochSecond(lowerSeconds, lowerNanos),
+                ZoneOffset.ofTotalSeconds(lowerOffsetSeconds));
+    }
+
+    /**
+     * Determines the relation of this range to an other range by the instants of the bounds. See
+     * {@link Range#getRelationTo(Range)} for the meaning of the returned values.
+     *
+     * @param other
+     *            The other range to compare to.
+     * @return the relation
+     */
+    public RangeRelation getRelationTo(final OffsetDateTimeRange other) {
+        return RangeRelationUtil.getRelation(
+                TimeRangeUtil.compare(lowerSeconds, lowerNanos, other.lowerSeconds, other.lowerNanos),
+                TimeRangeUtil.compare(higherSeconds, higherNanos, other.higherSeconds, other.higherNanos),
+                TimeRangeUtil.compare(lowerSeconds, lowerNanos, other.higherSeconds, other.higherNanos),
+                TimeRangeUtil.compare(higherSeconds, higherNanos, other.lowerSeconds, other.lowerNanos),
+                lowerInclusive, higherInclusive, other.lowerInclusive, other.higherInclusive);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = (prime * result) + higherNanos;
+        result = (prime * result) + higherOffsetSeconds;
+        result = (prime * result) + (int) (higherSeconds ^ (higherSeconds >>> 32));
+        result = (prime * result) + (higherInclusive ? 1231 : 1237);
+        result = (prime * result) + lowerNanos;
+        result = (prime * result) + lowerOffsetSeconds;
+        result = (prime * result) + (int) (lowerSeconds ^ (lowerSeconds >>> 32));
+        result = (prime * result) + (lowerInclusive ? 1231 : 1237);
+        return result;
+    }
+
+    public boolean isHigherInclusive() {
+        return higherInclusive;
+    }
+
+    public boolean isLowerInclusive() {
+        return lowerInclusive;
+    }
+
+    /**
+     * Determines if <code>this</code> and <code>other</code> have common elements (i.e. their relation is not
+     * {@link RangeRelation#isDistinct() distinct}).
+     */
+    public boolean overlaps(final OffsetDateTimeRange other) {
+        return !getRelationTo(other).isDistinct();
+    }
+
+    /**
+     * Converts this range to a {@link CalendarRange} whose calendars have the fixed offsets of the bounds as time
+     * zones. The instants and the offsets are kept, the time zone rules of the original calendars are not known.
+     *
+     * @throws ArithmeticException
+     *             if a bound has a fraction of a millisecond
+     */
+    public CalendarRange toCalendarRange() {
+        DateRange dates = toInstantRange().toDateRange();
+        Calendar lowerBound = Calendar.getInstance(TimeZone.getTimeZone(ZoneOffset
+                .ofTotalSeconds(lowerOffsetSeconds)));
+        lowerBound.setTime(dates.getLowerBound());
+        Calendar higherBound = Calendar.getInstance(TimeZone.getTimeZone(ZoneOffset
+                .ofTotalSeconds(higherOffsetSeconds)));
+        higherBound.setTime(dates.getHigherBound());
+        return new CalendarRange(lowerBound, higherBound, lowerInclusive, higherInclusive);
+    }
+
+    /**
+     * @return the range of the instants of the bounds
+     */
+    public InstantRange toInstantRange() {
+        return new InstantRange(lowerSeconds, lowerNanos, higherSeconds, higherNanos, lowerInclusive,
+                higherInclusive);
+    }
+
+    @Override
+    public String toString() {
+        return "OffsetDateTimeRange [lowerBound=" + getLowerBound() + ", lowerInclusive=" + lowerInclusive
+                + ", higherBound=" + getHigherBound() + ", higherInclusive=" + higherInclusive + "]";
+    }
+
+}
@@ -0,0 +1,58 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.time;
+
+import org.everit.commons.selection.Range;
+
+/**
+ * Bound checks and comparisons shared by the ranges of this package.
+ */
+final class TimeRangeUtil {
+
+    static final int NANOS_PER_SECOND = 1000000000;
+
+    static final int NANOS_PER_MILLI = 1000000;
+
+    static void checkNanos(final int nanos) {
+        if ((nanos < 0) || (nanos >= NANOS_PER_SECOND)) {
+            throw new IllegalArgumentException("nanos [" + nanos + "] is not between 0 and " + NANOS_PER_SECOND
+                    + " (exclusive)");
+        }
+    }
+
+    /**
+     * Compares two instants given as epoch seconds and nanoseconds of the second.
+     */
+    static int compare(final long seconds, final int nanos, final long otherSeconds, final int otherNanos) {
+        int result = Long.compare(seconds, otherSeconds);
+        if (result != 0) {
+            return result;
+        }
+        return Integer.compare(nanos, otherNanos);
+    }
+
+    static <T> T requireBound(final Range<?> range, final T bound) {
+        if (bound == null) {
+            throw new NullPointerException("the bounds of range [" + range + "] cannot be null");
+        }
+        return bound;
+    }
+
+    private TimeRangeUtil() {
+    }
+
+}
@@ -0,0 +1,417 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.everit.commons.selection.RangeUtil;
+
+/**
+ * Steps through the days, weeks, months or years of a time zone. The start of a bucket is the first instant of its
+ * first local day. Boundaries are computed from epoch milliseconds with the cached offset transitions of the zone,
+ * no {@link Calendar} is created or mutated, so stepping is correct across daylight saving changes and is much
+ * cheaper than cloning a {@link Calendar} and calling {@link Calendar#add(int, int)}.
+ *
+ * If midnight does not exist on a day because of a gap the day starts at the end of the gap, if it exists twice the
+ * day starts at the earlier instant, like {@link LocalDate#atStartOfDay(ZoneId)}. Dates are in the proleptic ISO
+ * calendar, so they differ from a {@link java.util.GregorianCalendar} before the Gregorian cutover in 1582.
+ *
+ * Instances are immutable.
+ */
+public final class CalendarStepper {
+
+    /**
+     * A reusable view of the consecutive buckets of a range, clipped to the bounds of the range. The inner bucket
+     * bounds are inclusive at the lower end and exclusive at the higher end, the outermost bounds are the ones of the
+     * range. Moving the cursor does not allocate, {@link #toDateRange()} creates a range only if it is needed.
+     */
+    public final class Cursor {
+
+        private final long endBound;
+
+        private final boolean endInclusive;
+
+        private long lowerBound;
+
+        private long higherBound;
+
+        private boolean lowerInclusive;
+
+        private boolean higherInclusive;
+
+        private boolean started;
+
+        private boolean finished;
+
+        private Cursor(final long startBound, final long endBound, final boolean startInclusive,
+                final boolean endInclusive, final boolean empty) {
+            this.endBound = endBound;
+            this.endInclusive = endInclusive;
+            lowerBound = startBound;
+            lowerInclusive = startInclusive;
+            finished = empty;
+        }
+
+        private void checkStarted() {
+            if (!started) {
+                throw new IllegalStateException("next() has not been called");
+            }
+        }
+
+        /**
+         * Returns the higher bound of the current bucket in epoch milliseconds.
+         */
+        public long getHigherBound() {
+            checkStarted();
+            return higherBound;
+        }
+
+        /**
+         * Returns the lower bound of the current bucket in epoch milliseconds.
+         */
+        public long getLowerBound() {
+            checkStarted();
+            return lowerBound;
+        }
+
+        public boolean isHigherInclusive() {
+            checkStarted();
+            return higherInclusive;
+        }
+
+        public boolean isLowerInclusive() {
+            checkStarted();
+            return lowerInclusive;
+        }
+
+        /**
+         * Moves the cursor to the next bucket.
+         *
+         * @return <code>false</code> if there are no more buckets
+         */
+        public boolean next() {
+            if (finished) {
+                return false;
+            }
+            if (started) {
+                lowerBound = higherBound;
+                lowerInclusive = true;
+            }
+            started = true;
+            long boundary = CalendarStepper.this.next(lowerBound);
+            if ((boundary < endBound) || ((boundary == endBound) && endInclusive)) {
+                higherBound = boundary;
+                higherInclusive = false;
+            } else {
+                higherBound = endBound;
+                higherInclusive = endInclusive;
+                finished = true;
+            }
+            return true;
+        }
+
+        /**
+         * Creates a range with the bounds of the current bucket.
+         */
+        public DateRange toDateRange() {
+            checkStarted();
+            return new DateRange(new Date(lowerBound), new Date(higherBound), lowerInclusive, higherInclusive);
+        }
+
+        @Override
+        public String toString() {
+            if (!started) {
+                return "Cursor [not started]";
+            }
+            return "Cursor [" + (lowerInclusive ? "[" : "(") + new Date(lowerBound) + ", " + new Date(higherBound)
+                    + (higherInclusive ? "]" : ")") + "]";
+        }
+
+    }
+
+    /**
+     * Adapts a {@link Cursor} to an {@link Iterator} that creates a range for every bucket.
+     */
+    private abstract static class CursorIterator<R> implements Iterator<R> {
+
+        private final Cursor cursor;
+
+        private boolean ready;
+
+        private boolean hasNext;
+
+        CursorIterator(final Cursor cursor) {
+            this.cursor = cursor;
+        }
+
+        abstract R createRange();
+
+        @Override
+        public boolean hasNext() {
+            if (!ready) {
+                hasNext = cursor.next();
+                ready = true;
+            }
+            return hasNext;
+        }
+
+        @Override
+        public R next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ready = false;
+            return createRange();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    private static void checkBounded(final Object lowerBound, final Object higherBound) {
+        if ((lowerBound == null) || (higherBound == null)) {
+            throw new IllegalArgumentException("range must have a lower and a higher bound");
+        }
+    }
+
+    /**
+     * Creates a stepper with the time zone and the first day of the week of a calendar.
+     *
+     * @param calendar
+     *            the calendar to take the settings from, it is not referenced later
+     * @param unit
+     *            one of {@link ChronoUnit#DAYS}, {@link ChronoUnit#WEEKS}, {@link ChronoUnit#MONTHS} and
+     *            {@link ChronoUnit#YEARS}
+     */
+    public static CalendarStepper forCalendar(final Calendar calendar, final ChronoUnit unit) {
+        if (calendar == null) {
+            throw new NullPointerException("calendar cannot be null");
+        }
+        // Calendar counts the days of the week from Sunday = 1, DayOfWeek from Monday = 1
+        DayOfWeek firstDayOfWeek = DayOfWeek.of(((calendar.getFirstDayOfWeek() + 5) % 7) + 1);
+        return new CalendarStepper(calendar.getTimeZone().toZoneId(), unit, firstDayOfWeek);
+    }
+
+    private final ZoneId zone;
+
+    private final ChronoUnit unit;
+
+    private final DayOfWeek firstDayOfWeek;
+
+    private final ZoneTransitionTable table;
+
+    /**
+     * Constructor.
+     *
+     * @param zone
+     *            the time zone that determines the local days
+     * @param unit
+     *            one of {@link ChronoUnit#DAYS}, {@link ChronoUnit#WEEKS}, {@link ChronoUnit#MONTHS} and
+     *            {@link ChronoUnit#YEARS}
+     * @param firstDayOfWeek
+     *            the first day of the weeks, only used if the unit is {@link ChronoUnit#WEEKS}
+     */
+    public CalendarStepper(final ZoneId zone, final ChronoUnit unit, final DayOfWeek firstDayOfWeek) {
+        if (zone == null) {
+            throw new NullPointerException("zone cannot be null");
+        }
+        if (unit == null) {
+            throw new NullPointerException("unit cannot be null");
+        }
+        if (firstDayOfWeek == null) {
+            throw new NullPointerException("firstDayOfWeek cannot be null");
+        }
+        if ((unit != ChronoUnit.DAYS) && (unit != ChronoUnit.WEEKS) && (unit != ChronoUnit.MONTHS)
+                && (unit != ChronoUnit.YEARS)) {
+            throw new IllegalArgumentException("unit [" + unit + "] is not one of DAYS, WEEKS, MONTHS and YEARS");
+        }
+        this.zone = zone;
+        this.unit = unit;
+        this.firstDayOfWeek = firstDayOfWeek;
+        table = ZoneTransitionTable.of(zone);
+    }
+
+    /**
+     * Returns the buckets of a range lazily. Every bucket is a new {@link CalendarRange} whose calendars are clones
+     * of the lower bound of the range, so they keep its time zone and locale settings.
+     *
+     * @param range
+     *            a range with a lower and a higher bound
+     */
+    public Iterable<CalendarRange> buckets(final CalendarRange range) {
+        final Calendar lowerBound = range.getLowerBound();
+        final Calendar higherBound = range.getHigherBound();
+        CalendarStepper.checkBounded(lowerBound, higherBound);
+        final boolean empty = RangeUtil.isEmpty(range);
+        final boolean lowerInclusive = range.isLowerInclusive();
+        final boolean higherInclusive = range.isHigherInclusive();
+        final long lowerMillis = lowerBound.getTimeInMillis();
+        final long higherMillis = higherBound.getTimeInMillis();
+        return new Iterable<CalendarRange>() {
+
+            @Override
+            public Iterator<CalendarRange> iterator() {
+                final Cursor cursor = new Cursor(lowerMillis, higherMillis, lowerInclusive, higherInclusive, empty);
+                return new CursorIterator<CalendarRange>(cursor) {
+
+                    @Override
+                    CalendarRange createRange() {
+                        Calendar bucketLower = (Calendar) lowerBound.clone();
+                        bucketLower.setTimeInMillis(cursor.getLowerBound());
+                        Calendar bucketHigher = (Calendar) lowerBound.clone();
+                        bucketHigher.setTimeInMillis(cursor.getHigherBound());
+                        return new CalendarRange(bucketLower, bucketHigher, cursor.isLowerInclusive(),
+                                cursor.isHigherInclusive());
+                    }
+
+                };
+            }
+
+        };
+    }
+
+    /**
+     * Returns the buckets of a range lazily as new {@link DateRange}s. Use {@link #cursor(DateRange)} to step
+     * through the buckets without creating objects.
+     *
+     * @param range
+     *            a range with a lower and a higher bound
+     */
+    public Iterable<DateRange> buckets(final DateRange range) {
+        CalendarStepper.checkBounded(range.getLowerBound(), range.getHigherBound());
+        final boolean empty = RangeUtil.isEmpty(range);
+        final long lowerMillis = range.getLowerBound().getTime();
+        final long higherMillis = range.getHigherBound().getTime();
+        final boolean lowerInclusive = range.isLowerInclusive();
+        final boolean higherInclusive = range.isHigherInclusive();
+        return new Iterable<DateRange>() {
+
+            @Override
+            public Iterator<DateRange> iterator() {
+                final Cursor cursor = new Cursor(lowerMillis, higherMillis, lowerInclusive, higherInclusive, empty);
+                return new CursorIterator<DateRange>(cursor) {
+
+                    @Override
+                    DateRange createRange() {
+                        return cursor.toDateRange();
+                    }
+
+                };
+            }
+
+        };
+    }
+
+    /**
+     * Creates a cursor over the buckets of a range. The cursor is positioned before the first bucket.
+     *
+     * @param range
+     *            a range with a lower and a higher bound
+     */
+    public Cursor cursor(final DateRange range) {
+        CalendarStepper.checkBounded(range.getLowerBound(), range.getHigherBound());
+        return new Cursor(range.getLowerBound().getTime(), range.getHigherBound().getTime(),
+                range.isLowerInclusive(), range.isHigherInclusive(), RangeUtil.isEmpty(range));
+    }
+
+    /**
+     * Returns the start of the bucket that contains an instant.
+     *
+     * @param epochMillis
+     *            the instant in epoch milliseconds
+     * @return the first instant of the bucket in epoch milliseconds
+     */
+    public long floor(final long epochMillis) {
+        return table.toEpochMillis(firstDayOfBucket(localDay(epochMillis)) * DAY_MILLIS);
+    }
+
+    private long firstDayOfBucket(final long epochDay) {
+        switch (unit) {
+        case DAYS:
+            return epochDay;
+        case WEEKS:
+            // 1970-01-01 was a Thursday
+            int dayOfWeek = (int) Math.floorMod(epochDay + 3, 7) + 1;
+            return epochDay - Math.floorMod(dayOfWeek - firstDayOfWeek.getValue(), 7);
+        case MONTHS:
+            return LocalDate.ofEpochDay(epochDay).withDayOfMonth(1).toEpochDay();
+        default:
+            return LocalDate.ofEpochDay(epochDay).withDayOfYear(1).toEpochDay();
+        }
+    }
+
+    public DayOfWeek getFirstDayOfWeek() {
+        return firstDayOfWeek;
+    }
+
+    public ChronoUnit getUnit() {
+        return unit;
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    private long localDay(final long epochMillis) {
+        return Math.floorDiv(epochMillis + table.getOffset(epochMillis), DAY_MILLIS);
+    }
+
+    /**
+     * Returns the start of the bucket that follows the bucket containing an instant.
+     *
+     * @param epochMillis
+     *            the instant in epoch milliseconds
+     * @return the first instant of the next bucket in epoch milliseconds
+     */
+    public long next(final long epochMillis) {
+        long firstDay = firstDayOfBucket(localDay(epochMillis));
+        long nextDay;
+        switch (unit) {
+        case DAYS:
+            nextDay = firstDay + 1;
+            break;
+        case WEEKS:
+            nextDay = firstDay + 7;
+            break;
+        case MONTHS:
+            nextDay = LocalDate.ofEpochDay(firstDay).plusMonths(1).toEpochDay();
+            break;
+        default:
+            nextDay = LocalDate.ofEpochDay(firstDay).plusYears(1).toEpochDay();
+            break;
+        }
+        return table.toEpochMillis(nextDay * DAY_MILLIS);
+    }
+
+    @Override
+    public String toString() {
+        return "CalendarStepper [zone=" + zone + ", unit=" + unit + ", firstDayOfWeek=" + firstDayOfWeek + "]";
+    }
+
+}
@@ -0,0 +1,178 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.util;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The offset transitions of a time zone between two instants, stored as sorted <code>long</code> and
+ * <code>int</code> arrays so that converting between epoch and local milliseconds is a binary search and an
+ * addition. Outside of the covered interval the {@link ZoneRules} of the zone are queried directly.
+ *
+ * The tables covering the years 1900 to 2100 are cached per zone, see {@link #of(ZoneId)}.
+ */
+final class ZoneTransitionTable {
+
+    /**
+     * 1900-01-01T00:00:00Z.
+     */
+    static final long CACHED_FROM = -2208988800000L;
+
+    /**
+     * 2100-01-01T00:00:00Z.
+     */
+    static final long CACHED_TO = 4102444800000L;
+
+    private static final ConcurrentMap<ZoneId, ZoneTransitionTable> CACHE =
+            new ConcurrentHashMap<ZoneId, ZoneTransitionTable>();
+
+    /**
+     * Returns the cached table of a zone, creating it on the first call.
+     */
+    static ZoneTransitionTable of(final ZoneId zone) {
+        ZoneTransitionTable table = CACHE.get(zone);
+        if (table == null) {
+            table = new ZoneTransitionTable(zone.getRules(), CACHED_FROM, CACHED_TO);
+            ZoneTransitionTable previous = CACHE.putIfAbsent(zone, table);
+            if (previous != null) {
+                table = previous;
+            }
+        }
+        return table;
+    }
+
+    private final ZoneRules rules;
+
+    private final long from;
+
+    private final long to;
+
+    /**
+     * The instants of the transitions in epoch milliseconds.
+     */
+    private final long[] transitions;
+
+    /**
+     * The offsets in milliseconds. The offset at index <code>i</code> is valid before the transition at index
+     * <code>i</code>, the last one after the last transition.
+     */
+    private final int[] offsets;
+
+    /**
+     * The local time in milliseconds where the offset at index <code>i</code> starts to be valid.
+     */
+    private final long[] localStarts;
+
+    ZoneTransitionTable(final ZoneRules rules, final long from, final long to) {
+        this.rules = rules;
+        this.from = from;
+        this.to = to;
+        List<ZoneOffsetTransition> found = new ArrayList<ZoneOffsetTransition>();
+        ZoneOffsetTransition transition = rules.nextTransition(Instant.ofEpochMilli(from));
+        while ((transition != null) && (transition.toEpochSecond() * 1000 <= to)) {
+            found.add(transition);
+            transition = rules.nextTransition(transition.getInstant());
+        }
+        int count = found.size();
+        transitions = new long[count];
+        offsets = new int[count + 1];
+        localStarts = new long[count + 1];
+        offsets[0] = rules.getOffset(Instant.ofEpochMilli(from)).getTotalSeconds() * 1000;
+        localStarts[0] = Long.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            transitions[i] = found.get(i).toEpochSecond() * 1000;
+            offsets[i + 1] = found.get(i).getOffsetAfter().getTotalSeconds() * 1000;
+            localStarts[i + 1] = transitions[i] + offsets[i + 1];
+        }
+    }
+
+    /**
+     * Returns the offset of the zone at an instant.
+     *
+     * @param epochMillis
+     *            the instant in epoch milliseconds
+     * @return the offset in milliseconds
+     */
+    int getOffset(final long epochMillis) {
+        if ((epochMillis < from) || (epochMillis > to)) {
+            return rules.getOffset(Instant.ofEpochMilli(epochMillis)).getTotalSeconds() * 1000;
+        }
+        int low = 0;
+        int high = transitions.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (transitions[mid] <= epochMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return offsets[low];
+    }
+
+    /**
+     * Converts a local time to an instant. If the local time is in an overlap the earlier instant is returned, if it
+     * is in a gap the instant of the transition, which is the first instant after the gap. This is the same as what
+     * {@link java.time.LocalDate#atStartOfDay(ZoneId)} does for midnight.
+     *
+     * @param localMillis
+     *            the local time in milliseconds since 1970-01-01T00:00
+     * @return the instant in epoch milliseconds
+     */
+    long toEpochMillis(final long localMillis) {
+        if ((localMillis - offsets[0] < from) || (localMillis - offsets[offsets.length - 1] > to)) {
+            return toEpochMillisByRules(localMillis);
+        }
+        int low = 0;
+        int high = localStarts.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (localStarts[mid] <= localMillis) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if ((low > 0) && (localMillis < transitions[low - 1] + offsets[low - 1])) {
+            return localMillis - offsets[low - 1];
+        }
+        if ((low < transitions.length) && (localMillis >= transitions[low] + offsets[low])) {
+            return transitions[low];
+        }
+        return localMillis - offsets[low];
+    }
+
+    private long toEpochMillisByRules(final long localMillis) {
+        LocalDateTime localDateTime = LocalDateTime.ofEpochSecond(Math.floorDiv(localMillis, 1000),
+                (int) Math.floorMod(localMillis, 1000) * 1000000, ZoneOffset.UTC);
+        ZoneOffsetTransition transition = rules.getTransition(localDateTime);
+        if ((transition != null) && transition.isGap()) {
+            return transition.toEpochSecond() * 1000;
+        }
+        return localMillis - rules.getValidOffsets(localDateTime).get(0).getTotalSeconds() * 1000L;
+    }
+
+}
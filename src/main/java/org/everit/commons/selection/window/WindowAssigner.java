@@ -0,0 +1,172 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.window;
+
+/**
+ * Assigns timestamps to tumbling or sliding windows by arithmetic. Every window is the half-open interval
+ * <code>[start, start + size)</code> where <code>start - offset</code> is a multiple of the slide. Timestamps and
+ * the parameters are measured in the same unit, e.g. seconds for {@link org.everit.commons.selection.util.SecondRange}
+ * windows.
+ *
+ * Instances are immutable.
+ */
+public final class WindowAssigner {
+
+    /**
+     * Creates an assigner of overlapping windows: every timestamp belongs to <code>ceil(size / slide)</code> windows.
+     *
+     * @param size
+     *            the length of the windows, must be positive
+     * @param slide
+     *            the distance of the starts of consecutive windows, must be positive and not greater than
+     *            <code>size</code>
+     */
+    public static WindowAssigner sliding(final long size, final long slide) {
+        return new WindowAssigner(size, slide, 0);
+    }
+
+    /**
+     * Creates an assigner of consecutive, non-overlapping windows.
+     *
+     * @param size
+     *            the length of the windows, must be positive
+     */
+    public static WindowAssigner tumbling(final long size) {
+        return new WindowAssigner(size, size, 0);
+    }
+
+    private final long size;
+
+    private final long slide;
+
+    private final long offset;
+
+    /**
+     * Constructor.
+     *
+     * @param size
+     *            the length of the windows, must be positive
+     * @param slide
+     *            the distance of the starts of consecutive windows, must be positive and not greater than
+     *            <code>size</code>
+     * @param offset
+     *            the shift of the window starts, e.g. to align daily windows to a time zone. Must be non-negative and
+     *            less than <code>slide</code>.
+     */
+    public WindowAssigner(final long size, final long slide, final long offset) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size [" + size + "] is less than 1");
+        }
+        if ((slide < 1) || (slide > size)) {
+            throw new IllegalArgumentException("slide [" + slide + "] is not between 1 and size [" + size + "]");
+        }
+        if ((offset < 0) || (offset >= slide)) {
+            throw new IllegalArgumentException("offset [" + offset + "] is not between 0 and slide [" + slide
+                    + "] (exclusive)");
+        }
+        this.size = size;
+        this.slide = slide;
+        this.offset = offset;
+    }
+
+    /**
+     * Writes the starts of the windows containing a timestamp into an array in descending order.
+     *
+     * @param timestamp
+     *            the timestamp
+     * @param starts
+     *            the array the starts are written to, must have at least {@link #getMaxWindowsPerTimestamp()}
+     *            elements
+     * @return the number of the windows
+     */
+    public int assign(final long timestamp, final long[] starts) {
+        long start = lastWindowStart(timestamp);
+        long firstStart = timestamp - size;
+        int count = 0;
+        while (start > firstStart) {
+            starts[count++] = start;
+            start -= slide;
+        }
+        return count;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        WindowAssigner other = (WindowAssigner) obj;
+        if (offset != other.offset) {
+            return false;
+        }
+        if (size != other.size) {
+            return false;
+        }
+        if (slide != other.slide) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the maximum number of the windows a timestamp can belong to.
+     */
+    public int getMaxWindowsPerTimestamp() {
+        return (int) (((size - 1) / slide) + 1);
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getSlide() {
+        return slide;
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = (prime * result) + (int) (offset ^ (offset >>> 32));
+        result = (prime * result) + (int) (size ^ (size >>> 32));
+        result = (prime * result) + (int) (slide ^ (slide >>> 32));
+        return result;
+    }
+
+    /**
+     * Returns the start of the last window containing a timestamp.
+     */
+    public long lastWindowStart(final long timestamp) {
+        return (Math.floorDiv(timestamp - offset, slide) * slide) + offset;
+    }
+
+    @Override
+    public String toString() {
+        return "WindowAssigner [size=" + size + ", slide=" + slide + ", offset=" + offset + "]";
+    }
+
+}
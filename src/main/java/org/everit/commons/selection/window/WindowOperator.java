@@ -0,0 +1,256 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.window;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+import org.everit.commons.selection.Range;
+
+/**
+ * Groups timestamped values into windows and aggregates them incrementally. Every value is added to the accumulators
+ * of its windows when it arrives (see {@link WindowAssigner}), the accumulators are created and combined by a
+ * {@link Collector}, e.g. {@link java.util.stream.Collectors#summarizingLong(java.util.function.ToLongFunction)} for
+ * count, sum, minimum and maximum, or any custom collector.
+ *
+ * Values can arrive out of order. A window is closed and its result is emitted when the watermark (the timestamp up
+ * to which all values are expected to have arrived) passes the end of the window plus the allowed lateness. Values
+ * that arrive after all of their windows are closed are dropped and counted.
+ *
+ * The open windows are kept sorted by their start and looked up by binary search on primitive values, so adding a
+ * value to existing windows does not create objects beyond what the collector does. The range of a window is created
+ * once when the window is opened.
+ *
+ * The class does not ensure thread safety.
+ *
+ * @param <V>
+ *            the type of the values
+ * @param <R>
+ *            the type of the aggregated results
+ * @param <W>
+ *            the type of the window ranges
+ */
+public class WindowOperator<V, R, W extends Range<?>> {
+
+    /**
+     * An open window with its accumulator.
+     */
+    private static final class OpenWindow<W> {
+
+        private final long start;
+
+        private final W range;
+
+        private final Object accumulator;
+
+        private OpenWindow(final long start, final W range, final Object accumulator) {
+            this.start = start;
+            this.range = range;
+            this.accumulator = accumulator;
+        }
+
+    }
+
+    private final WindowAssigner assigner;
+
+    private final long allowedLateness;
+
+    private final WindowRangeFactory<? extends W> rangeFactory;
+
+    private final Supplier<Object> supplier;
+
+    private final BiConsumer<Object, ? super V> accumulator;
+
+    private final Function<Object, R> finisher;
+
+    /**
+     * The open windows sorted by their start.
+     */
+    private final List<OpenWindow<W>> openWindows = new ArrayList<OpenWindow<W>>();
+
+    private final long[] starts;
+
+    private long watermark = Long.MIN_VALUE;
+
+    private long droppedCount;
+
+    /**
+     * Constructor.
+     *
+     * @param assigner
+     *            assigns the values to windows, cannot be null
+     * @param allowedLateness
+     *            the time a window is kept open after the watermark passed its end, must not be negative
+     * @param rangeFactory
+     *            creates the ranges of the windows, cannot be null
+     * @param collector
+     *            aggregates the values of a window, cannot be null
+     */
+    @SuppressWarnings("unchecked")
+    public WindowOperator(final WindowAssigner assigner, final long allowedLateness,
+            final WindowRangeFactory<? extends W> rangeFactory, final Collector<? super V, ?, R> collector) {
+        if (assigner == null) {
+            throw new NullPointerException("assigner cannot be null");
+        }
+        if (allowedLateness < 0) {
+            throw new IllegalArgumentException("allowedLateness [" + allowedLateness + "] is negative");
+        }
+        if (rangeFactory == null) {
+            throw new NullPointerException("rangeFactory cannot be null");
+        }
+        if (collector == null) {
+            throw new NullPointerException("collector cannot be null");
+        }
+        Collector<? super V, Object, R> objectCollector = (Collector<? super V, Object, R>) collector;
+        this.assigner = assigner;
+        this.allowedLateness = allowedLateness;
+        this.rangeFactory = rangeFactory;
+        supplier = objectCollector.supplier();
+        accumulator = objectCollector.accumulator();
+        finisher = objectCollector.finisher();
+        starts = new long[assigner.getMaxWindowsPerTimestamp()];
+    }
+
+    /**
+     * Adds a value to the windows of its timestamp that are not closed yet.
+     *
+     * @param timestamp
+     *            the timestamp of the value
+     * @param value
+     *            the value
+     * @return <code>true</code> if the value was added to at least one window, <code>false</code> if it was dropped
+     *         because it arrived too late
+     */
+    public boolean add(final long timestamp, final V value) {
+        int count = assigner.assign(timestamp, starts);
+        boolean added = false;
+        for (int i = 0; i < count; i++) {
+            long start = starts[i];
+            if (isClosed(start)) {
+                break;
+            }
+            int index = indexOf(start);
+            OpenWindow<W> window;
+            if (index >= 0) {
+                window = openWindows.get(index);
+            } else {
+                window = new OpenWindow<W>(start, rangeFactory.createWindowRange(start, start + assigner.getSize()),
+                        supplier.get());
+                openWindows.add(-index - 1, window);
+            }
+            accumulator.accept(window.accumulator, value);
+            added = true;
+        }
+        if (!added) {
+            droppedCount++;
+        }
+        return added;
+    }
+
+    /**
+     * Advances the watermark and closes the windows it passed.
+     *
+     * @param newWatermark
+     *            the new watermark. A watermark lower than the current one is ignored.
+     * @return the results of the closed windows in the order of their starts
+     */
+    public List<WindowResult<W, R>> advanceWatermark(final long newWatermark) {
+        if (newWatermark <= watermark) {
+            return Collections.emptyList();
+        }
+        watermark = newWatermark;
+        int closedCount = 0;
+        while ((closedCount < openWindows.size()) && isClosed(openWindows.get(closedCount).start)) {
+            closedCount++;
+        }
+        if (closedCount == 0) {
+            return Collections.emptyList();
+        }
+        List<OpenWindow<W>> closed = openWindows.subList(0, closedCount);
+        List<WindowResult<W, R>> results = new ArrayList<WindowResult<W, R>>(closedCount);
+        for (OpenWindow<W> window : closed) {
+            results.add(new WindowResult<W, R>(window.range, finisher.apply(window.accumulator)));
+        }
+        closed.clear();
+        return results;
+    }
+
+    public long getAllowedLateness() {
+        return allowedLateness;
+    }
+
+    public WindowAssigner getAssigner() {
+        return assigner;
+    }
+
+    /**
+     * Returns the number of the values dropped because all of their windows were closed when they arrived.
+     */
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Returns the number of the windows that received values and are not closed yet.
+     */
+    public int getOpenWindowCount() {
+        return openWindows.size();
+    }
+
+    public long getWatermark() {
+        return watermark;
+    }
+
+    /**
+     * Binary search for an open window by its start.
+     *
+     * @return the index of the window or <code>-(insertion point) - 1</code>
+     */
+    private int indexOf(final long start) {
+        int low = 0;
+        int high = openWindows.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midStart = openWindows.get(mid).start;
+            if (midStart < start) {
+                low = mid + 1;
+            } else if (midStart > start) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private boolean isClosed(final long start) {
+        long closeTime = start + assigner.getSize() + allowedLateness;
+        return (watermark != Long.MIN_VALUE) && (watermark >= closeTime);
+    }
+
+    @Override
+    public String toString() {
+        return "WindowOperator [assigner=" + assigner + ", allowedLateness=" + allowedLateness + ", watermark="
+                + watermark + ", openWindows=" + openWindows.size() + "]";
+    }
+
+}
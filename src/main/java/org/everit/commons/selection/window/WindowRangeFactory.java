@@ -0,0 +1,51 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.window;
+
+import java.sql.Timestamp;
+
+import org.everit.commons.selection.Range;
+import org.everit.commons.selection.sql.TimestampRange;
+import org.everit.commons.selection.util.SecondRange;
+
+/**
+ * Creates the range representing a window. Called once per window, the same range instance is used for all events of
+ * the window.
+ *
+ * @param <W>
+ *            the type of the window ranges
+ */
+@FunctionalInterface
+public interface WindowRangeFactory<W extends Range<?>> {
+
+    /**
+     * Creates <code>[start, end)</code> {@link SecondRange}s, for timestamps measured in seconds.
+     */
+    WindowRangeFactory<SecondRange> SECOND_RANGES = (start, end) -> new SecondRange(start, end, true, false);
+
+    /**
+     * Creates <code>[start, end)</code> {@link TimestampRange}s, for timestamps measured in milliseconds.
+     */
+    WindowRangeFactory<TimestampRange> TIMESTAMP_RANGES = (start, end) -> new TimestampRange(new Timestamp(start),
+            new Timestamp(end), true, false);
+
+    /**
+     * Creates the range of the window <code>[start, end)</code>.
+     */
+    W createWindowRange(long start, long end);
+
+}
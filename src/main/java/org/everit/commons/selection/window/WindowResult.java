@@ -0,0 +1,86 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.window;
+
+import org.everit.commons.selection.Range;
+
+/**
+ * The final aggregated result of a closed window.
+ *
+ * @param <W>
+ *            the type of the window ranges
+ * @param <R>
+ *            the type of the aggregated results
+ */
+public class WindowResult<W extends Range<?>, R> {
+
+    private final W window;
+
+    private final R result;
+
+    public WindowResult(final W window, final R result) {
+        if (window == null) {
+            throw new NullPointerException("window cannot be null");
+        }
+        this.window = window;
+        this.result = result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        WindowResult<?, ?> other = (WindowResult<?, ?>) obj;
+        if (!window.equals(other.window)) {
+            return false;
+        }
+        if (result == null) {
+            return other.result == null;
+        }
+        return result.equals(other.result);
+    }
+
+    public R getResult() {
+        return result;
+    }
+
+    public W getWindow() {
+        return window;
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int hash = 1;
+        hash = (prime * hash) + ((result == null) ? 0 : result.hashCode());
+        hash = (prime * hash) + window.hashCode();
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "WindowResult [window=" + window + ", result=" + result + "]";
+    }
+
+}
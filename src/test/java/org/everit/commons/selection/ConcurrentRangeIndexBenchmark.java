@@ -0,0 +1,167 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.everit.commons.selection.util.DateRange;
+
+/**
+ * Measures the throughput of {@link ConcurrentRangeIndex} and of an {@link IntervalTree} guarded by a global lock
+ * with an increasing number of threads. Every thread runs a mix of 10% inserts, 10% removes and 80% overlap queries
+ * on {@link DateRange}s.
+ *
+ * Not a unit test, run it with <code>java ... org.everit.commons.selection.ConcurrentRangeIndexBenchmark</code>.
+ */
+public final class ConcurrentRangeIndexBenchmark {
+
+    private static final int INITIAL_SIZE = 100000;
+
+    private static final long DURATION_MILLIS = 2000;
+
+    private static final long TIME_SPAN = 365L * 24 * 60 * 60 * 1000;
+
+    private static final long MAX_LENGTH = 24L * 60 * 60 * 1000;
+
+    /**
+     * A {@link RangeIndex} wrapper that serializes every call with a global lock.
+     */
+    private static final class LockedIndex<T extends Comparable<? super T>, V> implements RangeIndex<T, V> {
+
+        private final RangeIndex<T, V> delegate;
+
+        private LockedIndex(final RangeIndex<T, V> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public synchronized void add(final Range<T> range, final V value) {
+            delegate.add(range, value);
+        }
+
+        @Override
+        public synchronized void clear() {
+            delegate.clear();
+        }
+
+        @Override
+        public synchronized List<RangeMatch<T, V>> findContaining(final T point) {
+            return delegate.findContaining(point);
+        }
+
+        @Override
+        public synchronized List<RangeMatch<T, V>> findOverlapping(final Range<T> query) {
+            return delegate.findOverlapping(query);
+        }
+
+        @Override
+        public synchronized boolean isEmpty() {
+            return delegate.isEmpty();
+        }
+
+        @Override
+        public synchronized boolean overlaps(final Range<T> query) {
+            return delegate.overlaps(query);
+        }
+
+        @Override
+        public synchronized boolean remove(final Range<T> range, final V value) {
+            return delegate.remove(range, value);
+        }
+
+        @Override
+        public synchronized int size() {
+            return delegate.size();
+        }
+
+    }
+
+    public static void main(final String[] args) throws InterruptedException {
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            long lockedOps = ConcurrentRangeIndexBenchmark.run(new LockedIndex<Date, Integer>(
+                    new IntervalTree<Date, Integer>()), threads);
+            long concurrentOps = ConcurrentRangeIndexBenchmark.run(new ConcurrentRangeIndex<Date, Integer>(),
+                    threads);
+            System.out.println("threads=" + threads + " locked IntervalTree ops/s=" + lockedOps
+                    + " ConcurrentRangeIndex ops/s=" + concurrentOps);
+        }
+    }
+
+    private static DateRange randomRange(final Random random) {
+        long lower = (long) (random.nextDouble() * TIME_SPAN);
+        return new DateRange(new Date(lower), new Date(lower + (long) (random.nextDouble() * MAX_LENGTH)), true,
+                false);
+    }
+
+    private static long run(final RangeIndex<Date, Integer> index, final int threadCount)
+            throws InterruptedException {
+        Random random = new Random(1);
+        for (int i = 0; i < INITIAL_SIZE; i++) {
+            index.add(ConcurrentRangeIndexBenchmark.randomRange(random), i);
+        }
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicLong operations = new AtomicLong();
+        final long[] deadline = new long[1];
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            final int seed = i + 2;
+            threads[i] = new Thread() {
+
+                @Override
+                public void run() {
+                    Random random = new Random(seed);
+                    long count = 0;
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    while (System.currentTimeMillis() < deadline[0]) {
+                        DateRange range = ConcurrentRangeIndexBenchmark.randomRange(random);
+                        int operation = random.nextInt(10);
+                        if (operation == 0) {
+                            index.add(range, seed);
+                        } else if (operation == 1) {
+                            index.remove(range, seed);
+                        } else {
+                            index.findOverlapping(range);
+                        }
+                        count++;
+                    }
+                    operations.addAndGet(count);
+                }
+
+            };
+            threads[i].start();
+        }
+        deadline[0] = System.currentTimeMillis() + DURATION_MILLIS;
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return (operations.get() * 1000) / DURATION_MILLIS;
+    }
+
+    private ConcurrentRangeIndexBenchmark() {
+    }
+
+}
@@ -0,0 +1,112 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.everit.commons.selection.lang.LongRange;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ConcurrentRangeIndexTest {
+
+    @Test
+    public void testAddIfNotOverlappingConcurrently() throws InterruptedException {
+        final ConcurrentRangeIndex<Long, Integer> index = new ConcurrentRangeIndex<Long, Integer>();
+        final int threadCount = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger reserved = new AtomicInteger();
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < threadCount; i++) {
+            final int threadIndex = i;
+            Thread thread = new Thread() {
+
+                @Override
+                public void run() {
+                    Random random = new Random(threadIndex);
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int j = 0; j < 2000; j++) {
+                        long lower = random.nextInt(10000);
+                        long higher = lower + 1 + random.nextInt(20);
+                        if (index.addIfNotOverlapping(new LongRange(lower, higher, true, false), threadIndex)) {
+                            reserved.incrementAndGet();
+                        }
+                    }
+                }
+
+            };
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(reserved.get(), index.size());
+        List<RangeMatch<Long, Integer>> all = index.findOverlapping(new LongRange(0l, 20000l));
+        Assert.assertEquals(reserved.get(), all.size());
+        for (RangeMatch<Long, Integer> match : all) {
+            Assert.assertEquals(1, index.findOverlapping(match.getRange()).size());
+        }
+    }
+
+    @Test
+    public void testSameResultsAsIntervalTree() {
+        Random random = new Random(20141017);
+        IntervalTree<Long, Integer> tree = new IntervalTree<Long, Integer>();
+        ConcurrentRangeIndex<Long, Integer> index = new ConcurrentRangeIndex<Long, Integer>();
+        List<Range<Long>> ranges = new ArrayList<Range<Long>>();
+        List<Integer> values = new ArrayList<Integer>();
+        for (int i = 0; i < 2000; i++) {
+            if ((i % 3 == 2) && !ranges.isEmpty()) {
+                int position = random.nextInt(ranges.size());
+                Range<Long> range = ranges.remove(position);
+                Integer value = values.remove(position);
+                Assert.assertTrue(index.remove(range, value));
+                Assert.assertFalse(index.remove(range, -1));
+                tree.remove(range, value);
+            } else {
+                long lower = random.nextInt(1000);
+                Range<Long> range = new LongRange(lower, lower + random.nextInt(50), random.nextBoolean(),
+                        random.nextBoolean());
+                ranges.add(range);
+                values.add(i % 7);
+                index.add(range, i % 7);
+                tree.add(range, i % 7);
+            }
+            Assert.assertEquals(tree.size(), index.size());
+            long lower = random.nextInt(1000);
+            Range<Long> query = new LongRange(lower, lower + random.nextInt(50));
+            Assert.assertEquals(new HashSet<RangeMatch<Long, Integer>>(tree.findOverlapping(query)),
+                    new HashSet<RangeMatch<Long, Integer>>(index.findOverlapping(query)));
+            Assert.assertEquals(tree.overlaps(query), index.overlaps(query));
+            Assert.assertEquals(tree.findContaining(lower).size(), index.findContaining(lower).size());
+        }
+        index.clear();
+        Assert.assertTrue(index.isEmpty());
+    }
+
+}
@@ -0,0 +1,160 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CountStrategyTest {
+
+    private static final int NUMBER_OF_ALL_ELEMENTS = 47;
+
+    /**
+     * Simulates a page query that fetches max results + 1 rows.
+     */
+    private static List<Long> fetch(final Limit limit) {
+        return CountStrategyTest.fetch(limit, NUMBER_OF_ALL_ELEMENTS);
+    }
+
+    /**
+     * Simulates a page query that fetches max results + 1 rows from a table with the given number of rows.
+     */
+    private static List<Long> fetch(final Limit limit, final long numberOfAllElements) {
+        List<Long> rows = new ArrayList<Long>();
+        long end = Math.min(numberOfAllElements, limit.getFirstResult() + CountStrategy.getFetchSize(limit));
+        for (long i = limit.getFirstResult(); i < end; i++) {
+            rows.add(i);
+        }
+        return rows;
+    }
+
+    @Test
+    public void testCapped() {
+        Page<Long> page = Page.of(CountStrategyTest.fetch(new PageLimit(1, 5)), new PageLimit(1, 5),
+                CountStrategy.capped(cap -> Math.min(cap, NUMBER_OF_ALL_ELEMENTS), 20));
+        Assert.assertEquals(ElementCount.atLeast(20), page.getElementCount());
+        Assert.assertEquals(4, page.getLastAvailablePageIndex());
+        Assert.assertEquals(Arrays.asList(1L, 2L, 3L, 4L), page.getClickablePageIndexes(7));
+
+        page = Page.of(CountStrategyTest.fetch(new PageLimit(1, 5)), new PageLimit(1, 5),
+                CountStrategy.capped(cap -> Math.min(cap, NUMBER_OF_ALL_ELEMENTS), 100));
+        Assert.assertEquals(ElementCount.exact(NUMBER_OF_ALL_ELEMENTS), page.getElementCount());
+        Assert.assertEquals(10, page.getLastAvailablePageIndex());
+    }
+
+    @Test
+    public void testEstimated() {
+        Page<Long> page = Page.of(CountStrategyTest.fetch(new PageLimit(2, 10)), new PageLimit(2, 10),
+                CountStrategy.estimated(() -> 12, 5));
+        Assert.assertEquals(ElementCount.estimated(12, 5).withMinimum(21), page.getElementCount());
+        Assert.assertEquals(21, page.getElementCount().getValue());
+        Assert.assertEquals(21, page.getElementCount().getLowerBound());
+        Assert.assertEquals(26, page.getElementCount().getHigherBound());
+        Assert.assertEquals(3, page.getLastAvailablePageIndex());
+        Assert.assertFalse(page.isLastAvailablePageIndexExact());
+        Assert.assertTrue(page.hasNextPage());
+
+        page = Page.of(CountStrategyTest.fetch(new PageLimit(1, 10)), new PageLimit(1, 10),
+                CountStrategy.estimated(() -> 40, 25));
+        Assert.assertEquals(ElementCount.estimated(40, 25), page.getElementCount());
+        Assert.assertEquals(15, page.getElementCount().getLowerBound());
+        Assert.assertEquals(65, page.getElementCount().getHigherBound());
+    }
+
+    @Test
+    public void testExactSkipsCountOnLastPage() {
+        final AtomicInteger countQueries = new AtomicInteger();
+        CountStrategy strategy = CountStrategy.exact(() -> {
+            countQueries.incrementAndGet();
+            return NUMBER_OF_ALL_ELEMENTS;
+        });
+        LimitedResult<Long> result = LimitedResult.of(CountStrategyTest.fetch(new Limit(0, 10)), new Limit(0, 10),
+                strategy);
+        Assert.assertEquals(10, result.getElements().size());
+        Assert.assertEquals(ElementCount.exact(NUMBER_OF_ALL_ELEMENTS), result.getElementCount());
+        Assert.assertEquals(1, countQueries.get());
+
+        result = LimitedResult.of(CountStrategyTest.fetch(new Limit(40, 10)), new Limit(40, 10), strategy);
+        Assert.assertEquals(7, result.getElements().size());
+        Assert.assertEquals(NUMBER_OF_ALL_ELEMENTS, result.getNumberOfAllElements());
+        Assert.assertEquals(1, countQueries.get());
+        Assert.assertEquals(new LimitedResult<Long>(result.getElements(), NUMBER_OF_ALL_ELEMENTS, new Limit(40, 10)),
+                result);
+    }
+
+    @Test
+    public void testFullLastPage() {
+        final AtomicInteger countQueries = new AtomicInteger();
+        CountStrategy strategy = CountStrategy.exact(() -> {
+            countQueries.incrementAndGet();
+            return 50;
+        });
+        PageLimit limit = new PageLimit(5, 10);
+        Page<Long> page = Page.of(CountStrategyTest.fetch(limit, 50), limit, strategy);
+        Assert.assertEquals(ElementCount.exact(50), page.getElementCount());
+        Assert.assertEquals(0, countQueries.get());
+        Assert.assertFalse(page.hasNextPage());
+
+        page = Page.of(CountStrategyTest.fetch(limit, 50), limit, CountStrategy.hasMore());
+        Assert.assertTrue(page.isLastAvailablePageIndexExact());
+        Assert.assertEquals(5, page.getLastAvailablePageIndex());
+
+        limit = new PageLimit(4, 10);
+        page = Page.of(CountStrategyTest.fetch(limit, 50), limit, CountStrategy.hasMore());
+        Assert.assertEquals(ElementCount.atLeast(41), page.getElementCount());
+        Assert.assertTrue(page.hasNextPage());
+    }
+
+    @Test
+    public void testHasMore() {
+        List<Long> clickable = null;
+        long pageIndex = 1;
+        Page<Long> page;
+        do {
+            PageLimit limit = new PageLimit(pageIndex, 10);
+            page = Page.of(CountStrategyTest.fetch(limit), limit, CountStrategy.hasMore());
+            clickable = page.getClickablePageIndexes(5);
+            pageIndex++;
+        } while (page.hasNextPage());
+        Assert.assertEquals(5, page.getPageIndex());
+        Assert.assertTrue(page.isLastAvailablePageIndexExact());
+        Assert.assertEquals(NUMBER_OF_ALL_ELEMENTS, page.getNumberOfAllElements());
+        Assert.assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L), clickable);
+
+        PageLimit limit = new PageLimit(2, 10);
+        page = Page.of(CountStrategyTest.fetch(limit), limit, CountStrategy.hasMore());
+        Assert.assertEquals(ElementCount.atLeast(21), page.getElementCount());
+        Assert.assertEquals(3, page.getLastAvailablePageIndex());
+        Assert.assertEquals(Arrays.asList(1L, 2L, 3L), page.getClickablePageIndexes(5));
+        Assert.assertFalse(page.equals(new Page<Long>(page.getElements(), 21, limit)));
+    }
+
+    @Test
+    public void testPageAfterTheEnd() {
+        PageLimit limit = new PageLimit(9, 10);
+        Page<Long> page = Page.of(CountStrategyTest.fetch(limit), limit, CountStrategy.hasMore());
+        Assert.assertEquals(ElementCount.atLeast(0), page.getElementCount());
+        Assert.assertEquals(9, page.getLastAvailablePageIndex());
+        Assert.assertFalse(page.hasNextPage());
+    }
+
+}
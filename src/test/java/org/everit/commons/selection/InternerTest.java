@@ -0,0 +1,105 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.everit.commons.selection.util.DateRange;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class InternerTest {
+
+    @Test
+    public void testCanonicalInstances() {
+        Interner<Object> interner = new Interner<Object>(100);
+        PageLimit limit = new PageLimit(1, 20);
+        Assert.assertSame(limit, interner.intern(limit));
+        Assert.assertSame(limit, interner.intern(new PageLimit(1, 20)));
+        DateRange range = new DateRange(new Date(0), new Date(86400000), true, false);
+        Assert.assertSame(range, interner.intern(range));
+        Assert.assertSame(range, interner.intern(new DateRange(new Date(0), new Date(86400000), true, false)));
+        Assert.assertNotSame(range, interner.intern(new DateRange(new Date(0), new Date(86400000))));
+        Assert.assertEquals(3, interner.size());
+        Assert.assertEquals(2, interner.getHitCount());
+        Assert.assertEquals(3, interner.getMissCount());
+        interner.clear();
+        Assert.assertEquals(0, interner.size());
+    }
+
+    @Test
+    public void testConcurrentInterning() throws InterruptedException {
+        final Interner<Limit> interner = new Interner<Limit>(1000);
+        final CountDownLatch start = new CountDownLatch(1);
+        final Limit[][] results = new Limit[4][100];
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < results.length; i++) {
+            final Limit[] threadResults = results[i];
+            Thread thread = new Thread() {
+
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int j = 0; j < threadResults.length; j++) {
+                        threadResults[j] = interner.intern(new PageLimit(j + 1, 20));
+                    }
+                }
+
+            };
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (int j = 0; j < results[0].length; j++) {
+            for (Limit[] threadResults : results) {
+                Assert.assertSame(results[0][j], threadResults[j]);
+            }
+        }
+    }
+
+    @Test
+    public void testEviction() {
+        Interner<Limit> interner = new Interner<Limit>(1);
+        Limit first = new Limit(0, 10);
+        interner.intern(first);
+        interner.intern(new Limit(10, 10));
+        Assert.assertEquals(1, interner.size());
+        Assert.assertNotSame(first, interner.intern(new Limit(0, 10)));
+
+        interner = new Interner<Limit>(50);
+        for (int i = 0; i < 1000; i++) {
+            interner.intern(new Limit(i, 10));
+        }
+        Assert.assertEquals(50, interner.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMaximumSize() {
+        new Interner<Limit>(0);
+    }
+
+}
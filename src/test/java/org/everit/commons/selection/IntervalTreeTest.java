@@ -0,0 +1,102 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.everit.commons.selection.lang.LongRange;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IntervalTreeTest {
+
+    private static Range<Long> randomRange(final Random random) {
+        long lower = random.nextInt(1000);
+        long higher = lower + random.nextInt(50);
+        return new LongRange(lower, higher, random.nextBoolean(), random.nextBoolean());
+    }
+
+    private static Set<RangeMatch<Long, Integer>> expectedMatches(final List<Range<Long>> ranges,
+            final List<Integer> values, final Range<Long> query) {
+        Set<RangeMatch<Long, Integer>> result = new HashSet<RangeMatch<Long, Integer>>();
+        for (int i = 0; i < ranges.size(); i++) {
+            Range<Long> range = ranges.get(i);
+            RangeRelation relation = range.getRelationTo(query);
+            if (!relation.isDistinct() && !RangeUtil.isEmpty(range) && !RangeUtil.isEmpty(query)) {
+                result.add(new RangeMatch<Long, Integer>(range, values.get(i), relation));
+            }
+        }
+        return result;
+    }
+
+    @Test
+    public void testFindContaining() {
+        IntervalTree<Long, String> tree = new IntervalTree<Long, String>();
+        tree.add(new LongRange(1l, 10l), "a");
+        tree.add(new LongRange(5l, 10l, false, true), "b");
+        tree.add(new LongRange(10l, 20l), "c");
+        tree.add(new LongRange(1l, 10l), "d");
+
+        List<RangeMatch<Long, String>> matches = tree.findContaining(5l);
+        Assert.assertEquals(2, matches.size());
+        Assert.assertEquals("a", matches.get(0).getValue());
+        Assert.assertEquals("d", matches.get(1).getValue());
+        Assert.assertEquals(RangeRelation.CONTAINED, matches.get(0).getRelation());
+
+        matches = tree.findContaining(10l);
+        Assert.assertEquals(4, matches.size());
+
+        Assert.assertTrue(tree.remove(new LongRange(1l, 10l), "a"));
+        Assert.assertFalse(tree.remove(new LongRange(1l, 10l), "a"));
+        Assert.assertEquals(3, tree.size());
+        Assert.assertEquals(1, tree.findContaining(5l).size());
+        Assert.assertFalse(tree.overlaps(new LongRange(20l, 30l, false, true)));
+    }
+
+    @Test
+    public void testRandomAgainstLinearScan() {
+        Random random = new Random(20141017);
+        IntervalTree<Long, Integer> tree = new IntervalTree<Long, Integer>();
+        List<Range<Long>> ranges = new ArrayList<Range<Long>>();
+        List<Integer> values = new ArrayList<Integer>();
+        for (int i = 0; i < 2000; i++) {
+            if ((i % 3 == 2) && !ranges.isEmpty()) {
+                int index = random.nextInt(ranges.size());
+                Assert.assertTrue(tree.remove(ranges.remove(index), values.remove(index)));
+            } else {
+                Range<Long> range = IntervalTreeTest.randomRange(random);
+                ranges.add(range);
+                values.add(i);
+                tree.add(range, i);
+            }
+            Assert.assertEquals(ranges.size(), tree.size());
+            if (i % 10 == 0) {
+                Range<Long> query = IntervalTreeTest.randomRange(random);
+                Set<RangeMatch<Long, Integer>> expected = IntervalTreeTest.expectedMatches(ranges, values, query);
+                List<RangeMatch<Long, Integer>> actual = tree.findOverlapping(query);
+                Assert.assertEquals(expected.size(), actual.size());
+                Assert.assertEquals(expected, new HashSet<RangeMatch<Long, Integer>>(actual));
+                Assert.assertEquals(!expected.isEmpty(), tree.overlaps(query));
+            }
+        }
+    }
+
+}
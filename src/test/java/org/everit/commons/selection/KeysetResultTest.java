@@ -0,0 +1,143 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class KeysetResultTest {
+
+    private static final class Row implements java.io.Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int group;
+
+        private final long id;
+
+        private Row(final int group, final long id) {
+            this.group = group;
+            this.id = id;
+        }
+
+        private SortKey getKey() {
+            return SortKey.of(group).withTieBreaker(id);
+        }
+
+        @Override
+        public String toString() {
+            return group + "/" + id;
+        }
+
+    }
+
+    private static List<Row> createRows() {
+        List<Row> rows = new ArrayList<Row>();
+        for (long id = 0; id < 23; id++) {
+            rows.add(new Row((int) ((id * 7) % 5), id));
+        }
+        Collections.sort(rows, (a, b) -> a.getKey().compareTo(b.getKey()));
+        return rows;
+    }
+
+    /**
+     * Simulates a database query for the limit using the range of the limit as the predicate.
+     */
+    private static List<Row> fetch(final List<Row> sortedRows, final SeekLimit limit) {
+        List<Row> rows = new ArrayList<Row>(sortedRows);
+        if (limit.getDirection() == SeekDirection.BEFORE) {
+            Collections.reverse(rows);
+        }
+        Range<SortKey> range = limit.toRange();
+        Range<Integer> leadingRange = limit.toLeadingRange();
+        List<Row> result = new ArrayList<Row>();
+        for (Row row : rows) {
+            if ((range == null) || RangeUtil.contains(range, row.getKey())) {
+                Assert.assertTrue((leadingRange == null) || RangeUtil.contains(leadingRange, row.group));
+                result.add(row);
+                if (result.size() > limit.getMaxResults()) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Test
+    public void testBackward() {
+        List<Row> rows = KeysetResultTest.createRows();
+        List<Row> collected = new ArrayList<Row>();
+        SeekLimit limit = new SeekLimit(null, SeekDirection.BEFORE, 4);
+        int pages = 0;
+        while (limit != null) {
+            KeysetResult<Row> result = KeysetResult.of(KeysetResultTest.fetch(rows, limit), limit, Row::getKey);
+            collected.addAll(0, result.getElements());
+            Assert.assertEquals(pages > 0, result.hasNext());
+            limit = result.getPreviousLimit();
+            pages++;
+        }
+        Assert.assertEquals(6, pages);
+        Assert.assertEquals(rows, collected);
+    }
+
+    @Test
+    public void testEmpty() {
+        KeysetResult<Row> result = KeysetResult.of(new ArrayList<Row>(), new SeekLimit(null, SeekDirection.AFTER, 3),
+                Row::getKey);
+        Assert.assertFalse(result.hasNext());
+        Assert.assertFalse(result.hasPrevious());
+        Assert.assertNull(result.getFirstKey());
+        Assert.assertNull(result.getNextLimit());
+    }
+
+    @Test
+    public void testForwardAndBack() {
+        List<Row> rows = KeysetResultTest.createRows();
+        List<Row> collected = new ArrayList<Row>();
+        List<KeysetResult<Row>> results = new ArrayList<KeysetResult<Row>>();
+        SeekLimit limit = new SeekLimit(null, SeekDirection.AFTER, 5);
+        while (limit != null) {
+            KeysetResult<Row> result = KeysetResult.of(KeysetResultTest.fetch(rows, limit), limit, Row::getKey);
+            collected.addAll(result.getElements());
+            Assert.assertEquals(!results.isEmpty(), result.hasPrevious());
+            results.add(result);
+            limit = result.getNextLimit();
+        }
+        Assert.assertEquals(5, results.size());
+        Assert.assertEquals(rows, collected);
+
+        for (int i = results.size() - 1; i > 0; i--) {
+            SeekLimit previousLimit = results.get(i).getPreviousLimit();
+            KeysetResult<Row> previous = KeysetResult.of(KeysetResultTest.fetch(rows, previousLimit), previousLimit,
+                    Row::getKey);
+            Assert.assertEquals(results.get(i - 1).getElements(), previous.getElements());
+            Assert.assertEquals(i > 1, previous.hasPrevious());
+            Assert.assertTrue(previous.hasNext());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooManyElements() {
+        new KeysetResult<Row>(KeysetResultTest.createRows(), new SeekLimit(null, SeekDirection.AFTER, 3),
+                Row::getKey, false);
+    }
+
+}
@@ -0,0 +1,137 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.everit.commons.selection.lang.LongRange;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RangeInvalidationRegistryTest {
+
+    private static LimitedResult<Long> page(final long version) {
+        return new LimitedResult<Long>(Collections.singletonList(version), 1, new Limit(0, 10));
+    }
+
+    @Test
+    public void testConcurrentWritesNeverLeaveStaleValues() throws InterruptedException {
+        final RangeInvalidationRegistry<Long, Long, LimitedResult<Long>> registry =
+                new RangeInvalidationRegistry<Long, Long, LimitedResult<Long>>();
+        final int rangeCount = 100;
+        final AtomicLong[] versions = new AtomicLong[rangeCount * 10];
+        for (int i = 0; i < versions.length; i++) {
+            versions[i] = new AtomicLong();
+        }
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<Thread>();
+        for (int t = 0; t < 4; t++) {
+            final boolean writer = (t % 2) == 0;
+            final int seed = t;
+            Thread thread = new Thread() {
+
+                @Override
+                public void run() {
+                    Random random = new Random(seed);
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < 20000; i++) {
+                        if (writer) {
+                            int point = random.nextInt(versions.length);
+                            versions[point].incrementAndGet();
+                            registry.invalidate((long) point);
+                        } else {
+                            final long key = random.nextInt(rangeCount);
+                            registry.get(key, new LongRange(key * 10, (key * 10) + 9), () -> {
+                                long sum = 0;
+                                for (int j = 0; j < 10; j++) {
+                                    sum += versions[(int) (key * 10) + j].get();
+                                }
+                                return RangeInvalidationRegistryTest.page(sum);
+                            });
+                        }
+                    }
+                }
+
+            };
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (long key = 0; key < rangeCount; key++) {
+            LimitedResult<Long> cached = registry.get(key);
+            if (cached != null) {
+                long sum = 0;
+                for (int j = 0; j < 10; j++) {
+                    sum += versions[(int) (key * 10) + j].get();
+                }
+                Assert.assertEquals(sum, cached.getElements().get(0).longValue());
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidateOnlyTheAffectedValues() {
+        RangeInvalidationRegistry<Long, String, LimitedResult<Long>> registry =
+                new RangeInvalidationRegistry<Long, String, LimitedResult<Long>>();
+        registry.put("a", new LongRange(0L, 10L), RangeInvalidationRegistryTest.page(1));
+        registry.put("b", new LongRange(5L, 15L, true, false), RangeInvalidationRegistryTest.page(2));
+        registry.put("c", new LongRange(20L, 30L), RangeInvalidationRegistryTest.page(3));
+        Assert.assertEquals(3, registry.size());
+
+        Assert.assertEquals(0, registry.invalidate(15L));
+        Assert.assertEquals(1, registry.invalidate(12L));
+        Assert.assertNull(registry.get("b"));
+        Assert.assertEquals(RangeInvalidationRegistryTest.page(1), registry.get("a"));
+
+        Assert.assertEquals(2, registry.invalidate(new LongRange(10L, 20L)));
+        Assert.assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void testLoadAndReplace() {
+        RangeInvalidationRegistry<Long, String, LimitedResult<Long>> registry =
+                new RangeInvalidationRegistry<Long, String, LimitedResult<Long>>();
+        final int[] loadCount = new int[1];
+        for (int i = 0; i < 3; i++) {
+            registry.get("a", new LongRange(0L, 10L), () -> {
+                loadCount[0]++;
+                return RangeInvalidationRegistryTest.page(1);
+            });
+        }
+        Assert.assertEquals(1, loadCount[0]);
+
+        registry.put("a", new LongRange(20L, 30L), RangeInvalidationRegistryTest.page(2));
+        Assert.assertEquals(0, registry.invalidate(5L));
+        Assert.assertEquals(RangeInvalidationRegistryTest.page(2), registry.get("a"));
+        Assert.assertTrue(registry.remove("a"));
+        Assert.assertFalse(registry.remove("a"));
+        Assert.assertEquals(0, registry.invalidate(25L));
+    }
+
+}
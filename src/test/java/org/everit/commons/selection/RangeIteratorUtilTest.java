@@ -0,0 +1,89 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.everit.commons.selection.lang.LongRange;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RangeIteratorUtilTest {
+
+    static List<Range<Long>> createSortedRanges(final Random random, final int size) {
+        List<Range<Long>> ranges = new ArrayList<Range<Long>>(size);
+        for (int i = 0; i < size; i++) {
+            long lower = random.nextInt(200);
+            ranges.add(new LongRange(lower, lower + random.nextInt(6), random.nextBoolean(), random.nextBoolean()));
+        }
+        Collections.sort(ranges, RangeUtil.<Long> lowerBoundComparator());
+        return ranges;
+    }
+
+    private static List<Range<Long>> toList(final Iterator<Range<Long>> iterator) {
+        List<Range<Long>> result = new ArrayList<Range<Long>>();
+        while (iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    @Test
+    public void testCoalesce() {
+        List<Range<Long>> ranges = Arrays.<Range<Long>> asList(new Range<Long>(1L, 3L), new Range<Long>(2L, 5L,
+                false, false), new Range<Long>(5L, 6L, true, false), new Range<Long>(6L, 7L, false, true),
+                new Range<Long>(9L, 9L, true, false));
+        Assert.assertEquals(Arrays.asList(new Range<Long>(1L, 6L, true, false), new Range<Long>(6L, 7L, false, true)),
+                RangeIteratorUtilTest.toList(RangeIteratorUtil.coalesce(ranges.iterator())));
+    }
+
+    @Test
+    public void testSameResultsAsRangeSet() {
+        Random random = new Random(20141017);
+        for (int round = 0; round < 50; round++) {
+            List<Range<Long>> first = RangeIteratorUtilTest.createSortedRanges(random, 40);
+            List<Range<Long>> second = RangeIteratorUtilTest.createSortedRanges(random, 40);
+            List<Range<Long>> third = RangeIteratorUtilTest.createSortedRanges(random, 40);
+            RangeSet<Long> firstSet = new RangeSet<Long>(first);
+            RangeSet<Long> secondSet = new RangeSet<Long>(second);
+            RangeSet<Long> thirdSet = new RangeSet<Long>(third);
+
+            Assert.assertEquals(firstSet.getRanges(),
+                    RangeIteratorUtilTest.toList(RangeIteratorUtil.coalesce(first.iterator())));
+            Assert.assertEquals(firstSet.union(secondSet).union(thirdSet).getRanges(),
+                    RangeIteratorUtilTest.toList(RangeIteratorUtil.union(Arrays.asList(first.iterator(),
+                            second.iterator(), third.iterator()))));
+            Assert.assertEquals(firstSet.intersection(secondSet).intersection(thirdSet).getRanges(),
+                    RangeIteratorUtilTest.toList(RangeIteratorUtil.intersection(Arrays.asList(first.iterator(),
+                            second.iterator(), third.iterator()))));
+            Assert.assertEquals(firstSet.difference(secondSet).getRanges(),
+                    RangeIteratorUtilTest.toList(RangeIteratorUtil.difference(first.iterator(), second.iterator())));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsortedInput() {
+        List<Range<Long>> ranges = Arrays.<Range<Long>> asList(new Range<Long>(5L, 6L), new Range<Long>(1L, 2L));
+        RangeIteratorUtilTest.toList(RangeIteratorUtil.union(Collections.singletonList(ranges.iterator())));
+    }
+
+}
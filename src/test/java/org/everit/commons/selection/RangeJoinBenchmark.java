@@ -0,0 +1,69 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures the sequential and the parallel overlap join of two collections of random {@link Range}s with an
+ * increasing number of threads.
+ *
+ * Not a unit test, run it with <code>java ... org.everit.commons.selection.RangeJoinBenchmark</code>.
+ */
+public final class RangeJoinBenchmark {
+
+    private static final int SIZE = 500000;
+
+    private static final int SPAN = 100000000;
+
+    private static final int MAX_LENGTH = 2000;
+
+    private static final int ROUNDS = 3;
+
+    public static void main(final String[] args) {
+        Random random = new Random(1);
+        List<Range<Long>> left = RangeJoinTest.createRanges(random, SIZE, SPAN, MAX_LENGTH);
+        List<Range<Long>> right = RangeJoinTest.createRanges(random, SIZE, SPAN, MAX_LENGTH);
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            long count = 0;
+            for (RangeJoinPair<Long> pair : RangeJoin.overlapJoin(left, right, false)) {
+                count++;
+            }
+            System.out.println("sequential: " + count + " pairs in " + ((System.nanoTime() - start) / 1000000)
+                    + " ms");
+        }
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                int count = RangeJoin.parallelOverlapJoin(left, right, false, pool).size();
+                System.out.println("parallel, threads=" + threads + ": " + count + " pairs in "
+                        + ((System.nanoTime() - start) / 1000000) + " ms");
+            }
+            pool.shutdown();
+        }
+    }
+
+    private RangeJoinBenchmark() {
+    }
+
+}
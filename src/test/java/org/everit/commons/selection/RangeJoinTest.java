@@ -0,0 +1,132 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.everit.commons.selection.lang.LongRange;
+import org.everit.commons.selection.sql.TimestampRange;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RangeJoinTest {
+
+    static List<Range<Long>> createRanges(final Random random, final int size, final int span, final int maxLength) {
+        List<Range<Long>> ranges = new ArrayList<Range<Long>>(size);
+        for (int i = 0; i < size; i++) {
+            long lower = random.nextInt(span);
+            ranges.add(new LongRange(lower, lower + random.nextInt(maxLength), random.nextBoolean(),
+                    random.nextBoolean()));
+        }
+        return ranges;
+    }
+
+    static Map<RangeJoinPair<Long>, Integer> countPairs(final Iterable<RangeJoinPair<Long>> pairs) {
+        Map<RangeJoinPair<Long>, Integer> counts = new HashMap<RangeJoinPair<Long>, Integer>();
+        for (RangeJoinPair<Long> pair : pairs) {
+            Integer count = counts.get(pair);
+            counts.put(pair, (count == null) ? 1 : (count + 1));
+        }
+        return counts;
+    }
+
+    static List<RangeJoinPair<Long>> nestedLoopJoin(final List<Range<Long>> left, final List<Range<Long>> right) {
+        List<RangeJoinPair<Long>> pairs = new ArrayList<RangeJoinPair<Long>>();
+        for (Range<Long> leftRange : left) {
+            for (Range<Long> rightRange : right) {
+                RangeJoinPair<Long> pair = RangeJoin.pair(leftRange, rightRange, true);
+                if (pair != null) {
+                    pairs.add(pair);
+                }
+            }
+        }
+        return pairs;
+    }
+
+    @Test
+    public void testEmptyInputs() {
+        List<Range<Long>> ranges = RangeJoinTest.createRanges(new Random(1), 10, 100, 10);
+        Assert.assertFalse(RangeJoin.overlapJoin(ranges, new ArrayList<Range<Long>>(), false).iterator().hasNext());
+        Iterator<RangeJoinPair<Long>> iterator = RangeJoin.overlapJoin(new ArrayList<Range<Long>>(), ranges, false)
+                .iterator();
+        Assert.assertFalse(iterator.hasNext());
+        try {
+            iterator.next();
+            Assert.fail();
+        } catch (NoSuchElementException e) {
+            Assert.assertNotNull(e);
+        }
+    }
+
+    @Test
+    public void testParallelJoinSameResultAsSequential() {
+        Random random = new Random(20141018);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int round = 0; round < 10; round++) {
+                List<Range<Long>> left = RangeJoinTest.createRanges(random, 500, 1000, 1 + random.nextInt(200));
+                List<Range<Long>> right = RangeJoinTest.createRanges(random, 300, 1000, 1 + random.nextInt(200));
+                Assert.assertEquals(RangeJoinTest.countPairs(RangeJoin.overlapJoin(left, right, true)),
+                        RangeJoinTest.countPairs(RangeJoin.parallelOverlapJoin(left, right, true, pool)));
+            }
+            List<Range<Long>> ranges = RangeJoinTest.createRanges(random, 100, 10, 3);
+            Assert.assertEquals(RangeJoinTest.countPairs(RangeJoin.overlapJoin(ranges, ranges, false)),
+                    RangeJoinTest.countPairs(RangeJoin.parallelOverlapJoin(ranges, ranges, false, pool)));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSameResultAsNestedLoop() {
+        Random random = new Random(20141017);
+        for (int round = 0; round < 20; round++) {
+            List<Range<Long>> left = RangeJoinTest.createRanges(random, 200, 300, 1 + random.nextInt(40));
+            List<Range<Long>> right = RangeJoinTest.createRanges(random, 150, 300, 1 + random.nextInt(40));
+            Assert.assertEquals(RangeJoinTest.countPairs(RangeJoinTest.nestedLoopJoin(left, right)),
+                    RangeJoinTest.countPairs(RangeJoin.overlapJoin(left, right, true)));
+        }
+    }
+
+    @Test
+    public void testTimestampRanges() {
+        List<TimestampRange> sessions = new ArrayList<TimestampRange>();
+        sessions.add(new TimestampRange(new Timestamp(100), new Timestamp(250)));
+        sessions.add(new TimestampRange(new Timestamp(300), new Timestamp(400), true, false));
+        List<TimestampRange> periods = new ArrayList<TimestampRange>();
+        periods.add(new TimestampRange(new Timestamp(0), new Timestamp(200), true, false));
+        periods.add(new TimestampRange(new Timestamp(200), new Timestamp(400), true, false));
+        List<RangeJoinPair<Timestamp>> pairs = new ArrayList<RangeJoinPair<Timestamp>>();
+        for (RangeJoinPair<Timestamp> pair : RangeJoin.overlapJoin(sessions, periods, true)) {
+            pairs.add(pair);
+        }
+        Assert.assertEquals(3, pairs.size());
+        for (RangeJoinPair<Timestamp> pair : pairs) {
+            Assert.assertEquals(pair.getLeft().getRelationTo(pair.getRight()), pair.getRelation());
+            Assert.assertEquals(pair.getLeft().intersect(pair.getRight()), pair.getIntersection());
+        }
+    }
+
+}
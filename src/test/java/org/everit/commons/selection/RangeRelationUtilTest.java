@@ -0,0 +1,157 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.everit.commons.selection.util.SecondRange;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RangeRelationUtilTest {
+
+    private static final boolean[] BOOLEANS = new boolean[] { true, false };
+
+    private static List<Range<Long>> createRanges() {
+        List<Range<Long>> ranges = new ArrayList<Range<Long>>();
+        for (long lower = 0; lower < 4; lower++) {
+            for (long higher = lower; higher < 4; higher++) {
+                for (boolean lowerInclusive : BOOLEANS) {
+                    for (boolean higherInclusive : BOOLEANS) {
+                        ranges.add(new Range<Long>(lower, higher, lowerInclusive, higherInclusive));
+                    }
+                }
+            }
+        }
+        return ranges;
+    }
+
+    @Test
+    public void testClassifyColumns() {
+        List<Range<Long>> ranges = RangeRelationUtilTest.createRanges();
+        int size = ranges.size();
+        long[] lowerBounds = new long[size];
+        long[] higherBounds = new long[size];
+        byte[] flags = new byte[size];
+        for (int i = 0; i < size; i++) {
+            Range<Long> range = ranges.get(i);
+            lowerBounds[i] = range.getLowerBound();
+            higherBounds[i] = range.getHigherBound();
+            flags[i] = RangeRelationUtil.toFlags(range.isLowerInclusive(), range.isHigherInclusive());
+        }
+        byte[] expected = new byte[size];
+        byte[] actual = new byte[size];
+        for (int i = 0; i < size; i++) {
+            Range<Long> range = ranges.get(i);
+            RangeRelationUtil.classify(range, ranges, expected);
+            RangeRelationUtil.classify(lowerBounds[i], higherBounds[i], flags[i], lowerBounds, higherBounds, flags,
+                    actual, 0, size);
+            Assert.assertArrayEquals(expected, actual);
+            for (int j = 0; j < size; j++) {
+                Assert.assertEquals(range.getRelationTo(ranges.get(j)),
+                        RangeRelationUtil.toRangeRelation(actual[j]));
+            }
+        }
+    }
+
+    @Test
+    public void testClassifyPairwise() {
+        List<Range<Long>> ranges = RangeRelationUtilTest.createRanges();
+        List<Range<Long>> others = new ArrayList<Range<Long>>(ranges);
+        Collections.reverse(others);
+        int size = ranges.size();
+        long[][] columns = new long[4][size];
+        byte[] flags = new byte[size];
+        byte[] otherFlags = new byte[size];
+        for (int i = 0; i < size; i++) {
+            columns[0][i] = ranges.get(i).getLowerBound();
+            columns[1][i] = ranges.get(i).getHigherBound();
+            columns[2][i] = others.get(i).getLowerBound();
+            columns[3][i] = others.get(i).getHigherBound();
+            flags[i] = RangeRelationUtil.toFlags(ranges.get(i).isLowerInclusive(), ranges.get(i).isHigherInclusive());
+            otherFlags[i] = RangeRelationUtil.toFlags(others.get(i).isLowerInclusive(), others.get(i)
+                    .isHigherInclusive());
+        }
+        byte[] expected = new byte[size];
+        byte[] actual = new byte[size];
+        RangeRelationUtil.classifyPairwise(ranges, others, expected);
+        RangeRelationUtil.classifyPairwise(columns[0], columns[1], flags, columns[2], columns[3], otherFlags, actual,
+                0, size);
+        Assert.assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    public void testGetRelationFromComparisons() {
+        List<Range<Long>> ranges = RangeRelationUtilTest.createRanges();
+        for (Range<Long> range : ranges) {
+            for (Range<Long> other : ranges) {
+                Assert.assertEquals(range + " " + other, range.getRelationTo(other), RangeRelationUtil.getRelation(
+                        range.getLowerBound().compareTo(other.getLowerBound()),
+                        range.getHigherBound().compareTo(other.getHigherBound()),
+                        range.getLowerBound().compareTo(other.getHigherBound()),
+                        range.getHigherBound().compareTo(other.getLowerBound()), range.isLowerInclusive(),
+                        range.isHigherInclusive(), other.isLowerInclusive(), other.isHigherInclusive()));
+            }
+        }
+    }
+
+    @Test
+    public void testOverlapMaskAgainstGetRelationTo() {
+        Random random = new Random(20141017);
+        int size = 1000;
+        List<SecondRange> ranges = new ArrayList<SecondRange>(size);
+        long[] lowerBounds = new long[size];
+        long[] higherBounds = new long[size];
+        byte[] flags = new byte[size];
+        for (int i = 0; i < size; i++) {
+            long lower = random.nextInt(200);
+            SecondRange range = new SecondRange(lower, lower + random.nextInt(10), random.nextBoolean(),
+                    random.nextBoolean());
+            ranges.add(range);
+            lowerBounds[i] = range.getLowerBound();
+            higherBounds[i] = range.getHigherBound();
+            flags[i] = RangeRelationUtil.toFlags(range.isLowerInclusive(), range.isHigherInclusive());
+        }
+        int offset = 7;
+        int length = size - offset - 3;
+        long[] mask = new long[(length + 63) / 64];
+        for (int i = 0; i < size; i += 13) {
+            SecondRange range = ranges.get(i);
+            int count = RangeRelationUtil.overlapMask(lowerBounds[i], higherBounds[i], flags[i], lowerBounds,
+                    higherBounds, flags, mask, offset, length);
+            int expectedCount = 0;
+            for (int j = 0; j < length; j++) {
+                boolean expected = !range.getRelationTo(ranges.get(offset + j)).isDistinct();
+                boolean actual = (mask[j >>> 6] & (1L << (j & 63))) != 0;
+                Assert.assertEquals(expected, actual);
+                if (expected) {
+                    expectedCount++;
+                }
+            }
+            Assert.assertEquals(expectedCount, count);
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testOutOfBounds() {
+        RangeRelationUtil.classify(0, 1, 0, new long[2], new long[2], new byte[2], new byte[2], 1, 2);
+    }
+
+}
@@ -0,0 +1,163 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.everit.commons.selection.lang.LongRange;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RangeResultCacheTest {
+
+    /**
+     * Returns the even numbers of the loaded ranges and records the ranges.
+     */
+    private static final class EvenNumberLoader implements RangeResultLoader<Long, Long> {
+
+        private final List<Range<Long>> loadedRanges = new ArrayList<Range<Long>>();
+
+        @Override
+        public List<Long> load(final Range<Long> range) {
+            loadedRanges.add(range);
+            return RangeResultCacheTest.evenNumbers(range);
+        }
+
+    }
+
+    private static List<Long> evenNumbers(final Range<Long> range) {
+        List<Long> result = new ArrayList<Long>();
+        for (long value = range.getHigherBound(); value >= range.getLowerBound(); value--) {
+            if (((value % 2) == 0) && RangeUtil.contains(range, value)) {
+                result.add(0, value);
+            }
+        }
+        return result;
+    }
+
+    @Test
+    public void testContainedRangeIsAHit() {
+        EvenNumberLoader loader = new EvenNumberLoader();
+        RangeResultCache<Long, Long> cache = new RangeResultCache<Long, Long>(loader, (value) -> value, 1000);
+        Assert.assertEquals(Arrays.asList(0L, 2L, 4L, 6L, 8L, 10L), cache.get(new LongRange(0L, 10L)));
+        Assert.assertEquals(Arrays.asList(4L, 6L), cache.get(new LongRange(2L, 8L, false, false)));
+        Assert.assertEquals(Arrays.asList(0L, 2L, 4L, 6L, 8L, 10L), cache.get(new LongRange(0L, 10L)));
+        Assert.assertEquals(1, loader.loadedRanges.size());
+        Assert.assertEquals(2, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(0, cache.getPartialHitCount());
+    }
+
+    @Test
+    public void testEviction() {
+        EvenNumberLoader loader = new EvenNumberLoader();
+        RangeResultCache<Long, Long> cache = new RangeResultCache<Long, Long>(loader, (value) -> value, 10);
+        cache.get(new LongRange(0L, 9L));
+        cache.get(new LongRange(100L, 109L));
+        cache.get(new LongRange(0L, 1L));
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(10, cache.getRowCount());
+        cache.get(new LongRange(200L, 209L));
+        Assert.assertEquals(1, cache.getEvictionCount());
+        Assert.assertEquals(10, cache.getRowCount());
+        cache.get(new LongRange(2L, 3L));
+        Assert.assertEquals(2, cache.getHitCount());
+        cache.get(new LongRange(102L, 103L));
+        Assert.assertEquals(2, cache.getHitCount());
+        Assert.assertEquals(4, cache.getMissCount());
+
+        // too many rows to cache
+        int size = cache.size();
+        Assert.assertEquals(51, cache.get(new LongRange(0L, 100L)).size());
+        Assert.assertEquals(size, cache.size());
+    }
+
+    @Test
+    public void testInvalidate() {
+        EvenNumberLoader loader = new EvenNumberLoader();
+        RangeResultCache<Long, Long> cache = new RangeResultCache<Long, Long>(loader, (value) -> value, 1000);
+        cache.get(new LongRange(0L, 10L));
+        cache.get(new LongRange(20L, 30L));
+        Assert.assertEquals(1, cache.invalidate(new LongRange(10L, 15L)));
+        Assert.assertEquals(1, cache.size());
+        cache.get(new LongRange(2L, 4L));
+        Assert.assertEquals(3, loader.loadedRanges.size());
+    }
+
+    @Test
+    public void testMixedRangeClasses() {
+        final List<RangeResultCache<Long, Long>> cacheHolder = new ArrayList<RangeResultCache<Long, Long>>();
+        // a miss of a LongRange finishes while the miss of the equal Range<Long> is loading
+        RangeResultLoader<Long, Long> loader = (range) -> {
+            if (cacheHolder.size() == 1) {
+                cacheHolder.add(null);
+                cacheHolder.get(0).get(new LongRange(0L, 10L));
+            }
+            return RangeResultCacheTest.evenNumbers(range);
+        };
+        RangeResultCache<Long, Long> cache = new RangeResultCache<Long, Long>(loader, (value) -> value, 1000);
+        cacheHolder.add(cache);
+        Assert.assertEquals(Arrays.asList(0L, 2L, 4L, 6L, 8L, 10L), cache.get(new Range<Long>(0L, 10L)));
+        Assert.assertEquals(1, cache.size());
+        Assert.assertEquals(6, cache.getRowCount());
+        Assert.assertEquals(Arrays.asList(2L, 4L), cache.get(new LongRange(2L, 4L)));
+        Assert.assertEquals(Arrays.asList(0L, 2L, 4L, 6L, 8L, 10L), cache.get(new LongRange(0L, 10L)));
+        Assert.assertEquals(1, cache.invalidate(new LongRange(5L, 5L)));
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(0, cache.getRowCount());
+    }
+
+    @Test
+    public void testOverlappingRangeLoadsOnlyTheRemainder() {
+        EvenNumberLoader loader = new EvenNumberLoader();
+        RangeResultCache<Long, Long> cache = new RangeResultCache<Long, Long>(loader, (value) -> value, 1000);
+        cache.get(new LongRange(0L, 10L));
+        cache.get(new LongRange(20L, 30L, false, true));
+        loader.loadedRanges.clear();
+        Assert.assertEquals(RangeResultCacheTest.evenNumbers(new LongRange(4L, 40L)), cache.get(new LongRange(4L,
+                40L)));
+        Assert.assertEquals(Arrays.asList(new Range<Long>(10L, 20L, false, true), new Range<Long>(30L, 40L, false,
+                true)), loader.loadedRanges);
+        Assert.assertEquals(1, cache.getPartialHitCount());
+        Assert.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testSameResultsAsLoader() {
+        Random random = new Random(20141017);
+        EvenNumberLoader loader = new EvenNumberLoader();
+        RangeResultCache<Long, Long> cache = new RangeResultCache<Long, Long>(loader, (value) -> value, 200);
+        for (int i = 0; i < 2000; i++) {
+            long lower = random.nextInt(500);
+            Range<Long> query = new LongRange(lower, lower + random.nextInt(60), random.nextBoolean(),
+                    random.nextBoolean());
+            if ((i % 10) == 9) {
+                cache.invalidate(query);
+            } else {
+                Assert.assertEquals(RangeResultCacheTest.evenNumbers(query), cache.get(query));
+            }
+            Assert.assertTrue(cache.getRowCount() <= 200);
+        }
+        Assert.assertTrue(cache.getHitCount() > 0);
+        Assert.assertTrue(cache.getPartialHitCount() > 0);
+        Assert.assertTrue(cache.getEvictionCount() > 0);
+    }
+
+}
@@ -0,0 +1,141 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.everit.commons.selection.lang.LongRange;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RangeSetTest {
+
+    private static final int MAX_BOUND = 20;
+
+    /**
+     * Points to check the membership of. Half values are checked too so open bounds can be tested.
+     */
+    private static final double[] POINTS;
+
+    static {
+        POINTS = new double[(MAX_BOUND * 2) + 3];
+        for (int i = 0; i < POINTS.length; i++) {
+            POINTS[i] = (i - 1) / 2.0;
+        }
+    }
+
+    private static boolean containedByAny(final List<Range<Double>> ranges, final double point) {
+        for (Range<Double> range : ranges) {
+            if (RangeUtil.contains(range, point)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Range<Double>> randomRanges(final Random random) {
+        int count = random.nextInt(6);
+        List<Range<Double>> ranges = new ArrayList<Range<Double>>(count);
+        for (int i = 0; i < count; i++) {
+            double lower = random.nextInt(MAX_BOUND);
+            double higher = lower + random.nextInt(5);
+            ranges.add(new Range<Double>(lower, higher, random.nextBoolean(), random.nextBoolean()));
+        }
+        return ranges;
+    }
+
+    private void assertNormalized(final RangeSet<Double> rangeSet) {
+        List<Range<Double>> ranges = rangeSet.getRanges();
+        for (int i = 0; i < ranges.size(); i++) {
+            Assert.assertFalse(RangeUtil.isEmpty(ranges.get(i)));
+            if (i > 0) {
+                Assert.assertFalse(RangeUtil.isConnected(ranges.get(i - 1), ranges.get(i)));
+                Assert.assertTrue(RangeUtil.compareLowerBounds(ranges.get(i - 1), ranges.get(i)) < 0);
+            }
+        }
+    }
+
+    @Test
+    public void testCoalesce() {
+        RangeSet<Long> rangeSet = new RangeSet<Long>(Arrays.asList(new LongRange(5l, 10l, true, false),
+                new LongRange(1l, 5l, true, false), new LongRange(10l, 12l), new LongRange(20l, 30l, false, true),
+                new LongRange(15l, 20l, true, false), new LongRange(40l, 40l, true, false)));
+        Assert.assertEquals(Arrays.asList(new Range<Long>(1l, 12l), new Range<Long>(15l, 20l, true, false),
+                new Range<Long>(20l, 30l, false, true)), rangeSet.getRanges());
+        Assert.assertFalse(rangeSet.contains(20l));
+        Assert.assertTrue(rangeSet.contains(12l));
+        Assert.assertFalse(rangeSet.contains(13l));
+        Assert.assertTrue(rangeSet.encloses(new Range<Long>(2l, 12l)));
+        Assert.assertFalse(rangeSet.encloses(new Range<Long>(15l, 20l)));
+        Assert.assertTrue(rangeSet.intersects(new Range<Long>(12l, 15l)));
+        Assert.assertFalse(rangeSet.intersects(new Range<Long>(12l, 15l, false, false)));
+    }
+
+    @Test
+    public void testNullBounds() {
+        try {
+            new RangeSet<Long>(Arrays.asList(new Range<Long>(null, 10l)));
+            Assert.fail();
+        } catch (NullPointerException e) {
+            Assert.assertNotNull(e.getMessage());
+        }
+    }
+
+    @Test
+    public void testSetOperationsAgainstPoints() {
+        Random random = new Random(20141017);
+        Range<Double> universe = new Range<Double>(0.0, (double) MAX_BOUND, false, true);
+        for (int round = 0; round < 500; round++) {
+            List<Range<Double>> ranges = RangeSetTest.randomRanges(random);
+            List<Range<Double>> otherRanges = RangeSetTest.randomRanges(random);
+            RangeSet<Double> rangeSet = new RangeSet<Double>(ranges);
+            RangeSet<Double> otherRangeSet = new RangeSet<Double>(otherRanges);
+            RangeSet<Double> union = rangeSet.union(otherRangeSet);
+            RangeSet<Double> intersection = rangeSet.intersection(otherRangeSet);
+            RangeSet<Double> difference = rangeSet.difference(otherRangeSet);
+            RangeSet<Double> complement = rangeSet.complement(universe);
+            assertNormalized(rangeSet);
+            assertNormalized(union);
+            assertNormalized(intersection);
+            assertNormalized(difference);
+            assertNormalized(complement);
+            for (double point : POINTS) {
+                boolean inRanges = RangeSetTest.containedByAny(ranges, point);
+                boolean inOtherRanges = RangeSetTest.containedByAny(otherRanges, point);
+                String message = ranges + " " + otherRanges + " " + point;
+                Assert.assertEquals(message, inRanges, rangeSet.contains(point));
+                Assert.assertEquals(message, inRanges || inOtherRanges, union.contains(point));
+                Assert.assertEquals(message, inRanges && inOtherRanges, intersection.contains(point));
+                Assert.assertEquals(message, inRanges && !inOtherRanges, difference.contains(point));
+                Assert.assertEquals(message, !inRanges && RangeUtil.contains(universe, point),
+                        complement.contains(point));
+            }
+            for (Range<Double> otherRange : otherRanges) {
+                Assert.assertEquals(rangeSet.intersection(new RangeSet<Double>(Arrays.asList(otherRange)))
+                        .isEmpty(), !rangeSet.intersects(otherRange));
+                Assert.assertEquals(new RangeSet<Double>(Arrays.asList(otherRange)).difference(rangeSet)
+                        .isEmpty(), rangeSet.encloses(otherRange));
+            }
+            Assert.assertEquals(union, otherRangeSet.union(rangeSet));
+            Assert.assertEquals(intersection, otherRangeSet.intersection(rangeSet));
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RangeStreamUtilTest {
+
+    @Test
+    public void testCloseClosesInputs() {
+        AtomicInteger closed = new AtomicInteger();
+        Stream<Range<Long>> first = Stream.of(new Range<Long>(1L, 2L)).onClose(closed::incrementAndGet);
+        Stream<Range<Long>> second = Stream.of(new Range<Long>(2L, 3L)).onClose(closed::incrementAndGet);
+        try (Stream<Range<Long>> union = RangeStreamUtil.union(Arrays.asList(first, second))) {
+            Assert.assertEquals(Collections.singletonList(new Range<Long>(1L, 3L)),
+                    union.collect(Collectors.toList()));
+        }
+        Assert.assertEquals(2, closed.get());
+    }
+
+    @Test
+    public void testStreamOperations() {
+        Random random = new Random(20141017);
+        List<Range<Long>> first = RangeIteratorUtilTest.createSortedRanges(random, 100);
+        List<Range<Long>> second = RangeIteratorUtilTest.createSortedRanges(random, 100);
+        RangeSet<Long> firstSet = new RangeSet<Long>(first);
+        RangeSet<Long> secondSet = new RangeSet<Long>(second);
+        Assert.assertEquals(firstSet.getRanges(),
+                RangeStreamUtil.coalesce(first.stream()).collect(Collectors.toList()));
+        Assert.assertEquals(firstSet.union(secondSet).getRanges(),
+                RangeStreamUtil.union(Arrays.asList(first.stream(), second.stream())).collect(Collectors.toList()));
+        Assert.assertEquals(firstSet.intersection(secondSet).getRanges(),
+                RangeStreamUtil.intersection(Arrays.asList(first.stream(), second.stream())).collect(
+                        Collectors.toList()));
+        Assert.assertEquals(firstSet.difference(secondSet).getRanges(),
+                RangeStreamUtil.difference(first.stream(), second.stream()).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testToRangeSet() {
+        Random random = new Random(20141018);
+        List<Range<Long>> ranges = new ArrayList<Range<Long>>(RangeIteratorUtilTest.createSortedRanges(random,
+                2000));
+        Collections.shuffle(ranges, random);
+        RangeSet<Long> expected = new RangeSet<Long>(ranges);
+        Assert.assertEquals(expected, ranges.stream().collect(RangeStreamUtil.<Long> toRangeSet()));
+        Assert.assertEquals(expected, ranges.parallelStream().collect(RangeStreamUtil.<Long> toRangeSet()));
+    }
+
+}
@@ -145,6 +145,15 @@ public class RangeTest {
         Assert.assertEquals(intv1, intv2.intersect(intv1));
     }
 
+    @Test
+    public void testIntersectOpenAndClosedBound() {
+        Range<Integer> intv1 = new Range<Integer>(10, 20, true, false);
+        Range<Integer> intv2 = new Range<Integer>(10, 20, false, true);
+        Range<Integer> expected = new Range<Integer>(10, 20, false, false);
+        Assert.assertEquals(expected, intv1.intersect(intv2));
+        Assert.assertEquals(expected, intv2.intersect(intv1));
+    }
+
     @Test
     public void testIntersectOverlapping() {
         Range<Integer> intv1 = new Range<Integer>(10, 20, true, false);
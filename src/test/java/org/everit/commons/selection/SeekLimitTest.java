@@ -0,0 +1,84 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SeekLimitTest {
+
+    @Test
+    public void testCompositeKey() {
+        SortKey key = SortKey.of("b", 3).withTieBreaker(10L);
+        Assert.assertEquals(3, key.size());
+        Assert.assertTrue(key.compareTo(SortKey.of("b", 3, 11L)) < 0);
+        Assert.assertTrue(key.compareTo(SortKey.of("b", 2, 99L)) > 0);
+        Assert.assertTrue(key.compareTo(SortKey.of("a", 9, 99L)) > 0);
+        Assert.assertEquals(0, key.compareTo(SortKey.of("b", 3, 10L)));
+        Assert.assertEquals(SortKey.of("b", 3, 10L), key);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDifferentSizes() {
+        SortKey.of(1).compareTo(SortKey.of(1, 2));
+    }
+
+    @Test
+    public void testEquals() {
+        Assert.assertEquals(new SeekLimit(SortKey.of(1), SeekDirection.AFTER, 10),
+                new SeekLimit(SortKey.of(1), SeekDirection.AFTER, 10));
+        Assert.assertFalse(new SeekLimit(SortKey.of(1), SeekDirection.AFTER, 10).equals(
+                new SeekLimit(SortKey.of(1), SeekDirection.BEFORE, 10)));
+        Assert.assertFalse(new SeekLimit(null, SeekDirection.AFTER, 10).equals(new Limit(0, 10)));
+    }
+
+    @Test
+    public void testLeadingRange() {
+        Range<Integer> single = new SeekLimit(SortKey.of(5), SeekDirection.AFTER, 10).toLeadingRange();
+        Assert.assertFalse(RangeUtil.contains(single, 5));
+        Assert.assertTrue(RangeUtil.contains(single, 6));
+
+        Range<Integer> composite = new SeekLimit(SortKey.of(5, 1L), SeekDirection.BEFORE, 10).toLeadingRange();
+        Assert.assertTrue(RangeUtil.contains(composite, 5));
+        Assert.assertTrue(RangeUtil.contains(composite, 4));
+        Assert.assertFalse(RangeUtil.contains(composite, 6));
+
+        Assert.assertNull(new SeekLimit(null, SeekDirection.AFTER, 10).toLeadingRange());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullValue() {
+        SortKey.of(1, null);
+    }
+
+    @Test
+    public void testRange() {
+        SortKey key = SortKey.of(5, 2L);
+        Range<SortKey> after = new SeekLimit(key, SeekDirection.AFTER, 10).toRange();
+        Assert.assertFalse(RangeUtil.contains(after, key));
+        Assert.assertTrue(RangeUtil.contains(after, SortKey.of(5, 3L)));
+        Assert.assertFalse(RangeUtil.contains(after, SortKey.of(4, 9L)));
+
+        Range<SortKey> before = new SeekLimit(key, SeekDirection.BEFORE, 10).toRange();
+        Assert.assertFalse(RangeUtil.contains(before, key));
+        Assert.assertTrue(RangeUtil.contains(before, SortKey.of(5, 1L)));
+        Assert.assertFalse(RangeUtil.contains(before, SortKey.of(6, 0L)));
+
+        Assert.assertNull(new SeekLimit(null, SeekDirection.BEFORE, 10).toRange());
+    }
+
+}
@@ -0,0 +1,150 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StreamingLimitedResultTest {
+
+    @Test
+    public void testCloseOnEarlyStop() {
+        AtomicInteger closeCount = new AtomicInteger();
+        Stream<Long> source = LongStream.range(0, 10).boxed().onClose(closeCount::incrementAndGet);
+        try (StreamingLimitedResult<Long> result = StreamingLimitedResult.fromStream(source, 100, new Limit(0, 10))) {
+            Iterator<Long> iterator = result.iterator();
+            Assert.assertEquals(Long.valueOf(0), iterator.next());
+            Assert.assertEquals(1, result.getStreamedCount());
+            Assert.assertFalse(result.isClosed());
+        }
+        Assert.assertEquals(1, closeCount.get());
+    }
+
+    @Test
+    public void testCursor() {
+        final Iterator<String> rows = Arrays.asList("a", "b", "c").iterator();
+        AtomicInteger closeCount = new AtomicInteger();
+        StreamingLimitedResult<String> result = StreamingLimitedResult.fromCursor(
+                () -> rows.hasNext() ? rows.next() : null, closeCount::incrementAndGet, 3, new Limit(0, 5));
+        Assert.assertEquals(new LimitedResult<String>(Arrays.asList("a", "b", "c"), 3, new Limit(0, 5)),
+                result.toLimitedResult());
+        Assert.assertTrue(result.isClosed());
+        result.close();
+        Assert.assertEquals(1, closeCount.get());
+    }
+
+    @Test
+    public void testCountStrategy() {
+        Limit limit = new Limit(0, 4);
+        AtomicInteger countQueries = new AtomicInteger();
+        StreamingLimitedResult<Long> result = StreamingLimitedResult.fromStream(
+                LongStream.range(0, CountStrategy.getFetchSize(limit)).boxed(), CountStrategy.hasMore(), limit);
+        try {
+            result.getElementCount();
+            Assert.fail("the count is available before the iteration ended");
+        } catch (IllegalStateException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("iteration ends"));
+        }
+        Assert.assertEquals(new LimitedResult<Long>(Arrays.asList(0L, 1L, 2L, 3L), ElementCount.atLeast(5), limit),
+                result.toLimitedResult());
+        Assert.assertEquals(ElementCount.atLeast(5), result.getElementCount());
+
+        result = StreamingLimitedResult.fromStream(LongStream.range(0, 3).boxed(), CountStrategy.exact(() -> {
+            countQueries.incrementAndGet();
+            return 100;
+        }), limit);
+        Assert.assertEquals(3, result.toLimitedResult().getElements().size());
+        Assert.assertEquals(ElementCount.exact(3), result.getElementCount());
+        Assert.assertEquals(0, countQueries.get());
+    }
+
+    @Test
+    public void testEstimatedCount() {
+        StreamingLimitedResult<Long> result = new StreamingLimitedResult<Long>(
+                LongStream.range(0, 8).boxed().iterator(), null, ElementCount.estimated(5, 2), new Limit(0, 10));
+        LimitedResult<Long> limitedResult = result.toLimitedResult();
+        Assert.assertEquals(8, limitedResult.getElements().size());
+        Assert.assertEquals(ElementCount.estimated(5, 2), limitedResult.getElementCount());
+        Assert.assertEquals(5, result.getNumberOfAllElements());
+    }
+
+    @Test
+    public void testLookAheadSource() {
+        Limit limit = new Limit(0, 4);
+        StreamingLimitedResult<Long> result = StreamingLimitedResult.fromStream(
+                LongStream.range(0, CountStrategy.getFetchSize(limit)).boxed(), 100, limit);
+        Assert.assertEquals(Arrays.asList(0L, 1L, 2L, 3L), result.toLimitedResult().getElements());
+        Assert.assertTrue(result.hasMore());
+    }
+
+    @Test
+    public void testMaxResultsEnforced() {
+        AtomicInteger closeCount = new AtomicInteger();
+        AtomicInteger readCount = new AtomicInteger();
+        Stream<Long> source = LongStream.range(0, 10).boxed().peek(value -> readCount.incrementAndGet())
+                .onClose(closeCount::incrementAndGet);
+        StreamingLimitedResult<Long> result = StreamingLimitedResult.fromStream(source, 100, new Limit(0, 4));
+        List<Long> consumed = new ArrayList<Long>();
+        for (Long element : result) {
+            consumed.add(element);
+        }
+        Assert.assertEquals(Arrays.asList(0L, 1L, 2L, 3L), consumed);
+        Assert.assertEquals(4, result.getStreamedCount());
+        Assert.assertTrue(result.hasMore());
+        Assert.assertTrue(result.isClosed());
+        Assert.assertEquals(5, readCount.get());
+        Assert.assertEquals(1, closeCount.get());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNumberOfAllElementsEnforced() {
+        StreamingLimitedResult.fromStream(Stream.of(1L, 2L, 3L), 2, new Limit(0, 10)).toLimitedResult();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testSingleUse() {
+        StreamingLimitedResult<Long> result = StreamingLimitedResult.fromStream(Stream.of(1L), 1, new Limit(0, 1));
+        result.iterator();
+        result.stream();
+    }
+
+    @Test
+    public void testStream() {
+        AtomicInteger closeCount = new AtomicInteger();
+        Stream<Long> source = LongStream.range(0, 5).boxed().onClose(closeCount::incrementAndGet);
+        StreamingLimitedResult<Long> result = StreamingLimitedResult.fromStream(source, 5, new PageLimit(1, 5));
+        try (Stream<Long> stream = result.stream()) {
+            Assert.assertEquals(Arrays.asList(0L, 2L, 4L),
+                    stream.filter(value -> (value % 2) == 0).collect(Collectors.toList()));
+        }
+        Assert.assertEquals(5, result.getStreamedCount());
+        Assert.assertFalse(result.hasMore());
+        Assert.assertEquals(new PageLimit(1, 5), result.getLimit());
+        Assert.assertEquals(5, result.getNumberOfAllElements());
+        Assert.assertEquals(1, closeCount.get());
+    }
+
+}
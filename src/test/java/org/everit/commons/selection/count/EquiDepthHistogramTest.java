@@ -0,0 +1,129 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.count;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.DoubleStream;
+
+import org.everit.commons.selection.lang.DoubleRange;
+import org.everit.commons.selection.lang.LongRange;
+import org.everit.commons.selection.sql.TimestampRange;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EquiDepthHistogramTest {
+
+    static long exactCount(final double[] values, final double lowerBound, final double higherBound,
+            final boolean lowerInclusive, final boolean higherInclusive) {
+        long count = 0;
+        for (double value : values) {
+            if (((value > lowerBound) || (lowerInclusive && (value == lowerBound)))
+                    && ((value < higherBound) || (higherInclusive && (value == higherBound)))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void testErrorIsBoundedByTwoBuckets() {
+        Random random = new Random(20141017);
+        double[] values = new double[10000];
+        for (int i = 0; i < values.length; i++) {
+            // skewed values
+            values[i] = Math.exp(random.nextGaussian() * 2);
+        }
+        Arrays.sort(values);
+        EquiDepthHistogram histogram = EquiDepthHistogram.fromSorted(values, 100);
+        Assert.assertEquals(100, histogram.getBucketCount());
+        Assert.assertEquals(100, histogram.getMaximumBucketCount());
+        Assert.assertEquals(values.length, histogram.getTotalCount());
+        for (int i = 0; i < 1000; i++) {
+            double lowerBound = Math.exp(random.nextGaussian() * 2);
+            double higherBound = lowerBound + Math.exp(random.nextGaussian() * 2);
+            long exact = EquiDepthHistogramTest.exactCount(values, lowerBound, higherBound, true, false);
+            long estimated = histogram.estimateCount(lowerBound, higherBound, true, false);
+            Assert.assertTrue(exact + " " + estimated, Math.abs(exact - estimated) <= 200);
+        }
+        Assert.assertEquals(values.length, histogram.estimateCount(Double.NEGATIVE_INFINITY,
+                Double.POSITIVE_INFINITY, false, false));
+    }
+
+    @Test
+    public void testFrequentValuesAreCountedExactly() {
+        double[] values = new double[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (i < 600) ? 5 : i;
+        }
+        EquiDepthHistogram histogram = EquiDepthHistogram.fromSorted(values, 10);
+        Assert.assertEquals(600, histogram.estimateCount(5, 5, true, true));
+        Assert.assertEquals(0, histogram.estimateCount(5, 5, true, false));
+        Assert.assertEquals(600, histogram.estimateCount(new LongRange(0L, 5L)));
+        Assert.assertEquals(0.6, histogram.estimateSelectivity(new DoubleRange(null, 5.0)), 0.0001);
+    }
+
+    @Test
+    public void testMerge() {
+        Random random = new Random(1);
+        double[] first = new double[5000];
+        double[] second = new double[3000];
+        for (int i = 0; i < first.length; i++) {
+            first[i] = random.nextDouble() * 1000;
+        }
+        for (int i = 0; i < second.length; i++) {
+            second[i] = 500 + (random.nextDouble() * 1000);
+        }
+        double[] all = DoubleStream.concat(Arrays.stream(first), Arrays.stream(second)).toArray();
+        EquiDepthHistogram merged = EquiDepthHistogram.of(Arrays.stream(first), 50).merge(
+                EquiDepthHistogram.of(Arrays.stream(second), 50), 50);
+        Assert.assertEquals(all.length, merged.getTotalCount());
+        Assert.assertTrue(merged.getBucketCount() <= 50);
+        for (int lowerBound = 0; lowerBound < 1500; lowerBound += 50) {
+            long exact = EquiDepthHistogramTest.exactCount(all, lowerBound, lowerBound + 200, true, true);
+            long estimated = merged.estimateCount(lowerBound, lowerBound + 200, true, true);
+            Assert.assertTrue(exact + " " + estimated, Math.abs(exact - estimated) <= 2 * (all.length / 50));
+        }
+    }
+
+    @Test
+    public void testSample() {
+        double[] sample = new double[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 };
+        EquiDepthHistogram histogram = EquiDepthHistogram.fromSortedSample(sample, 1000, 5);
+        Assert.assertEquals(1000, histogram.getTotalCount());
+        Assert.assertEquals(200, histogram.getMaximumBucketCount());
+        Assert.assertEquals(400, histogram.estimateCount(1, 4, true, true));
+    }
+
+    @Test
+    public void testTimestampRange() {
+        long[] millis = new long[100];
+        for (int i = 0; i < millis.length; i++) {
+            millis[i] = 1414000000000L + (i * 1000L);
+        }
+        EquiDepthHistogram histogram = EquiDepthHistogram.fromSorted(millis, 100);
+        Assert.assertEquals(10, histogram.estimateCount(new TimestampRange(new Timestamp(1414000000000L),
+                new Timestamp(1414000010000L), true, false)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsortedValues() {
+        EquiDepthHistogram.fromSorted(new double[] { 2, 1 }, 10);
+    }
+
+}
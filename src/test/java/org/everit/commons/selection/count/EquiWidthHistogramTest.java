@@ -0,0 +1,74 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.count;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EquiWidthHistogramTest {
+
+    @Test
+    public void testMergedPartsAreTheSameAsOneHistogram() {
+        Random random = new Random(20141017);
+        EquiWidthHistogram whole = new EquiWidthHistogram(0, 100, 20);
+        EquiWidthHistogram first = new EquiWidthHistogram(0, 100, 20);
+        EquiWidthHistogram second = new EquiWidthHistogram(0, 100, 20);
+        for (int i = 0; i < 1000; i++) {
+            double value = (random.nextDouble() * 120) - 10;
+            whole.add(value);
+            ((i % 2) == 0 ? first : second).add(value);
+        }
+        first.merge(second);
+        Assert.assertEquals(whole.getTotalCount(), first.getTotalCount());
+        for (int lowerBound = -20; lowerBound < 120; lowerBound += 7) {
+            Assert.assertEquals(whole.estimateCount(lowerBound, lowerBound + 13, true, false), first.estimateCount(
+                    lowerBound, lowerBound + 13, true, false));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeDifferentLayout() {
+        new EquiWidthHistogram(0, 100, 20).merge(new EquiWidthHistogram(0, 100, 10));
+    }
+
+    @Test
+    public void testStreamEstimation() {
+        Random random = new Random(1);
+        double[] values = new double[20000];
+        EquiWidthHistogram histogram = new EquiWidthHistogram(0, 1000, 100);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.abs(random.nextGaussian() * 300);
+            histogram.add(values[i]);
+        }
+        Arrays.sort(values);
+        EquiDepthHistogram equiDepth = histogram.toEquiDepthHistogram(50);
+        Assert.assertEquals(values.length, equiDepth.getTotalCount());
+        for (int lowerBound = 0; lowerBound < 1500; lowerBound += 37) {
+            long exact = EquiDepthHistogramTest.exactCount(values, lowerBound, lowerBound + 100, true, false);
+            Assert.assertTrue(Math.abs(exact - histogram.estimateCount(lowerBound, lowerBound + 100, true,
+                    false)) <= 600);
+            Assert.assertTrue(Math.abs(exact - equiDepth.estimateCount(lowerBound, lowerBound + 100, true,
+                    false)) <= 1200);
+        }
+        Assert.assertEquals(values.length, histogram.estimateCount(Double.NEGATIVE_INFINITY,
+                Double.POSITIVE_INFINITY, true, true));
+    }
+
+}
@@ -0,0 +1,140 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.count;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+import org.everit.commons.selection.lang.DoubleRange;
+import org.everit.commons.selection.lang.LongRange;
+import org.everit.commons.selection.sql.TimestampRange;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RangeCountIndexTest {
+
+    @Test
+    public void testAlignedSlots() {
+        long day = 24L * 60 * 60 * 1000;
+        RangeCountIndex index = new RangeCountIndex(0, (365 * day) - 1, day, 4);
+        for (long time = 0; time < (365 * day); time += day / 4) {
+            index.add(time);
+        }
+        Assert.assertEquals(365 * 4, index.getTotalCount());
+        Assert.assertEquals(7 * 4, index.estimateCount(new TimestampRange(new Timestamp(10 * day), new Timestamp(
+                17 * day), true, false)));
+        Assert.assertEquals(365 * 4, index.count(Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testConcurrentUpdates() throws InterruptedException {
+        final RangeCountIndex index = new RangeCountIndex(0, 9999, 1, 8);
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int t = 0; t < 8; t++) {
+            final int seed = t;
+            Thread thread = new Thread() {
+
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    Random random = new Random(seed);
+                    for (int i = 0; i < 10000; i++) {
+                        long key = random.nextInt(10000);
+                        index.add(key);
+                        index.add(key);
+                        index.remove(key);
+                    }
+                }
+
+            };
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long[] expected = new long[10000];
+        for (int t = 0; t < 8; t++) {
+            Random random = new Random(t);
+            for (int i = 0; i < 10000; i++) {
+                expected[random.nextInt(10000)]++;
+            }
+        }
+        Assert.assertEquals(80000, index.getTotalCount());
+        for (int key = 0; key < 10000; key += 97) {
+            long sum = 0;
+            for (int i = key; i < Math.min(key + 500, 10000); i++) {
+                sum += expected[i];
+            }
+            Assert.assertEquals(sum, index.count(key, key + 499));
+        }
+    }
+
+    @Test
+    public void testFractionalBounds() {
+        RangeCountIndex index = new RangeCountIndex(0, 10, 1);
+        for (long key = 0; key <= 10; key++) {
+            index.add(key);
+        }
+        Assert.assertEquals(3, index.estimateCount(new DoubleRange(1.5, 4.0, true, true)));
+        Assert.assertEquals(1, index.estimateCount(new DoubleRange(2.0, 4.0, false, false)));
+        Assert.assertEquals(11, index.estimateCount(new DoubleRange(null, null)));
+        Assert.assertEquals(0, index.estimateCount(new DoubleRange(11.0, 20.0)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testKeyOutOfBounds() {
+        new RangeCountIndex(0, 10, 1).add(11);
+    }
+
+    @Test
+    public void testSameCountsAsBruteForce() {
+        Random random = new Random(20141017);
+        for (int stripeCount : new int[] { 1, 3, 16, 333, 1000 }) {
+            RangeCountIndex index = new RangeCountIndex(-500, 499, 1, stripeCount);
+            long[] counts = new long[1000];
+            for (int i = 0; i < 5000; i++) {
+                int key = random.nextInt(1000);
+                if ((counts[key] > 0) && random.nextBoolean()) {
+                    index.remove(key - 500);
+                    counts[key]--;
+                } else {
+                    index.add(key - 500);
+                    counts[key]++;
+                }
+                long lower = random.nextInt(1100) - 550;
+                long higher = lower + random.nextInt(300);
+                long expected = 0;
+                for (long k = Math.max(lower, -500); k <= Math.min(higher, 499); k++) {
+                    expected += counts[(int) k + 500];
+                }
+                Assert.assertEquals(expected, index.count(lower, higher));
+                Assert.assertEquals(expected, index.estimateCount(new LongRange(lower - 1, higher + 1, false, false)));
+            }
+        }
+    }
+
+}
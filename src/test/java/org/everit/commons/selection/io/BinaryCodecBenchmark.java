@@ -0,0 +1,97 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.everit.commons.selection.Page;
+import org.everit.commons.selection.PageLimit;
+import org.everit.commons.selection.util.SecondRange;
+
+/**
+ * Compares the size and the round trip throughput of a {@link Page} of {@link SecondRange}s written by
+ * {@link LimitedResultCodec} and by Java serialization.
+ *
+ * Not a unit test, run it with <code>java ... org.everit.commons.selection.io.BinaryCodecBenchmark</code>.
+ */
+public final class BinaryCodecBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private static final int ITERATIONS = 20000;
+
+    private static final LimitedResultCodec<SecondRange> CODEC = new LimitedResultCodec<SecondRange>(
+            RangeCodec.SECOND);
+
+    private static byte[] javaSerialize(final Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(object);
+        out.close();
+        return bytes.toByteArray();
+    }
+
+    public static void main(final String[] args) throws IOException, ClassNotFoundException {
+        Random random = new Random(1);
+        List<SecondRange> elements = new ArrayList<SecondRange>(PAGE_SIZE);
+        long time = 1413504000L;
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            time += random.nextInt(600);
+            elements.add(new SecondRange(time, time + random.nextInt(3600), true, false));
+        }
+        Page<SecondRange> page = new Page<SecondRange>(elements, 12345, new PageLimit(7, PAGE_SIZE));
+
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            int codecSize = 0;
+            for (int i = 0; i < ITERATIONS; i++) {
+                buffer.clear();
+                CODEC.write(page, buffer);
+                codecSize = buffer.position();
+                buffer.flip();
+                CODEC.read(buffer);
+            }
+            long codecNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int javaSize = 0;
+            for (int i = 0; i < ITERATIONS; i++) {
+                byte[] bytes = BinaryCodecBenchmark.javaSerialize(page);
+                javaSize = bytes.length;
+                new ObjectInputStream(new ByteArrayInputStream(bytes)).readObject();
+            }
+            long javaNanos = System.nanoTime() - start;
+
+            System.out.println("codec: " + codecSize + " bytes, " + (codecNanos / ITERATIONS)
+                    + " ns/round trip; java serialization: " + javaSize + " bytes, " + (javaNanos / ITERATIONS)
+                    + " ns/round trip");
+        }
+    }
+
+    private BinaryCodecBenchmark() {
+    }
+
+}
@@ -0,0 +1,185 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+import org.everit.commons.selection.Limit;
+import org.everit.commons.selection.PageLimit;
+import org.everit.commons.selection.SeekDirection;
+import org.everit.commons.selection.SeekLimit;
+import org.everit.commons.selection.SortKey;
+import org.everit.commons.selection.lang.IntegerRange;
+import org.everit.commons.selection.lang.LongRange;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ContinuationTokenCodecTest {
+
+    private static final ContinuationTokenCodec<Long, LongRange> CODEC =
+            new ContinuationTokenCodec<Long, LongRange>(RangeCodec.LONG);
+
+    private static void assertInvalid(final String token) {
+        try {
+            CODEC.decode(token);
+            Assert.fail("token [" + token + "] is accepted");
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+    }
+
+    /**
+     * Creates a token with a valid checksum that contains a seek limit with a single column key.
+     */
+    private static String craftSeekToken(final byte valueType, final long... values) {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        buffer.put(ContinuationTokenCodec.VERSION);
+        buffer.put((byte) 2);
+        VarIntUtil.writeVarLong(buffer, 10);
+        VarIntUtil.writeVarLong(buffer, 2);
+        VarIntUtil.writeVarLong(buffer, 1);
+        buffer.put(valueType);
+        for (long value : values) {
+            VarIntUtil.writeVarLong(buffer, value);
+        }
+        buffer.put((byte) 0);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(buffer.array(),
+                buffer.position()));
+    }
+
+    private static void assertRoundTrip(final Limit limit, final LongRange filter) {
+        String token = CODEC.encode(limit, filter);
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            Assert.assertTrue(token, Character.isLetterOrDigit(c) || (c == '-') || (c == '_'));
+        }
+        Assert.assertEquals(new ContinuationToken<LongRange>(limit, filter), CODEC.decode(token));
+    }
+
+    @Test
+    public void testCorruptTokens() {
+        String token = CODEC.encode(new SeekLimit(SortKey.of(42L, "name"), SeekDirection.AFTER, 20),
+                new LongRange(10L, 20L));
+        for (int i = 0; i < token.length(); i++) {
+            char replacement = (token.charAt(i) == 'A') ? 'B' : 'A';
+            ContinuationTokenCodecTest.assertInvalid(token.substring(0, i) + replacement + token.substring(i + 1));
+        }
+        for (int i = 0; i < token.length(); i++) {
+            ContinuationTokenCodecTest.assertInvalid(token.substring(0, i));
+        }
+        ContinuationTokenCodecTest.assertInvalid(token + "AAAA");
+        ContinuationTokenCodecTest.assertInvalid("!!!!");
+        StringBuilder longToken = new StringBuilder();
+        while (longToken.length() <= ContinuationTokenCodec.MAX_TOKEN_LENGTH) {
+            longToken.append(token);
+        }
+        ContinuationTokenCodecTest.assertInvalid(longToken.toString());
+    }
+
+    @Test
+    public void testCraftedValues() {
+        Assert.assertEquals(new SeekLimit(SortKey.of(7), SeekDirection.AFTER, 10),
+                CODEC.decode(ContinuationTokenCodecTest.craftSeekToken((byte) 3, VarIntUtil.zigZagEncode(7)))
+                        .getLimit());
+        ContinuationTokenCodecTest.assertInvalid(ContinuationTokenCodecTest.craftSeekToken((byte) 8,
+                VarIntUtil.zigZagEncode(Long.MAX_VALUE), 2000000000L));
+        ContinuationTokenCodecTest.assertInvalid(ContinuationTokenCodecTest.craftSeekToken((byte) 8,
+                VarIntUtil.zigZagEncode(0), 2000000000L));
+        ContinuationTokenCodecTest.assertInvalid(ContinuationTokenCodecTest.craftSeekToken((byte) 0,
+                VarIntUtil.zigZagEncode(5)));
+        ContinuationTokenCodecTest.assertInvalid(ContinuationTokenCodecTest.craftSeekToken((byte) 1,
+                VarIntUtil.zigZagEncode(200)));
+        ContinuationTokenCodecTest.assertInvalid(ContinuationTokenCodecTest.craftSeekToken((byte) 2,
+                VarIntUtil.zigZagEncode(-40000)));
+        ContinuationTokenCodecTest.assertInvalid(ContinuationTokenCodecTest.craftSeekToken((byte) 3,
+                VarIntUtil.zigZagEncode(1L << 40)));
+    }
+
+    @Test
+    public void testOutOfRangeFilter() {
+        ContinuationTokenCodec<Integer, IntegerRange> integerCodec =
+                new ContinuationTokenCodec<Integer, IntegerRange>(RangeCodec.INTEGER);
+        String token = CODEC.encode(new Limit(0, 10), new LongRange(5000000000L, 5000000001L));
+        try {
+            integerCodec.decode(token);
+            Assert.fail("filter out of the range of Integer is accepted");
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("[5000000000]"));
+        }
+        Assert.assertEquals(new IntegerRange(-7, Integer.MAX_VALUE),
+                integerCodec.decode(CODEC.encode(new Limit(0, 10), new LongRange(-7L, (long) Integer.MAX_VALUE)))
+                        .getFilter());
+    }
+
+    @Test
+    public void testRoundTrip() {
+        ContinuationTokenCodecTest.assertRoundTrip(new Limit(100000, 20), null);
+        ContinuationTokenCodecTest.assertRoundTrip(new PageLimit(5000, 20), new LongRange(null, 7L, true, false));
+        ContinuationTokenCodecTest.assertRoundTrip(new SeekLimit(null, SeekDirection.BEFORE, 1), null);
+        ContinuationTokenCodecTest.assertRoundTrip(new SeekLimit(SortKey.of(true, (byte) -3, (short) 300, -70000,
+                Long.MIN_VALUE, 2.5d, "\u00e1rv\u00edzt\u0171r\u0151", new Date(1413504000000L),
+                Instant.ofEpochSecond(-5, 999999999), new UUID(1, -2)), SeekDirection.AFTER, 50),
+                new LongRange(Long.MIN_VALUE, Long.MAX_VALUE, false, true));
+        StringBuilder longValue = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            longValue.append('x');
+        }
+        ContinuationTokenCodecTest.assertRoundTrip(new SeekLimit(SortKey.of(longValue.toString()),
+                SeekDirection.AFTER, 10), null);
+    }
+
+    @Test
+    public void testSize() {
+        String token = CODEC.encode(new SeekLimit(SortKey.of(1413504000L, 123456L), SeekDirection.AFTER, 20),
+                new LongRange(1000L, 2000L));
+        Assert.assertTrue(token, token.length() <= 40);
+    }
+
+    @Test
+    public void testSortKeyCodecStreams() throws IOException {
+        SortKeyCodec codec = new SortKeyCodec();
+        SortKey key = SortKey.of("a", 1, Instant.ofEpochSecond(3, 4)).withTieBreaker(UUID.randomUUID());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        codec.write(key, new DataOutputStream(bytes));
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.size());
+        codec.write(key, buffer);
+        buffer.flip();
+        Assert.assertEquals(key, codec.read(buffer));
+        Assert.assertFalse(buffer.hasRemaining());
+        Assert.assertEquals(key, codec.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedValue() {
+        CODEC.encode(new SeekLimit(SortKey.of(new java.math.BigDecimal(1)), SeekDirection.AFTER, 1), null);
+    }
+
+}
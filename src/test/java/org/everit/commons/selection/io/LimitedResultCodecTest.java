@@ -0,0 +1,105 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.everit.commons.selection.ElementCount;
+import org.everit.commons.selection.Limit;
+import org.everit.commons.selection.LimitedResult;
+import org.everit.commons.selection.Page;
+import org.everit.commons.selection.PageLimit;
+import org.everit.commons.selection.lang.LongRange;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LimitedResultCodecTest {
+
+    private static final LimitedResultCodec<LongRange> CODEC = new LimitedResultCodec<LongRange>(RangeCodec.LONG);
+
+    private static LimitedResult<LongRange> roundTrip(final LimitedResult<LongRange> result) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CODEC.write(result, new DataOutputStream(bytes));
+        ByteBuffer buffer = ByteBuffer.allocate(bytes.size());
+        CODEC.write(result, buffer);
+        Assert.assertArrayEquals(bytes.toByteArray(), buffer.array());
+        buffer.flip();
+        Assert.assertEquals(result, CODEC.read(buffer));
+        return CODEC.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    @Test
+    public void testLimits() {
+        LimitCodec codec = new LimitCodec();
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        codec.write(new PageLimit(1, 20), buffer);
+        Assert.assertEquals(3, buffer.position());
+        codec.write(new PageLimit(7, 25), buffer);
+        codec.write(new Limit(13, 1), buffer);
+        buffer.flip();
+        Assert.assertEquals(new PageLimit(1, 20), codec.read(buffer));
+        Assert.assertEquals(new PageLimit(7, 25), codec.read(buffer));
+        Limit limit = codec.read(buffer);
+        Assert.assertEquals(Limit.class, limit.getClass());
+        Assert.assertEquals(new Limit(13, 1), limit);
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        List<LongRange> elements = new ArrayList<LongRange>();
+        for (long i = 0; i < 10; i++) {
+            elements.add(new LongRange(i * 10, (i * 10) + 5));
+        }
+        Page<LongRange> page = new Page<LongRange>(elements, 95, new PageLimit(3, 10));
+        LimitedResult<LongRange> result = LimitedResultCodecTest.roundTrip(page);
+        Assert.assertEquals(page, result);
+        Page<LongRange> decodedPage = (Page<LongRange>) result;
+        Assert.assertEquals(3, decodedPage.getPageIndex());
+        Assert.assertEquals(10, decodedPage.getLastAvailablePageIndex());
+
+        LimitedResult<LongRange> limitedResult = new LimitedResult<LongRange>(elements.subList(2, 5), 3,
+                new Limit(0, 5));
+        Assert.assertEquals(limitedResult, LimitedResultCodecTest.roundTrip(limitedResult));
+
+        Page<LongRange> estimatedPage = new Page<LongRange>(elements, ElementCount.estimated(1000, 50),
+                new PageLimit(2, 10));
+        Assert.assertEquals(estimatedPage, LimitedResultCodecTest.roundTrip(estimatedPage));
+        Page<LongRange> clampedPage = new Page<LongRange>(elements, ElementCount.estimated(30, 20).withMinimum(21),
+                new PageLimit(2, 10));
+        Assert.assertEquals(clampedPage, LimitedResultCodecTest.roundTrip(clampedPage));
+        LimitedResult<LongRange> atLeastResult = new LimitedResult<LongRange>(elements, ElementCount.atLeast(11),
+                new Limit(0, 10));
+        Assert.assertEquals(atLeastResult, LimitedResultCodecTest.roundTrip(atLeastResult));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedLimit() {
+        new LimitCodec().write(new Limit(0, 1) {
+
+            private static final long serialVersionUID = 1L;
+
+        }, ByteBuffer.allocate(16));
+    }
+
+}
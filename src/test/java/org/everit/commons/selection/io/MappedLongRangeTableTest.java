@@ -0,0 +1,171 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.everit.commons.selection.RangeUtil;
+import org.everit.commons.selection.lang.LongRange;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MappedLongRangeTableTest {
+
+    private static List<LongRange> createRanges(final int size) {
+        Random random = new Random(20141017);
+        List<LongRange> ranges = new ArrayList<LongRange>(size);
+        for (int i = 0; i < size; i++) {
+            long lower = random.nextInt(1000) - 500;
+            ranges.add(new LongRange(lower, lower + random.nextInt(30), random.nextBoolean(), random.nextBoolean()));
+        }
+        return ranges;
+    }
+
+    private static List<Integer> findOverlapping(final MappedLongRangeTable table, final LongRange query) {
+        List<Integer> result = new ArrayList<Integer>();
+        for (int i = table.nextOverlapping(query.getLowerBound(), query.getHigherBound(), query.isLowerInclusive(),
+                query.isHigherInclusive(), 0); i >= 0; i = table.nextOverlapping(query.getLowerBound(),
+                query.getHigherBound(), query.isLowerInclusive(), query.isHigherInclusive(), i + 1)) {
+            result.add(i);
+        }
+        return result;
+    }
+
+    private static MappedLongRangeTable toTable(final List<LongRange> ranges) throws IOException {
+        MappedLongRangeTableWriter writer = new MappedLongRangeTableWriter();
+        for (LongRange range : ranges) {
+            writer.add(range, MappedLongRangeTableTest.payload(range));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(out);
+        return new MappedLongRangeTable(ByteBuffer.wrap(out.toByteArray()));
+    }
+
+    private static byte[] payload(final LongRange range) {
+        return range.toString().getBytes();
+    }
+
+    @Test
+    public void testEmptyTable() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new MappedLongRangeTableWriter().write(out);
+        MappedLongRangeTable table = new MappedLongRangeTable(ByteBuffer.wrap(out.toByteArray()));
+        Assert.assertEquals(0, table.size());
+        Assert.assertFalse(table.contains(0));
+    }
+
+    @Test
+    public void testEmptyQuery() throws IOException {
+        List<LongRange> ranges = new ArrayList<LongRange>();
+        ranges.add(new LongRange(0L, 10L));
+        MappedLongRangeTable table = MappedLongRangeTableTest.toTable(ranges);
+        Assert.assertFalse(table.overlaps(5, 5, false, false));
+        Assert.assertFalse(table.overlaps(5, 5, true, false));
+        Assert.assertFalse(table.overlaps(5, 5, false, true));
+        Assert.assertTrue(table.overlaps(5, 5, true, true));
+        Assert.assertTrue(table.contains(5));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBuffer() {
+        new MappedLongRangeTable(ByteBuffer.allocate(64));
+    }
+
+    @Test
+    public void testQueriesAgainstGetRelationTo() throws IOException {
+        List<LongRange> ranges = MappedLongRangeTableTest.createRanges(2000);
+        MappedLongRangeTableWriter writer = new MappedLongRangeTableWriter();
+        for (LongRange range : ranges) {
+            writer.add(range, MappedLongRangeTableTest.payload(range));
+        }
+        File file = File.createTempFile("ranges", ".table");
+        file.deleteOnExit();
+        writer.write(file);
+        MappedLongRangeTable table = MappedLongRangeTable.open(file);
+        Assert.assertEquals(ranges.size(), table.size());
+
+        List<LongRange> tableRanges = new ArrayList<LongRange>();
+        for (int i = 0; i < table.size(); i++) {
+            LongRange range = new LongRange(table.getLowerBound(i), table.getHigherBound(i),
+                    table.isLowerInclusive(i), table.isHigherInclusive(i));
+            if (i > 0) {
+                Assert.assertTrue(tableRanges.get(i - 1).getLowerBound() <= range.getLowerBound());
+            }
+            ByteBuffer payload = table.getPayload(i);
+            byte[] bytes = new byte[payload.remaining()];
+            payload.get(bytes);
+            Assert.assertArrayEquals(MappedLongRangeTableTest.payload(range), bytes);
+            tableRanges.add(range);
+        }
+
+        Random random = new Random(1);
+        for (int q = 0; q < 300; q++) {
+            long lower = random.nextInt(1100) - 550;
+            LongRange query = new LongRange(lower, lower + random.nextInt(40), random.nextBoolean(),
+                    random.nextBoolean());
+            List<Integer> expected = new ArrayList<Integer>();
+            for (int i = 0; i < tableRanges.size(); i++) {
+                if (!RangeUtil.isEmpty(query) && !query.getRelationTo(tableRanges.get(i)).isDistinct()) {
+                    expected.add(i);
+                }
+            }
+            Assert.assertEquals(expected, MappedLongRangeTableTest.findOverlapping(table, query));
+            boolean contained = false;
+            for (LongRange range : tableRanges) {
+                contained |= RangeUtil.contains(range, lower);
+            }
+            Assert.assertEquals(contained, table.contains(lower));
+        }
+    }
+
+    @Test
+    public void testNestedRanges() throws IOException {
+        Random random = new Random(20141018);
+        List<LongRange> ranges = new ArrayList<LongRange>();
+        ranges.add(new LongRange(Long.MIN_VALUE, Long.MAX_VALUE));
+        for (int i = 0; i < 1000; i++) {
+            int prefixLength = 8 + random.nextInt(17);
+            long lower = (random.nextInt() & 0xFFFFFFFFL) & -(1L << (32 - prefixLength));
+            ranges.add(new LongRange(lower, lower + (1L << (32 - prefixLength)), true, false));
+        }
+        MappedLongRangeTable table = MappedLongRangeTableTest.toTable(ranges);
+        List<LongRange> tableRanges = new ArrayList<LongRange>();
+        for (int i = 0; i < table.size(); i++) {
+            tableRanges.add(new LongRange(table.getLowerBound(i), table.getHigherBound(i), table.isLowerInclusive(i),
+                    table.isHigherInclusive(i)));
+        }
+        for (int q = 0; q < 300; q++) {
+            long lower = random.nextInt() & 0xFFFFFFFFL;
+            LongRange query = new LongRange(lower, lower + random.nextInt(1 << random.nextInt(24)),
+                    random.nextBoolean(), random.nextBoolean());
+            List<Integer> expected = new ArrayList<Integer>();
+            for (int i = 0; i < tableRanges.size(); i++) {
+                if (!RangeUtil.isEmpty(query) && !query.getRelationTo(tableRanges.get(i)).isDistinct()) {
+                    expected.add(i);
+                }
+            }
+            Assert.assertEquals(expected, MappedLongRangeTableTest.findOverlapping(table, query));
+        }
+    }
+
+}
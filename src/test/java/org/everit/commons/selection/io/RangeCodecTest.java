@@ -0,0 +1,110 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.everit.commons.selection.lang.IntegerRange;
+import org.everit.commons.selection.lang.LongRange;
+import org.everit.commons.selection.util.DateRange;
+import org.everit.commons.selection.util.SecondRange;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RangeCodecTest {
+
+    private static int javaSerializedSize(final Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(object);
+        out.close();
+        return bytes.size();
+    }
+
+    private static List<DateRange> sortedDateRanges(final int size) {
+        List<DateRange> ranges = new ArrayList<DateRange>(size);
+        long time = 1413504000000L;
+        for (int i = 0; i < size; i++) {
+            ranges.add(new DateRange(new Date(time), new Date(time + 3600000), true, false));
+            time += 3600000;
+        }
+        return ranges;
+    }
+
+    @Test
+    public void testNullBounds() throws IOException {
+        List<LongRange> ranges = new ArrayList<LongRange>();
+        ranges.add(new LongRange(null, 5L, false, true));
+        ranges.add(new LongRange(3L, null));
+        ranges.add(new LongRange(null, null, false, false));
+        ranges.add(new LongRange(Long.MIN_VALUE, Long.MAX_VALUE));
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        RangeCodec.LONG.writeAll(ranges, buffer);
+        for (LongRange range : ranges) {
+            RangeCodec.LONG.write(range, buffer);
+        }
+        buffer.flip();
+        Assert.assertEquals(ranges, RangeCodec.LONG.readAll(buffer));
+        for (LongRange range : ranges) {
+            Assert.assertEquals(range, RangeCodec.LONG.read(buffer));
+        }
+        Assert.assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void testRoundTripAndSize() throws IOException {
+        List<DateRange> ranges = RangeCodecTest.sortedDateRanges(1000);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        RangeCodec.DATE.writeAll(ranges, new DataOutputStream(bytes));
+        Assert.assertEquals(ranges, RangeCodec.DATE.readAll(new DataInputStream(new ByteArrayInputStream(bytes
+                .toByteArray()))));
+
+        ByteBuffer buffer = ByteBuffer.allocate(bytes.size());
+        RangeCodec.DATE.writeAll(ranges, buffer);
+        Assert.assertArrayEquals(bytes.toByteArray(), buffer.array());
+        buffer.flip();
+        Assert.assertEquals(ranges, RangeCodec.DATE.readAll(buffer));
+
+        // the lower bounds differ by an hour, the lengths are an hour: 1 + 4 + 4 bytes per range after the first
+        Assert.assertTrue(bytes.size() < (ranges.size() * 10));
+        Assert.assertTrue(bytes.size() * 4 < RangeCodecTest.javaSerializedSize(new ArrayList<DateRange>(ranges)));
+
+        SecondRange secondRange = new SecondRange(60L, 120L, true, false);
+        buffer = ByteBuffer.allocate(16);
+        RangeCodec.SECOND.write(secondRange, buffer);
+        Assert.assertEquals(3, buffer.position());
+        buffer.flip();
+        Assert.assertEquals(secondRange, RangeCodec.SECOND.read(buffer));
+        Assert.assertTrue(RangeCodecTest.javaSerializedSize(secondRange) > 100);
+
+        IntegerRange integerRange = new IntegerRange(Integer.MIN_VALUE, Integer.MAX_VALUE, false, true);
+        buffer.clear();
+        RangeCodec.INTEGER.write(integerRange, buffer);
+        buffer.flip();
+        Assert.assertEquals(integerRange, RangeCodec.INTEGER.read(buffer));
+    }
+
+}
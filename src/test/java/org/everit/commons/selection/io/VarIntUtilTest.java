@@ -0,0 +1,68 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class VarIntUtilTest {
+
+    private static final long[] VALUES = new long[] { 0, 1, -1, 63, -64, 64, 127, 128, 300, -300, Integer.MAX_VALUE,
+            Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE };
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMalformed() {
+        byte[] bytes = new byte[11];
+        Arrays.fill(bytes, (byte) 0x80);
+        VarIntUtil.readVarLong(ByteBuffer.wrap(bytes));
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(VALUES.length * VarIntUtil.MAX_VAR_LONG_SIZE * 2);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (long value : VALUES) {
+            int position = buffer.position();
+            VarIntUtil.writeVarLong(buffer, value);
+            Assert.assertEquals(VarIntUtil.varLongSize(value), buffer.position() - position);
+            VarIntUtil.writeVarLong(buffer, VarIntUtil.zigZagEncode(value));
+            VarIntUtil.writeVarLong(out, value);
+            VarIntUtil.writeVarLong(out, VarIntUtil.zigZagEncode(value));
+        }
+        buffer.flip();
+        Assert.assertArrayEquals(bytes.toByteArray(), Arrays.copyOf(buffer.array(), buffer.limit()));
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        for (long value : VALUES) {
+            Assert.assertEquals(value, VarIntUtil.readVarLong(buffer));
+            Assert.assertEquals(value, VarIntUtil.zigZagDecode(VarIntUtil.readVarLong(buffer)));
+            Assert.assertEquals(value, VarIntUtil.readVarLong(in));
+            Assert.assertEquals(value, VarIntUtil.zigZagDecode(VarIntUtil.readVarLong(in)));
+        }
+        Assert.assertEquals(1, VarIntUtil.varLongSize(VarIntUtil.zigZagEncode(-64)));
+        Assert.assertEquals(VarIntUtil.MAX_VAR_LONG_SIZE, VarIntUtil.varLongSize(-1));
+    }
+
+}
@@ -0,0 +1,129 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.lang;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.everit.commons.selection.RangeRelation;
+import org.everit.commons.selection.RangeRelationUtil;
+import org.everit.commons.selection.RangeUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LongRangeColumnTest {
+
+    private static List<LongRange> createRanges(final int size) {
+        Random random = new Random(20141017);
+        List<LongRange> ranges = new ArrayList<LongRange>(size);
+        for (int i = 0; i < size; i++) {
+            long lower = random.nextInt(500);
+            ranges.add(new LongRange(lower, lower + random.nextInt(20), random.nextBoolean(), random.nextBoolean()));
+        }
+        return ranges;
+    }
+
+    @Test
+    public void testAddAndView() {
+        List<LongRange> ranges = LongRangeColumnTest.createRanges(100);
+        LongRangeColumn column = new LongRangeColumn(0);
+        for (LongRange range : ranges) {
+            column.add(range);
+        }
+        Assert.assertEquals(ranges.size(), column.size());
+        column.trimToSize();
+        LongRangeColumn.View view = column.view(0);
+        for (int i = 0; i < ranges.size(); i++) {
+            LongRange range = ranges.get(i);
+            view.moveTo(i);
+            Assert.assertEquals(range, view.toLongRange());
+            Assert.assertEquals(range.getLowerBound().longValue(), view.getLowerBound());
+            Assert.assertEquals(range.isHigherInclusive(), column.isHigherInclusive(i));
+            Assert.assertEquals(new PrimitiveLongRange(range), column.get(i));
+            for (int j = 0; j < ranges.size(); j += 7) {
+                Assert.assertEquals(range.getRelationTo(ranges.get(j)), view.getRelationTo(j));
+            }
+        }
+    }
+
+    @Test
+    public void testClassifyAndOverlapMask() {
+        List<LongRange> ranges = LongRangeColumnTest.createRanges(300);
+        LongRangeColumn column = new LongRangeColumn(ranges);
+        byte[] relations = new byte[ranges.size()];
+        long[] mask = new long[(ranges.size() + 63) / 64];
+        for (int i = 0; i < ranges.size(); i += 11) {
+            LongRange query = ranges.get(i);
+            column.classify(query.getLowerBound(), query.getHigherBound(), query.isLowerInclusive(),
+                    query.isHigherInclusive(), relations);
+            int count = column.overlapMask(query.getLowerBound(), query.getHigherBound(), query.isLowerInclusive(),
+                    query.isHigherInclusive(), mask);
+            int expectedCount = 0;
+            for (int j = 0; j < ranges.size(); j++) {
+                RangeRelation relation = query.getRelationTo(ranges.get(j));
+                Assert.assertEquals(relation, RangeRelationUtil.toRangeRelation(relations[j]));
+                boolean overlapping = (mask[j >>> 6] & (1L << (j & 63))) != 0;
+                Assert.assertEquals(!relation.isDistinct(), overlapping);
+                if (overlapping) {
+                    expectedCount++;
+                }
+            }
+            Assert.assertEquals(expectedCount, count);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBounds() {
+        new LongRangeColumn().add(2, 1, true, true);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testOutOfBounds() {
+        LongRangeColumn column = new LongRangeColumn();
+        column.add(1, 2, true, true);
+        column.getLowerBound(1);
+    }
+
+    @Test
+    public void testSort() {
+        List<LongRange> ranges = LongRangeColumnTest.createRanges(1000);
+        LongRangeColumn column = new LongRangeColumn(ranges);
+        column.sort();
+        Collections.sort(ranges, new Comparator<LongRange>() {
+
+            @Override
+            public int compare(final LongRange o1, final LongRange o2) {
+                int result = RangeUtil.compareLowerBounds(o1, o2);
+                return (result != 0) ? result : RangeUtil.compareHigherBounds(o1, o2);
+            }
+
+        });
+        for (int i = 0; i < ranges.size(); i++) {
+            Assert.assertEquals(ranges.get(i), column.view(i).toLongRange());
+        }
+        Assert.assertEquals(0, column.indexOfFirstStartingAfter(-1, true));
+        Assert.assertEquals(ranges.size(), column.indexOfFirstStartingAfter(1000, true));
+        int index = column.indexOfFirstStartingAfter(250, true);
+        for (int i = 0; i < ranges.size(); i++) {
+            Assert.assertEquals(i >= index, RangeUtil.startsAfter(ranges.get(i), 250L, true));
+        }
+    }
+
+}
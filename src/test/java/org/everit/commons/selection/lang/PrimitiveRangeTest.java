@@ -0,0 +1,146 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.lang;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.everit.commons.selection.Range;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PrimitiveRangeTest {
+
+    private static final boolean[] BOOLEANS = new boolean[] { true, false };
+
+    private static List<LongRange> createLongRanges() {
+        List<LongRange> ranges = new ArrayList<LongRange>();
+        for (long lower = 0; lower < 4; lower++) {
+            for (long higher = lower; higher < 4; higher++) {
+                for (boolean lowerInclusive : BOOLEANS) {
+                    for (boolean higherInclusive : BOOLEANS) {
+                        ranges.add(new LongRange(lower, higher, lowerInclusive, higherInclusive));
+                    }
+                }
+            }
+        }
+        return ranges;
+    }
+
+    @Test
+    public void testConstructor() {
+        try {
+            new PrimitiveLongRange(20, 10);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertNotNull(e.getMessage());
+        }
+        try {
+            new PrimitiveLongRange(new LongRange(null, 10l));
+            Assert.fail();
+        } catch (NullPointerException e) {
+            Assert.assertNotNull(e.getMessage());
+        }
+    }
+
+    @Test
+    public void testContains() {
+        PrimitiveLongRange range = new PrimitiveLongRange(5, 10, false, true);
+        Assert.assertFalse(range.contains(5));
+        Assert.assertTrue(range.contains(6));
+        Assert.assertTrue(range.contains(10));
+        Assert.assertFalse(range.contains(11));
+    }
+
+    @Test
+    public void testConversion() {
+        LongRange longRange = new LongRange(5l, 10l, false, true);
+        Assert.assertEquals(longRange, new PrimitiveLongRange(longRange).toLongRange());
+        IntegerRange integerRange = new IntegerRange(5, 10, true, false);
+        Assert.assertEquals(integerRange, new PrimitiveIntegerRange(integerRange).toIntegerRange());
+        DoubleRange doubleRange = new DoubleRange(0.5, 1.5, false, false);
+        Assert.assertEquals(doubleRange, new PrimitiveDoubleRange(doubleRange).toDoubleRange());
+    }
+
+    @Test
+    public void testDoubleRange() {
+        PrimitiveDoubleRange range = new PrimitiveDoubleRange(0.5, 1.5, true, false);
+        Assert.assertEquals(1.0, range.getLength(), 0.0);
+        Assert.assertTrue(range.contains(0.5));
+        Assert.assertFalse(range.contains(1.5));
+        Assert.assertEquals(range, new PrimitiveDoubleRange(0.5, 1.5, true, false));
+        Assert.assertEquals(range.hashCode(), new PrimitiveDoubleRange(0.5, 1.5, true, false).hashCode());
+        Assert.assertTrue(range.getRelationTo(new PrimitiveDoubleRange(1.5, 2.0)).isDistinct());
+        Assert.assertTrue(range.getRelationTo(new PrimitiveDoubleRange(1.4, 2.0)).endsAfter());
+    }
+
+    @Test
+    public void testIntegerLength() {
+        Assert.assertEquals(5, new PrimitiveIntegerRange(5, 10).getLength());
+        Assert.assertEquals(0xFFFFFFFFL, new PrimitiveIntegerRange(Integer.MIN_VALUE, Integer.MAX_VALUE).getLength());
+    }
+
+    @Test
+    public void testSameSemanticsAsRange() {
+        List<LongRange> ranges = PrimitiveRangeTest.createLongRanges();
+        for (LongRange range : ranges) {
+            PrimitiveLongRange primitiveRange = new PrimitiveLongRange(range);
+            PrimitiveIntegerRange primitiveIntegerRange = new PrimitiveIntegerRange(new IntegerRange(range
+                    .getLowerBound().intValue(), range.getHigherBound().intValue(), range.isLowerInclusive(),
+                    range.isHigherInclusive()));
+            PrimitiveDoubleRange primitiveDoubleRange = new PrimitiveDoubleRange(range.getLowerBound(),
+                    range.getHigherBound(), range.isLowerInclusive(), range.isHigherInclusive());
+            for (LongRange other : ranges) {
+                PrimitiveLongRange primitiveOther = new PrimitiveLongRange(other);
+                String message = range + " " + other;
+                Assert.assertEquals(message, range.getRelationTo(other), primitiveRange.getRelationTo(primitiveOther));
+                Assert.assertEquals(message, range.getRelationTo(other),
+                        primitiveIntegerRange.getRelationTo(new PrimitiveIntegerRange(other.getLowerBound()
+                                .intValue(), other.getHigherBound().intValue(), other.isLowerInclusive(), other
+                                .isHigherInclusive())));
+                Assert.assertEquals(message, range.getRelationTo(other),
+                        primitiveDoubleRange.getRelationTo(new PrimitiveDoubleRange(other.getLowerBound(), other
+                                .getHigherBound(), other.isLowerInclusive(), other.isHigherInclusive())));
+                Assert.assertEquals(message, !range.getRelationTo(other).isDistinct(),
+                        primitiveRange.overlaps(primitiveOther));
+
+                Range<Long> intersection = range.intersect(other);
+                PrimitiveLongRange primitiveIntersection = primitiveRange.intersect(primitiveOther);
+                if (intersection == null) {
+                    Assert.assertNull(message, primitiveIntersection);
+                } else {
+                    Assert.assertEquals(message, intersection.getLowerBound().longValue(),
+                            primitiveIntersection.getLowerBound());
+                    Assert.assertEquals(message, intersection.getHigherBound().longValue(),
+                            primitiveIntersection.getHigherBound());
+                    Assert.assertEquals(message, intersection.isLowerInclusive(),
+                            primitiveIntersection.isLowerInclusive());
+                    Assert.assertEquals(message, intersection.isHigherInclusive(),
+                            primitiveIntersection.isHigherInclusive());
+                }
+
+                Range<Long> union = range.union(other);
+                PrimitiveLongRange primitiveUnion = primitiveRange.union(primitiveOther);
+                Assert.assertEquals(message, union.getLowerBound().longValue(), primitiveUnion.getLowerBound());
+                Assert.assertEquals(message, union.getHigherBound().longValue(), primitiveUnion.getHigherBound());
+                Assert.assertEquals(message, union.isLowerInclusive(), primitiveUnion.isLowerInclusive());
+                Assert.assertEquals(message, union.isHigherInclusive(), primitiveUnion.isHigherInclusive());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.lang;
+
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import org.everit.commons.selection.util.SecondRange;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RangeSpliteratorTest {
+
+    private static final boolean[] BOOLEANS = new boolean[] { true, false };
+
+    @Test
+    public void testBalancedSplit() {
+        Spliterator.OfLong spliterator = new LongRange(0L, 1000000L, true, false).spliterator();
+        Spliterator.OfLong prefix = spliterator.trySplit();
+        Assert.assertEquals(500000, prefix.estimateSize());
+        Assert.assertEquals(500000, spliterator.estimateSize());
+        Assert.assertTrue(prefix.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+
+        Spliterator.OfInt intSpliterator = new IntegerRange(1, 11).spliterator();
+        Spliterator.OfInt intPrefix = intSpliterator.trySplit();
+        Assert.assertEquals(6, intPrefix.estimateSize());
+        Assert.assertEquals(5, intSpliterator.estimateSize());
+        Assert.assertTrue(intPrefix.tryAdvance((int value) -> Assert.assertEquals(1, value)));
+        Assert.assertEquals(5, intPrefix.estimateSize());
+    }
+
+    @Test
+    public void testExtremeBounds() {
+        LongRange all = new LongRange(Long.MIN_VALUE, Long.MAX_VALUE);
+        Spliterator.OfLong spliterator = all.spliterator();
+        Assert.assertFalse(spliterator.hasCharacteristics(Spliterator.SIZED));
+        Assert.assertEquals(Long.MAX_VALUE, spliterator.estimateSize());
+        Spliterator.OfLong half = spliterator.trySplit();
+        Assert.assertFalse(half.hasCharacteristics(Spliterator.SIZED));
+        Spliterator.OfLong quarter = half.trySplit();
+        Assert.assertTrue(quarter.hasCharacteristics(Spliterator.SIZED));
+        Assert.assertEquals(1L << 62, quarter.estimateSize());
+        Assert.assertTrue(quarter.tryAdvance((long value) -> Assert.assertEquals(Long.MIN_VALUE, value)));
+
+        Assert.assertArrayEquals(new long[] { Long.MAX_VALUE - 1, Long.MAX_VALUE },
+                new LongRange(Long.MAX_VALUE - 1, Long.MAX_VALUE).stream().toArray());
+        Assert.assertEquals(0, new LongRange(Long.MAX_VALUE, Long.MAX_VALUE, false, true).stream().count());
+        Assert.assertEquals(0, new LongRange(Long.MIN_VALUE, Long.MIN_VALUE, true, false).stream().count());
+        Assert.assertArrayEquals(new int[] { Integer.MAX_VALUE }, new IntegerRange(Integer.MAX_VALUE,
+                Integer.MAX_VALUE).stream().toArray());
+        Assert.assertEquals((1L << 32) - 1, new IntegerRange(Integer.MIN_VALUE, Integer.MAX_VALUE, false,
+                true).spliterator().estimateSize());
+    }
+
+    @Test
+    public void testInclusiveFlags() {
+        for (boolean lowerInclusive : BOOLEANS) {
+            for (boolean higherInclusive : BOOLEANS) {
+                long from = lowerInclusive ? 3 : 4;
+                long to = higherInclusive ? 10 : 9;
+                Assert.assertArrayEquals(LongStream.rangeClosed(from, to).toArray(), new LongRange(3L, 10L,
+                        lowerInclusive, higherInclusive).stream().toArray());
+                Assert.assertArrayEquals(IntStream.rangeClosed((int) from, (int) to).toArray(), new IntegerRange(3,
+                        10, lowerInclusive, higherInclusive).stream().toArray());
+                Assert.assertEquals((lowerInclusive && higherInclusive) ? 1 : 0, new LongRange(5L, 5L,
+                        lowerInclusive, higherInclusive).stream().count());
+            }
+        }
+    }
+
+    @Test
+    public void testParallelStream() {
+        long expected = 0;
+        for (long i = 1; i < 1000000; i++) {
+            expected += i;
+        }
+        Assert.assertEquals(expected, new LongRange(0L, 1000000L, false, false).parallelStream().sum());
+        Assert.assertEquals(expected, new SecondRange(0L, 1000000L, false, false).parallelStream().sum());
+        Assert.assertEquals(999999, new IntegerRange(0, 1000000, false, false).parallelStream().count());
+    }
+
+}
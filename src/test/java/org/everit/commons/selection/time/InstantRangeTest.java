@@ -0,0 +1,109 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.time;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import org.everit.commons.selection.RangeUtil;
+import org.everit.commons.selection.lang.LongRange;
+import org.everit.commons.selection.sql.TimestampRange;
+import org.everit.commons.selection.util.DateRange;
+import org.everit.commons.selection.util.SecondRange;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class InstantRangeTest {
+
+    @Test(expected = ArithmeticException.class)
+    public void testFractionOfMillisecondToDateRange() {
+        new InstantRange(Instant.ofEpochSecond(1, 1), Instant.ofEpochSecond(2)).toDateRange();
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testFractionOfSecondToSecondRange() {
+        new InstantRange(Instant.ofEpochSecond(1), Instant.ofEpochSecond(2, 1000000)).toSecondRange();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidNanos() {
+        new InstantRange(0, 1000000000, 1, 0, true, true);
+    }
+
+    @Test
+    public void testLegacyConversions() {
+        DateRange dateRange = new DateRange(new Date(-1), new Date(1414000000123L), false, true);
+        Assert.assertEquals(dateRange, new InstantRange(dateRange).toDateRange());
+        Assert.assertEquals(Instant.ofEpochSecond(-1, 999000000), new InstantRange(dateRange).getLowerBound());
+
+        DateRange sqlDateRange = new DateRange(java.sql.Date.valueOf("2014-10-17"),
+                java.sql.Date.valueOf("2014-10-18"), true, false);
+        InstantRange sqlDateInstantRange = new InstantRange(sqlDateRange);
+        Assert.assertEquals(sqlDateRange.getLowerBound().getTime(), sqlDateInstantRange.getLowerBound().toEpochMilli());
+        Assert.assertEquals(sqlDateRange, sqlDateInstantRange.toDateRange());
+
+        Timestamp lowerBound = new Timestamp(1414000000000L);
+        lowerBound.setNanos(123456789);
+        TimestampRange timestampRange = new TimestampRange(lowerBound, new Timestamp(1415000000000L), true, false);
+        InstantRange instantRange = new InstantRange(timestampRange);
+        Assert.assertEquals(123456789, instantRange.getLowerNanos());
+        Assert.assertEquals(timestampRange, instantRange.toTimestampRange());
+
+        SecondRange secondRange = new SecondRange(10L, 20L, true, false);
+        Assert.assertEquals(secondRange, new InstantRange(secondRange).toSecondRange());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullBound() {
+        new InstantRange(new DateRange(null, new Date()));
+    }
+
+    @Test
+    public void testSameRelationsAsRange() {
+        Random random = new Random(20141017);
+        List<InstantRange> ranges = new ArrayList<InstantRange>();
+        List<LongRange> expected = new ArrayList<LongRange>();
+        for (int i = 0; i < 300; i++) {
+            long lowerSeconds = random.nextInt(4) - 2;
+            int lowerNanos = random.nextInt(2) * 500000000;
+            long higherSeconds = lowerSeconds + random.nextInt(3);
+            int higherNanos = (higherSeconds == lowerSeconds) ? (lowerNanos + (random.nextInt(2) * 100)) : random
+                    .nextInt(2) * 500000000;
+            boolean lowerInclusive = random.nextBoolean();
+            boolean higherInclusive = random.nextBoolean();
+            ranges.add(new InstantRange(lowerSeconds, lowerNanos, higherSeconds, higherNanos, lowerInclusive,
+                    higherInclusive));
+            expected.add(new LongRange((lowerSeconds * 1000000000) + lowerNanos, (higherSeconds * 1000000000)
+                    + higherNanos, lowerInclusive, higherInclusive));
+        }
+        for (int i = 0; i < ranges.size(); i++) {
+            InstantRange range = ranges.get(i);
+            for (int j = 0; j < ranges.size(); j++) {
+                Assert.assertEquals(expected.get(i).getRelationTo(expected.get(j)), range.getRelationTo(ranges.get(j)));
+            }
+            long value = expected.get(i).getLowerBound();
+            Assert.assertEquals(RangeUtil.contains(expected.get(i), value), range.contains(range.getLowerBound()));
+            Assert.assertEquals(RangeUtil.contains(expected.get(i), value + 1), range.contains(range.getLowerBound()
+                    .plusNanos(1)));
+        }
+    }
+
+}
@@ -0,0 +1,73 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.time;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import org.everit.commons.selection.RangeRelation;
+import org.everit.commons.selection.RangeUtil;
+import org.everit.commons.selection.lang.LongRange;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LocalDateRangeTest {
+
+    private static final boolean[] BOOLEANS = new boolean[] { true, false };
+
+    @Test
+    public void testSameRelationsAsRange() {
+        LocalDate date = LocalDate.of(2014, 10, 17);
+        for (int lower = 0; lower < 3; lower++) {
+            for (int higher = lower; higher < 3; higher++) {
+                for (boolean lowerInclusive : BOOLEANS) {
+                    for (boolean higherInclusive : BOOLEANS) {
+                        LocalDateRange range = new LocalDateRange(date.plusDays(lower), date.plusDays(higher),
+                                lowerInclusive, higherInclusive);
+                        LongRange expected = new LongRange(date.toEpochDay() + lower, date.toEpochDay() + higher,
+                                lowerInclusive, higherInclusive);
+                        LocalDateRange other = new LocalDateRange(date.plusDays(1), date.plusDays(1));
+                        Assert.assertEquals(expected.getRelationTo(new LongRange(date.toEpochDay() + 1,
+                                date.toEpochDay() + 1)), range.getRelationTo(other));
+                        Assert.assertEquals(RangeUtil.contains(expected, date.toEpochDay() + 1),
+                                range.contains(date.plusDays(1)));
+                    }
+                }
+            }
+        }
+        Assert.assertEquals(RangeRelation.IDENTICAL, new LocalDateRange(date, date).getRelationTo(
+                new LocalDateRange(date.toEpochDay(), date.toEpochDay(), true, true)));
+    }
+
+    @Test
+    public void testToInstantRange() {
+        ZoneId zone = ZoneId.of("Europe/Budapest");
+        LocalDateRange march = new LocalDateRange(LocalDate.of(2014, 3, 1), LocalDate.of(2014, 3, 31));
+        InstantRange instants = march.toInstantRange(zone);
+        Assert.assertEquals(Instant.parse("2014-02-28T23:00:00Z"), instants.getLowerBound());
+        Assert.assertEquals(Instant.parse("2014-03-31T22:00:00Z"), instants.getHigherBound());
+        Assert.assertTrue(instants.isLowerInclusive());
+        Assert.assertFalse(instants.isHigherInclusive());
+
+        LocalDate date = LocalDate.of(2014, 3, 1);
+        InstantRange empty = new LocalDateRange(date, date, false, false).toInstantRange(zone);
+        Assert.assertEquals(empty.getLowerBound(), empty.getHigherBound());
+        Assert.assertFalse(empty.contains(empty.getLowerBound()));
+    }
+
+}
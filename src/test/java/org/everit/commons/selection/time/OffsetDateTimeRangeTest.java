@@ -0,0 +1,68 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.time;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Calendar;
+import java.util.TimeZone;
+
+import org.everit.commons.selection.RangeRelation;
+import org.everit.commons.selection.util.CalendarRange;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class OffsetDateTimeRangeTest {
+
+    @Test
+    public void testCalendarRangeConversion() {
+        Calendar lowerBound = Calendar.getInstance(TimeZone.getTimeZone("Europe/Budapest"));
+        lowerBound.clear();
+        lowerBound.set(2014, Calendar.MARCH, 30, 1, 30);
+        Calendar higherBound = (Calendar) lowerBound.clone();
+        higherBound.add(Calendar.HOUR_OF_DAY, 2);
+        OffsetDateTimeRange range = new OffsetDateTimeRange(new CalendarRange(lowerBound, higherBound, true, false));
+        Assert.assertEquals(ZoneOffset.ofHours(1), range.getLowerBound().getOffset());
+        Assert.assertEquals(ZoneOffset.ofHours(2), range.getHigherBound().getOffset());
+        Assert.assertEquals(4, range.getHigherBound().getHour());
+
+        CalendarRange converted = range.toCalendarRange();
+        Assert.assertEquals(lowerBound.getTimeInMillis(), converted.getLowerBound().getTimeInMillis());
+        Assert.assertEquals(higherBound.getTimeInMillis(), converted.getHigherBound().getTimeInMillis());
+        Assert.assertEquals(4, converted.getHigherBound().get(Calendar.HOUR_OF_DAY));
+        Assert.assertFalse(converted.isHigherInclusive());
+        Assert.assertEquals(range, new OffsetDateTimeRange(converted));
+    }
+
+    @Test
+    public void testRelationsUseInstants() {
+        OffsetDateTime lowerBound = OffsetDateTime.of(2014, 10, 17, 12, 0, 0, 0, ZoneOffset.UTC);
+        OffsetDateTime higherBound = lowerBound.plusHours(1);
+        OffsetDateTimeRange range = new OffsetDateTimeRange(lowerBound, higherBound);
+        OffsetDateTimeRange shifted = new OffsetDateTimeRange(lowerBound.withOffsetSameInstant(ZoneOffset
+                .ofHours(5)), higherBound.withOffsetSameInstant(ZoneOffset.ofHours(-3)));
+        Assert.assertEquals(RangeRelation.IDENTICAL, range.getRelationTo(shifted));
+        Assert.assertFalse(range.equals(shifted));
+        Assert.assertEquals(range.toInstantRange(), shifted.toInstantRange());
+        Assert.assertTrue(shifted.contains(lowerBound.plusMinutes(30)));
+
+        OffsetDateTimeRange after = new OffsetDateTimeRange(higherBound, higherBound.plusHours(1), false, true);
+        Assert.assertEquals(RangeRelation.AFTER, range.getRelationTo(after));
+        Assert.assertFalse(range.overlaps(after));
+    }
+
+}
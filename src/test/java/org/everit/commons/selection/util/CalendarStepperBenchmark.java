@@ -0,0 +1,107 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.util;
+
+import java.time.temporal.ChronoUnit;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Compares enumerating the days of a 30 year {@link DateRange} with {@link CalendarStepper} to the naive loop that
+ * clones a {@link Calendar} and calls {@link Calendar#add(int, int)} for every day.
+ *
+ * Not a unit test, run it with <code>java ... org.everit.commons.selection.util.CalendarStepperBenchmark</code>.
+ */
+public final class CalendarStepperBenchmark {
+
+    private static final int ROUNDS = 10;
+
+    private static final int REPEAT = 50;
+
+    private static long cursor(final CalendarStepper stepper, final DateRange range) {
+        long checksum = 0;
+        CalendarStepper.Cursor cursor = stepper.cursor(range);
+        while (cursor.next()) {
+            checksum += cursor.getLowerBound();
+        }
+        return checksum;
+    }
+
+    private static long iterator(final CalendarStepper stepper, final DateRange range) {
+        long checksum = 0;
+        for (DateRange bucket : stepper.buckets(range)) {
+            checksum += bucket.getLowerBound().getTime();
+        }
+        return checksum;
+    }
+
+    public static void main(final String[] args) {
+        TimeZone timeZone = TimeZone.getTimeZone("Europe/Budapest");
+        Calendar lower = Calendar.getInstance(timeZone, Locale.GERMANY);
+        lower.clear();
+        lower.set(1990, Calendar.JANUARY, 1);
+        Calendar higher = (Calendar) lower.clone();
+        higher.add(Calendar.YEAR, 30);
+        DateRange range = new DateRange(lower.getTime(), higher.getTime(), true, false);
+        CalendarStepper stepper = CalendarStepper.forCalendar(lower, ChronoUnit.DAYS);
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            long naive = 0;
+            for (int i = 0; i < REPEAT; i++) {
+                naive += CalendarStepperBenchmark.naive(lower, higher);
+            }
+            long naiveNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            long iterated = 0;
+            for (int i = 0; i < REPEAT; i++) {
+                iterated += CalendarStepperBenchmark.iterator(stepper, range);
+            }
+            long iteratorNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            long cursor = 0;
+            for (int i = 0; i < REPEAT; i++) {
+                cursor += CalendarStepperBenchmark.cursor(stepper, range);
+            }
+            long cursorNanos = System.nanoTime() - start;
+            if ((naive != iterated) || (naive != cursor)) {
+                throw new IllegalStateException("different buckets");
+            }
+            System.out.println("round=" + round + " Calendar.add ms=" + (naiveNanos / 1000000) + " buckets ms="
+                    + (iteratorNanos / 1000000) + " cursor ms=" + (cursorNanos / 1000000));
+        }
+    }
+
+    private static long naive(final Calendar lower, final Calendar higher) {
+        long checksum = 0;
+        Calendar bucketLower = (Calendar) lower.clone();
+        while (bucketLower.before(higher)) {
+            Calendar bucketHigher = (Calendar) bucketLower.clone();
+            bucketHigher.add(Calendar.DAY_OF_MONTH, 1);
+            DateRange bucket = new DateRange(new Date(bucketLower.getTimeInMillis()), new Date(
+                    bucketHigher.getTimeInMillis()), true, false);
+            checksum += bucket.getLowerBound().getTime();
+            bucketLower = bucketHigher;
+        }
+        return checksum;
+    }
+
+    private CalendarStepperBenchmark() {
+    }
+
+}
@@ -0,0 +1,189 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CalendarStepperTest {
+
+    private static final String[] ZONES = new String[] { "UTC", "Europe/Budapest", "America/New_York",
+            "America/Sao_Paulo", "Australia/Lord_Howe", "Pacific/Apia", "Asia/Kathmandu" };
+
+    private static long startOfDay(final LocalDate date, final ZoneId zone) {
+        return date.atStartOfDay(zone).toInstant().toEpochMilli();
+    }
+
+    @Test
+    public void testBucketsAreClippedToTheRange() {
+        CalendarStepper stepper = new CalendarStepper(ZoneId.of("Europe/Budapest"), ChronoUnit.MONTHS,
+                DayOfWeek.MONDAY);
+        ZoneId zone = stepper.getZone();
+        long lower = CalendarStepperTest.startOfDay(LocalDate.of(2014, 1, 15), zone);
+        long march = CalendarStepperTest.startOfDay(LocalDate.of(2014, 3, 1), zone);
+        List<DateRange> buckets = new ArrayList<DateRange>();
+        for (DateRange bucket : stepper.buckets(new DateRange(new Date(lower), new Date(march), false, true))) {
+            buckets.add(bucket);
+        }
+        long february = CalendarStepperTest.startOfDay(LocalDate.of(2014, 2, 1), zone);
+        Assert.assertEquals(3, buckets.size());
+        Assert.assertEquals(new DateRange(new Date(lower), new Date(february), false, false), buckets.get(0));
+        Assert.assertEquals(new DateRange(new Date(february), new Date(march), true, false), buckets.get(1));
+        Assert.assertEquals(new DateRange(new Date(march), new Date(march), true, true), buckets.get(2));
+
+        buckets.clear();
+        for (DateRange bucket : stepper.buckets(new DateRange(new Date(lower), new Date(march), true, false))) {
+            buckets.add(bucket);
+        }
+        Assert.assertEquals(2, buckets.size());
+        Assert.assertEquals(new DateRange(new Date(february), new Date(march), true, false), buckets.get(1));
+
+        Assert.assertFalse(stepper.buckets(new DateRange(new Date(march), new Date(march), true, false)).iterator()
+                .hasNext());
+    }
+
+    @Test
+    public void testCalendarRangeBucketsKeepTheTimeZone() {
+        TimeZone timeZone = TimeZone.getTimeZone("America/New_York");
+        Calendar lower = Calendar.getInstance(timeZone, Locale.US);
+        lower.clear();
+        lower.set(2014, Calendar.MARCH, 5, 13, 0);
+        Calendar higher = (Calendar) lower.clone();
+        higher.add(Calendar.DAY_OF_MONTH, 14);
+        CalendarStepper stepper = CalendarStepper.forCalendar(lower, ChronoUnit.WEEKS);
+        Assert.assertEquals(DayOfWeek.SUNDAY, stepper.getFirstDayOfWeek());
+        Calendar expected = (Calendar) lower.clone();
+        int count = 0;
+        for (CalendarRange bucket : stepper.buckets(new CalendarRange(lower, higher))) {
+            Assert.assertEquals(timeZone, bucket.getLowerBound().getTimeZone());
+            if (count > 0) {
+                Assert.assertEquals(Calendar.SUNDAY, bucket.getLowerBound().get(Calendar.DAY_OF_WEEK));
+                Assert.assertEquals(0, bucket.getLowerBound().get(Calendar.HOUR_OF_DAY));
+            }
+            Assert.assertEquals(expected.getTimeInMillis(), bucket.getLowerBound().getTimeInMillis());
+            expected = bucket.getHigherBound();
+            count++;
+        }
+        Assert.assertEquals(3, count);
+        Assert.assertEquals(higher, expected);
+    }
+
+    @Test
+    public void testCursor() {
+        CalendarStepper stepper = new CalendarStepper(ZoneId.of("UTC"), ChronoUnit.DAYS, DayOfWeek.MONDAY);
+        long day = 24L * 60 * 60 * 1000;
+        CalendarStepper.Cursor cursor = stepper.cursor(new DateRange(new Date(day / 2), new Date(3 * day), true,
+                false));
+        Assert.assertTrue(cursor.next());
+        Assert.assertEquals(day / 2, cursor.getLowerBound());
+        Assert.assertEquals(day, cursor.getHigherBound());
+        Assert.assertTrue(cursor.next());
+        Assert.assertTrue(cursor.next());
+        Assert.assertEquals(2 * day, cursor.getLowerBound());
+        Assert.assertEquals(3 * day, cursor.getHigherBound());
+        Assert.assertFalse(cursor.isHigherInclusive());
+        Assert.assertFalse(cursor.next());
+    }
+
+    @Test
+    public void testOutsideOfTheCachedYears() {
+        ZoneId zone = ZoneId.of("Europe/Budapest");
+        CalendarStepper stepper = new CalendarStepper(zone, ChronoUnit.DAYS, DayOfWeek.MONDAY);
+        for (LocalDate date = LocalDate.of(2200, 3, 20); date.isBefore(LocalDate.of(2200, 4, 10)); date = date
+                .plusDays(1)) {
+            long start = CalendarStepperTest.startOfDay(date, zone);
+            Assert.assertEquals(start, stepper.floor(start + 1000));
+            Assert.assertEquals(CalendarStepperTest.startOfDay(date.plusDays(1), zone), stepper.next(start));
+        }
+    }
+
+    @Test
+    public void testSameAsCalendarAdd() {
+        TimeZone timeZone = TimeZone.getTimeZone("Europe/Budapest");
+        Calendar calendar = Calendar.getInstance(timeZone, Locale.GERMANY);
+        calendar.clear();
+        calendar.set(1990, Calendar.JANUARY, 1);
+        CalendarStepper stepper = CalendarStepper.forCalendar(calendar, ChronoUnit.DAYS);
+        long start = calendar.getTimeInMillis();
+        for (int i = 0; i < 10000; i++) {
+            calendar.add(Calendar.DAY_OF_MONTH, 1);
+            start = stepper.next(start);
+            Assert.assertEquals(calendar.getTimeInMillis(), start);
+        }
+    }
+
+    @Test
+    public void testSameAsJavaTime() {
+        for (String zoneId : ZONES) {
+            ZoneId zone = ZoneId.of(zoneId);
+            CalendarStepper days = new CalendarStepper(zone, ChronoUnit.DAYS, DayOfWeek.MONDAY);
+            CalendarStepper weeks = new CalendarStepper(zone, ChronoUnit.WEEKS, DayOfWeek.WEDNESDAY);
+            CalendarStepper months = new CalendarStepper(zone, ChronoUnit.MONTHS, DayOfWeek.MONDAY);
+            CalendarStepper years = new CalendarStepper(zone, ChronoUnit.YEARS, DayOfWeek.MONDAY);
+            for (LocalDate date = LocalDate.of(1970, 1, 1); date.getYear() < 2030; date = date.plusDays(1)) {
+                long start = CalendarStepperTest.startOfDay(date, zone);
+                long next = CalendarStepperTest.startOfDay(date.plusDays(1), zone);
+                if (start == next) {
+                    // the day was skipped by a gap, e.g. 2011-12-30 in Pacific/Apia
+                    continue;
+                }
+                long middle = start + ((next - start) / 2);
+                String message = zoneId + " " + date;
+                Assert.assertEquals(message, start, days.floor(start));
+                Assert.assertEquals(message, start, days.floor(middle));
+                Assert.assertEquals(message, start, days.floor(next - 1));
+                Assert.assertEquals(message, next, days.next(middle));
+                LocalDate weekStart = date.with(TemporalAdjusters.previousOrSame(DayOfWeek.WEDNESDAY));
+                Assert.assertEquals(message, CalendarStepperTest.startOfDay(weekStart, zone), weeks.floor(middle));
+                Assert.assertEquals(message, CalendarStepperTest.startOfDay(weekStart.plusWeeks(1), zone),
+                        weeks.next(middle));
+                LocalDate monthStart = date.withDayOfMonth(1);
+                Assert.assertEquals(message, CalendarStepperTest.startOfDay(monthStart, zone), months.floor(middle));
+                Assert.assertEquals(message, CalendarStepperTest.startOfDay(monthStart.plusMonths(1), zone),
+                        months.next(middle));
+                LocalDate yearStart = date.withDayOfYear(1);
+                Assert.assertEquals(message, CalendarStepperTest.startOfDay(yearStart, zone), years.floor(middle));
+                Assert.assertEquals(message, CalendarStepperTest.startOfDay(yearStart.plusYears(1), zone),
+                        years.next(start));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnboundedRange() {
+        new CalendarStepper(ZoneId.of("UTC"), ChronoUnit.DAYS, DayOfWeek.MONDAY).buckets(new DateRange(null,
+                new Date()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedUnit() {
+        new CalendarStepper(ZoneId.of("UTC"), ChronoUnit.HOURS, DayOfWeek.MONDAY);
+    }
+
+}
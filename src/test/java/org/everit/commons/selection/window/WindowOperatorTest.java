@@ -0,0 +1,113 @@
+/**
+ * This file is part of org.everit.commons.selection.
+ *
+ * org.everit.commons.selection is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * org.everit.commons.selection is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.everit.commons.selection.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.everit.commons.selection.window;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.everit.commons.selection.sql.TimestampRange;
+import org.everit.commons.selection.util.SecondRange;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WindowOperatorTest {
+
+    @Test
+    public void testAssigner() {
+        long[] starts = new long[3];
+        WindowAssigner sliding = WindowAssigner.sliding(10, 4);
+        Assert.assertEquals(3, sliding.getMaxWindowsPerTimestamp());
+        Assert.assertEquals(3, sliding.assign(9, starts));
+        Assert.assertArrayEquals(new long[] { 8, 4, 0 }, starts);
+        Assert.assertEquals(3, sliding.assign(12, starts));
+        Assert.assertArrayEquals(new long[] { 12, 8, 4 }, starts);
+        Assert.assertEquals(-4, sliding.lastWindowStart(-1));
+        Assert.assertEquals(13, new WindowAssigner(10, 5, 3).lastWindowStart(17));
+        Assert.assertEquals(1, WindowAssigner.tumbling(60).assign(-1, starts));
+        Assert.assertEquals(-60, starts[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSlide() {
+        WindowAssigner.sliding(10, 11);
+    }
+
+    @Test
+    public void testLateness() {
+        WindowOperator<Long, Long, SecondRange> operator = new WindowOperator<Long, Long, SecondRange>(
+                WindowAssigner.tumbling(10), 5, WindowRangeFactory.SECOND_RANGES, Collectors.counting());
+        Assert.assertTrue(operator.add(3, 1L));
+        Assert.assertTrue(operator.add(12, 1L));
+        Assert.assertTrue(operator.advanceWatermark(12).isEmpty());
+        Assert.assertTrue(operator.add(7, 1L));
+        List<WindowResult<SecondRange, Long>> results = operator.advanceWatermark(15);
+        Assert.assertEquals(1, results.size());
+        Assert.assertEquals(new SecondRange(0L, 10L, true, false), results.get(0).getWindow());
+        Assert.assertEquals(Long.valueOf(2), results.get(0).getResult());
+        Assert.assertFalse(operator.add(8, 1L));
+        Assert.assertEquals(1, operator.getDroppedCount());
+        Assert.assertTrue(operator.advanceWatermark(14).isEmpty());
+        Assert.assertEquals(1, operator.getOpenWindowCount());
+    }
+
+    @Test
+    public void testSlidingStatisticsAgainstRecalculation() {
+        WindowAssigner assigner = WindowAssigner.sliding(60000, 15000);
+        WindowOperator<Long, LongSummaryStatistics, TimestampRange> operator = new WindowOperator<Long,
+                LongSummaryStatistics, TimestampRange>(assigner, 10000, WindowRangeFactory.TIMESTAMP_RANGES,
+                Collectors.summarizingLong((Long value) -> value));
+        Random random = new Random(20141017);
+        int size = 5000;
+        long[] timestamps = new long[size];
+        long[] values = new long[size];
+        boolean[] accepted = new boolean[size];
+        long time = 1413504000000L;
+        int resultCount = 0;
+        for (int i = 0; i < size; i++) {
+            time += random.nextInt(200);
+            timestamps[i] = time - random.nextInt(12000);
+            values[i] = random.nextInt(1000) - 500;
+            accepted[i] = operator.add(timestamps[i], values[i]);
+            if ((i % 100) == 99) {
+                List<WindowResult<TimestampRange, LongSummaryStatistics>> results = operator.advanceWatermark(time);
+                for (WindowResult<TimestampRange, LongSummaryStatistics> result : results) {
+                    long start = result.getWindow().getLowerBound().getTime();
+                    Assert.assertEquals(new Timestamp(start + 60000), result.getWindow().getHigherBound());
+                    LongSummaryStatistics expected = new LongSummaryStatistics();
+                    for (int j = 0; j <= i; j++) {
+                        if (accepted[j] && (timestamps[j] >= start) && (timestamps[j] < (start + 60000))) {
+                            expected.accept(values[j]);
+                        }
+                    }
+                    LongSummaryStatistics actual = result.getResult();
+                    Assert.assertEquals(expected.getCount(), actual.getCount());
+                    Assert.assertEquals(expected.getSum(), actual.getSum());
+                    Assert.assertEquals(expected.getMin(), actual.getMin());
+                    Assert.assertEquals(expected.getMax(), actual.getMax());
+                    resultCount++;
+                }
+            }
+        }
+        Assert.assertTrue(resultCount > 0);
+        Assert.assertFalse(operator.add(time - 80000, 1L));
+        Assert.assertEquals(1, operator.getDroppedCount());
+    }
+
+}